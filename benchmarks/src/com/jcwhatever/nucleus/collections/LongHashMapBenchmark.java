@@ -0,0 +1,137 @@
+package com.jcwhatever.nucleus.collections;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.coords.ChunkCoords;
+import com.jcwhatever.nucleus.utils.coords.Coords3Di;
+import com.jcwhatever.nucleus.utils.coords.ICoords2Di;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link LongHashMap} and {@link LongHashSet} keyed by {@link PackedCoords}
+ * against hash collections keyed by coordinate objects.
+ *
+ * <p>Run with the "gc" profiler to compare allocation rates.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LongHashMapBenchmark {
+
+    private static final long SEED = 1234L;
+    private static final int CHUNKS = 1024;
+    private static final int VISITED = 4096;
+
+    private World _world;
+
+    private final Map<ICoords2Di, Object> _chunkMap = new HashMap<>(CHUNKS * 2);
+    private final LongHashMap<Object> _packedChunkMap = new LongHashMap<>(CHUNKS * 2);
+
+    private final Set<Coords3Di> _visited = new HashSet<>(VISITED * 2);
+    private final LongHashSet _packedVisited = new LongHashSet(VISITED * 2);
+
+    private final int[] _chunkX = new int[CHUNKS];
+    private final int[] _chunkZ = new int[CHUNKS];
+
+    private final int[] _x = new int[VISITED];
+    private final int[] _y = new int[VISITED];
+    private final int[] _z = new int[VISITED];
+
+    private int _index;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        Random random = new Random(SEED);
+        Object value = new Object();
+
+        _world = BukkitTester.world("benchmark");
+
+        for (int i = 0; i < CHUNKS; i++) {
+            _chunkX[i] = random.nextInt(64) - 32;
+            _chunkZ[i] = random.nextInt(64) - 32;
+
+            _chunkMap.put(new ChunkCoords(_world, _chunkX[i], _chunkZ[i]), value);
+            _packedChunkMap.put(PackedCoords.packChunk(_world, _chunkX[i], _chunkZ[i]), value);
+        }
+
+        for (int i = 0; i < VISITED; i++) {
+            _x[i] = random.nextInt(32);
+            _y[i] = random.nextInt(16);
+            _z[i] = random.nextInt(32);
+
+            _visited.add(new Coords3Di(_x[i], _y[i], _z[i]));
+            _packedVisited.add(PackedCoords.pack(_x[i], _y[i], _z[i]));
+        }
+    }
+
+    @Benchmark
+    public Object chunkLookupHashMap() {
+        int i = _index = (_index + 1) & (CHUNKS - 1);
+        return _chunkMap.get(new ChunkCoords(_world, _chunkX[i], _chunkZ[i]));
+    }
+
+    @Benchmark
+    public Object chunkLookupLongHashMap() {
+        int i = _index = (_index + 1) & (CHUNKS - 1);
+        return _packedChunkMap.get(PackedCoords.packChunk(_world, _chunkX[i], _chunkZ[i]));
+    }
+
+    /*
+     * Count the visited neighbors of a block, as a flood fill does.
+     */
+    @Benchmark
+    public int neighborVisitHashSet() {
+        int i = _index = (_index + 1) & (VISITED - 1);
+        int x = _x[i];
+        int y = _y[i];
+        int z = _z[i];
+
+        int count = 0;
+        if (_visited.contains(new Coords3Di(x + 1, y, z))) count++;
+        if (_visited.contains(new Coords3Di(x - 1, y, z))) count++;
+        if (_visited.contains(new Coords3Di(x, y + 1, z))) count++;
+        if (_visited.contains(new Coords3Di(x, y - 1, z))) count++;
+        if (_visited.contains(new Coords3Di(x, y, z + 1))) count++;
+        if (_visited.contains(new Coords3Di(x, y, z - 1))) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int neighborVisitLongHashSet() {
+        int i = _index = (_index + 1) & (VISITED - 1);
+        long packed = PackedCoords.pack(_x[i], _y[i], _z[i]);
+
+        int count = 0;
+        if (_packedVisited.contains(PackedCoords.offset(packed, 1, 0, 0))) count++;
+        if (_packedVisited.contains(PackedCoords.offset(packed, -1, 0, 0))) count++;
+        if (_packedVisited.contains(PackedCoords.offset(packed, 0, 1, 0))) count++;
+        if (_packedVisited.contains(PackedCoords.offset(packed, 0, -1, 0))) count++;
+        if (_packedVisited.contains(PackedCoords.offset(packed, 0, 0, 1))) count++;
+        if (_packedVisited.contains(PackedCoords.offset(packed, 0, 0, -1))) count++;
+        return count;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jcwhatever.nucleus.collections.timed;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.TimeScale;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TimedHashMap} put, get and expiration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimedHashMapBenchmark {
+
+    private static final int KEYS = 1024;
+    private static final int LIFESPAN_MS = 60 * 60 * 1000;
+
+    private TimedHashMap<String, Integer> _map;
+    private TimedHashMap<String, Integer> _expireMap;
+
+    private final String[] _keys = new String[KEYS];
+    private final Integer _value = 1;
+    private int _index;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        _map = new TimedHashMap<>(BukkitTester.mockPlugin("benchmark"),
+                KEYS * 2, LIFESPAN_MS, TimeScale.MILLISECONDS);
+
+        _expireMap = new TimedHashMap<>(BukkitTester.mockPlugin("benchmark"),
+                KEYS * 2, LIFESPAN_MS, TimeScale.MILLISECONDS);
+
+        for (int i = 0; i < KEYS; i++) {
+            _keys[i] = "key" + i;
+            _map.put(_keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public Integer put() {
+        int i = _index = (_index + 1) & (KEYS - 1);
+        return _map.put(_keys[i], _value);
+    }
+
+    @Benchmark
+    public Integer get() {
+        int i = _index = (_index + 1) & (KEYS - 1);
+        return _map.get(_keys[i]);
+    }
+
+    @Benchmark
+    public Integer getMissing() {
+        return _map.get("missing");
+    }
+
+    /*
+     * Put an entry that expires immediately, then get it so the
+     * expired entry is found, removed and recycled.
+     */
+    @Benchmark
+    public Integer putExpireGet() {
+        int i = _index = (_index + 1) & (KEYS - 1);
+        _expireMap.put(_keys[i], _value, 0, TimeScale.MILLISECONDS);
+        return _expireMap.get(_keys[i]);
+    }
+}
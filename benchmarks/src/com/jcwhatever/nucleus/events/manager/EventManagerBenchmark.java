@@ -0,0 +1,90 @@
+package com.jcwhatever.nucleus.events.manager;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.observer.event.EventSubscriber;
+import com.jcwhatever.nucleus.utils.observer.event.EventSubscriberPriority;
+import com.jcwhatever.v1_8_R3.MockPlugin;
+
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Benchmarks {@link EventManager#call} dispatch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EventManagerBenchmark {
+
+    private static final EventSubscriberPriority[] PRIORITIES = EventSubscriberPriority.values();
+
+    @Param({ "0", "1", "8" })
+    public int subscribers;
+
+    private EventManager _manager;
+    private BenchmarkEvent _event = new BenchmarkEvent();
+    private UnhandledEvent _unhandled = new UnhandledEvent();
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        Plugin plugin = new MockPlugin("benchmark");
+
+        _manager = new EventManager(plugin, null);
+
+        for (int i = 0; i < subscribers; i++) {
+
+            BenchmarkSubscriber subscriber = new BenchmarkSubscriber();
+            subscriber.setPriority(PRIORITIES[i % PRIORITIES.length]);
+
+            _manager.register(plugin, BenchmarkEvent.class, subscriber);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        _manager.dispose();
+    }
+
+    @Benchmark
+    public BenchmarkEvent call() {
+        return _manager.call(this, _event);
+    }
+
+    @Benchmark
+    public UnhandledEvent callUnhandled() {
+        return _manager.call(this, _unhandled);
+    }
+
+    public static class BenchmarkEvent {
+        int count;
+    }
+
+    public static class UnhandledEvent {}
+
+    private static class BenchmarkSubscriber extends EventSubscriber<BenchmarkEvent> {
+
+        @Override
+        public void onEvent(@Nullable Object caller, BenchmarkEvent event) {
+            event.count++;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.jcwhatever.nucleus.internal.managed.astar;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
+import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
+import com.jcwhatever.nucleus.managed.astar.examiners.IAStarNodeExaminer;
+import com.jcwhatever.nucleus.managed.astar.nodes.AStarNode;
+import com.jcwhatever.nucleus.managed.astar.score.AStarScore;
+import com.jcwhatever.nucleus.managed.astar.score.IAStarScore;
+import com.jcwhatever.nucleus.managed.astar.score.IAStarScoreProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * Benchmarks {@link AStarCoordsSearch} over a synthetic block grid.
+ *
+ * <p>The grid is a flat square at Y 0 with a wall on every 8th X column. Each
+ * wall has a single gap at a random Z coordinate, so the path from one corner
+ * to the opposite corner has to zig-zag through the gaps.</p>
+ *
+ * <p>The grid is examined without a world so the benchmark measures the search
+ * and not block lookups.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AStarCoordsSearchBenchmark {
+
+    private static final long SEED = 1234L;
+
+    @Param({ "32", "64" })
+    public int size;
+
+    private GridExaminer _examiner;
+    private IAStarSettings _settings;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        Random random = new Random(SEED);
+        boolean[][] walls = new boolean[size][size];
+
+        for (int x = 7; x < size - 1; x += 8) {
+
+            int gap = random.nextInt(size);
+
+            for (int z = 0; z < size; z++) {
+                walls[x][z] = z != gap;
+            }
+        }
+
+        _examiner = new GridExaminer(walls);
+        _settings = new AStarSettings()
+                .setRange(size * 2)
+                .setMaxIterations(size * size * 4);
+
+        IAStarResult<AStarNode> result = search();
+        if (result.getStatus() != ResultStatus.RESOLVED)
+            throw new IllegalStateException("Synthetic grid path is not resolvable: " + result.getStatus());
+    }
+
+    @Benchmark
+    public IAStarResult<AStarNode> search() {
+
+        AStarNode start = new AStarNode(0, 0, 0);
+        AStarNode destination = new AStarNode(size - 1, 0, size - 1);
+
+        AStarContext<AStarNode> context =
+                new AStarContext<AStarNode>(start, destination, _examiner, _settings);
+
+        return AStarCoordsSearch.<AStarNode>get().search(context);
+    }
+
+    /*
+     * Node examiner for a flat grid of open and wall cells.
+     */
+    private static class GridExaminer implements IAStarNodeExaminer<AStarNode> {
+
+        final boolean[][] walls;
+        final IAStarScoreProvider<AStarNode> scoreProvider = AStarScore.getCoordsProvider();
+
+        GridExaminer(boolean[][] walls) {
+            this.walls = walls;
+        }
+
+        @Override
+        public boolean isDestination(AStarNode node) {
+            return node.equals(node.getContext().getDestination());
+        }
+
+        @Override
+        public PathableResult isPathable(AStarNode from, AStarNode to) {
+
+            if (to.getY() != 0)
+                return PathableResult.INVALID_POINT;
+
+            int x = to.getX();
+            int z = to.getZ();
+
+            if (x < 0 || z < 0 || x >= walls.length || z >= walls.length || walls[x][z])
+                return PathableResult.INVALID_POINT;
+
+            if (from.getContext().getNodeContainer().isClosed(to))
+                return PathableResult.INVALID_POINT;
+
+            // prevent cutting wall corners diagonally
+            int dx = x - from.getX();
+            int dz = z - from.getZ();
+            if (dx != 0 && dz != 0 && (walls[from.getX()][z] || walls[x][from.getZ()]))
+                return PathableResult.INVALID_POINT;
+
+            return PathableResult.VALID;
+        }
+
+        @Override
+        public IAStarScore<AStarNode> getScore(@Nullable AStarNode parent, AStarNode node) {
+            return scoreProvider.getScore(parent, node);
+        }
+    }
+}
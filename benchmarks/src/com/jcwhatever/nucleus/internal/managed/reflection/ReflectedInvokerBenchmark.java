@@ -0,0 +1,112 @@
+package com.jcwhatever.nucleus.internal.managed.reflection;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedConstructor;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedInvoker;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedType;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link IReflectedInvoker} and {@link IReflectedConstructor} against
+ * plain reflection and against invoking aliases by name.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReflectedInvokerBenchmark {
+
+    private IReflectedType _type;
+    private ReflectableType _instance;
+
+    private Method _method1;
+    private Method _method2;
+    private Constructor<ReflectableType> _constructor;
+
+    private IReflectedInvoker _invoker1;
+    private IReflectedInvoker _invoker2;
+    private IReflectedConstructor _reflectedConstructor;
+
+    @Setup
+    public void setup() throws Exception {
+        NucleusTest.init();
+
+        _type = new ReflectionContext(BukkitTester.NMS_TEST_VERSION).type(ReflectableType.class);
+
+        _type.methodAlias("m1", "method1");
+        _type.methodAlias("m2", "method2", String.class);
+        _type.constructorAlias("new", String.class);
+
+        _instance = (ReflectableType)_type.construct("new", "string");
+
+        _method1 = ReflectableType.class.getDeclaredMethod("method1");
+        _method1.setAccessible(true);
+
+        _method2 = ReflectableType.class.getDeclaredMethod("method2", String.class);
+        _method2.setAccessible(true);
+
+        _constructor = ReflectableType.class.getDeclaredConstructor(String.class);
+        _constructor.setAccessible(true);
+
+        _invoker1 = _type.getInvoker("m1");
+        _invoker2 = _type.getInvoker("m2");
+        _reflectedConstructor = _type.getConstructor("new");
+    }
+
+    @Benchmark
+    public Object methodInvoke() throws Exception {
+        return _method1.invoke(_instance);
+    }
+
+    @Benchmark
+    public Object methodInvokeArg() throws Exception {
+        return _method2.invoke(_instance, "value");
+    }
+
+    @Benchmark
+    public Object constructorNewInstance() throws Exception {
+        return _constructor.newInstance("value");
+    }
+
+    @Benchmark
+    public Object aliasInvoke() {
+        return _type.invoke(_instance, "m1");
+    }
+
+    @Benchmark
+    public Object aliasInvokeArg() {
+        return _type.invoke(_instance, "m2", "value");
+    }
+
+    @Benchmark
+    public Object invoker() {
+        return _invoker1.invoke(_instance);
+    }
+
+    @Benchmark
+    public Object invokerArg() {
+        return _invoker2.invoke(_instance, "value");
+    }
+
+    @Benchmark
+    public Object reflectedConstructor() {
+        return _reflectedConstructor.construct("value");
+    }
+}
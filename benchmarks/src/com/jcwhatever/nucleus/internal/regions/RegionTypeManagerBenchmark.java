@@ -0,0 +1,98 @@
+package com.jcwhatever.nucleus.internal.regions;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.regions.BasicRegion;
+import com.jcwhatever.nucleus.regions.IRegion;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link RegionTypeManager} point queries.
+ *
+ * <p>Regions are placed at random in a 2000x2000 area. Queries cycle through
+ * a fixed set of random points in the same area.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RegionTypeManagerBenchmark {
+
+    private static final long SEED = 1234L;
+    private static final int POINTS = 1024;
+
+    @Param({ "10", "1000" })
+    public int regions;
+
+    private RegionTypeManager<IRegion> _manager;
+    private World _world;
+
+    private final int[] _x = new int[POINTS];
+    private final int[] _y = new int[POINTS];
+    private final int[] _z = new int[POINTS];
+    private int _index;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        Plugin plugin = BukkitTester.mockPlugin("benchmark");
+        Random random = new Random(SEED);
+
+        _world = BukkitTester.world("benchmark");
+        _manager = new RegionTypeManager<>(IRegion.class);
+
+        for (int i = 0; i < regions; i++) {
+
+            int x = random.nextInt(2000) - 1000;
+            int y = random.nextInt(200);
+            int z = random.nextInt(2000) - 1000;
+
+            BasicRegion region = new BasicRegion(plugin, "region" + i);
+            region.setCoords(
+                    new Location(_world, x, y, z),
+                    new Location(_world, x + random.nextInt(48) + 1,
+                            y + random.nextInt(32) + 1, z + random.nextInt(48) + 1));
+
+            _manager.register(region);
+        }
+
+        for (int i = 0; i < POINTS; i++) {
+            _x[i] = random.nextInt(2000) - 1000;
+            _y[i] = random.nextInt(232);
+            _z[i] = random.nextInt(2000) - 1000;
+        }
+    }
+
+    @Benchmark
+    public boolean hasRegion() {
+        int i = _index = (_index + 1) & (POINTS - 1);
+        return _manager.hasRegion(_world, _x[i], _y[i], _z[i]);
+    }
+
+    @Benchmark
+    public List<IRegion> getRegions() {
+        int i = _index = (_index + 1) & (POINTS - 1);
+        return _manager.getRegions(_world, _x[i], _y[i], _z[i]);
+    }
+}
@@ -0,0 +1,81 @@
+package com.jcwhatever.nucleus.managed.particles.shapes;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.providers.math.FastMath;
+import com.jcwhatever.nucleus.providers.math.IRotationMatrix;
+import com.jcwhatever.nucleus.utils.coords.Vector3D;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ParticleShape#transform} of a 200 point shape against
+ * rotating each point with {@link IRotationMatrix}'s and an output vector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParticleShapeBenchmark {
+
+    private static final int POINTS = 200;
+
+    private ParticleShape _shape;
+    private double[] _output;
+
+    private final Vector3D _input = new Vector3D();
+    private final Vector3D _pitched = new Vector3D();
+    private final Vector3D _rotated = new Vector3D();
+
+    private float _yaw;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        _shape = ParticleShape.sphere(3, POINTS);
+        _output = new double[_shape.size() * 3];
+    }
+
+    @Benchmark
+    public double[] transform() {
+        float yaw = _yaw = (_yaw + 7) % 360;
+        return _shape.transform(yaw, 30, 100, 64, 100, _output);
+    }
+
+    @Benchmark
+    public double[] rotationMatrix() {
+        float yaw = _yaw = (_yaw + 7) % 360;
+
+        IRotationMatrix pitchMatrix = FastMath.getRotationMatrix(30);
+        IRotationMatrix yawMatrix = FastMath.getRotationMatrix(yaw);
+
+        double[] output = _output;
+
+        for (int i = 0, size = _shape.size(); i < size; i++) {
+
+            _input.set3D(_shape.getX(i), _shape.getY(i), _shape.getZ(i));
+
+            pitchMatrix.rotateX(_input, _pitched);
+            yawMatrix.rotateY(_pitched, _rotated);
+
+            output[i * 3] = 100 + _rotated.getX();
+            output[i * 3 + 1] = 64 + _rotated.getY();
+            output[i * 3 + 2] = 100 + _rotated.getZ();
+        }
+
+        return output;
+    }
+}
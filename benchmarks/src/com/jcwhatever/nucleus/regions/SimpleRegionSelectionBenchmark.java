@@ -0,0 +1,75 @@
+package com.jcwhatever.nucleus.regions;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link SimpleRegionSelection#contains}.
+ *
+ * <p>About half of the query points are inside the selection.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SimpleRegionSelectionBenchmark {
+
+    private static final long SEED = 1234L;
+    private static final int POINTS = 1024;
+
+    private SimpleRegionSelection _selection;
+
+    private final Location[] _locations = new Location[POINTS];
+    private final int[] _x = new int[POINTS];
+    private final int[] _y = new int[POINTS];
+    private final int[] _z = new int[POINTS];
+    private int _index;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        World world = BukkitTester.world("benchmark");
+        Random random = new Random(SEED);
+
+        _selection = new SimpleRegionSelection(
+                new Location(world, -50, 0, -50), new Location(world, 50, 100, 50));
+
+        for (int i = 0; i < POINTS; i++) {
+            _x[i] = random.nextInt(200) - 100;
+            _y[i] = random.nextInt(100);
+            _z[i] = random.nextInt(140) - 70;
+            _locations[i] = new Location(world, _x[i], _y[i], _z[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean containsCoords() {
+        int i = _index = (_index + 1) & (POINTS - 1);
+        return _selection.contains(_x[i], _y[i], _z[i]);
+    }
+
+    @Benchmark
+    public boolean containsLocation() {
+        int i = _index = (_index + 1) & (POINTS - 1);
+        return _selection.contains(_locations[i]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.jcwhatever.nucleus.storage.serialize;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import com.jcwhatever.nucleus.storage.MemoryDataNode;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DataFieldSerializer} serializing and deserializing
+ * 10,000 objects into {@link MemoryDataNode}'s.
+ *
+ * <p>Scores are per object.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DataFieldSerializerBenchmark {
+
+    private static final int OBJECTS = 10000;
+
+    private final BenchmarkObject[] _objects = new BenchmarkObject[OBJECTS];
+    private final IDataNode[] _nodes = new IDataNode[OBJECTS];
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        MemoryDataNode root = new MemoryDataNode(BukkitTester.mockPlugin("benchmark"));
+
+        for (int i = 0; i < OBJECTS; i++) {
+
+            BenchmarkObject object = new BenchmarkObject();
+            object.name = "object" + i;
+            object.level = (short)(i % 100);
+            object.count = i;
+            object.total = i * 1000L;
+            object.ratio = i / (double)OBJECTS;
+            object.isEnabled = (i & 1) == 0;
+            object.type = BenchmarkType.values()[i % BenchmarkType.values().length];
+
+            _objects[i] = object;
+            _nodes[i] = root.getNode("objects.o" + i);
+
+            DataFieldSerializer.serialize(object, _nodes[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBJECTS)
+    public void serialize() {
+        for (int i = 0; i < OBJECTS; i++) {
+            DataFieldSerializer.serialize(_objects[i], _nodes[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OBJECTS)
+    public void deserializeInto() {
+        for (int i = 0; i < OBJECTS; i++) {
+            DataFieldSerializer.deserializeInto(_objects[i], _nodes[i]);
+        }
+    }
+
+    public enum BenchmarkType {
+        FIRST,
+        SECOND,
+        THIRD
+    }
+
+    public static class BenchmarkObject {
+
+        @DataField private String name;
+        @DataField private short level;
+        @DataField private int count;
+        @DataField private long total;
+        @DataField private double ratio;
+        @DataField private boolean isEnabled;
+        @DataField private BenchmarkType type;
+    }
+}
@@ -0,0 +1,137 @@
+package com.jcwhatever.nucleus.utils.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BasicByteWriter} and {@link BasicByteReader} throughput
+ * against {@link NioByteWriter} and {@link NioByteReader}.
+ *
+ * <p>Each operation writes or reads a batch of player like records containing
+ * numbers, a boolean, a name from a small set of names and a UUID.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ByteReaderWriterBenchmark {
+
+    private static final long SEED = 1234L;
+    private static final int RECORDS = 1000;
+
+    private final int[] _ints = new int[RECORDS];
+    private final long[] _longs = new long[RECORDS];
+    private final double[] _doubles = new double[RECORDS];
+    private final String[] _names = new String[RECORDS];
+    private final UUID[] _ids = new UUID[RECORDS];
+
+    private ByteArrayOutputStream _output;
+    private byte[] _basicBytes;
+    private byte[] _nioBytes;
+
+    @Setup
+    public void setup() throws IOException {
+
+        Random random = new Random(SEED);
+
+        for (int i = 0; i < RECORDS; i++) {
+            _ints[i] = random.nextInt(1000);
+            _longs[i] = random.nextLong();
+            _doubles[i] = random.nextDouble() * 1000;
+            _names[i] = "player" + random.nextInt(16);
+            _ids[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        _output = new ByteArrayOutputStream(RECORDS * 64);
+
+        writeBasic();
+        _basicBytes = _output.toByteArray();
+
+        writeNio();
+        _nioBytes = _output.toByteArray();
+    }
+
+    @Benchmark
+    public int writeBasic() throws IOException {
+        _output.reset();
+
+        BasicByteWriter writer = new BasicByteWriter(_output);
+        writeRecords(writer);
+        writer.flush();
+
+        return _output.size();
+    }
+
+    @Benchmark
+    public int writeNio() throws IOException {
+        _output.reset();
+
+        NioByteWriter writer = new NioByteWriter(Channels.newChannel(_output));
+        writeRecords(writer);
+        writer.close();
+
+        return _output.size();
+    }
+
+    @Benchmark
+    public long readBasic() throws IOException {
+        BasicByteReader reader = new BasicByteReader(new ByteArrayInputStream(_basicBytes));
+        return readRecords(reader);
+    }
+
+    @Benchmark
+    public long readNio() throws IOException {
+        NioByteReader reader = new NioByteReader(
+                Channels.newChannel(new ByteArrayInputStream(_nioBytes)));
+
+        long result = readRecords(reader);
+        reader.close();
+
+        return result;
+    }
+
+    private void writeRecords(IByteWriter writer) throws IOException {
+        for (int i = 0; i < RECORDS; i++) {
+            writer.write(_ints[i]);
+            writer.write(_longs[i]);
+            writer.write(_doubles[i]);
+            writer.write((_ints[i] & 1) == 0);
+            writer.write(_names[i]);
+            writer.write(_ids[i]);
+        }
+    }
+
+    private long readRecords(IByteReader reader) throws IOException {
+
+        long result = 0;
+
+        for (int i = 0; i < RECORDS; i++) {
+            result += reader.getInteger();
+            result += reader.getLong();
+            result += (long)reader.getDouble();
+            result += reader.getBoolean() ? 1 : 0;
+            result += reader.getString().length();
+            result += reader.getUUID().getLeastSignificantBits();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+package com.jcwhatever.nucleus.utils.inventory;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.items.ItemStackBuilder;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link InventoryUtils#count} and taking and giving a kit
+ * from a full 36 slot inventory.
+ *
+ * <p>The kit is taken and given back in each operation so the contents
+ * are the same at the start of each operation. The per item
+ * {@link InventoryUtils} calls are compared to a single
+ * {@link InventoryTransaction} for each direction.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class InventoryBenchmark {
+
+    private static final Material[] FILLER = new Material[] {
+            Material.STONE, Material.DIRT, Material.COBBLESTONE, Material.WOOD,
+            Material.SAND, Material.GRAVEL, Material.LOG, Material.GLASS
+    };
+
+    private ItemStack[] _contents;
+    private ItemStack[] _kit;
+    private ItemStack _countItem;
+
+    private InventoryTransaction _take;
+    private InventoryTransaction _give;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        _kit = new ItemStack[] {
+                new ItemStackBuilder(Material.IRON_SWORD).display("Kit Sword").build(),
+                new ItemStack(Material.BREAD, 16),
+                new ItemStack(Material.ARROW, 32),
+                new ItemStack(Material.TORCH, 16),
+                new ItemStack(Material.COBBLESTONE, 64)
+        };
+
+        _contents = new ItemStack[36];
+
+        for (int i = 0; i < _contents.length - _kit.length; i++) {
+            _contents[i] = new ItemStack(FILLER[i % FILLER.length], 64);
+        }
+
+        for (int i = 0; i < _kit.length; i++) {
+            _contents[_contents.length - _kit.length + i] = _kit[i].clone();
+        }
+
+        _countItem = new ItemStack(Material.COBBLESTONE);
+
+        _take = new InventoryTransaction();
+        _give = new InventoryTransaction();
+
+        for (ItemStack item : _kit) {
+            _take.remove(item);
+            _give.add(item);
+        }
+    }
+
+    @Benchmark
+    public int count() {
+        return InventoryUtils.count(_contents, _countItem);
+    }
+
+    @Benchmark
+    public boolean takeGiveUtils() {
+
+        for (ItemStack item : _kit) {
+            if (InventoryUtils.count(_contents, item) < item.getAmount())
+                return false;
+        }
+
+        for (ItemStack item : _kit) {
+            InventoryUtils.removeAmount(_contents, item, item.getAmount());
+        }
+
+        for (ItemStack item : _kit) {
+            if (!InventoryUtils.hasRoom(_contents, item))
+                return false;
+        }
+
+        ItemStack[] kit = new ItemStack[_kit.length];
+        for (int i = 0; i < kit.length; i++) {
+            kit[i] = _kit[i].clone();
+        }
+
+        return InventoryUtils.add(_contents, kit).isEmpty();
+    }
+
+    @Benchmark
+    public boolean takeGiveTransaction() {
+        return _take.commit(_contents) && _give.commit(_contents);
+    }
+}
@@ -0,0 +1,82 @@
+package com.jcwhatever.nucleus.utils.items;
+
+import com.jcwhatever.nucleus.NucleusTest;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ItemStackMatcher#isMatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ItemStackMatcherBenchmark {
+
+    private ItemStackMatcher _typeMatcher;
+    private ItemStackMatcher _defaultMatcher;
+
+    private ItemStack _plain1;
+    private ItemStack _plain2;
+    private ItemStack _other;
+    private ItemStack _meta1;
+    private ItemStack _meta2;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        _typeMatcher = ItemStackMatcher.getTypeMatcher();
+        _defaultMatcher = ItemStackMatcher.getTypeMetaDurability();
+
+        _plain1 = new ItemStack(Material.STONE, 10);
+        _plain2 = new ItemStack(Material.STONE, 20);
+        _other = new ItemStack(Material.DIRT, 10);
+
+        _meta1 = new ItemStackBuilder(Material.DIAMOND_SWORD)
+                .display("Sword").lore("line 1", "line 2").build();
+
+        _meta2 = new ItemStackBuilder(Material.DIAMOND_SWORD)
+                .display("Sword").lore("line 1", "line 2").build();
+    }
+
+    @Benchmark
+    public boolean typeMatch() {
+        return _typeMatcher.isMatch(_plain1, _plain2);
+    }
+
+    @Benchmark
+    public boolean defaultMatchPlain() {
+        return _defaultMatcher.isMatch(_plain1, _plain2);
+    }
+
+    @Benchmark
+    public boolean defaultMismatchType() {
+        return _defaultMatcher.isMatch(_plain1, _other);
+    }
+
+    @Benchmark
+    public boolean defaultMatchMeta() {
+        return _defaultMatcher.isMatch(_meta1, _meta2);
+    }
+
+    @Benchmark
+    public long fingerprintMeta() {
+        return _defaultMatcher.getFingerprint(_meta1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.jcwhatever.nucleus.utils.text.format;
+
+import com.jcwhatever.nucleus.NucleusTest;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link TextFormatter#format}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TextFormatterBenchmark {
+
+    private static final String PLAIN =
+            "The quick brown fox jumps over the lazy dog.";
+
+    private static final String PARAMS =
+            "Player {0} has {1} points in arena {2}.";
+
+    private static final String COLORS =
+            "{GOLD}Player {WHITE}{0}{GOLD} has {RED}{1}{GOLD} points in arena {YELLOW}{2}{GOLD}.";
+
+    private TextFormatter _formatter;
+
+    @Setup
+    public void setup() {
+        NucleusTest.init();
+
+        _formatter = new TextFormatter(new TextFormatterSettings());
+    }
+
+    @Benchmark
+    public ITextFormatterResult formatPlain() {
+        return _formatter.format(PLAIN);
+    }
+
+    @Benchmark
+    public ITextFormatterResult formatParams() {
+        return _formatter.format(PARAMS, "Notch", 120, "Lobby");
+    }
+
+    @Benchmark
+    public ITextFormatterResult formatColors() {
+        return _formatter.format(COLORS, "Notch", 120, "Lobby");
+    }
+}
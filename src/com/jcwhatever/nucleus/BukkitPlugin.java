@@ -60,6 +60,7 @@ import com.jcwhatever.nucleus.internal.managed.items.floating.InternalFloatingIt
 import com.jcwhatever.nucleus.internal.managed.items.meta.InternalItemMetaHandlers;
 import com.jcwhatever.nucleus.internal.managed.items.serializer.InternalItemSerializationManager;
 import com.jcwhatever.nucleus.internal.managed.language.InternalLanguageManager;
+import com.jcwhatever.nucleus.internal.managed.messenger.InternalMessengerFactory;
 import com.jcwhatever.nucleus.internal.managed.nms.InternalNmsManager;
 import com.jcwhatever.nucleus.internal.managed.particles.InternalParticleEffectFactory;
 import com.jcwhatever.nucleus.internal.managed.reflection.InternalReflectionManager;
@@ -80,6 +81,7 @@ import com.jcwhatever.nucleus.internal.regions.InternalRegionManager;
 import com.jcwhatever.nucleus.managed.messaging.IMessengerFactory;
 import com.jcwhatever.nucleus.managed.scheduler.ITaskScheduler;
 import com.jcwhatever.nucleus.providers.storage.DataStorage;
+import com.jcwhatever.nucleus.storage.DataNodeSaveQueue;
 import com.jcwhatever.nucleus.storage.DataPath;
 import com.jcwhatever.nucleus.storage.IDataNode;
 import com.jcwhatever.nucleus.utils.text.TextColor;
@@ -263,8 +265,21 @@ public final class BukkitPlugin extends NucleusPlugin {
 
         // make sure that evaluated scripts are disposed
         if (_scriptManager != null) {
-            _scriptManager.clearScripts();
+            _scriptManager.dispose();
         }
+
+        // stop asynchronous tab completion threads
+        if (_commandManager != null) {
+            _commandManager.dispose();
+        }
+
+        // write important messages that are waiting to be saved
+        if (_messengerFactory instanceof InternalMessengerFactory) {
+            ((InternalMessengerFactory) _messengerFactory).flushImportant();
+        }
+
+        // write data nodes that are waiting to be saved
+        DataNodeSaveQueue.flush();
     }
 
     private void loadScriptManager() {
@@ -0,0 +1,374 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.collections;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.annotation.Nullable;
+
+/**
+ * A hash map keyed to primitive long values.
+ *
+ * <p>Keys are stored in an open addressing table so that looking up, adding
+ * and removing entries does not box the key or allocate entry objects. Intended
+ * for keys that are packed coordinates.</p>
+ *
+ * <p>Null values are not allowed. Iterators do not support removal.</p>
+ *
+ * <p>Not thread safe.</p>
+ *
+ * @param <V>  The value type.
+ */
+public class LongHashMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] _keys;
+    private Object[] _values;
+    private int _mask;
+    private int _threshold;
+    private int _size;
+    private int _modCount;
+
+    private Values _valuesView;
+
+    /**
+     * Constructor.
+     */
+    public LongHashMap() {
+        this(10);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param size  The expected number of entries.
+     */
+    public LongHashMap(int size) {
+        PreCon.positiveNumber(size);
+
+        allocate(tableSize(size));
+    }
+
+    /**
+     * Get the number of entries.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Determine if the map is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Determine if the map contains a key.
+     *
+     * @param key  The key.
+     */
+    public boolean containsKey(long key) {
+        return indexOf(key) != -1;
+    }
+
+    /**
+     * Get the value mapped to a key.
+     *
+     * @param key  The key.
+     *
+     * @return  The value or null if not found.
+     */
+    @Nullable
+    public V get(long key) {
+        int index = indexOf(key);
+        if (index == -1)
+            return null;
+
+        @SuppressWarnings("unchecked")
+        V value = (V)_values[index];
+
+        return value;
+    }
+
+    /**
+     * Map a value to a key.
+     *
+     * @param key    The key.
+     * @param value  The value.
+     *
+     * @return  The previous value mapped to the key or null if there was none.
+     */
+    @Nullable
+    public V put(long key, V value) {
+        PreCon.notNull(value);
+
+        int index = hash(key) & _mask;
+
+        while (_values[index] != null) {
+
+            if (_keys[index] == key) {
+                @SuppressWarnings("unchecked")
+                V previous = (V)_values[index];
+                _values[index] = value;
+                return previous;
+            }
+
+            index = (index + 1) & _mask;
+        }
+
+        _keys[index] = key;
+        _values[index] = value;
+        _size++;
+        _modCount++;
+
+        if (_size > _threshold)
+            allocate(_keys.length << 1);
+
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key  The key.
+     *
+     * @return  The value that was mapped to the key or null if the key was not found.
+     */
+    @Nullable
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index == -1)
+            return null;
+
+        @SuppressWarnings("unchecked")
+        V previous = (V)_values[index];
+
+        // shift following entries of the probe sequence back so that
+        // lookups never stop at the emptied slot
+        int empty = index;
+        int current = index;
+
+        while (true) {
+            current = (current + 1) & _mask;
+
+            if (_values[current] == null)
+                break;
+
+            int home = hash(_keys[current]) & _mask;
+
+            // entry can move if its home slot is not between the empty slot and itself
+            if (((current - home) & _mask) >= ((current - empty) & _mask)) {
+                _keys[empty] = _keys[current];
+                _values[empty] = _values[current];
+                empty = current;
+            }
+        }
+
+        _values[empty] = null;
+        _size--;
+        _modCount++;
+
+        return previous;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        if (_size == 0)
+            return;
+
+        Arrays.fill(_values, null);
+        _size = 0;
+        _modCount++;
+    }
+
+    /**
+     * Get an iterator of the keys.
+     */
+    public LongIterator keys() {
+        return new KeyIterator();
+    }
+
+    /**
+     * Get a collection view of the values.
+     *
+     * <p>The view does not support adding or removing values.</p>
+     */
+    public Collection<V> values() {
+        if (_valuesView == null)
+            _valuesView = new Values();
+
+        return _valuesView;
+    }
+
+    /*
+     * Get the table index of a key or -1 if not found.
+     */
+    private int indexOf(long key) {
+
+        int index = hash(key) & _mask;
+
+        while (_values[index] != null) {
+            if (_keys[index] == key)
+                return index;
+
+            index = (index + 1) & _mask;
+        }
+
+        return -1;
+    }
+
+    /*
+     * Allocate a new table and rehash current entries into it.
+     */
+    private void allocate(int capacity) {
+
+        long[] keys = _keys;
+        Object[] values = _values;
+
+        _keys = new long[capacity];
+        _values = new Object[capacity];
+        _mask = capacity - 1;
+        _threshold = (capacity >> 1) + (capacity >> 2);
+
+        if (values == null)
+            return;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null)
+                continue;
+
+            int index = hash(keys[i]) & _mask;
+            while (_values[index] != null) {
+                index = (index + 1) & _mask;
+            }
+
+            _keys[index] = keys[i];
+            _values[index] = values[i];
+        }
+    }
+
+    /*
+     * Spread the bits of a key into a table hash.
+     */
+    static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int)(hash ^ (hash >>> 32));
+    }
+
+    /*
+     * Get the power of 2 table size needed to hold the specified
+     * number of entries.
+     */
+    static int tableSize(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity - (capacity >> 2) < size) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private abstract class TableIterator {
+
+        int index = -1;
+        int next = -1;
+        int expectedModCount = _modCount;
+
+        TableIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        int nextIndex() {
+            if (_modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (next == -1)
+                throw new NoSuchElementException();
+
+            index = next;
+            advance();
+            return index;
+        }
+
+        private void advance() {
+            for (int i = index + 1; i < _values.length; i++) {
+                if (_values[i] != null) {
+                    next = i;
+                    return;
+                }
+            }
+            next = -1;
+        }
+    }
+
+    private class KeyIterator extends TableIterator implements LongIterator {
+
+        @Override
+        public long nextLong() {
+            return _keys[nextIndex()];
+        }
+    }
+
+    private class ValueIterator extends TableIterator implements Iterator<V> {
+
+        @Override
+        public V next() {
+            @SuppressWarnings("unchecked")
+            V value = (V)_values[nextIndex()];
+            return value;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new ValueIterator();
+        }
+
+        @Override
+        public int size() {
+            return _size;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.collections;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * A hash set of primitive long values.
+ *
+ * <p>Values are stored in an open addressing table so that adding, removing
+ * and checking values does not box the value. Intended for packed
+ * coordinates.</p>
+ *
+ * <p>Iterators do not support removal.</p>
+ *
+ * <p>Not thread safe.</p>
+ */
+public class LongHashSet {
+
+    private long[] _values;
+    private boolean[] _used;
+    private int _mask;
+    private int _threshold;
+    private int _size;
+    private int _modCount;
+
+    /**
+     * Constructor.
+     */
+    public LongHashSet() {
+        this(10);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param size  The expected number of values.
+     */
+    public LongHashSet(int size) {
+        PreCon.positiveNumber(size);
+
+        allocate(LongHashMap.tableSize(size));
+    }
+
+    /**
+     * Get the number of values.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Determine if the set is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Determine if the set contains a value.
+     *
+     * @param value  The value to check.
+     */
+    public boolean contains(long value) {
+        return indexOf(value) != -1;
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value  The value to add.
+     *
+     * @return  True if the value was added, false if it is already in the set.
+     */
+    public boolean add(long value) {
+
+        int index = LongHashMap.hash(value) & _mask;
+
+        while (_used[index]) {
+
+            if (_values[index] == value)
+                return false;
+
+            index = (index + 1) & _mask;
+        }
+
+        _values[index] = value;
+        _used[index] = true;
+        _size++;
+        _modCount++;
+
+        if (_size > _threshold)
+            allocate(_values.length << 1);
+
+        return true;
+    }
+
+    /**
+     * Remove a value.
+     *
+     * @param value  The value to remove.
+     *
+     * @return  True if the value was found and removed.
+     */
+    public boolean remove(long value) {
+        int index = indexOf(value);
+        if (index == -1)
+            return false;
+
+        // shift following values of the probe sequence back so that
+        // lookups never stop at the emptied slot
+        int empty = index;
+        int current = index;
+
+        while (true) {
+            current = (current + 1) & _mask;
+
+            if (!_used[current])
+                break;
+
+            int home = LongHashMap.hash(_values[current]) & _mask;
+
+            // value can move if its home slot is not between the empty slot and itself
+            if (((current - home) & _mask) >= ((current - empty) & _mask)) {
+                _values[empty] = _values[current];
+                empty = current;
+            }
+        }
+
+        _used[empty] = false;
+        _size--;
+        _modCount++;
+
+        return true;
+    }
+
+    /**
+     * Remove all values.
+     */
+    public void clear() {
+        if (_size == 0)
+            return;
+
+        Arrays.fill(_used, false);
+        _size = 0;
+        _modCount++;
+    }
+
+    /**
+     * Get an iterator of the values.
+     */
+    public LongIterator iterator() {
+        return new Iterator();
+    }
+
+    /**
+     * Get the values as an array.
+     */
+    public long[] toArray() {
+        long[] array = new long[_size];
+
+        for (int i = 0, j = 0; i < _values.length; i++) {
+            if (_used[i])
+                array[j++] = _values[i];
+        }
+
+        return array;
+    }
+
+    /*
+     * Get the table index of a value or -1 if not found.
+     */
+    private int indexOf(long value) {
+
+        int index = LongHashMap.hash(value) & _mask;
+
+        while (_used[index]) {
+            if (_values[index] == value)
+                return index;
+
+            index = (index + 1) & _mask;
+        }
+
+        return -1;
+    }
+
+    /*
+     * Allocate a new table and rehash current values into it.
+     */
+    private void allocate(int capacity) {
+
+        long[] values = _values;
+        boolean[] used = _used;
+
+        _values = new long[capacity];
+        _used = new boolean[capacity];
+        _mask = capacity - 1;
+        _threshold = (capacity >> 1) + (capacity >> 2);
+
+        if (used == null)
+            return;
+
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i])
+                continue;
+
+            int index = LongHashMap.hash(values[i]) & _mask;
+            while (_used[index]) {
+                index = (index + 1) & _mask;
+            }
+
+            _values[index] = values[i];
+            _used[index] = true;
+        }
+    }
+
+    private class Iterator implements LongIterator {
+
+        int next = -1;
+        int expectedModCount = _modCount;
+
+        Iterator() {
+            advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != -1;
+        }
+
+        @Override
+        public long nextLong() {
+            if (_modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+
+            if (next == -1)
+                throw new NoSuchElementException();
+
+            int index = next;
+            advance(index + 1);
+            return _values[index];
+        }
+
+        private void advance(int start) {
+            for (int i = start; i < _used.length; i++) {
+                if (_used[i]) {
+                    next = i;
+                    return;
+                }
+            }
+            next = -1;
+        }
+    }
+}
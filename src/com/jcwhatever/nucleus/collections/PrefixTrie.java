@@ -0,0 +1,322 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.collections;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.Arrays;
+import java.util.Collection;
+import javax.annotation.Nullable;
+
+/**
+ * Maps case insensitive text keys to values and finds keys by prefix.
+ *
+ * <p>Prefix lookups only visit the keys that start with the prefix, so the cost
+ * depends on the number of results instead of the number of keys. Keys are
+ * returned in alphabetical order using the case of the text they were added
+ * with.</p>
+ *
+ * <p>Not thread safe.</p>
+ *
+ * @param <V>  The value type.
+ */
+public class PrefixTrie<V> {
+
+    private static final char[] EMPTY_CHARS = new char[0];
+
+    private final Node<V> _root = new Node<>();
+    private int _size;
+
+    /**
+     * Get the number of keys.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Determine if the trie is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Determine if the trie contains a key.
+     *
+     * @param key  The case insensitive key.
+     */
+    public boolean containsKey(String key) {
+        PreCon.notNull(key);
+
+        Node<V> node = find(key);
+        return node != null && node.key != null;
+    }
+
+    /**
+     * Get the value mapped to a key.
+     *
+     * @param key  The case insensitive key.
+     *
+     * @return  The value or null if not found.
+     */
+    @Nullable
+    public V get(String key) {
+        PreCon.notNull(key);
+
+        Node<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Map a value to a key.
+     *
+     * <p>If the key is already in the trie using a different case, the key
+     * text is replaced.</p>
+     *
+     * @param key    The case insensitive key.
+     * @param value  The value.
+     *
+     * @return  The previous value mapped to the key or null if there was none.
+     */
+    @Nullable
+    public V put(String key, @Nullable V value) {
+        PreCon.notNull(key);
+
+        Node<V> node = _root;
+
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(Character.toLowerCase(key.charAt(i)));
+        }
+
+        V previous = node.value;
+
+        if (node.key == null)
+            _size++;
+
+        node.key = key;
+        node.value = value;
+
+        return previous;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key  The case insensitive key.
+     *
+     * @return  The value that was mapped to the key or null if the key was not found.
+     */
+    @Nullable
+    public V remove(String key) {
+        PreCon.notNull(key);
+
+        @SuppressWarnings("unchecked")
+        Node<V>[] path = new Node[key.length() + 1];
+        path[0] = _root;
+
+        Node<V> node = _root;
+
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getChild(Character.toLowerCase(key.charAt(i)));
+            if (node == null)
+                return null;
+
+            path[i + 1] = node;
+        }
+
+        if (node.key == null)
+            return null;
+
+        V previous = node.value;
+
+        node.key = null;
+        node.value = null;
+        _size--;
+
+        // remove nodes that no longer lead to a key
+        for (int i = key.length(); i > 0; i--) {
+
+            Node<V> current = path[i];
+            if (current.key != null || current.count != 0)
+                break;
+
+            path[i - 1].removeChild(Character.toLowerCase(key.charAt(i - 1)));
+        }
+
+        return previous;
+    }
+
+    /**
+     * Remove all keys.
+     */
+    public void clear() {
+        _root.chars = EMPTY_CHARS;
+        _root.children = null;
+        _root.count = 0;
+        _root.key = null;
+        _root.value = null;
+        _size = 0;
+    }
+
+    /**
+     * Get the keys that start with the specified prefix.
+     *
+     * @param prefix  The case insensitive prefix. An empty prefix returns all keys.
+     * @param output  The output collection to add results to.
+     *
+     * @param <T>  The output collection type.
+     *
+     * @return  The output collection.
+     */
+    public <T extends Collection<String>> T getKeys(String prefix, T output) {
+        PreCon.notNull(prefix);
+        PreCon.notNull(output);
+
+        Node<V> node = find(prefix);
+        if (node != null)
+            collectKeys(node, output);
+
+        return output;
+    }
+
+    /**
+     * Get the values mapped to keys that start with the specified prefix.
+     *
+     * @param prefix  The case insensitive prefix. An empty prefix returns all values.
+     * @param output  The output collection to add results to.
+     *
+     * @param <T>  The output collection type.
+     *
+     * @return  The output collection.
+     */
+    public <T extends Collection<V>> T getValues(String prefix, T output) {
+        PreCon.notNull(prefix);
+        PreCon.notNull(output);
+
+        Node<V> node = find(prefix);
+        if (node != null)
+            collectValues(node, output);
+
+        return output;
+    }
+
+    @Nullable
+    private Node<V> find(String text) {
+
+        Node<V> node = _root;
+
+        for (int i = 0; i < text.length(); i++) {
+            node = node.getChild(Character.toLowerCase(text.charAt(i)));
+            if (node == null)
+                return null;
+        }
+
+        return node;
+    }
+
+    private void collectKeys(Node<V> node, Collection<String> output) {
+
+        if (node.key != null)
+            output.add(node.key);
+
+        for (int i = 0; i < node.count; i++) {
+            collectKeys(node.children[i], output);
+        }
+    }
+
+    private void collectValues(Node<V> node, Collection<V> output) {
+
+        if (node.key != null)
+            output.add(node.value);
+
+        for (int i = 0; i < node.count; i++) {
+            collectValues(node.children[i], output);
+        }
+    }
+
+    /*
+     * Trie node. Child characters are kept sorted so children are
+     * found with a binary search and visited in alphabetical order.
+     */
+    private static class Node<V> {
+
+        char[] chars = EMPTY_CHARS;
+        Node<V>[] children;
+        int count;
+
+        String key;
+        V value;
+
+        @Nullable
+        Node<V> getChild(char ch) {
+            int index = Arrays.binarySearch(chars, 0, count, ch);
+            return index < 0 ? null : children[index];
+        }
+
+        Node<V> getOrAddChild(char ch) {
+
+            int index = Arrays.binarySearch(chars, 0, count, ch);
+            if (index >= 0)
+                return children[index];
+
+            index = -(index + 1);
+
+            if (count == chars.length) {
+                int capacity = count == 0 ? 2 : count * 2;
+                chars = Arrays.copyOf(chars, capacity);
+
+                @SuppressWarnings("unchecked")
+                Node<V>[] expanded = new Node[capacity];
+                if (children != null)
+                    System.arraycopy(children, 0, expanded, 0, count);
+
+                children = expanded;
+            }
+
+            System.arraycopy(chars, index, chars, index + 1, count - index);
+            System.arraycopy(children, index, children, index + 1, count - index);
+
+            Node<V> child = new Node<>();
+            chars[index] = ch;
+            children[index] = child;
+            count++;
+
+            return child;
+        }
+
+        void removeChild(char ch) {
+
+            int index = Arrays.binarySearch(chars, 0, count, ch);
+            if (index < 0)
+                return;
+
+            System.arraycopy(chars, index + 1, chars, index, count - index - 1);
+            System.arraycopy(children, index + 1, children, index, count - index - 1);
+            count--;
+            children[count] = null;
+        }
+    }
+}
@@ -39,15 +39,18 @@ import org.bukkit.command.CommandSender;
         parent="scripts",
         command = "reload",
         staticParams = {"scriptName="},
+        flags = { "full" },
         description = "Reload scripts.",
 
         paramDescriptions = {
-                "scriptName= Optional. The name of the script to reload. Omit to reload all scripts."
+                "scriptName= Optional. The name of the script to reload. Omit to reload changed scripts.",
+                "full= Optional. Include flag to reload and re-evaluate all scripts."
         })
 
 class ReloadSubCommand extends AbstractCommand implements IExecutableCommand {
 
     @Localizable static final String _RELOAD_ALL = "Scripts reloaded.";
+    @Localizable static final String _RELOAD_CHANGED = "{0: total} changed script(s) reloaded.";
     @Localizable static final String _RELOAD_ONE = "Script '{0: script name}' reloaded.";
     @Localizable static final String _SCRIPT_NOT_FOUND = "A script named '{0: script name}' was not found.";
 
@@ -55,9 +58,18 @@ class ReloadSubCommand extends AbstractCommand implements IExecutableCommand {
     public void execute (CommandSender sender, ICommandArguments args) throws CommandException {
 
         if (args.isDefaultValue("scriptName")) {
-            Nucleus.getScriptManager().reload();
 
-            tellSuccess(sender, NucLang.get(_RELOAD_ALL));
+            if (args.getBoolean("full")) {
+                Nucleus.getScriptManager().reload();
+
+                tellSuccess(sender, NucLang.get(_RELOAD_ALL));
+            }
+            else {
+                InternalScriptManager manager = (InternalScriptManager)Nucleus.getScriptManager();
+                int total = manager.reloadChanged();
+
+                tellSuccess(sender, NucLang.get(_RELOAD_CHANGED, total));
+            }
         }
         else {
 
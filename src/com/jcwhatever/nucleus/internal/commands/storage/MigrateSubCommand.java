@@ -0,0 +1,93 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.commands.storage;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.internal.NucLang;
+import com.jcwhatever.nucleus.internal.providers.storage.BinaryStorageProvider;
+import com.jcwhatever.nucleus.managed.commands.CommandInfo;
+import com.jcwhatever.nucleus.managed.commands.arguments.ICommandArguments;
+import com.jcwhatever.nucleus.managed.commands.exceptions.CommandException;
+import com.jcwhatever.nucleus.managed.commands.mixins.IExecutableCommand;
+import com.jcwhatever.nucleus.managed.commands.utils.AbstractCommand;
+import com.jcwhatever.nucleus.managed.language.Localizable;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.providers.storage.IStorageProvider;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+@CommandInfo(
+        parent="storage",
+        command="migrate",
+        staticParams={ "pluginName" },
+        description="Copy a plugins YAML data into binary data files and set its storage provider to " +
+                BinaryStorageProvider.NAME + ".",
+
+        paramDescriptions = {
+                "pluginName= The name of the plugin whose data is migrated."})
+
+class MigrateSubCommand extends AbstractCommand implements IExecutableCommand {
+
+    @Localizable static final String _PLUGIN_NOT_FOUND = "A plugin named '{0: plugin name}' was not found.";
+    @Localizable static final String _PROVIDER_NOT_FOUND = "A data storage provider named '{0: provider name}' was not found.";
+    @Localizable static final String _STARTED = "Migrating data of plugin '{0: plugin name}'...";
+    @Localizable static final String _SUCCESS = "Migrated {0: total} data file(s) of plugin '{1: plugin name}'. Server restart required to take effect.";
+
+    @Override
+    public void execute(final CommandSender sender, ICommandArguments args) throws CommandException {
+
+        String pluginName = args.getString("pluginName");
+
+        final Plugin plugin = Bukkit.getPluginManager().getPlugin(pluginName);
+        if (plugin == null)
+            throw new CommandException(NucLang.get(_PLUGIN_NOT_FOUND, pluginName));
+
+        final IStorageProvider provider = Nucleus.getProviders().getStorage(BinaryStorageProvider.NAME);
+        if (!(provider instanceof BinaryStorageProvider))
+            throw new CommandException(NucLang.get(_PROVIDER_NOT_FOUND, BinaryStorageProvider.NAME));
+
+        tell(sender, NucLang.get(_STARTED, plugin.getName()));
+
+        Scheduler.runTaskLaterAsync(Nucleus.getPlugin(), 1, new Runnable() {
+            @Override
+            public void run() {
+
+                final int total = ((BinaryStorageProvider) provider).migrateYaml(plugin);
+
+                Scheduler.runTaskSync(Nucleus.getPlugin(), new Runnable() {
+                    @Override
+                    public void run() {
+
+                        Nucleus.getProviders().setStorage(plugin, provider);
+
+                        tellSuccess(sender, NucLang.get(_SUCCESS, total, plugin.getName()));
+                    }
+                });
+            }
+        });
+    }
+}
@@ -37,6 +37,7 @@ public final class StorageCommand extends AbstractCommand {
         super();
 
         registerCommand(ListSubCommand.class);
+        registerCommand(MigrateSubCommand.class);
         registerCommand(SetSubCommand.class);
     }
 }
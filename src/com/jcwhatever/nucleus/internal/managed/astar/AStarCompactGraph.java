@@ -0,0 +1,540 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.astar;
+
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
+import com.jcwhatever.nucleus.managed.astar.nodes.AStarGraphNode;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.ThreadSingletons;
+import com.jcwhatever.nucleus.utils.ThreadSingletons.ISingletonFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+/**
+ * Frozen, int indexed representation of a named node graph.
+ *
+ * <p>Node coordinates are stored in primitive arrays and adjacency is stored in
+ * compressed sparse row form: the adjacent node indexes of node {@code i} are
+ * {@code edges[edgeOffsets[i]]} to {@code edges[edgeOffsets[i + 1] - 1]}.</p>
+ *
+ * <p>Searches run on the arrays using per thread scratch buffers, so no objects are
+ * allocated until the resulting path is built. Edges are directed, from a node to the
+ * nodes it lists as adjacent, and cost the straight line distance between the two.</p>
+ *
+ * <p>When landmarks are requested, the shortest path distances to and from each landmark
+ * are precomputed and used for a landmark (ALT) heuristic which is admissible and
+ * generally much tighter than straight line distance alone.</p>
+ */
+class AStarCompactGraph {
+
+    private final AStarGraphNode[] _nodes;
+    private final Map<String, Integer> _indexes;
+
+    private final int[] _x;
+    private final int[] _y;
+    private final int[] _z;
+
+    private final int[] _edgeOffsets;
+    private final int[] _edges;
+    private final float[] _edgeCosts;
+
+    private final int _landmarkCount;
+    private final float[] _fromLandmark; // [landmark * size + node]
+    private final float[] _toLandmark;   // [landmark * size + node]
+
+    private final ThreadSingletons<Scratch> _scratch;
+
+    /**
+     * Constructor.
+     *
+     * @param nodes      The graph nodes. Adjacent nodes that are not in the collection are ignored.
+     * @param landmarks  The number of landmarks to precompute. 0 to use straight line distance only.
+     */
+    AStarCompactGraph(Collection<? extends AStarGraphNode> nodes, int landmarks) {
+        PreCon.notNull(nodes);
+        PreCon.positiveNumber(landmarks);
+
+        int size = nodes.size();
+
+        _nodes = new AStarGraphNode[size];
+        _indexes = new HashMap<>(size + (size / 3) + 1);
+        _x = new int[size];
+        _y = new int[size];
+        _z = new int[size];
+
+        int index = 0;
+        for (AStarGraphNode node : nodes) {
+            _nodes[index] = node;
+            _indexes.put(node.getName(), index);
+            _x[index] = node.getX();
+            _y[index] = node.getY();
+            _z[index] = node.getZ();
+            index++;
+        }
+
+        // count edges
+        _edgeOffsets = new int[size + 1];
+        int totalEdges = 0;
+        for (int i = 0; i < size; i++) {
+            _edgeOffsets[i] = totalEdges;
+            for (AStarGraphNode adjacent : _nodes[i].getAdjacent()) {
+                Integer adjIndex = _indexes.get(adjacent.getName());
+                if (adjIndex != null && adjIndex != i)
+                    totalEdges++;
+            }
+        }
+        _edgeOffsets[size] = totalEdges;
+
+        // fill edges
+        _edges = new int[totalEdges];
+        _edgeCosts = new float[totalEdges];
+        for (int i = 0; i < size; i++) {
+            int edge = _edgeOffsets[i];
+            for (AStarGraphNode adjacent : _nodes[i].getAdjacent()) {
+                Integer adjIndex = _indexes.get(adjacent.getName());
+                if (adjIndex == null || adjIndex == i)
+                    continue;
+
+                _edges[edge] = adjIndex;
+                _edgeCosts[edge] = distance(i, adjIndex);
+                edge++;
+            }
+        }
+
+        _landmarkCount = Math.min(landmarks, size);
+        _fromLandmark = new float[_landmarkCount * size];
+        _toLandmark = new float[_landmarkCount * size];
+
+        if (_landmarkCount > 0)
+            computeLandmarks();
+
+        _scratch = new ThreadSingletons<>(new ISingletonFactory<Scratch>() {
+            @Override
+            public Scratch create(Thread thread) {
+                return new Scratch(_nodes.length);
+            }
+        });
+    }
+
+    /**
+     * Get the number of nodes in the graph.
+     */
+    int size() {
+        return _nodes.length;
+    }
+
+    /**
+     * Get the number of precomputed landmarks.
+     */
+    int getLandmarkCount() {
+        return _landmarkCount;
+    }
+
+    /**
+     * Get the index of a node.
+     *
+     * @param name  The node name.
+     *
+     * @return  The index or -1 if the node is not in the graph.
+     */
+    int indexOf(String name) {
+        Integer index = _indexes.get(name);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Get a node by index.
+     */
+    AStarGraphNode getNode(int index) {
+        return _nodes[index];
+    }
+
+    /**
+     * Get the squared distance from the node at the specified index
+     * to the specified coordinates.
+     */
+    double distanceSquared(int index, int x, int y, int z) {
+        double dx = _x[index] - x;
+        double dy = _y[index] - y;
+        double dz = _z[index] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Search for the shortest path between two nodes.
+     *
+     * @param start          The start node.
+     * @param destination    The destination node.
+     * @param maxIterations  The max number of nodes to close. 0 or less for no limit.
+     *
+     * @throws IllegalArgumentException if either node is not in the graph.
+     */
+    IAStarResult<AStarGraphNode> search(AStarGraphNode start, AStarGraphNode destination,
+                                        long maxIterations) {
+        PreCon.notNull(start, "start");
+        PreCon.notNull(destination, "destination");
+
+        int startIndex = indexOf(start.getName());
+        int destIndex = indexOf(destination.getName());
+
+        PreCon.isValid(startIndex != -1, IllegalArgumentException.class,
+                "Start node '{0}' is not in the graph.", start.getName());
+        PreCon.isValid(destIndex != -1, IllegalArgumentException.class,
+                "Destination node '{0}' is not in the graph.", destination.getName());
+
+        Scratch scratch = _scratch.get();
+        int generation = scratch.nextGeneration();
+
+        int[] seen = scratch.seen;
+        int[] closed = scratch.closed;
+        float[] g = scratch.g;
+        int[] parents = scratch.parents;
+
+        seen[startIndex] = generation;
+        g[startIndex] = 0f;
+        parents[startIndex] = -1;
+        scratch.push(startIndex, heuristic(startIndex, destIndex));
+
+        long iterations = 0;
+        boolean isFound = false;
+
+        while (scratch.heapSize > 0) {
+
+            int current = scratch.pop();
+            closed[current] = generation;
+
+            if (current == destIndex) {
+                isFound = true;
+                break;
+            }
+
+            if (maxIterations > 0 && iterations >= maxIterations)
+                return new AStarResult<AStarGraphNode>(ResultStatus.ITERATIONS_EXCEEDED);
+
+            iterations++;
+
+            float currentG = g[current];
+
+            for (int e = _edgeOffsets[current], end = _edgeOffsets[current + 1]; e < end; e++) {
+
+                int adjacent = _edges[e];
+                if (closed[adjacent] == generation)
+                    continue;
+
+                float tentativeG = currentG + _edgeCosts[e];
+
+                if (seen[adjacent] != generation) {
+                    seen[adjacent] = generation;
+                    g[adjacent] = tentativeG;
+                    parents[adjacent] = current;
+                    scratch.push(adjacent, tentativeG + heuristic(adjacent, destIndex));
+                }
+                else if (tentativeG < g[adjacent]) {
+                    g[adjacent] = tentativeG;
+                    parents[adjacent] = current;
+                    scratch.decrease(adjacent, tentativeG + heuristic(adjacent, destIndex));
+                }
+            }
+        }
+
+        scratch.heapSize = 0;
+
+        if (!isFound)
+            return new AStarResult<AStarGraphNode>(ResultStatus.UNRESOLVABLE);
+
+        LinkedList<AStarGraphNode> path = new LinkedList<>();
+        int current = destIndex;
+        while (current != -1) {
+            path.addFirst(_nodes[current]);
+            current = parents[current];
+        }
+
+        return new AStarResult<AStarGraphNode>(path);
+    }
+
+    /*
+     * Get the estimated cost from a node to the destination node.
+     */
+    private float heuristic(int node, int destination) {
+
+        float h = distance(node, destination);
+
+        int size = _nodes.length;
+
+        for (int i = 0, offset = 0; i < _landmarkCount; i++, offset += size) {
+
+            // triangle inequality, using distances from the landmark
+            float fromNode = _fromLandmark[offset + node];
+            float fromDest = _fromLandmark[offset + destination];
+            if (fromNode != Float.POSITIVE_INFINITY && fromDest != Float.POSITIVE_INFINITY) {
+                float estimate = fromDest - fromNode;
+                if (estimate > h)
+                    h = estimate;
+            }
+
+            // triangle inequality, using distances to the landmark
+            float toNode = _toLandmark[offset + node];
+            float toDest = _toLandmark[offset + destination];
+            if (toNode != Float.POSITIVE_INFINITY && toDest != Float.POSITIVE_INFINITY) {
+                float estimate = toNode - toDest;
+                if (estimate > h)
+                    h = estimate;
+            }
+        }
+
+        return h;
+    }
+
+    /*
+     * Get the straight line distance between 2 nodes.
+     */
+    private float distance(int a, int b) {
+        int dx = _x[a] - _x[b];
+        int dy = _y[a] - _y[b];
+        int dz = _z[a] - _z[b];
+        return (float)Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /*
+     * Select landmarks using farthest point selection and precompute
+     * shortest path distances to and from each.
+     */
+    private void computeLandmarks() {
+
+        int size = _nodes.length;
+
+        // reverse adjacency, used for distances to a landmark
+        int[] reverseOffsets = new int[size + 1];
+        for (int edge : _edges) {
+            reverseOffsets[edge + 1]++;
+        }
+        for (int i = 0; i < size; i++) {
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        }
+
+        int[] reverseEdges = new int[_edges.length];
+        float[] reverseCosts = new float[_edges.length];
+        int[] fill = Arrays.copyOf(reverseOffsets, size);
+
+        for (int i = 0; i < size; i++) {
+            for (int e = _edgeOffsets[i]; e < _edgeOffsets[i + 1]; e++) {
+                int slot = fill[_edges[e]]++;
+                reverseEdges[slot] = i;
+                reverseCosts[slot] = _edgeCosts[e];
+            }
+        }
+
+        // min distance from each node to any selected landmark
+        float[] nearest = new float[size];
+        Arrays.fill(nearest, Float.POSITIVE_INFINITY);
+
+        Scratch scratch = new Scratch(size);
+        int landmark = 0;
+
+        for (int i = 0; i < _landmarkCount; i++) {
+
+            int offset = i * size;
+
+            dijkstra(landmark, _edgeOffsets, _edges, _edgeCosts, _fromLandmark, offset, scratch);
+            dijkstra(landmark, reverseOffsets, reverseEdges, reverseCosts, _toLandmark, offset, scratch);
+
+            // next landmark is the node farthest from all current landmarks
+            int farthest = -1;
+            float farthestDist = -1f;
+            for (int n = 0; n < size; n++) {
+                float dist = distance(landmark, n);
+                if (dist < nearest[n])
+                    nearest[n] = dist;
+
+                if (nearest[n] > farthestDist) {
+                    farthest = n;
+                    farthestDist = nearest[n];
+                }
+            }
+
+            if (farthest == -1)
+                break;
+
+            landmark = farthest;
+        }
+    }
+
+    /*
+     * Compute shortest path distances from a source node to all nodes.
+     */
+    private static void dijkstra(int source, int[] offsets, int[] edges, float[] costs,
+                                 float[] output, int outputOffset, Scratch scratch) {
+
+        int size = offsets.length - 1;
+        Arrays.fill(output, outputOffset, outputOffset + size, Float.POSITIVE_INFINITY);
+
+        int generation = scratch.nextGeneration();
+        output[outputOffset + source] = 0f;
+        scratch.seen[source] = generation;
+        scratch.push(source, 0f);
+
+        while (scratch.heapSize > 0) {
+
+            int current = scratch.pop();
+            scratch.closed[current] = generation;
+
+            float currentDist = output[outputOffset + current];
+
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+
+                int adjacent = edges[e];
+                if (scratch.closed[adjacent] == generation)
+                    continue;
+
+                float dist = currentDist + costs[e];
+
+                if (scratch.seen[adjacent] != generation) {
+                    scratch.seen[adjacent] = generation;
+                    output[outputOffset + adjacent] = dist;
+                    scratch.push(adjacent, dist);
+                }
+                else if (dist < output[outputOffset + adjacent]) {
+                    output[outputOffset + adjacent] = dist;
+                    scratch.decrease(adjacent, dist);
+                }
+            }
+        }
+    }
+
+    /*
+     * Per thread search buffers. Entries are only valid when their
+     * generation stamp matches the current search generation, which
+     * avoids clearing the arrays between searches.
+     */
+    private static class Scratch {
+
+        final int[] seen;
+        final int[] closed;
+        final float[] g;
+        final int[] parents;
+
+        // binary min heap of node indexes ordered by f score
+        final int[] heap;
+        final float[] heapScores;
+        final int[] heapPositions;
+        int heapSize;
+
+        int generation;
+
+        Scratch(int size) {
+            seen = new int[size];
+            closed = new int[size];
+            g = new float[size];
+            parents = new int[size];
+            heap = new int[size];
+            heapScores = new float[size];
+            heapPositions = new int[size];
+        }
+
+        int nextGeneration() {
+            heapSize = 0;
+            generation++;
+
+            if (generation == Integer.MAX_VALUE) {
+                Arrays.fill(seen, 0);
+                Arrays.fill(closed, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+
+        void push(int node, float score) {
+            int position = heapSize++;
+            heap[position] = node;
+            heapScores[node] = score;
+            heapPositions[node] = position;
+            siftUp(position);
+        }
+
+        int pop() {
+            int result = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                heap[0] = heap[heapSize];
+                heapPositions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return result;
+        }
+
+        void decrease(int node, float score) {
+            heapScores[node] = score;
+            siftUp(heapPositions[node]);
+        }
+
+        private void siftUp(int position) {
+            int node = heap[position];
+            float score = heapScores[node];
+
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                int parentNode = heap[parent];
+                if (heapScores[parentNode] <= score)
+                    break;
+
+                heap[position] = parentNode;
+                heapPositions[parentNode] = position;
+                position = parent;
+            }
+
+            heap[position] = node;
+            heapPositions[node] = position;
+        }
+
+        private void siftDown(int position) {
+            int node = heap[position];
+            float score = heapScores[node];
+            int half = heapSize >>> 1;
+
+            while (position < half) {
+                int child = (position << 1) + 1;
+                int right = child + 1;
+                if (right < heapSize && heapScores[heap[right]] < heapScores[heap[child]])
+                    child = right;
+
+                int childNode = heap[child];
+                if (score <= heapScores[childNode])
+                    break;
+
+                heap[position] = childNode;
+                heapPositions[childNode] = position;
+                position = child;
+            }
+
+            heap[position] = node;
+            heapPositions[node] = position;
+        }
+    }
+}
@@ -24,6 +24,8 @@
 
 package com.jcwhatever.nucleus.internal.managed.astar;
 
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
 import com.jcwhatever.nucleus.managed.astar.nodes.AStarGraphNode;
 import com.jcwhatever.nucleus.managed.astar.nodes.IAStarNodeGraph;
 import com.jcwhatever.nucleus.utils.PreCon;
@@ -35,30 +37,44 @@ import org.bukkit.Location;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.Map;
+import java.util.List;
 
 /**
  * Implementation of {@link IAStarNodeGraph}.
+ *
+ * <p>The graph is frozen into an {@link AStarCompactGraph} when constructed.
+ * Changes to node adjacency made afterwards are not seen by the graph.</p>
  */
 class AStarNodeGraph implements IAStarNodeGraph {
 
-    private Map<String, AStarGraphNode> _map = new HashMap<>(10);
+    private final AStarCompactGraph _graph;
+    private final List<AStarGraphNode> _nodes;
     private final MutableCoords3Di _coordMatcher = new MutableCoords3Di();
 
     AStarNodeGraph(Collection<? extends AStarGraphNode> nodes) {
-        for (AStarGraphNode node : nodes) {
-            _map.put(node.getName(), node);
+        this(nodes, 0);
+    }
+
+    AStarNodeGraph(Collection<? extends AStarGraphNode> nodes, int landmarks) {
+        _graph = new AStarCompactGraph(nodes, landmarks);
+
+        AStarGraphNode[] array = new AStarGraphNode[_graph.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = _graph.getNode(i);
         }
+        _nodes = Collections.unmodifiableList(Arrays.asList(array));
     }
 
     @Override
     public AStarGraphNode get(String name) {
         PreCon.notNull(name);
 
-        return _map.get(name);
+        int index = _graph.indexOf(name);
+        return index != -1 ? _graph.getNode(index) : null;
     }
 
     @Override
@@ -91,17 +107,23 @@ class AStarNodeGraph implements IAStarNodeGraph {
         PreCon.notNull(source);
         PreCon.positiveNumber(radius);
 
+        int x = source.getX();
+        int y = source.getY();
+        int z = source.getZ();
+
         AStarGraphNode closest = null;
         double closestDistSq = 0D;
         double radiusSq = radius * radius;
 
-        for (AStarGraphNode node : _map.values()) {
-            double distanceSq = Coords3Di.distanceSquared(source, node);
+        for (int i = 0, size = _graph.size(); i < size; i++) {
+            double distanceSq = _graph.distanceSquared(i, x, y, z);
             if (distanceSq > radiusSq)
                 continue;
 
             if (closest == null || distanceSq < closestDistSq) {
 
+                AStarGraphNode node = _graph.getNode(i);
+
                 if (validator != null && !validator.isValid(node))
                     continue;
 
@@ -113,29 +135,49 @@ class AStarNodeGraph implements IAStarNodeGraph {
         return closest;
     }
 
+    @Override
+    public IAStarResult<AStarGraphNode> search(AStarGraphNode start, AStarGraphNode destination) {
+        return _graph.search(start, destination, 0);
+    }
+
+    @Override
+    public IAStarResult<AStarGraphNode> search(AStarGraphNode start, AStarGraphNode destination,
+                                               IAStarSettings settings) {
+        PreCon.notNull(settings, "settings");
+
+        return _graph.search(start, destination, settings.getMaxIterations());
+    }
+
+    @Override
+    public int getLandmarkCount() {
+        return _graph.getLandmarkCount();
+    }
+
     @Override
     public Collection<AStarGraphNode> getAll() {
-        return _map.values();
+        return _nodes;
     }
 
     @Override
     public <T extends Collection<AStarGraphNode>> T getAll(T output) {
         PreCon.notNull(output);
 
-        output.addAll(_map.values());
+        output.addAll(_nodes);
         return output;
     }
 
     @Override
     public Collection<String> getNames() {
-        return getNames(new ArrayList<String>(_map.size()));
+        return getNames(new ArrayList<String>(_nodes.size()));
     }
 
     @Override
     public <T extends Collection<String>> T getNames(T output) {
         PreCon.notNull(output);
 
-        output.addAll(_map.keySet());
+        for (AStarGraphNode node : _nodes) {
+            output.add(node.getName());
+        }
         return output;
     }
 
@@ -148,6 +190,6 @@ class AStarNodeGraph implements IAStarNodeGraph {
 
     @Override
     public Iterator<AStarGraphNode> iterator() {
-        return _map.values().iterator();
+        return _nodes.iterator();
     }
 }
@@ -26,6 +26,7 @@ package com.jcwhatever.nucleus.internal.managed.astar;
 
 import com.jcwhatever.nucleus.managed.astar.nodes.AStarGraphNode;
 import com.jcwhatever.nucleus.managed.astar.nodes.IAStarNodeGraphBuilder;
+import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.ICoords3Di;
 import org.bukkit.Location;
 
@@ -40,6 +41,7 @@ import java.util.Map;
 class AStarNodeGraphBuilder implements IAStarNodeGraphBuilder {
 
     private final Map<String, NodeDefinition> _definitions;
+    private int _landmarks;
 
     AStarNodeGraphBuilder() {
         this(25);
@@ -67,6 +69,14 @@ class AStarNodeGraphBuilder implements IAStarNodeGraphBuilder {
         return this;
     }
 
+    @Override
+    public AStarNodeGraphBuilder landmarks(int count) {
+        PreCon.positiveNumber(count);
+
+        _landmarks = count;
+        return this;
+    }
+
     @Override
     public AStarNodeGraph build() {
 
@@ -91,7 +101,7 @@ class AStarNodeGraphBuilder implements IAStarNodeGraphBuilder {
             nodes.add(definition.node);
         }
 
-        return new AStarNodeGraph(nodes);
+        return new AStarNodeGraph(nodes, _landmarks);
     }
 
     private static class NodeDefinition {
@@ -0,0 +1,679 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.astar;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.collections.LongHashMap;
+import com.jcwhatever.nucleus.collections.LongHashSet;
+import com.jcwhatever.nucleus.collections.LongIterator;
+import com.jcwhatever.nucleus.managed.astar.IAStarPathCache;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
+import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
+import com.jcwhatever.nucleus.managed.astar.nodes.AStarNode;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link IAStarPathCache}.
+ *
+ * <p>Each cached path is indexed by the chunk sections (16x16x16 blocks) its nodes
+ * and the blocks directly above and below them are in. Block events record the changed block
+ * in the cached paths that use the changed section. A path with changes is checked
+ * when requested: nodes whose block, head block or block below changed are dirty.
+ * If there are no dirty nodes the path is still valid, if the dirty nodes are a short
+ * segment of the path only that segment is searched again, otherwise the whole
+ * path is.</p>
+ *
+ * <p>Disabled by default since block changes that do not raise a Bukkit event are
+ * not seen by the cache.</p>
+ */
+class AStarPathCache implements IAStarPathCache, Listener {
+
+    // max portion of a path that can be dirty and still be repaired by segment
+    private static final double MAX_REPAIR_RATIO = 0.25D;
+
+    // max changed blocks recorded per path before whole sections are treated as dirty
+    private static final int MAX_DIRTY_BLOCKS = 64;
+
+    private final InternalAStarManager _manager;
+    private final Object _sync = new Object();
+
+    private final LinkedHashMap<PathKey, CachedPath> _paths = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, LongHashMap<Set<CachedPath>>> _sectionIndex = new HashMap<>(5);
+
+    private volatile boolean _isEnabled;
+    private volatile int _capacity = 512;
+
+    // guarded by _sync
+    private long _hits;
+    private long _misses;
+    private long _invalidations;
+    private long _repairs;
+
+    /**
+     * Constructor.
+     *
+     * @param manager  The owning manager.
+     */
+    AStarPathCache(InternalAStarManager manager) {
+        _manager = manager;
+
+        Bukkit.getPluginManager().registerEvents(this, Nucleus.getPlugin());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return _isEnabled;
+    }
+
+    @Override
+    public void setEnabled(boolean isEnabled) {
+        _isEnabled = isEnabled;
+
+        if (!isEnabled)
+            clear();
+    }
+
+    @Override
+    public int getCapacity() {
+        return _capacity;
+    }
+
+    @Override
+    public void setCapacity(int capacity) {
+        PreCon.greaterThanZero(capacity);
+
+        synchronized (_sync) {
+            _capacity = capacity;
+            trim();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (_sync) {
+            return _paths.size();
+        }
+    }
+
+    @Override
+    public long getHits() {
+        synchronized (_sync) {
+            return _hits;
+        }
+    }
+
+    @Override
+    public long getMisses() {
+        synchronized (_sync) {
+            return _misses;
+        }
+    }
+
+    @Override
+    public double getHitRate() {
+        synchronized (_sync) {
+            long hits = _hits + _repairs;
+            long total = hits + _misses;
+            return total == 0 ? 0.0D : (double) hits / total;
+        }
+    }
+
+    @Override
+    public long getInvalidations() {
+        synchronized (_sync) {
+            return _invalidations;
+        }
+    }
+
+    @Override
+    public long getRepairs() {
+        synchronized (_sync) {
+            return _repairs;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (_sync) {
+            _paths.clear();
+            _sectionIndex.clear();
+        }
+    }
+
+    @Override
+    public void resetStats() {
+        synchronized (_sync) {
+            _hits = 0;
+            _misses = 0;
+            _invalidations = 0;
+            _repairs = 0;
+        }
+    }
+
+    /**
+     * Get a path from the cache or search for it.
+     *
+     * @param world        The world to search in.
+     * @param start        The start surface block location.
+     * @param destination  The destination surface block location.
+     * @param settings     The search settings.
+     */
+    IAStarResult<AStarNode> search(World world, Location start, Location destination,
+                                   IAStarSettings settings) {
+
+        if (!_isEnabled)
+            return _manager.searchSurface(world, start, destination, settings);
+
+        PathKey key = new PathKey(world.getName(),
+                start.getBlockX(), start.getBlockY(), start.getBlockZ(),
+                destination.getBlockX(), destination.getBlockY(), destination.getBlockZ(),
+                settings);
+
+        int[] path = null;
+        int dirtyStart = -1;
+        int dirtyEnd = -1;
+
+        synchronized (_sync) {
+
+            CachedPath cached = _paths.get(key);
+            if (cached != null) {
+
+                if (cached.dirty.isEmpty()) {
+                    _hits++;
+                    return cached.toResult();
+                }
+
+                // find the range of nodes in dirty sections
+                for (int i = 0, size = cached.size(); i < size; i++) {
+                    if (cached.isDirty(i)) {
+                        if (dirtyStart == -1)
+                            dirtyStart = i;
+                        dirtyEnd = i;
+                    }
+                }
+
+                if (dirtyStart == -1) {
+                    // changes were in the paths sections but not on it
+                    cached.clearDirty();
+                    _hits++;
+                    return cached.toResult();
+                }
+
+                path = cached.coords;
+                remove(cached);
+                _invalidations++;
+            }
+        }
+
+        IAStarResult<AStarNode> result = null;
+
+        if (path != null) {
+            int size = path.length / 3;
+            boolean isRepairable = dirtyStart > 0 && dirtyEnd < size - 1
+                    && (dirtyEnd - dirtyStart + 1) <= size * MAX_REPAIR_RATIO;
+
+            if (isRepairable)
+                result = repair(world, path, dirtyStart, dirtyEnd, settings);
+        }
+
+        boolean isRepaired = result != null;
+        if (!isRepaired)
+            result = _manager.searchSurface(world, start, destination, settings);
+
+        synchronized (_sync) {
+            if (isRepaired) {
+                _repairs++;
+            }
+            else {
+                _misses++;
+            }
+        }
+
+        if (result.getStatus() == ResultStatus.RESOLVED) {
+
+            CachedPath cached = new CachedPath(key, result.values());
+
+            synchronized (_sync) {
+                CachedPath previous = _paths.get(key);
+                if (previous != null)
+                    remove(previous);
+
+                _paths.put(key, cached);
+                index(cached);
+                trim();
+            }
+
+            return cached.toResult();
+        }
+
+        return result;
+    }
+
+    /*
+     * Search for a replacement for the dirty segment of a path and splice it in.
+     * Returns null if the segment could not be resolved.
+     */
+    private IAStarResult<AStarNode> repair(World world, int[] path,
+                                           int dirtyStart, int dirtyEnd,
+                                           IAStarSettings settings) {
+
+        int before = (dirtyStart - 1) * 3;
+        int after = (dirtyEnd + 1) * 3;
+
+        // path nodes are surface adjusted, search expects the surface block below
+        Location segmentStart = new Location(world, path[before], path[before + 1] - 1, path[before + 2]);
+        Location segmentEnd = new Location(world, path[after], path[after + 1] - 1, path[after + 2]);
+
+        IAStarResult<AStarNode> segment = _manager.searchSurface(world, segmentStart, segmentEnd, settings);
+        if (segment.getStatus() != ResultStatus.RESOLVED)
+            return null;
+
+        List<AStarNode> segmentNodes = segment.values();
+        List<AStarNode> nodes = new ArrayList<>(path.length / 3 + segmentNodes.size());
+
+        // nodes before the segment, segment start node is included in the segment
+        for (int i = 0; i < before; i += 3) {
+            nodes.add(new AStarNode(path[i], path[i + 1], path[i + 2]));
+        }
+
+        nodes.addAll(segmentNodes);
+
+        // nodes after the segment, segment end node is included in the segment
+        for (int i = after + 3; i < path.length; i += 3) {
+            nodes.add(new AStarNode(path[i], path[i + 1], path[i + 2]));
+        }
+
+        return new AStarResult<AStarNode>(nodes);
+    }
+
+    /*
+     * Mark the cached paths that use the chunk section of a block as dirty.
+     */
+    private void onBlockChange(Block block) {
+        onBlockChange(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    void onBlockChange(World world, int x, int y, int z) {
+
+        synchronized (_sync) {
+
+            if (_paths.isEmpty())
+                return;
+
+            LongHashMap<Set<CachedPath>> sections = _sectionIndex.get(world.getName());
+            if (sections == null)
+                return;
+
+            long section = sectionKey(x, y, z);
+
+            Set<CachedPath> paths = sections.get(section);
+            if (paths == null)
+                return;
+
+            for (CachedPath cached : paths) {
+                cached.addDirty(section, x, y, z);
+            }
+        }
+    }
+
+    /*
+     * Add a path to the section index. Must be synchronized.
+     */
+    private void index(CachedPath cached) {
+
+        LongHashMap<Set<CachedPath>> sections = _sectionIndex.get(cached.key.world);
+        if (sections == null) {
+            sections = new LongHashMap<>(64);
+            _sectionIndex.put(cached.key.world, sections);
+        }
+
+        LongIterator iterator = cached.sections.iterator();
+        while (iterator.hasNext()) {
+            long section = iterator.nextLong();
+
+            Set<CachedPath> paths = sections.get(section);
+            if (paths == null) {
+                paths = new HashSet<>(4);
+                sections.put(section, paths);
+            }
+            paths.add(cached);
+        }
+    }
+
+    /*
+     * Remove a path from the cache and section index. Must be synchronized.
+     */
+    private void remove(CachedPath cached) {
+
+        _paths.remove(cached.key);
+
+        LongHashMap<Set<CachedPath>> sections = _sectionIndex.get(cached.key.world);
+        if (sections == null)
+            return;
+
+        LongIterator iterator = cached.sections.iterator();
+        while (iterator.hasNext()) {
+            long section = iterator.nextLong();
+
+            Set<CachedPath> paths = sections.get(section);
+            if (paths == null)
+                continue;
+
+            paths.remove(cached);
+            if (paths.isEmpty())
+                sections.remove(section);
+        }
+    }
+
+    /*
+     * Remove least recently used paths over capacity. Must be synchronized.
+     */
+    private void trim() {
+
+        int excess = _paths.size() - _capacity;
+        if (excess <= 0)
+            return;
+
+        List<CachedPath> removed = new ArrayList<>(excess);
+        Iterator<CachedPath> iterator = _paths.values().iterator();
+        while (iterator.hasNext() && removed.size() < excess) {
+            removed.add(iterator.next());
+        }
+
+        for (CachedPath cached : removed) {
+            remove(cached);
+        }
+    }
+
+    /*
+     * Get the key of the 16x16x16 chunk section a block is in.
+     */
+    static long sectionKey(int x, int y, int z) {
+        return ((long)(x >> 4) & 0xFFFFFFL) << 32
+                | ((long)(z >> 4) & 0xFFFFFFL) << 8
+                | ((long)(y >> 4) & 0xFFL);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockBreak(BlockBreakEvent event) {
+        onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockPlace(BlockPlaceEvent event) {
+        onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockBurn(BlockBurnEvent event) {
+        onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockFade(BlockFadeEvent event) {
+        onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockForm(BlockFormEvent event) {
+        onBlockChange(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onBlockFlow(BlockFromToEvent event) {
+        onBlockChange(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onPistonExtend(BlockPistonExtendEvent event) {
+        onBlockChange(event.getBlock());
+        for (Block block : event.getBlocks()) {
+            onBlockChange(block);
+            onBlockChange(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onPistonRetract(BlockPistonRetractEvent event) {
+        onBlockChange(event.getBlock());
+        for (Block block : event.getBlocks()) {
+            onBlockChange(block);
+            onBlockChange(block.getRelative(event.getDirection()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    private void onExplode(EntityExplodeEvent event) {
+        for (Block block : event.blockList()) {
+            onBlockChange(block);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    private void onWorldUnload(WorldUnloadEvent event) {
+
+        String worldName = event.getWorld().getName();
+
+        synchronized (_sync) {
+            Iterator<CachedPath> iterator = _paths.values().iterator();
+            while (iterator.hasNext()) {
+                CachedPath cached = iterator.next();
+                if (cached.key.world.equals(worldName))
+                    iterator.remove();
+            }
+            _sectionIndex.remove(worldName);
+        }
+    }
+
+    /*
+     * Cache key. Settings values are copied since settings are mutable.
+     */
+    private static class PathKey {
+
+        final String world;
+        final int startX, startY, startZ;
+        final int destX, destY, destZ;
+        final double range;
+        final int maxDropHeight;
+        final boolean isSurfaceSearch;
+        final long maxIterations;
+        final int hash;
+
+        PathKey(String world, int startX, int startY, int startZ,
+                int destX, int destY, int destZ, IAStarSettings settings) {
+
+            this.world = world;
+            this.startX = startX;
+            this.startY = startY;
+            this.startZ = startZ;
+            this.destX = destX;
+            this.destY = destY;
+            this.destZ = destZ;
+            this.range = settings.getRange();
+            this.maxDropHeight = settings.getMaxDropHeight();
+            this.isSurfaceSearch = settings.isSurfaceSearch();
+            this.maxIterations = settings.getMaxIterations();
+
+            int h = world.hashCode();
+            h = 31 * h + startX;
+            h = 31 * h + startY;
+            h = 31 * h + startZ;
+            h = 31 * h + destX;
+            h = 31 * h + destY;
+            h = 31 * h + destZ;
+            h = 31 * h + maxDropHeight;
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PathKey))
+                return false;
+
+            PathKey other = (PathKey)obj;
+
+            return other.hash == hash
+                    && other.startX == startX && other.startY == startY && other.startZ == startZ
+                    && other.destX == destX && other.destY == destY && other.destZ == destZ
+                    && other.maxDropHeight == maxDropHeight
+                    && other.isSurfaceSearch == isSurfaceSearch
+                    && other.maxIterations == maxIterations
+                    && Double.compare(other.range, range) == 0
+                    && other.world.equals(world);
+        }
+    }
+
+    /*
+     * A cached resolved path.
+     */
+    private static class CachedPath {
+
+        final PathKey key;
+        final int[] coords; // x, y, z per node
+        final LongHashSet sections = new LongHashSet(8);
+        final LongHashSet dirty = new LongHashSet(4);
+
+        // changed blocks, x, y, z per block. null if there were too many to record.
+        int[] dirtyBlocks = new int[12];
+        int dirtyBlockCount;
+
+        CachedPath(PathKey key, List<AStarNode> nodes) {
+            this.key = key;
+            this.coords = new int[nodes.size() * 3];
+
+            int i = 0;
+            for (AStarNode node : nodes) {
+                int x = node.getX();
+                int y = node.getY();
+                int z = node.getZ();
+
+                coords[i++] = x;
+                coords[i++] = y;
+                coords[i++] = z;
+
+                // the node, the block above it and the block it stands on
+                sections.add(sectionKey(x, y, z));
+                sections.add(sectionKey(x, y + 1, z));
+                sections.add(sectionKey(x, y - 1, z));
+            }
+        }
+
+        int size() {
+            return coords.length / 3;
+        }
+
+        void addDirty(long section, int x, int y, int z) {
+
+            dirty.add(section);
+
+            if (dirtyBlocks == null)
+                return;
+
+            if (dirtyBlockCount == MAX_DIRTY_BLOCKS) {
+                dirtyBlocks = null;
+                return;
+            }
+
+            int i = dirtyBlockCount * 3;
+            if (i == dirtyBlocks.length)
+                dirtyBlocks = Arrays.copyOf(dirtyBlocks, dirtyBlocks.length * 2);
+
+            dirtyBlocks[i] = x;
+            dirtyBlocks[i + 1] = y;
+            dirtyBlocks[i + 2] = z;
+            dirtyBlockCount++;
+        }
+
+        void clearDirty() {
+            dirty.clear();
+            dirtyBlocks = new int[12];
+            dirtyBlockCount = 0;
+        }
+
+        boolean isDirty(int index) {
+            int i = index * 3;
+            int x = coords[i];
+            int y = coords[i + 1];
+            int z = coords[i + 2];
+
+            if (dirtyBlocks == null) {
+                return dirty.contains(sectionKey(x, y, z))
+                        || dirty.contains(sectionKey(x, y + 1, z))
+                        || dirty.contains(sectionKey(x, y - 1, z));
+            }
+
+            // the node block, the head block above it or the block it stands on
+            for (int j = 0, end = dirtyBlockCount * 3; j < end; j += 3) {
+                if (dirtyBlocks[j] == x && dirtyBlocks[j + 2] == z
+                        && Math.abs(dirtyBlocks[j + 1] - y) <= 1) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        IAStarResult<AStarNode> toResult() {
+            List<AStarNode> nodes = new ArrayList<>(size());
+            for (int i = 0; i < coords.length; i += 3) {
+                nodes.add(new AStarNode(coords[i], coords[i + 1], coords[i + 2]));
+            }
+            return new AStarResult<AStarNode>(nodes);
+        }
+    }
+}
@@ -57,6 +57,22 @@ class AStarResult<N extends IAStarNode<N>> implements IAStarResult<N> {
         _status = status;
     }
 
+    /**
+     * Constructor.
+     *
+     * <p>Used for resolved searches whose path is already built.</p>
+     *
+     * @param path  The resolved path, from start to destination.
+     */
+    AStarResult(List<N> path) {
+        PreCon.notNull(path);
+
+        _nodes.addAll(path);
+        _status = _nodes.isEmpty()
+                ? ResultStatus.UNRESOLVABLE
+                : ResultStatus.RESOLVED;
+    }
+
     /**
      * Constructor.
      *
@@ -25,6 +25,8 @@
 
 package com.jcwhatever.nucleus.internal.managed.astar;
 
+import com.jcwhatever.nucleus.collections.LongHashSet;
+import com.jcwhatever.nucleus.collections.LongIterator;
 import com.jcwhatever.nucleus.managed.astar.interior.IInteriorFinder;
 import com.jcwhatever.nucleus.managed.astar.interior.IInteriorFinderResult;
 import com.jcwhatever.nucleus.providers.regionselect.IRegionSelection;
@@ -32,7 +34,7 @@ import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.Coords3Di;
 import com.jcwhatever.nucleus.utils.coords.ICoords3Di;
 import com.jcwhatever.nucleus.utils.coords.LocationUtils;
-import com.jcwhatever.nucleus.utils.coords.MutableCoords3Di;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
 import com.jcwhatever.nucleus.utils.materials.Materials;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -48,6 +50,9 @@ class InteriorFinder implements IInteriorFinder {
 
     private static final InteriorFinder INSTANCE = new InteriorFinder();
 
+    // largest initial node set size, sets grow as needed
+    private static final int MAX_INITIAL_SIZE = 4096;
+
     static InteriorFinder get() {
         return INSTANCE;
     }
@@ -61,22 +66,24 @@ class InteriorFinder implements IInteriorFinder {
 
         FinderContext context = new FinderContext(start, boundaries);
 
-        Coords3Di startCoords = Coords3Di.fromLocation(start);
+        int x = start.getBlockX();
+        int y = start.getBlockY();
+        int z = start.getBlockZ();
 
         // Add start node to valid nodes
-        context.validNodes.add(startCoords);
+        context.validNodes.add(context.pack(x, y, z));
 
         // Add valid adjacent nodes to valid nodes list
-        searchAdjacent(context, startCoords);
+        searchAdjacent(context, x, y, z);
 
         return new InteriorResults(context);
     }
 
     /*
      * Search adjacent locations around the specified location
-     * and add valid and invalid locations to their respective map.
+     * and add valid and invalid locations to their respective sets.
      */
-    private void searchAdjacent(FinderContext context, Coords3Di node) {
+    private void searchAdjacent(FinderContext context, int nodeX, int nodeY, int nodeZ) {
 
         // column validations, work from top down, skip columns that are false
         boolean[][] columns = new boolean[][] {
@@ -85,7 +92,7 @@ class InteriorFinder implements IInteriorFinder {
                 { true, true,  true }
         };
 
-        boolean isBelowStart = node.getY() <= context.start.getBlockY();
+        boolean isBelowStart = nodeY <= context.start.getBlockY();
 
         byte yStart =  (byte)(isBelowStart ? 1 : -1);
 
@@ -96,8 +103,12 @@ class InteriorFinder implements IInteriorFinder {
                     if (x == 0 && z == 0 && y == 0)
                         continue;
 
-                    // get instance of candidate node
-                    Coords3Di candidate = new Coords3Di(node, x, y, z);
+                    int candidateX = nodeX + x;
+                    int candidateY = nodeY + y;
+                    int candidateZ = nodeZ + z;
+
+                    // packed candidate node
+                    long candidate = context.pack(candidateX, candidateY, candidateZ);
 
                     // check if candidate is already considered
                     if (context.invalidNodes.contains(candidate)) {
@@ -114,12 +125,12 @@ class InteriorFinder implements IInteriorFinder {
                     }
 
                     // make sure candidate is within boundaries
-                    if (!context.boundaries.contains(candidate.getX(), candidate.getY(), candidate.getZ())) {
+                    if (!context.boundaries.contains(candidateX, candidateY, candidateZ)) {
                         continue;
                     }
 
                     // make sure candidate is air
-                    if (candidate.getBlock(context.world).getType() != Material.AIR) {
+                    if (getType(context, candidateX, candidateY, candidateZ) != Material.AIR) {
                         context.invalidNodes.add(candidate);
                         columns[x + 1][z + 1] = false;
                         continue;
@@ -127,11 +138,9 @@ class InteriorFinder implements IInteriorFinder {
 
                     // Check for diagonal obstruction
                     if (x != 0 && z != 0) {
-                        Coords3Di diagX = tempNode(node, x, y, 0, context.diagX),
-                                  diagZ = tempNode(node, 0, y, z, context.diagZ);
 
-                        if(!Materials.isTransparent(diagX.getBlock(context.world).getType()) &&
-                                !Materials.isTransparent(diagZ.getBlock(context.world).getType())) {
+                        if(!isTransparent(context, nodeX + x, nodeY + y, nodeZ) &&
+                                !isTransparent(context, nodeX, nodeY + y, nodeZ + z)) {
 
                             context.invalidNodes.add(candidate);
                             columns[x + 1][z + 1] = false;
@@ -141,41 +150,37 @@ class InteriorFinder implements IInteriorFinder {
 
                     // check for adjacent obstruction
                     if (y != 0) {
-                        Coords3Di middle = tempNode(node, 0, y, 0, context.middle),
-                                  below = tempNode(node, x, 0, z, context.below);
 
-                        if (!Materials.isTransparent(middle.getBlock(context.world).getType()) &&
-                                !Materials.isTransparent(below.getBlock(context.world).getType())) {
+                        if (!isTransparent(context, nodeX, nodeY + y, nodeZ) &&
+                                !isTransparent(context, nodeX + x, nodeY, nodeZ + z)) {
                             continue;
                         }
                     }
 
                     // check for corner obstruction
                     if (x != 0 && y != 0 && z != 0) {
-                        Coords3Di adjac1 = tempNode(node, x, 0, 0, context.adjac1),
-                                  adjac2 = tempNode(node, 0, 0, z, context.adjac2),
-                                  middle = tempNode(node, 0, y, 0, context.middle);
 
-                        if (!Materials.isTransparent(adjac1.getBlock(context.world).getType()) &&
-                                !Materials.isTransparent(adjac2.getBlock(context.world).getType()) &&
-                                !Materials.isTransparent(middle.getBlock(context.world).getType())) {
+                        if (!isTransparent(context, nodeX + x, nodeY, nodeZ) &&
+                                !isTransparent(context, nodeX, nodeY, nodeZ + z) &&
+                                !isTransparent(context, nodeX, nodeY + y, nodeZ)) {
                             continue;
                         }
                     }
 
                     context.validNodes.add(candidate);
 
-                    searchAdjacent(context, candidate);
+                    searchAdjacent(context, candidateX, candidateY, candidateZ);
                 }
             }
         }
     }
 
-    private Coords3Di tempNode(ICoords3Di parent, int deltaX, int deltaY, int deltaZ, MutableCoords3Di output) {
-        output.setX(parent.getX() + deltaX);
-        output.setY(parent.getY() + deltaY);
-        output.setZ(parent.getZ() + deltaZ);
-        return output;
+    private Material getType(FinderContext context, int x, int y, int z) {
+        return context.world.getBlockAt(x, y, z).getType();
+    }
+
+    private boolean isTransparent(FinderContext context, int x, int y, int z) {
+        return Materials.isTransparent(getType(context, x, y, z));
     }
 
     /**
@@ -185,14 +190,21 @@ class InteriorFinder implements IInteriorFinder {
     public static class InteriorResults implements IInteriorFinderResult {
 
         private final World world;
-        private final Set<ICoords3Di> air;
+        private final LongHashSet packed;
+        private final int startX;
+        private final int startY;
+        private final int startZ;
+        private Set<ICoords3Di> air;
 
         /**
          * Constructor.
          */
         InteriorResults (FinderContext context) {
-            air = context.validNodes;
+            this.packed = context.validNodes;
             this.world = context.world;
+            this.startX = context.startX;
+            this.startY = context.startY;
+            this.startZ = context.startZ;
         }
 
         @Override
@@ -202,12 +214,30 @@ class InteriorFinder implements IInteriorFinder {
 
         @Override
         public Set<ICoords3Di> getInterior() {
+
+            if (air == null) {
+
+                Set<ICoords3Di> result = new HashSet<>(packed.size());
+
+                LongIterator iterator = packed.iterator();
+                while (iterator.hasNext()) {
+                    long node = iterator.nextLong();
+
+                    result.add(new Coords3Di(
+                            PackedCoords.getX(node) + startX,
+                            PackedCoords.getY(node) + startY,
+                            PackedCoords.getZ(node) + startZ));
+                }
+
+                air = result;
+            }
+
             return air;
         }
 
         @Override
         public int getVolume() {
-            return air.size();
+            return packed.size();
         }
     }
 
@@ -216,22 +246,33 @@ class InteriorFinder implements IInteriorFinder {
         final World world;
         final Location start;
         final IRegionSelection boundaries;
-        final Set<ICoords3Di> invalidNodes;
-        final Set<ICoords3Di> validNodes;
+        final int startX;
+        final int startY;
+        final int startZ;
 
-        final MutableCoords3Di diagX = new MutableCoords3Di();
-        final MutableCoords3Di diagZ = new MutableCoords3Di();
-        final MutableCoords3Di middle = new MutableCoords3Di();
-        final MutableCoords3Di below = new MutableCoords3Di();
-        final MutableCoords3Di adjac1 = new MutableCoords3Di();
-        final MutableCoords3Di adjac2 = new MutableCoords3Di();
+        // block coordinates relative to the start location, packed
+        final LongHashSet invalidNodes;
+        final LongHashSet validNodes;
 
         FinderContext(Location start, IRegionSelection boundaries) {
             this.start = start;
             this.world = start.getWorld();
+            this.startX = start.getBlockX();
+            this.startY = start.getBlockY();
+            this.startZ = start.getBlockZ();
             this.boundaries = boundaries;
-            this.validNodes = new HashSet<>((int)boundaries.getVolume());
-            this.invalidNodes = new HashSet<>((int)boundaries.getVolume());
+            int size = (int)Math.min(boundaries.getVolume(), MAX_INITIAL_SIZE);
+
+            this.validNodes = new LongHashSet(size);
+            this.invalidNodes = new LongHashSet(size);
+        }
+
+        /*
+         * Pack block coordinates relative to the start location so the
+         * search is not limited by the packed coordinates range.
+         */
+        long pack(int x, int y, int z) {
+            return PackedCoords.pack(x - startX, y - startY, z - startZ);
         }
     }
 }
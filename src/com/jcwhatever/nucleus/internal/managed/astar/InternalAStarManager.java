@@ -26,7 +26,9 @@ package com.jcwhatever.nucleus.internal.managed.astar;
 
 import com.jcwhatever.nucleus.managed.astar.IAStarContext;
 import com.jcwhatever.nucleus.managed.astar.IAStarManager;
+import com.jcwhatever.nucleus.managed.astar.IAStarPathCache;
 import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
 import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
 import com.jcwhatever.nucleus.managed.astar.area.IPathAreaResult;
 import com.jcwhatever.nucleus.managed.astar.examiners.AStarWorldExaminer;
@@ -42,6 +44,7 @@ import com.jcwhatever.nucleus.providers.regionselect.IRegionSelection;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.LocationUtils;
 import org.bukkit.Location;
+import org.bukkit.World;
 
 import java.util.Collection;
 
@@ -50,6 +53,8 @@ import java.util.Collection;
  */
 public class InternalAStarManager implements IAStarManager {
 
+    private final AStarPathCache _pathCache = new AStarPathCache(this);
+
     @Override
     public IAStarNodeGraphBuilder getNamedNodeMapBuilder() {
         return new AStarNodeGraphBuilder();
@@ -65,6 +70,11 @@ public class InternalAStarManager implements IAStarManager {
         return new AStarNodeGraph(nodes);
     }
 
+    @Override
+    public IAStarPathCache getPathCache() {
+        return _pathCache;
+    }
+
     @Override
     public IAStarSettings createSettings() {
         return new AStarSettings();
@@ -104,12 +114,29 @@ public class InternalAStarManager implements IAStarManager {
         Location startBelow = LocationUtils.findSurfaceBelow(start);
         Location destBelow = LocationUtils.findSurfaceBelow(destination);
 
+        if (startBelow == null || destBelow == null)
+            return new AStarResult<AStarNode>(ResultStatus.UNRESOLVABLE);
+
+        return _pathCache.search(start.getWorld(), startBelow, destBelow, settings);
+    }
+
+    /**
+     * Perform a world based coordinate path search without using the path cache.
+     *
+     * @param world        The world to search in.
+     * @param startBelow   The surface block below the start location.
+     * @param destBelow    The surface block below the destination location.
+     * @param settings     The settings to use.
+     */
+    IAStarResult<AStarNode> searchSurface(World world, Location startBelow, Location destBelow,
+                                          IAStarSettings settings) {
+
         AStarNode startNode = new AStarNode(startBelow);
         AStarNode destNode = new AStarNode(destBelow);
 
         AStarContext<AStarNode> context =
                 new AStarContext<AStarNode>(startNode, destNode,
-                        new AStarWorldExaminer<AStarNode>(start.getWorld()), settings);
+                        new AStarWorldExaminer<AStarNode>(world), settings);
 
         return AStarCoordsSearch.<AStarNode>get().search(context);
     }
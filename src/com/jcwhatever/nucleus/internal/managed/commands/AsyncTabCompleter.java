@@ -0,0 +1,266 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.commands;
+
+import com.jcwhatever.nucleus.managed.commands.mixins.IAsyncTabCompletable;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Produces tab completions for {@link IAsyncTabCompletable} commands.
+ *
+ * <p>Completions are produced on a shared worker thread. The results are kept
+ * per command sender for a short time so that completions for a longer version
+ * of the same last argument can be narrowed from the previous results. Results
+ * for the same arguments are only returned once.</p>
+ *
+ * <p>Must only be used from the main thread.</p>
+ */
+class AsyncTabCompleter {
+
+    // max time the main thread waits for new results
+    private static final long WAIT_MILLIS = 20;
+
+    // max time completed results are used to narrow completions
+    private static final long COMPLETED_TTL_MILLIS = 3000;
+
+    private static ThreadPoolExecutor _executor;
+
+    private final Map<CommandSender, Request> _pending = new WeakHashMap<>(10);
+    private final Map<CommandSender, Request> _completed = new WeakHashMap<>(10);
+
+    /**
+     * Stop the shared worker threads. Pending completions are cancelled.
+     */
+    static void shutdown() {
+        if (_executor != null) {
+            _executor.shutdownNow();
+            _executor = null;
+        }
+    }
+
+    /*
+     * Get the shared executor. Idle threads are stopped.
+     */
+    private static ExecutorService getExecutor() {
+
+        if (_executor != null)
+            return _executor;
+
+        _executor = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Nucleus-TabComplete");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        _executor.allowCoreThreadTimeOut(true);
+
+        return _executor;
+    }
+
+    /**
+     * Add asynchronous completions to a list of completions.
+     *
+     * @param sender       The command sender.
+     * @param command      The command.
+     * @param arguments    The command arguments.
+     * @param completions  The completions to add to.
+     */
+    void complete(CommandSender sender, RegisteredCommand command,
+                  String[] arguments, Collection<String> completions) {
+
+        PreCon.notNull(sender);
+        PreCon.notNull(command);
+        PreCon.notNull(arguments);
+        PreCon.notNull(completions);
+
+        if (!(command.getCommand() instanceof IAsyncTabCompletable))
+            return;
+
+        long now = System.currentTimeMillis();
+
+        Request pending = _pending.get(sender);
+        if (pending != null && pending.future.isDone()) {
+            _pending.remove(sender);
+            _completed.put(sender, pending);
+            pending.completedAt = now;
+            pending = null;
+        }
+
+        Request completed = _completed.get(sender);
+        if (completed != null) {
+
+            if (now - completed.completedAt > COMPLETED_TTL_MILLIS ||
+                    (completed.isDelivered && completed.isSame(command, arguments))) {
+                // expired or already returned, get new results
+                _completed.remove(sender);
+            }
+            else if (completed.isNarrowedBy(command, arguments)) {
+                completed.addResults(arguments, completions);
+                return;
+            }
+        }
+
+        if (pending == null || !pending.isSame(command, arguments)) {
+
+            if (pending != null)
+                pending.future.cancel(false);
+
+            pending = new Request(sender, command, arguments);
+            _pending.put(sender, pending);
+        }
+
+        try {
+            pending.future.get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        catch (ExecutionException e) {
+            e.printStackTrace();
+            _pending.remove(sender);
+            return;
+        }
+        catch (TimeoutException e) {
+            // results are returned the next time the sender tab completes
+            return;
+        }
+
+        _pending.remove(sender);
+        _completed.put(sender, pending);
+        pending.completedAt = now;
+
+        pending.addResults(arguments, completions);
+    }
+
+    private static class Request {
+
+        final RegisteredCommand command;
+        final String[] arguments;
+        final Future<List<String>> future;
+        long completedAt;
+        boolean isDelivered;
+
+        Request(final CommandSender sender, RegisteredCommand command, final String[] arguments) {
+            this.command = command;
+            this.arguments = arguments;
+
+            final IAsyncTabCompletable completable = (IAsyncTabCompletable)command.getCommand();
+
+            this.future = getExecutor().submit(new Callable<List<String>>() {
+                @Override
+                public List<String> call() throws Exception {
+                    List<String> results = new ArrayList<>(20);
+                    completable.onTabCompleteAsync(sender, arguments, results);
+                    return results;
+                }
+            });
+        }
+
+        /*
+         * Determine if the request is for the same command and arguments.
+         */
+        boolean isSame(RegisteredCommand command, String[] arguments) {
+            return this.command == command && Arrays.equals(this.arguments, arguments);
+        }
+
+        /*
+         * Determine if the request results contain the completions for the
+         * specified arguments. True if the arguments are the same except that
+         * the last argument starts with the requests last argument.
+         */
+        boolean isNarrowedBy(RegisteredCommand command, String[] arguments) {
+
+            if (this.command != command || this.arguments.length != arguments.length)
+                return false;
+
+            if (arguments.length == 0)
+                return true;
+
+            int last = arguments.length - 1;
+
+            for (int i = 0; i < last; i++) {
+                if (!arguments[i].equals(this.arguments[i]))
+                    return false;
+            }
+
+            return arguments[last].toLowerCase().startsWith(this.arguments[last].toLowerCase());
+        }
+
+        /*
+         * Add results to the output. If the last argument is longer than the requests
+         * last argument, only results that start with the last argument are added.
+         */
+        void addResults(String[] arguments, Collection<String> output) {
+
+            if (Arrays.equals(this.arguments, arguments))
+                isDelivered = true;
+
+            List<String> results;
+            try {
+                results = future.get();
+            }
+            catch (InterruptedException | ExecutionException | CancellationException e) {
+                return;
+            }
+
+            int last = arguments.length - 1;
+
+            if (last == -1 || arguments[last].equals(this.arguments[last])) {
+                output.addAll(results);
+                return;
+            }
+
+            String prefix = arguments[last].toLowerCase();
+
+            for (String result : results) {
+                if (result.toLowerCase().startsWith(prefix))
+                    output.add(result);
+            }
+        }
+    }
+}
@@ -24,13 +24,13 @@
 
 package com.jcwhatever.nucleus.internal.managed.commands;
 
+import com.jcwhatever.nucleus.collections.PrefixTrie;
 import com.jcwhatever.nucleus.managed.commands.CommandInfo;
 import com.jcwhatever.nucleus.managed.commands.ICommand;
 import com.jcwhatever.nucleus.managed.commands.ICommandOwner;
 import com.jcwhatever.nucleus.managed.commands.IRegisteredCommand;
 import com.jcwhatever.nucleus.mixins.IPluginOwned;
 import com.jcwhatever.nucleus.utils.PreCon;
-import com.jcwhatever.nucleus.utils.text.TextUtils;
 
 import org.bukkit.plugin.Plugin;
 
@@ -57,6 +57,7 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
     private final Plugin _plugin;
     private final Map<String, RegisteredCommand> _commandMap;
     private final Map<Class<? extends ICommand>, IRegisteredCommand> _classMap;
+    private final PrefixTrie<RegisteredCommand> _nameTrie = new PrefixTrie<>();
     private final ICommandContainerFactory _factory;
 
     private List<IRegisteredCommand> _sortedCommands;
@@ -121,21 +122,25 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
     public RegisteredCommand getCommand(String name) {
         PreCon.notNull(name);
 
-        if (name.indexOf('.') == -1)
+        int end = name.indexOf('.');
+        if (end == -1)
             return _commandMap.get(name);
 
-        String[] commands = TextUtils.PATTERN_DOT.split(name);
+        RegisteredCommand command = _commandMap.get(name.substring(0, end));
 
-        RegisteredCommand command = null;
+        // walk the dot separated command path
+        while (command != null && end < name.length()) {
 
-        for (String commandName : commands) {
+            int start = end + 1;
+            end = name.indexOf('.', start);
+            if (end == -1)
+                end = name.length();
 
-            command = command == null
-                    ? _commandMap.get(commandName)
-                    : command.getCommand(commandName);
+            // ignore a trailing dot
+            if (start == end)
+                return start == name.length() ? command : null;
 
-            if (command == null)
-                break;
+            command = command.getCommand(name.substring(start, end));
         }
 
         return command;
@@ -190,6 +195,23 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
         return output;
     }
 
+    /**
+     * Get the call names that start with the specified case insensitive prefix.
+     *
+     * @param prefix  The prefix.
+     * @param output  The output collection.
+     *
+     * @param <T>  The output collection type.
+     *
+     * @return  The output collection.
+     */
+    public <T extends Collection<String>> T getCommandNames(String prefix, T output) {
+        PreCon.notNull(prefix);
+        PreCon.notNull(output);
+
+        return _nameTrie.getKeys(prefix, output);
+    }
+
     /**
      * Add a command to the collection.
      *
@@ -257,6 +279,7 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
             }
 
             _commandMap.put(commandName, container);
+            _nameTrie.put(commandName, container);
         }
 
         return primaryName;
@@ -279,6 +302,8 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
         if (command == null)
             return false;
 
+        updateNameTrie();
+
         Set<RegisteredCommand> commands = new HashSet<>(_commandMap.values());
         if (!commands.contains(command)) {
             _classMap.remove(command.getCommand().getClass());
@@ -331,6 +356,10 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
         }
 
         _classMap.remove(container.getCommand().getClass());
+
+        if (hasChanged)
+            updateNameTrie();
+
         return hasChanged;
     }
 
@@ -363,6 +392,9 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
             }
         }
 
+        if (hasChanged)
+            updateNameTrie();
+
         return hasChanged;
     }
 
@@ -429,6 +461,19 @@ class CommandCollection implements ICommandOwner, IPluginOwned, Iterable<IRegist
         return _classMap.values().toArray(a);
     }
 
+    /*
+     * Rebuild the name trie after names are removed. The trie keys are
+     * case insensitive so names that only differ by case share a key.
+     */
+    private void updateNameTrie() {
+
+        _nameTrie.clear();
+
+        for (Entry<String, RegisteredCommand> entry : _commandMap.entrySet()) {
+            _nameTrie.put(entry.getKey(), entry.getValue());
+        }
+    }
+
     /**
      * Interface for a {@link RegisteredCommand} instance factory.
      */
@@ -80,6 +80,7 @@ class CommandDispatcher implements ICommandDispatcher {
     private final IMessenger _msg;
     private final Set<String> _pluginCommands;
     private final UsageGenerator _usageGenerator;
+    private final AsyncTabCompleter _asyncCompleter = new AsyncTabCompleter();
 
     /**
      * Constructor.
@@ -121,7 +122,7 @@ class CommandDispatcher implements ICommandDispatcher {
 
         rootCommand.getInfo().setCurrentAlias(rootName);
 
-        CommandParser parser = new CommandParser(rootCommand);
+        CommandParser parser = rootCommand.getParser();
         ParsedCommand parsed = parser.parseCommand(rootCommand.getCommandCollection(), rootArguments);
 
         if (parsed == null) {
@@ -208,8 +209,8 @@ class CommandDispatcher implements ICommandDispatcher {
             rootCommand = _defaultRoot;
         }
 
-        CommandParser _parser = new CommandParser(rootCommand);
-        ParsedTabComplete parsed = _parser.parseTabComplete(rootCommand, sender, args);
+        CommandParser parser = rootCommand.getParser();
+        ParsedTabComplete parsed = parser.parseTabComplete(rootCommand, sender, args);
 
         RegisteredCommand command = parsed.getCommand();
         String[] arguments = parsed.getArguments();
@@ -222,6 +223,9 @@ class CommandDispatcher implements ICommandDispatcher {
                     sender,
                     arguments,
                     matches);
+
+            // add completions from commands that complete asynchronously
+            _asyncCompleter.complete(sender, command, arguments, matches);
         }
 
         // add the command help
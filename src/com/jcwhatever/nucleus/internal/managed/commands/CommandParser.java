@@ -34,6 +34,7 @@ import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import javax.annotation.Nullable;
 
@@ -151,6 +152,15 @@ class CommandParser {
             tabComplete = new ParsedTabComplete(names, command, arguments);
 
         }
+        else if (arguments.length > 0 &&
+                arguments[arguments.length - 1].startsWith(ArgumentParser.COMMON_PREFIX)) {
+
+            // generate list of floating parameter and flag names
+            List<String> names = command.getOptionNames(
+                    arguments[arguments.length - 1], new ArrayList<String>(5));
+
+            tabComplete = new ParsedTabComplete(names, command, arguments);
+        }
         else {
             tabComplete = new ParsedTabComplete(new ArrayList<String>(5), command, arguments);
         }
@@ -166,6 +176,30 @@ class CommandParser {
                                             String searchName,
                                             final ICommandOwner commandOwner) {
 
+        CommandCollection collection = null;
+
+        if (commandOwner instanceof RegisteredCommand) {
+            collection = ((RegisteredCommand) commandOwner).getCommandCollection();
+        }
+        else if (commandOwner instanceof CommandCollection) {
+            collection = (CommandCollection) commandOwner;
+        }
+
+        if (collection != null) {
+
+            // names are indexed by prefix, only visibility needs to be checked
+            List<String> names = collection.getCommandNames(searchName, new ArrayList<String>(10));
+            Iterator<String> iterator = names.iterator();
+
+            while (iterator.hasNext()) {
+                RegisteredCommand subCommand = collection.getCommand(iterator.next());
+                if (subCommand == null || !subCommand.isHelpVisible(sender))
+                    iterator.remove();
+            }
+
+            return names;
+        }
+
         final String caseSearchName = searchName.toLowerCase();
 
         Collection<String> commandNames = commandOwner.getCommandNames();
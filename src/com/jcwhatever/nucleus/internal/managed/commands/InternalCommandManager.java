@@ -58,4 +58,13 @@ public class InternalCommandManager implements ICommandManager {
     public ICommandUsageGenerator getUsageGenerator(String defaultTemplate) {
         return new UsageGenerator(defaultTemplate);
     }
+
+    /**
+     * Stop the worker threads used for asynchronous tab completion.
+     *
+     * <p>Invoked when Nucleus is disabled.</p>
+     */
+    public void dispose() {
+        AsyncTabCompleter.shutdown();
+    }
 }
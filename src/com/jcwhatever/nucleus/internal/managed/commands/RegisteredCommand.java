@@ -25,6 +25,7 @@
 package com.jcwhatever.nucleus.internal.managed.commands;
 
 import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.collections.PrefixTrie;
 import com.jcwhatever.nucleus.internal.NucLang;
 import com.jcwhatever.nucleus.internal.NucMsg;
 import com.jcwhatever.nucleus.internal.managed.commands.CommandCollection.ICommandContainerFactory;
@@ -88,6 +89,10 @@ class RegisteredCommand implements IRegisteredCommand {
 
     private RegisteredCommandInfo _info;
     private CommandDispatcher _dispatcher;
+    private CommandParser _parser;
+
+    // floating parameter and flag names including their prefix
+    private final PrefixTrie<String> _optionNames = new PrefixTrie<>();
 
     private RegisteredCommand _parent;
     private IPermission _permission;
@@ -470,6 +475,34 @@ class RegisteredCommand implements IRegisteredCommand {
         return _subCommands;
     }
 
+    /**
+     * Get the parser used when the command is a root command.
+     */
+    CommandParser getParser() {
+        if (_parser == null)
+            _parser = new CommandParser(this);
+
+        return _parser;
+    }
+
+    /**
+     * Get the floating parameter and flag names, including their prefix,
+     * that start with the specified case insensitive prefix.
+     *
+     * @param prefix  The prefix.
+     * @param output  The output collection.
+     *
+     * @param <T>  The output collection type.
+     *
+     * @return  The output collection.
+     */
+    <T extends Collection<String>> T getOptionNames(String prefix, T output) {
+        PreCon.notNull(prefix);
+        PreCon.notNull(output);
+
+        return _optionNames.getKeys(prefix, output);
+    }
+
     /*
      * Determine if the supplied command name matches one of the
      * command names of the this command.
@@ -501,6 +534,14 @@ class RegisteredCommand implements IRegisteredCommand {
 
         _info = new RegisteredCommandInfo(this, rootCommand);
 
+        for (ICommandParameter parameter : _info.getFloatingParams()) {
+            _optionNames.put(ArgumentParser.FLOATING_PREFIX + parameter.getName(), parameter.getName());
+        }
+
+        for (IFlagParameter flag : _info.getFlagParams()) {
+            _optionNames.put(ArgumentParser.FLAG_PREFIX + flag.getName(), flag.getName());
+        }
+
         // register queued sub commands
         for (Class<? extends ICommand> commandClass : _subCommandQueue) {
             registerCommand(commandClass);
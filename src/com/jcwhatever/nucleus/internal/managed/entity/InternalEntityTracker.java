@@ -123,13 +123,20 @@ public final class InternalEntityTracker implements IEntityTracker, Listener {
 
         Entity[] entities = event.getChunk().getEntities();
 
+        // shared by all tracked entities in the chunk, created
+        // only if the chunk has a tracked entity
+        ChunkCoords coords = null;
+
         for (Entity entity : entities) {
 
             TrackedEntity tracked = _entities.get(entity.getUniqueId());
             if (tracked == null || isDisposed(tracked))
                 continue;
 
-            tracked.notifyChunkUnload(new ChunkCoords(event.getChunk()));
+            if (coords == null)
+                coords = new ChunkCoords(event.getChunk());
+
+            tracked.notifyChunkUnload(coords);
         }
     }
 
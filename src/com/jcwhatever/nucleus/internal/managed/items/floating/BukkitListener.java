@@ -25,17 +25,16 @@
 
 package com.jcwhatever.nucleus.internal.managed.items.floating;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
 import com.jcwhatever.nucleus.Nucleus;
-import com.jcwhatever.nucleus.collections.CircularQueue;
+import com.jcwhatever.nucleus.collections.LongHashMap;
 import com.jcwhatever.nucleus.events.floatingitems.FloatingItemPickUpEvent;
 import com.jcwhatever.nucleus.managed.items.floating.IFloatingItem;
+import com.jcwhatever.nucleus.managed.scheduler.IScheduledTask;
 import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
-import com.jcwhatever.nucleus.utils.CollectionUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
-import com.jcwhatever.nucleus.utils.coords.ChunkCoords;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.entity.EntityType;
 import org.bukkit.event.EventHandler;
@@ -48,23 +47,26 @@ import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
 
 class BukkitListener implements Listener {
 
     private Map<UUID, FloatingItem> _floatingItems = new HashMap<>(100);
 
-    private Multimap<ChunkCoords, FloatingItem> _chunkMap =
-            MultimapBuilder.hashKeys(100).hashSetValues(5).build();
+    // items waiting for a chunk to load before spawning, keyed to packed chunk coordinates
+    private LongHashMap<Set<FloatingItem>> _chunkMap = new LongHashMap<>(100);
 
-    private Respawner _respawner = new Respawner();
+    // packed chunk coordinates of items waiting for a chunk to load
+    private Map<FloatingItem, Long> _pendingChunks = new HashMap<>(100);
 
-    BukkitListener() {
-        Scheduler.runTaskRepeat(Nucleus.getPlugin(), 1, 1, _respawner);
-    }
+    private Respawner _respawner = new Respawner();
 
     void register(FloatingItem item) {
         PreCon.notNull(item);
@@ -80,25 +82,67 @@ class BukkitListener implements Listener {
 
     void registerPendingSpawn(FloatingItem item) {
         PreCon.notNull(item);
-        PreCon.notNull(item.getLocation());
 
-        _chunkMap.put(new ChunkCoords(item.getLocation().getChunk()), item);
+        Location location = item.getLocation();
+        PreCon.notNull(location);
+
+        long key = PackedCoords.packChunk(location.getWorld(),
+                location.getBlockX() >> 4, location.getBlockZ() >> 4);
+
+        Long current = _pendingChunks.put(item, key);
+        if (current != null) {
+            if (current == key)
+                return;
+
+            removePending(current, item);
+        }
+
+        Set<FloatingItem> items = _chunkMap.get(key);
+        if (items == null) {
+            items = new HashSet<>(5);
+            _chunkMap.put(key, items);
+        }
+
+        items.add(item);
     }
 
     void unregisterPendingSpawn(FloatingItem item) {
         PreCon.notNull(item);
 
-        CollectionUtils.removeValue(_chunkMap, item);
+        Long key = _pendingChunks.remove(item);
+        if (key != null)
+            removePending(key, item);
+    }
+
+    void cancelRespawn(FloatingItem item) {
+        PreCon.notNull(item);
+
+        _respawner.cancel(item);
     }
 
     @EventHandler
     private void onChunkLoad(ChunkLoadEvent event) {
 
-        Collection<FloatingItem> items =
-                _chunkMap.removeAll(new ChunkCoords(event.getChunk()));
+        if (_chunkMap.isEmpty())
+            return;
+
+        Chunk chunk = event.getChunk();
+
+        Set<FloatingItem> items = _chunkMap.remove(
+                PackedCoords.packChunk(chunk.getWorld(), chunk.getX(), chunk.getZ()));
+
+        if (items == null)
+            return;
+
+        // copy, spawning may register the item again
+        List<FloatingItem> spawn = new ArrayList<>(items);
+
+        for (FloatingItem item : spawn) {
+            _pendingChunks.remove(item);
+        }
 
-        for (FloatingItem item : items) {
-            if (item.getLocation() != null)
+        for (FloatingItem item : spawn) {
+            if (item.getLocation() != null && !item.isDisposed())
                 item.spawn(item.getLocation());
         }
     }
@@ -148,8 +192,8 @@ class BukkitListener implements Listener {
         final Location location = item.getLocation();
 
         if (location != null) {
-            _respawner.queue.add(new RespawnEntry(item,
-                    System.currentTimeMillis() + (item.getRespawnTimeSeconds() * 1000)));
+            _respawner.schedule(item,
+                    System.currentTimeMillis() + (item.getRespawnTimeSeconds() * 1000L));
         }
     }
 
@@ -190,40 +234,118 @@ class BukkitListener implements Listener {
         }
     }
 
+    private void removePending(long key, FloatingItem item) {
+
+        Set<FloatingItem> items = _chunkMap.get(key);
+        if (items == null)
+            return;
+
+        items.remove(item);
+
+        if (items.isEmpty())
+            _chunkMap.remove(key);
+    }
+
+    /*
+     * Respawns items in order of their respawn time. The task is scheduled to
+     * run when the earliest respawn is due and is not scheduled while there
+     * is nothing to respawn.
+     */
     private static class Respawner implements Runnable {
 
-        CircularQueue<RespawnEntry> queue = new CircularQueue<>();
+        static final int MS_PER_TICK = 50;
+
+        final PriorityQueue<RespawnEntry> queue = new PriorityQueue<>(16);
+        final Map<IFloatingItem, RespawnEntry> entries = new HashMap<>(16);
+
+        IScheduledTask task;
+        long wakeTime;
+
+        void schedule(IFloatingItem item, long time) {
+
+            RespawnEntry entry = new RespawnEntry(item, time);
+
+            RespawnEntry previous = entries.put(item, entry);
+            if (previous != null)
+                previous.isCancelled = true;
+
+            queue.add(entry);
+            wake();
+        }
+
+        void cancel(IFloatingItem item) {
+
+            RespawnEntry entry = entries.remove(item);
+            if (entry != null)
+                entry.isCancelled = true;
+        }
 
         @Override
         public void run() {
 
-            int size = queue.size();
+            task = null;
+
+            long now = System.currentTimeMillis();
 
-            for (int i=0; i < size; i++) {
+            while (!queue.isEmpty()) {
 
-                RespawnEntry entry = queue.peekFirst();
-                assert entry != null;
+                RespawnEntry entry = queue.peek();
+                if (!entry.isCancelled && entry.time > now)
+                    break;
 
-                if (entry.item.isDisposed() || entry.time <= System.currentTimeMillis()) {
-                    queue.removeFirst();
+                queue.poll();
 
-                    if (!entry.item.isDisposed()) {
-                        entry.item.spawn();
-                    }
-                }
-                else {
-                    queue.next();
-                }
+                if (entry.isCancelled)
+                    continue;
+
+                entries.remove(entry.item);
+
+                if (!entry.item.isDisposed())
+                    entry.item.spawn();
             }
+
+            wake();
+        }
+
+        private void wake() {
+
+            // discard cancelled entries at the head of the queue
+            while (!queue.isEmpty() && queue.peek().isCancelled) {
+                queue.poll();
+            }
+
+            RespawnEntry first = queue.peek();
+            if (first == null)
+                return;
+
+            // already scheduled to run in time
+            if (task != null && wakeTime <= first.time)
+                return;
+
+            if (task != null)
+                task.cancel();
+
+            long delay = first.time - System.currentTimeMillis();
+            int ticks = (int)Math.max(1, (delay + MS_PER_TICK - 1) / MS_PER_TICK);
+
+            wakeTime = first.time;
+            task = Scheduler.runTaskLater(Nucleus.getPlugin(), ticks, this);
         }
     }
 
-    private static class RespawnEntry {
-        long time;
-        IFloatingItem item;
+    private static class RespawnEntry implements Comparable<RespawnEntry> {
+        final long time;
+        final IFloatingItem item;
+        boolean isCancelled;
+
         RespawnEntry(IFloatingItem item, long time) {
             this.item = item;
             this.time = time;
         }
+
+        @Override
+        public int compareTo(RespawnEntry o) {
+            return Long.compare(time, o.time);
+        }
     }
 }
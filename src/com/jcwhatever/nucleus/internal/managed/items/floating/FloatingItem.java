@@ -260,7 +260,8 @@ class FloatingItem implements IFloatingItem {
                 ? LocationUtils.getCenteredLocation(location, CENTERED_LOCATION).add(0, 0.5, 0) // add y 0.5 to prevent falling through surface block
                 : LocationUtils.add(location, 0, 0.5, 0);
 
-        if (!location.getChunk().isLoaded()) {
+        // check without loading the chunk, spawn when the chunk is loaded
+        if (!location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)) {
             _listener.registerPendingSpawn(this);
             return true;
         }
@@ -293,8 +294,12 @@ class FloatingItem implements IFloatingItem {
     @Override
     public boolean despawn() {
 
-        if (_trackedEntity == null)
+        if (_trackedEntity == null) {
+            // cancel spawn waiting for chunk to load
+            _listener.unregisterPendingSpawn(this);
+            _isSpawned = false;
             return true;
+        }
 
         Entity entity = _trackedEntity.getEntity();
 
@@ -351,6 +356,8 @@ class FloatingItem implements IFloatingItem {
     public void dispose() {
         despawn();
         _listener.unregister(this);
+        _listener.unregisterPendingSpawn(this);
+        _listener.cancelRespawn(this);
         _isDisposed = true;
     }
 
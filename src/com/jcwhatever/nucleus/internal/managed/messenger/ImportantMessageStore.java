@@ -0,0 +1,457 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.messenger;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.scheduler.IScheduledTask;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import com.jcwhatever.nucleus.utils.CollectionUtils;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.text.TextUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * Stores important messages for offline players in a plugins
+ * important message data node.
+ *
+ * <p>Each distinct message is stored once in the "templates" node, keyed by a
+ * fingerprint of the message, prefix and line length. A numbered suffix is added
+ * to the key of a message whose fingerprint is already used by a different
+ * message. Each player has a single
+ * string list record in the "players" node containing a template reference and
+ * context for each of their messages. A message with the same context as an
+ * existing message replaces it.</p>
+ *
+ * <p>Changes are kept in memory and written to the data node in batches. The
+ * data node is saved once per flush instead of once per message.</p>
+ *
+ * <p>Data stored in the old per-player per-context format is converted
+ * when loaded.</p>
+ *
+ * <p>The store is thread safe.</p>
+ */
+final class ImportantMessageStore {
+
+    static final int FLUSH_DELAY_TICKS = 20;
+
+    static final String TEMPLATES = "templates";
+    static final String PLAYERS = "players";
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final IDataNode _dataNode;
+    private final Map<String, Template> _templates = new HashMap<>(10);
+    private final Map<UUID, List<Entry>> _players = new HashMap<>(10);
+    private final Set<String> _dirtyTemplates = new HashSet<>(10);
+    private final Set<UUID> _dirtyPlayers = new HashSet<>(10);
+
+    private boolean _isDirty;
+    private IScheduledTask _flushTask;
+
+    /**
+     * Constructor.
+     *
+     * @param dataNode  The loaded data node to store messages in.
+     */
+    ImportantMessageStore(IDataNode dataNode) {
+        PreCon.notNull(dataNode);
+
+        _dataNode = dataNode;
+
+        load();
+    }
+
+    /**
+     * Get the data node.
+     */
+    IDataNode getDataNode() {
+        return _dataNode;
+    }
+
+    /**
+     * Add a message for a player.
+     *
+     * @param playerId  The ID of the player.
+     * @param context   The message context. Replaces a previous message with
+     *                  the same context.
+     * @param message   The formatted message.
+     * @param prefix    The chat prefix.
+     * @param lineLen   The maximum line length.
+     */
+    synchronized void add(UUID playerId, String context, String message, String prefix, int lineLen) {
+        PreCon.notNull(playerId);
+        PreCon.notNullOrEmpty(context);
+        PreCon.notNull(message);
+        PreCon.notNull(prefix);
+
+        String fingerprint = getTemplateId(message, prefix, lineLen);
+        String templateId = fingerprint;
+
+        Template template = _templates.get(templateId);
+
+        // resolve fingerprint collisions with a numbered suffix
+        for (int i = 1; template != null && !template.isSame(message, prefix, lineLen); i++) {
+            templateId = fingerprint + '-' + i;
+            template = _templates.get(templateId);
+        }
+
+        if (template == null) {
+            template = new Template(message, prefix, lineLen);
+            _templates.put(templateId, template);
+            _dirtyTemplates.add(templateId);
+        }
+
+        template.references++;
+
+        List<Entry> entries = _players.get(playerId);
+        if (entries == null) {
+            entries = new ArrayList<>(3);
+            _players.put(playerId, entries);
+        }
+        else {
+            removeContext(entries, context);
+        }
+
+        entries.add(new Entry(context, templateId));
+
+        _dirtyPlayers.add(playerId);
+        scheduleFlush();
+    }
+
+    /**
+     * Get the messages stored for a player in the order they were added.
+     *
+     * @param playerId  The ID of the player.
+     */
+    synchronized List<Template> getMessages(UUID playerId) {
+        PreCon.notNull(playerId);
+
+        List<Entry> entries = _players.get(playerId);
+        if (entries == null)
+            return CollectionUtils.unmodifiableList();
+
+        List<Template> result = new ArrayList<>(entries.size());
+
+        for (Entry entry : entries) {
+            Template template = _templates.get(entry.templateId);
+            if (template != null)
+                result.add(template);
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove all messages stored for a player.
+     *
+     * @param playerId  The ID of the player.
+     */
+    synchronized void clear(UUID playerId) {
+        PreCon.notNull(playerId);
+
+        List<Entry> entries = _players.remove(playerId);
+        if (entries == null)
+            return;
+
+        for (Entry entry : entries) {
+            release(entry.templateId);
+        }
+
+        _dirtyPlayers.add(playerId);
+        scheduleFlush();
+    }
+
+    /**
+     * Get the number of distinct stored messages.
+     */
+    synchronized int getTotalTemplates() {
+        return _templates.size();
+    }
+
+    /**
+     * Write pending changes to the data node and save it.
+     */
+    synchronized void flush() {
+
+        if (_flushTask != null) {
+            _flushTask.cancel();
+            _flushTask = null;
+        }
+
+        if (!_isDirty && _dirtyTemplates.isEmpty() && _dirtyPlayers.isEmpty())
+            return;
+
+        for (String templateId : _dirtyTemplates) {
+
+            Template template = _templates.get(templateId);
+            String key = TEMPLATES + '.' + templateId;
+
+            if (template == null) {
+                _dataNode.remove(key);
+                continue;
+            }
+
+            _dataNode.set(key + ".message", template.message);
+            _dataNode.set(key + ".prefix", template.prefix);
+            _dataNode.set(key + ".lineLen", template.lineLen);
+        }
+
+        for (UUID playerId : _dirtyPlayers) {
+
+            List<Entry> entries = _players.get(playerId);
+            String key = PLAYERS + '.' + playerId;
+
+            if (entries == null || entries.isEmpty()) {
+                _dataNode.remove(key);
+                continue;
+            }
+
+            List<String> record = new ArrayList<>(entries.size());
+            for (Entry entry : entries) {
+                record.add(entry.templateId + ':' + entry.context);
+            }
+
+            _dataNode.set(key, record);
+        }
+
+        _dirtyTemplates.clear();
+        _dirtyPlayers.clear();
+        _isDirty = false;
+
+        _dataNode.save();
+    }
+
+    private void scheduleFlush() {
+        if (_flushTask != null)
+            return;
+
+        _flushTask = Scheduler.runTaskLater(Nucleus.getPlugin(), FLUSH_DELAY_TICKS, new Runnable() {
+            @Override
+            public void run() {
+                synchronized (ImportantMessageStore.this) {
+                    _flushTask = null;
+                    flush();
+                }
+            }
+        });
+    }
+
+    private void removeContext(List<Entry> entries, String context) {
+
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.context.equals(context)) {
+                iterator.remove();
+                release(entry.templateId);
+                return;
+            }
+        }
+    }
+
+    private void release(String templateId) {
+        Template template = _templates.get(templateId);
+        if (template == null)
+            return;
+
+        template.references--;
+
+        if (template.references <= 0) {
+            _templates.remove(templateId);
+            _dirtyTemplates.add(templateId);
+        }
+    }
+
+    private void load() {
+
+        for (String templateId : _dataNode.getSubNodeNames(TEMPLATES)) {
+
+            IDataNode node = _dataNode.getNode(TEMPLATES + '.' + templateId);
+
+            String message = node.getString("message", "");
+            String prefix = node.getString("prefix", "");
+            int lineLen = node.getInteger("lineLen", 60);
+
+            assert message != null;
+            assert prefix != null;
+
+            _templates.put(templateId, new Template(message, prefix, lineLen));
+        }
+
+        for (String playerName : _dataNode.getSubNodeNames(PLAYERS, new ArrayList<String>(10))) {
+
+            UUID playerId = TextUtils.parseUUID(playerName);
+            List<String> record = _dataNode.getStringList(PLAYERS + '.' + playerName, null);
+
+            if (playerId == null || record == null) {
+                _dataNode.remove(PLAYERS + '.' + playerName);
+                _isDirty = true;
+                continue;
+            }
+
+            List<Entry> entries = new ArrayList<>(record.size());
+
+            for (String raw : record) {
+                Entry entry = Entry.parse(raw);
+                if (entry == null)
+                    continue;
+
+                Template template = _templates.get(entry.templateId);
+                if (template == null)
+                    continue;
+
+                template.references++;
+                entries.add(entry);
+            }
+
+            if (!entries.isEmpty())
+                _players.put(playerId, entries);
+        }
+
+        // remove templates that are not referenced
+        Iterator<Map.Entry<String, Template>> iterator = _templates.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Template> entry = iterator.next();
+            if (entry.getValue().references <= 0) {
+                iterator.remove();
+                _dirtyTemplates.add(entry.getKey());
+            }
+        }
+
+        loadLegacy();
+    }
+
+    /*
+     * Convert messages stored as <player-id>.<context>.message/prefix/lineLen
+     */
+    private void loadLegacy() {
+
+        List<String> names = _dataNode.getSubNodeNames(new ArrayList<String>(10));
+
+        for (String playerName : names) {
+
+            UUID playerId = TextUtils.parseUUID(playerName);
+            if (playerId == null)
+                continue;
+
+            IDataNode playerNode = _dataNode.getNode(playerName);
+
+            for (IDataNode contextNode : playerNode) {
+
+                String message = contextNode.getString("message", "");
+                String prefix = contextNode.getString("prefix", "");
+                int lineLen = contextNode.getInteger("lineLen", 60);
+
+                assert message != null;
+                assert prefix != null;
+
+                if (!message.isEmpty())
+                    add(playerId, contextNode.getName(), message, prefix, lineLen);
+            }
+
+            _dataNode.remove(playerName);
+            _isDirty = true;
+        }
+    }
+
+    static String getTemplateId(String message, String prefix, int lineLen) {
+
+        long hash = FNV_OFFSET;
+        hash = hash(hash, prefix);
+        hash = (hash ^ 0x1F) * FNV_PRIME;
+        hash = (hash ^ lineLen) * FNV_PRIME;
+        hash = (hash ^ 0x1F) * FNV_PRIME;
+        hash = hash(hash, message);
+
+        return Long.toHexString(hash);
+    }
+
+    private static long hash(long hash, String string) {
+        for (int i = 0, len = string.length(); i < len; i++) {
+            char ch = string.charAt(i);
+            hash = (hash ^ (ch & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (ch >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * A stored message.
+     */
+    static final class Template {
+
+        final String message;
+        final String prefix;
+        final int lineLen;
+
+        int references;
+
+        Template(String message, String prefix, int lineLen) {
+            this.message = message;
+            this.prefix = prefix;
+            this.lineLen = lineLen;
+        }
+
+        boolean isSame(String message, String prefix, int lineLen) {
+            return this.lineLen == lineLen
+                    && this.message.equals(message)
+                    && this.prefix.equals(prefix);
+        }
+    }
+
+    /*
+     * A reference to a template in a players record.
+     */
+    private static final class Entry {
+
+        @Nullable
+        static Entry parse(String raw) {
+            int index = raw.indexOf(':');
+            if (index <= 0 || index == raw.length() - 1)
+                return null;
+
+            return new Entry(raw.substring(index + 1), raw.substring(0, index));
+        }
+
+        final String context;
+        final String templateId;
+
+        Entry(String context, String templateId) {
+            this.context = context;
+            this.templateId = templateId;
+        }
+    }
+}
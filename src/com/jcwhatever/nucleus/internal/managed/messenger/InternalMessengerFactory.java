@@ -60,7 +60,7 @@ public final class InternalMessengerFactory implements IMessengerFactory {
 
     public static final Logger LOGGER = Logger.getLogger("Minecraft");
 
-    private Map<Plugin, IDataNode> _importantNodeCache = new WeakHashMap<>(25);
+    private final Map<Plugin, ImportantMessageStore> _importantStores = new WeakHashMap<>(25);
     private Map<Plugin, IMessenger> _messengers = new WeakHashMap<>(25);
     private Map<Plugin, IMessenger> _anonMessengers = new WeakHashMap<>(25);
 
@@ -116,39 +116,28 @@ public final class InternalMessengerFactory implements IMessengerFactory {
     public void tellImportant(final Player player, boolean clearMessages) {
         PreCon.notNull(player);
 
-        List<IDataNode> dataNodes = new ArrayList<>(_importantNodeCache.values());
+        List<ImportantMessageStore> stores;
+        synchronized (_importantStores) {
+            stores = new ArrayList<>(_importantStores.values());
+        }
         final List<String> messages = new ArrayList<>(10);
 
-        for (IDataNode data : dataNodes) {
-
-            IDataNode playerData = data.getNode(player.getUniqueId().toString());
-
-            boolean save = false;
+        for (ImportantMessageStore store : stores) {
 
-            for (IDataNode contextData : playerData) {
+            List<ImportantMessageStore.Template> templates = store.getMessages(player.getUniqueId());
 
-                String prefix = contextData.getString("prefix", "");
-                String message = contextData.getString("message", "");
-                int lineLen = contextData.getInteger("lineLen", 60);
+            for (ImportantMessageStore.Template template : templates) {
 
-                assert prefix != null;
-                assert message != null;
-
-                if (!message.isEmpty()) {
-                    String[] lines = TextUtils.PATTERN_NEW_LINE.split(message);
+                if (!template.message.isEmpty()) {
+                    String[] lines = TextUtils.PATTERN_NEW_LINE.split(template.message);
                     for (String line : lines) {
-                        messages.addAll(TextUtils.paginateString(line, prefix, lineLen, true));
+                        messages.addAll(TextUtils.paginateString(line, template.prefix, template.lineLen, true));
                     }
                 }
-
-                if (clearMessages) {
-                    contextData.remove();
-                    save = true;
-                }
             }
 
-            if (save)
-                data.save();
+            if (clearMessages && !templates.isEmpty())
+                store.clear(player.getUniqueId());
         }
 
         if (!messages.isEmpty()) {
@@ -205,22 +194,49 @@ public final class InternalMessengerFactory implements IMessengerFactory {
         return object.toString();
     }
 
+    /**
+     * Write pending important messages of all plugins to their data nodes.
+     */
+    public void flushImportant() {
+
+        List<ImportantMessageStore> stores;
+        synchronized (_importantStores) {
+            stores = new ArrayList<>(_importantStores.values());
+        }
+
+        for (ImportantMessageStore store : stores) {
+            store.flush();
+        }
+    }
+
     /**
      * Get the data node where important messages are stored
      * for the specified plugin.
      */
     public IDataNode getImportantData(Plugin plugin) {
+        return getImportantStore(plugin).getDataNode();
+    }
 
-        IDataNode dataNode = _importantNodeCache.get(plugin);
-        if (dataNode != null)
-            return dataNode;
+    /**
+     * Get the store used to hold important messages for
+     * the specified plugin.
+     */
+    ImportantMessageStore getImportantStore(Plugin plugin) {
+
+        synchronized (_importantStores) {
 
+            ImportantMessageStore store = _importantStores.get(plugin);
+            if (store != null)
+                return store;
 
-        dataNode = DataStorage.get(plugin, new DataPath("nucleus.important-messages"));
-        dataNode.load();
+            IDataNode dataNode = DataStorage.get(plugin, new DataPath("nucleus.important-messages"));
+            dataNode.load();
 
-        _importantNodeCache.put(plugin, dataNode);
+            store = new ImportantMessageStore(dataNode);
 
-        return dataNode;
+            _importantStores.put(plugin, store);
+
+            return store;
+        }
     }
 }
@@ -25,12 +25,8 @@
 
 package com.jcwhatever.nucleus.internal.managed.messenger;
 
-import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.NucleusPlugin;
-import com.jcwhatever.nucleus.collections.players.PlayerMap;
-import com.jcwhatever.nucleus.collections.timed.TimedHashSet;
 import com.jcwhatever.nucleus.managed.messaging.IMessenger;
-import com.jcwhatever.nucleus.storage.IDataNode;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.TimeScale;
 import com.jcwhatever.nucleus.utils.nms.INmsChatHandler;
@@ -54,7 +50,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Logger;
@@ -65,15 +60,14 @@ import java.util.logging.Logger;
 
 class Messenger implements IMessenger {
 
-    private static Map<UUID, TimedHashSet<String>> _noSpamCache =
-            new PlayerMap<TimedHashSet<String>>(Nucleus.getPlugin());
+    private static final NoSpamLimiter _noSpam = new NoSpamLimiter();
 
     private TextFormatterSettings TEXT_SETTING = new TextFormatterSettings();
     private TextFormatter TEXT_FORMATTER = new TextFormatter(TEXT_SETTING);
 
     private final Plugin _plugin;
     private final String _consolePrefix;
-    private final IDataNode _importantData;
+    private final ImportantMessageStore _importantStore;
     private final Logger _logger;
 
     private INmsChatHandler _chatHandler;
@@ -88,7 +82,7 @@ class Messenger implements IMessenger {
         _prefixSource = prefixSource;
         _consolePrefix = InternalMessengerFactory.getConsolePrefix(prefixSource);
         _logger = InternalMessengerFactory.LOGGER;
-        _importantData = factory.getImportantData(plugin);
+        _importantStore = factory.getImportantStore(plugin);
     }
 
     @Override
@@ -163,19 +157,13 @@ class Messenger implements IMessenger {
 
         Player player = (Player)sender;
 
-        IChatMessage msg = TextUtils.format(message, params);
-        String str = msg.toString();
-
-        TimedHashSet<String> recent = _noSpamCache.get(player.getUniqueId());
-        if (recent == null) {
-            recent = new TimedHashSet<String>(_plugin, 20, 140);
-            _noSpamCache.put(player.getUniqueId(), recent);
-        }
+        long fingerprint = NoSpamLimiter.fingerprint(message, params);
+        long duration = ticks * TimeScale.TICKS.getTimeFactor();
 
-        if (recent.contains(str, ticks, TimeScale.TICKS))
+        if (!_noSpam.tryAcquire(player.getUniqueId(), fingerprint, duration))
             return false;
 
-        recent.add(str, ticks, TimeScale.TICKS);
+        IChatMessage msg = TextUtils.format(message, params);
 
         return tell(player, lineWrapping, msg);
     }
@@ -189,30 +177,22 @@ class Messenger implements IMessenger {
         PreCon.notNull(message);
         PreCon.notNull(params);
 
-        IChatMessage msg = TextUtils.format(message, params);
-        String str = msg.toString();
+        long fingerprint = NoSpamLimiter.fingerprint(message, params);
+        long duration = ticks * TimeScale.TICKS.getTimeFactor();
 
         List<Player> recipients = new ArrayList<>(players.size());
 
         for (Player player : players) {
 
-            TimedHashSet<String> recent = _noSpamCache.get(player.getUniqueId());
-            if (recent == null) {
-                recent = new TimedHashSet<String>(_plugin, 20, 140);
-                _noSpamCache.put(player.getUniqueId(), recent);
-            }
-
-            if (recent.contains(str, ticks, TimeScale.TICKS))
-                continue;
-
-            recent.add(str, ticks, TimeScale.TICKS);
-
-            recipients.add(player);
+            if (_noSpam.tryAcquire(player.getUniqueId(), fingerprint, duration))
+                recipients.add(player);
         }
 
         if (recipients.isEmpty())
             return false;
 
+        IChatMessage msg = TextUtils.format(message, params);
+
         sendMessage(recipients, msg);
 
         return true;
@@ -308,12 +288,8 @@ class Messenger implements IMessenger {
             return;
         }
 
-        IDataNode data = _importantData;
-
-        data.set(playerId.toString() + '.' + context + ".message", TextUtils.format(message, params));
-        data.set(playerId.toString() + '.' + context + ".prefix", loadChatPrefix().toString());
-        data.set(playerId.toString() + '.' + context + ".lineLen", _maxLineLen);
-        data.save();
+        _importantStore.add(playerId, context,
+                TextUtils.format(message, params).toString(), loadChatPrefix().toString(), _maxLineLen);
     }
 
     @Override
@@ -0,0 +1,188 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.messenger;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.UUID;
+
+/**
+ * A fixed memory rate limiter used by {@link Messenger#tellNoSpam} to
+ * suppress repeated messages to a player.
+ *
+ * <p>Entries are keyed by player ID and a 64-bit fingerprint of the message
+ * template and parameters, so a message can be suppressed before it is
+ * formatted.</p>
+ *
+ * <p>The limiter is a set-associative table. Each key hashes to a set of
+ * {@link #WAYS} slots. Entries expire by time stamp and are never removed;
+ * an expired slot is simply reused. When all of the slots in a set are live,
+ * the entry closest to expiring is overwritten, which can only cause a message
+ * to be sent early, never suppressed incorrectly.</p>
+ */
+final class NoSpamLimiter {
+
+    static final int WAYS = 4;
+    static final int DEFAULT_SETS = 1024;
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final long[] _keys;
+    private final long[] _expires;
+    private final int _setMask;
+
+    /**
+     * Constructor.
+     *
+     * <p>Uses {@link #DEFAULT_SETS} sets.</p>
+     */
+    NoSpamLimiter() {
+        this(DEFAULT_SETS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param sets  The number of sets. Must be a power of 2.
+     */
+    NoSpamLimiter(int sets) {
+        PreCon.greaterThanZero(sets);
+        PreCon.isValid(Integer.bitCount(sets) == 1, "sets must be a power of 2.");
+
+        _keys = new long[sets * WAYS];
+        _expires = new long[sets * WAYS];
+        _setMask = sets - 1;
+    }
+
+    /**
+     * Determine if a message can be sent to a player and, if it can,
+     * record it so that it is suppressed for the specified duration.
+     *
+     * @param playerId     The ID of the player.
+     * @param fingerprint  The message fingerprint. See {@link #fingerprint}.
+     * @param durationMs   The time in milliseconds to suppress the message for.
+     *
+     * @return  True if the message can be sent, false if it should be suppressed.
+     */
+    boolean tryAcquire(UUID playerId, long fingerprint, long durationMs) {
+        return tryAcquire(playerId, fingerprint, durationMs, System.currentTimeMillis());
+    }
+
+    /**
+     * Determine if a message can be sent to a player and, if it can,
+     * record it so that it is suppressed for the specified duration.
+     *
+     * @param playerId     The ID of the player.
+     * @param fingerprint  The message fingerprint. See {@link #fingerprint}.
+     * @param durationMs   The time in milliseconds to suppress the message for.
+     * @param now          The current time in milliseconds.
+     *
+     * @return  True if the message can be sent, false if it should be suppressed.
+     */
+    synchronized boolean tryAcquire(UUID playerId, long fingerprint, long durationMs, long now) {
+
+        long key = key(playerId, fingerprint);
+        int start = (mix(key) & _setMask) * WAYS;
+        int end = start + WAYS;
+        int victim = start;
+
+        for (int i = start; i < end; i++) {
+
+            if (_expires[i] > now) {
+                if (_keys[i] == key)
+                    return false;
+            }
+            else if (_keys[i] == key) {
+                // reuse the expired entry for the same key
+                victim = i;
+                break;
+            }
+
+            if (_expires[i] < _expires[victim])
+                victim = i;
+        }
+
+        _keys[victim] = key;
+        _expires[victim] = now + durationMs;
+
+        return true;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    synchronized void clear() {
+        for (int i = 0; i < _expires.length; i++) {
+            _keys[i] = 0;
+            _expires[i] = 0;
+        }
+    }
+
+    /**
+     * Get a 64-bit fingerprint of a message template and its parameters.
+     *
+     * <p>The fingerprint is computed from the string value of the template and
+     * each parameter without formatting the message.</p>
+     *
+     * @param message  The message template.
+     * @param params   The message parameters.
+     */
+    static long fingerprint(Object message, Object... params) {
+
+        long hash = hash(FNV_OFFSET, message instanceof CharSequence
+                ? (CharSequence) message
+                : String.valueOf(message));
+
+        for (Object param : params) {
+            // parameter separator
+            hash = (hash ^ 0x1F) * FNV_PRIME;
+            hash = hash(hash, param instanceof CharSequence
+                    ? (CharSequence) param
+                    : String.valueOf(param));
+        }
+
+        return hash;
+    }
+
+    private static long hash(long hash, CharSequence sequence) {
+        for (int i = 0, len = sequence.length(); i < len; i++) {
+            char ch = sequence.charAt(i);
+            hash = (hash ^ (ch & 0xFF)) * FNV_PRIME;
+            hash = (hash ^ (ch >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long key(UUID playerId, long fingerprint) {
+        long player = playerId.getMostSignificantBits() * 31 + playerId.getLeastSignificantBits();
+        return fingerprint ^ (player * 0x9E3779B97F4A7C15L);
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
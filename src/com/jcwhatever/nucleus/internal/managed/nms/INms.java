@@ -26,8 +26,10 @@ package com.jcwhatever.nucleus.internal.managed.nms;
 
 import com.jcwhatever.nucleus.managed.reflection.IReflectedInstance;
 import com.jcwhatever.nucleus.managed.reflection.IReflection;
+import com.jcwhatever.nucleus.utils.nms.INmsBlockHandler;
 import com.jcwhatever.nucleus.utils.nms.INmsParticleEffectHandler;
 import com.jcwhatever.nucleus.utils.text.components.IChatMessage;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Entity;
@@ -183,6 +185,54 @@ interface INms {
     Object getLightningPacket(Location strikeLocation);
 
 
+    /**
+     * Write a block type and data directly into a chunk section without
+     * applying physics, updating lighting or sending block changes to players.
+     *
+     * <p>Blocks that have or will have a tile entity are not written.</p>
+     *
+     * @param chunk   The chunk.
+     * @param x       The chunk relative X coordinate. (0-15)
+     * @param y       The Y coordinate.
+     * @param z       The chunk relative Z coordinate. (0-15)
+     * @param typeId  The block type ID.
+     * @param data    The block data.
+     *
+     * @return  {@link INmsBlockHandler#BLOCK_SET} or {@link INmsBlockHandler#BLOCK_SET_LIGHT_CHANGED}
+     * if the block was written, {@link INmsBlockHandler#BLOCK_NOT_SET} if the block must be set
+     * through Bukkit instead.
+     */
+    int setBlockFast(Chunk chunk, int x, int y, int z, int typeId, int data);
+
+    /**
+     * Recalculate the height map and sky light of a chunk and recheck the
+     * block light at the specified positions.
+     *
+     * @param chunk      The chunk.
+     * @param positions  The packed chunk relative positions to recheck.
+     *                   ({@code x << 12 | z << 8 | y})
+     * @param count      The number of positions to read from the array.
+     */
+    void relightChunk(Chunk chunk, short[] positions, int count);
+
+    /**
+     * Get new packet instances that resend an entire chunk, including
+     * its tile entities, to a player.
+     *
+     * @param chunk  The chunk.
+     */
+    Object[] getChunkPackets(Chunk chunk);
+
+    /**
+     * Get a new multi block change packet instance.
+     *
+     * @param chunk      The chunk the blocks are in.
+     * @param positions  The packed chunk relative positions of the changed blocks.
+     *                   ({@code x << 12 | z << 8 | y})
+     * @param count      The number of positions to read from the array.
+     */
+    Object getMultiBlockChangePacket(Chunk chunk, short[] positions, int count);
+
     /**
      * Determine if an entity is visible.
      *
@@ -88,6 +88,11 @@ public final class InternalNmsManager extends NmsManager {
      */
     public static final String VEHICLE = "VEHICLE";
 
+    /**
+     * The name of the internal block handler.
+     */
+    public static final String BLOCKS = "BLOCKS";
+
     private static INms _nms;
 
     /**
@@ -119,6 +124,7 @@ public final class InternalNmsManager extends NmsManager {
         registerHandler("v1_8_R3", ENTITY, NmsEntityHandler.class);
         registerHandler("v1_8_R3", CHAT, NmsChatHandler.class);
         registerHandler("v1_8_R3", VEHICLE, NmsVehicleHandler.class);
+        registerHandler("v1_8_R3", BLOCKS, NmsBlockHandler.class);
 
         registerHandler("v1_9_R1", TITLES, NmsTitleHandler.class);
         registerHandler("v1_9_R1", ACTION_BAR, NmsActionBarHandler.class);
@@ -130,6 +136,7 @@ public final class InternalNmsManager extends NmsManager {
         registerHandler("v1_9_R1", ENTITY, NmsEntityHandler.class);
         registerHandler("v1_9_R1", CHAT, NmsChatHandler.class);
         registerHandler("v1_9_R1", VEHICLE, NmsVehicleHandler.class);
+        registerHandler("v1_9_R1", BLOCKS, NmsBlockHandler.class);
 
         registerHandler(NmsUtils.getNmsVersion(), POTIONS, NmsPotionHandler.class);
     }
@@ -0,0 +1,89 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.nms;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.nms.INmsBlockHandler;
+import org.bukkit.Chunk;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Implementation of {@link INmsBlockHandler}.
+ */
+class NmsBlockHandler extends AbstractNMSHandler implements INmsBlockHandler {
+
+    @Override
+    public int setBlock(Chunk chunk, int x, int y, int z, int typeId, int data) {
+        PreCon.notNull(chunk, "chunk");
+
+        return nms().setBlockFast(chunk, x & 15, y, z & 15, typeId, data);
+    }
+
+    @Override
+    public void relight(Chunk chunk, short[] positions, int count) {
+        PreCon.notNull(chunk, "chunk");
+        PreCon.notNull(positions, "positions");
+        PreCon.isValid(count <= positions.length, "count cannot exceed positions length.");
+
+        nms().relightChunk(chunk, positions, count);
+    }
+
+    @Override
+    public void sendChunk(Chunk chunk, Collection<? extends Player> players) {
+        PreCon.notNull(chunk, "chunk");
+        PreCon.notNull(players, "players");
+
+        if (players.isEmpty())
+            return;
+
+        Object[] packets = nms().getChunkPackets(chunk);
+
+        for (Player player : players) {
+            for (Object packet : packets) {
+                nms().sendPacket(player, packet);
+            }
+        }
+    }
+
+    @Override
+    public void sendBlockChanges(Chunk chunk, short[] positions, int count,
+                                 Collection<? extends Player> players) {
+        PreCon.notNull(chunk, "chunk");
+        PreCon.notNull(positions, "positions");
+        PreCon.positiveNumber(count, "count");
+        PreCon.notNull(players, "players");
+
+        if (players.isEmpty() || count == 0)
+            return;
+
+        Object packet = nms().getMultiBlockChangePacket(chunk, positions, count);
+
+        for (Player player : players) {
+            nms().sendPacket(player, packet);
+        }
+    }
+}
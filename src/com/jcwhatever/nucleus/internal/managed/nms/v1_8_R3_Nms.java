@@ -26,14 +26,17 @@ package com.jcwhatever.nucleus.internal.managed.nms;
 
 import com.jcwhatever.nucleus.internal.NucMsg;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedInstance;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedInvoker;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedType;
 import com.jcwhatever.nucleus.managed.reflection.IReflection;
 import com.jcwhatever.nucleus.managed.reflection.Reflection;
 import com.jcwhatever.nucleus.utils.coords.LocationUtils;
+import com.jcwhatever.nucleus.utils.nms.INmsBlockHandler;
 import com.jcwhatever.nucleus.utils.nms.INmsParticleEffectHandler;
 import com.jcwhatever.nucleus.utils.text.components.IChatMessage;
 import net.minecraft.server.v1_8_R3.BlockPosition;
 import net.minecraft.server.v1_8_R3.ChatComponentText;
+import net.minecraft.server.v1_8_R3.ChunkSection;
 import net.minecraft.server.v1_8_R3.Container;
 import net.minecraft.server.v1_8_R3.ContainerAnvil;
 import net.minecraft.server.v1_8_R3.DataWatcher;
@@ -42,19 +45,27 @@ import net.minecraft.server.v1_8_R3.EntityLightning;
 import net.minecraft.server.v1_8_R3.EntityLiving;
 import net.minecraft.server.v1_8_R3.EntityPlayer;
 import net.minecraft.server.v1_8_R3.EnumParticle;
+import net.minecraft.server.v1_8_R3.EnumSkyBlock;
 import net.minecraft.server.v1_8_R3.IChatBaseComponent;
+import net.minecraft.server.v1_8_R3.IBlockData;
+import net.minecraft.server.v1_8_R3.IContainer;
 import net.minecraft.server.v1_8_R3.Packet;
 import net.minecraft.server.v1_8_R3.PacketPlayInCloseWindow;
 import net.minecraft.server.v1_8_R3.PacketPlayOutChat;
+import net.minecraft.server.v1_8_R3.PacketPlayOutMapChunk;
+import net.minecraft.server.v1_8_R3.PacketPlayOutMultiBlockChange;
 import net.minecraft.server.v1_8_R3.PacketPlayOutNamedSoundEffect;
 import net.minecraft.server.v1_8_R3.PacketPlayOutOpenWindow;
 import net.minecraft.server.v1_8_R3.PacketPlayOutPlayerListHeaderFooter;
 import net.minecraft.server.v1_8_R3.PacketPlayOutSpawnEntityWeather;
 import net.minecraft.server.v1_8_R3.PacketPlayOutTitle;
 import net.minecraft.server.v1_8_R3.PacketPlayOutWorldParticles;
+import net.minecraft.server.v1_8_R3.TileEntity;
 import net.minecraft.server.v1_8_R3.World;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
+import org.bukkit.craftbukkit.v1_8_R3.CraftChunk;
 import org.bukkit.craftbukkit.v1_8_R3.CraftWorld;
 import org.bukkit.craftbukkit.v1_8_R3.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_8_R3.entity.CraftLivingEntity;
@@ -69,6 +80,7 @@ import org.bukkit.inventory.InventoryView;
 import org.bukkit.util.Vector;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -105,6 +117,9 @@ class v1_8_R3_Nms implements INms {
     private IReflectedType _CraftPlayer = _reflection.craftType("entity.CraftPlayer")
             .method("getHandle");
 
+    private IReflectedInvoker _sendPacket = _PlayerConnection.getInvoker("sendPacket");
+    private IReflectedInvoker _getHandle = _CraftPlayer.getInvoker("getHandle");
+
     private boolean _isAvailable = true;
     private v1_8_R3_Chat _chat = new v1_8_R3_Chat();
 
@@ -144,7 +159,7 @@ class v1_8_R3_Nms implements INms {
     @Override
     public void sendPacket(IReflectedInstance connection, Object packet) {
         try {
-            connection.invoke("sendPacket", packet);
+            _sendPacket.invoke(connection.getHandle(), packet);
         }
         catch (RuntimeException e) {
             e.printStackTrace();
@@ -175,7 +190,7 @@ class v1_8_R3_Nms implements INms {
     @Override
     public IReflectedInstance getEntityPlayer(Player player) {
         try {
-            return _EntityPlayer.reflect(_CraftPlayer.reflect(player).invoke("getHandle"));
+            return _EntityPlayer.reflect(_getHandle.invoke(player));
         }
         catch (RuntimeException e) {
             _isAvailable = false;
@@ -303,6 +318,97 @@ class v1_8_R3_Nms implements INms {
         return new PacketPlayOutSpawnEntityWeather(lightning);
     }
 
+    @Override
+    public int setBlockFast(Chunk chunk, int x, int y, int z, int typeId, int data) {
+
+        net.minecraft.server.v1_8_R3.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        BlockPosition position = new BlockPosition((nmsChunk.locX << 4) | x, y, (nmsChunk.locZ << 4) | z);
+
+        // tile entities must be created and removed by the world
+        if (nmsChunk.getTileEntities().containsKey(position))
+            return INmsBlockHandler.BLOCK_NOT_SET;
+
+        IBlockData blockData = net.minecraft.server.v1_8_R3.Block.getById(typeId).fromLegacyData(data);
+        if (blockData.getBlock() instanceof IContainer)
+            return INmsBlockHandler.BLOCK_NOT_SET;
+
+        ChunkSection[] sections = nmsChunk.getSections();
+        ChunkSection section = sections[y >> 4];
+
+        if (section == null) {
+
+            // nothing to clear in an empty section
+            if (typeId == 0)
+                return INmsBlockHandler.BLOCK_SET;
+
+            section = sections[y >> 4] = new ChunkSection((y >> 4) << 4,
+                    chunk.getWorld().getEnvironment() == org.bukkit.World.Environment.NORMAL);
+        }
+
+        net.minecraft.server.v1_8_R3.Block current = section.getType(x, y & 15, z).getBlock();
+        net.minecraft.server.v1_8_R3.Block block = blockData.getBlock();
+
+        section.setType(x, y & 15, z, blockData);
+
+        // block light must be rechecked if the light emitted or opacity changed
+        return current.r() != block.r() || current.p() != block.p()
+                ? INmsBlockHandler.BLOCK_SET_LIGHT_CHANGED
+                : INmsBlockHandler.BLOCK_SET;
+    }
+
+    @Override
+    public void relightChunk(Chunk chunk, short[] positions, int count) {
+
+        net.minecraft.server.v1_8_R3.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        // sky light only
+        nmsChunk.initLighting();
+
+        int chunkX = nmsChunk.locX << 4;
+        int chunkZ = nmsChunk.locZ << 4;
+
+        for (int i = 0; i < count; i++) {
+
+            int position = positions[i] & 0xFFFF;
+
+            BlockPosition blockPosition = new BlockPosition(
+                    chunkX | (position >> 12), position & 255, chunkZ | ((position >> 8) & 15));
+
+            nmsChunk.world.c(EnumSkyBlock.BLOCK, blockPosition);
+        }
+
+        // mark modified so the chunk is saved
+        nmsChunk.e();
+    }
+
+    @Override
+    public Object[] getChunkPackets(Chunk chunk) {
+
+        net.minecraft.server.v1_8_R3.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+        Collection<TileEntity> tileEntities = nmsChunk.getTileEntities().values();
+
+        Object[] packets = new Object[tileEntities.size() + 1];
+        packets[0] = new PacketPlayOutMapChunk(nmsChunk, true, 65535);
+
+        int i = 1;
+        for (TileEntity tileEntity : tileEntities) {
+            Packet packet = tileEntity.getUpdatePacket();
+            if (packet != null)
+                packets[i++] = packet;
+        }
+
+        return i == packets.length ? packets : Arrays.copyOf(packets, i);
+    }
+
+    @Override
+    public Object getMultiBlockChangePacket(Chunk chunk, short[] positions, int count) {
+
+        net.minecraft.server.v1_8_R3.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        return new PacketPlayOutMultiBlockChange(count, positions, nmsChunk);
+    }
+
     @Override
     public boolean isEntityVisible(Entity entity) {
         return !((CraftEntity)entity).getHandle().isInvisible();
@@ -26,14 +26,17 @@ package com.jcwhatever.nucleus.internal.managed.nms;
 
 import com.jcwhatever.nucleus.internal.NucMsg;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedInstance;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedInvoker;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedType;
 import com.jcwhatever.nucleus.managed.reflection.IReflection;
 import com.jcwhatever.nucleus.managed.reflection.Reflection;
 import com.jcwhatever.nucleus.utils.coords.LocationUtils;
+import com.jcwhatever.nucleus.utils.nms.INmsBlockHandler;
 import com.jcwhatever.nucleus.utils.nms.INmsParticleEffectHandler;
 import com.jcwhatever.nucleus.utils.text.components.IChatMessage;
 import net.minecraft.server.v1_9_R1.BlockPosition;
 import net.minecraft.server.v1_9_R1.ChatComponentText;
+import net.minecraft.server.v1_9_R1.ChunkSection;
 import net.minecraft.server.v1_9_R1.Container;
 import net.minecraft.server.v1_9_R1.ContainerAnvil;
 import net.minecraft.server.v1_9_R1.DataWatcher;
@@ -42,22 +45,30 @@ import net.minecraft.server.v1_9_R1.EntityLightning;
 import net.minecraft.server.v1_9_R1.EntityLiving;
 import net.minecraft.server.v1_9_R1.EntityPlayer;
 import net.minecraft.server.v1_9_R1.EnumParticle;
+import net.minecraft.server.v1_9_R1.EnumSkyBlock;
 import net.minecraft.server.v1_9_R1.IChatBaseComponent;
+import net.minecraft.server.v1_9_R1.IBlockData;
+import net.minecraft.server.v1_9_R1.ITileEntity;
 import net.minecraft.server.v1_9_R1.MinecraftKey;
 import net.minecraft.server.v1_9_R1.Packet;
 import net.minecraft.server.v1_9_R1.PacketPlayInCloseWindow;
 import net.minecraft.server.v1_9_R1.PacketPlayOutChat;
+import net.minecraft.server.v1_9_R1.PacketPlayOutMapChunk;
+import net.minecraft.server.v1_9_R1.PacketPlayOutMultiBlockChange;
 import net.minecraft.server.v1_9_R1.PacketPlayOutNamedSoundEffect;
 import net.minecraft.server.v1_9_R1.PacketPlayOutOpenWindow;
 import net.minecraft.server.v1_9_R1.PacketPlayOutPlayerListHeaderFooter;
 import net.minecraft.server.v1_9_R1.PacketPlayOutSpawnEntityWeather;
 import net.minecraft.server.v1_9_R1.PacketPlayOutTitle;
 import net.minecraft.server.v1_9_R1.PacketPlayOutWorldParticles;
+import net.minecraft.server.v1_9_R1.TileEntity;
 import net.minecraft.server.v1_9_R1.SoundCategory;
 import net.minecraft.server.v1_9_R1.SoundEffect;
 import net.minecraft.server.v1_9_R1.World;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
+import org.bukkit.craftbukkit.v1_9_R1.CraftChunk;
 import org.bukkit.craftbukkit.v1_9_R1.CraftWorld;
 import org.bukkit.craftbukkit.v1_9_R1.entity.CraftEntity;
 import org.bukkit.craftbukkit.v1_9_R1.entity.CraftLivingEntity;
@@ -72,6 +83,7 @@ import org.bukkit.inventory.InventoryView;
 import org.bukkit.util.Vector;
 
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Collection;
 
 /**
@@ -108,6 +120,9 @@ public class v1_9_R1_Nms  implements INms {
     private IReflectedType _CraftPlayer = _reflection.craftType("entity.CraftPlayer")
             .method("getHandle");
 
+    private IReflectedInvoker _sendPacket = _PlayerConnection.getInvoker("sendPacket");
+    private IReflectedInvoker _getHandle = _CraftPlayer.getInvoker("getHandle");
+
     private boolean _isAvailable = true;
     private v1_9_R1_Chat _chat = new v1_9_R1_Chat();
 
@@ -147,7 +162,7 @@ public class v1_9_R1_Nms  implements INms {
     @Override
     public void sendPacket(IReflectedInstance connection, Object packet) {
         try {
-            connection.invoke("sendPacket", packet);
+            _sendPacket.invoke(connection.getHandle(), packet);
         }
         catch (RuntimeException e) {
             e.printStackTrace();
@@ -178,7 +193,7 @@ public class v1_9_R1_Nms  implements INms {
     @Override
     public IReflectedInstance getEntityPlayer(Player player) {
         try {
-            return _EntityPlayer.reflect(_CraftPlayer.reflect(player).invoke("getHandle"));
+            return _EntityPlayer.reflect(_getHandle.invoke(player));
         }
         catch (RuntimeException e) {
             _isAvailable = false;
@@ -313,6 +328,95 @@ public class v1_9_R1_Nms  implements INms {
         return new PacketPlayOutSpawnEntityWeather(lightning);
     }
 
+    @Override
+    public int setBlockFast(Chunk chunk, int x, int y, int z, int typeId, int data) {
+
+        net.minecraft.server.v1_9_R1.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        BlockPosition position = new BlockPosition((nmsChunk.locX << 4) | x, y, (nmsChunk.locZ << 4) | z);
+
+        // tile entities must be created and removed by the world
+        if (nmsChunk.getTileEntities().containsKey(position))
+            return INmsBlockHandler.BLOCK_NOT_SET;
+
+        IBlockData blockData = net.minecraft.server.v1_9_R1.Block.getById(typeId).fromLegacyData(data);
+        if (blockData.getBlock() instanceof ITileEntity)
+            return INmsBlockHandler.BLOCK_NOT_SET;
+
+        ChunkSection[] sections = nmsChunk.getSections();
+        ChunkSection section = sections[y >> 4];
+
+        if (section == null) {
+
+            // nothing to clear in an empty section
+            if (typeId == 0)
+                return INmsBlockHandler.BLOCK_SET;
+
+            section = sections[y >> 4] = new ChunkSection((y >> 4) << 4,
+                    chunk.getWorld().getEnvironment() == org.bukkit.World.Environment.NORMAL);
+        }
+
+        IBlockData current = section.getType(x, y & 15, z);
+        section.setType(x, y & 15, z, blockData);
+
+        // block light must be rechecked if the light emitted or opacity changed
+        return current.d() != blockData.d() || current.c() != blockData.c()
+                ? INmsBlockHandler.BLOCK_SET_LIGHT_CHANGED
+                : INmsBlockHandler.BLOCK_SET;
+    }
+
+    @Override
+    public void relightChunk(Chunk chunk, short[] positions, int count) {
+
+        net.minecraft.server.v1_9_R1.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        // sky light only
+        nmsChunk.initLighting();
+
+        int chunkX = nmsChunk.locX << 4;
+        int chunkZ = nmsChunk.locZ << 4;
+
+        for (int i = 0; i < count; i++) {
+
+            int position = positions[i] & 0xFFFF;
+
+            BlockPosition blockPosition = new BlockPosition(
+                    chunkX | (position >> 12), position & 255, chunkZ | ((position >> 8) & 15));
+
+            nmsChunk.world.c(EnumSkyBlock.BLOCK, blockPosition);
+        }
+
+        // mark modified so the chunk is saved
+        nmsChunk.e();
+    }
+
+    @Override
+    public Object[] getChunkPackets(Chunk chunk) {
+
+        net.minecraft.server.v1_9_R1.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+        Collection<TileEntity> tileEntities = nmsChunk.getTileEntities().values();
+
+        Object[] packets = new Object[tileEntities.size() + 1];
+        packets[0] = new PacketPlayOutMapChunk(nmsChunk, 65535);
+
+        int i = 1;
+        for (TileEntity tileEntity : tileEntities) {
+            Packet packet = tileEntity.getUpdatePacket();
+            if (packet != null)
+                packets[i++] = packet;
+        }
+
+        return i == packets.length ? packets : Arrays.copyOf(packets, i);
+    }
+
+    @Override
+    public Object getMultiBlockChangePacket(Chunk chunk, short[] positions, int count) {
+
+        net.minecraft.server.v1_9_R1.Chunk nmsChunk = ((CraftChunk)chunk).getHandle();
+
+        return new PacketPlayOutMultiBlockChange(count, positions, nmsChunk);
+    }
+
     @Override
     public boolean isEntityVisible(Entity entity) {
         return !((CraftEntity)entity).getHandle().isInvisible();
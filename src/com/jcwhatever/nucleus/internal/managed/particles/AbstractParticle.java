@@ -219,6 +219,42 @@ abstract class AbstractParticle implements IParticleEffect {
                 getOffsetX(), getOffsetY(), getOffsetZ(), getNmsSpeed(), count - 1);
     }
 
+    /**
+     * Show the effect at a range of points to a collection of players.
+     *
+     * <p>Used by {@link InternalShapeEmitter}. The players are not checked.</p>
+     *
+     * @param players  The players.
+     * @param points   The point coordinates as x, y and z triples.
+     * @param start    The index of the first point to show.
+     * @param end      The index after the last point to show.
+     * @param count    The particle count per point.
+     *
+     * @return  True if the points were shown, false if particles are not available.
+     */
+    boolean showPoints(Collection<? extends Player> players,
+                       double[] points, int start, int end, int count) {
+
+        INmsParticleEffectHandler handler = NmsUtils.getParticleEffectHandler();
+        if (handler == null)
+            return false;
+
+        boolean isColored = this instanceof AbstractRGBColorParticle;
+
+        for (int i = start * 3, last = end * 3; i < last; i += 3) {
+
+            if (isColored) {
+                ((AbstractRGBColorParticle)this).showColoredTo(handler, players,
+                        points[i], points[i + 1], points[i + 2], count);
+            }
+            else {
+                showParticleTo(handler, players, points[i], points[i + 1], points[i + 2], count);
+            }
+        }
+
+        return true;
+    }
+
     private boolean showTo(Collection<? extends Player> players,
                            double x, double y, double z, int count) {
 
@@ -27,6 +27,7 @@ package com.jcwhatever.nucleus.internal.managed.particles;
 import com.jcwhatever.nucleus.managed.particles.IParticleEffect;
 import com.jcwhatever.nucleus.managed.particles.IParticleEffectFactory;
 import com.jcwhatever.nucleus.managed.particles.ParticleType;
+import com.jcwhatever.nucleus.managed.particles.shapes.IShapeEmitter;
 import com.jcwhatever.nucleus.managed.particles.types.IBarrierParticle;
 import com.jcwhatever.nucleus.managed.particles.types.IBlockCrackParticle;
 import com.jcwhatever.nucleus.managed.particles.types.IBlockDustParticle;
@@ -76,6 +77,8 @@ import javax.annotation.Nullable;
  */
 public final class InternalParticleEffectFactory implements IParticleEffectFactory {
 
+    private final InternalShapeEmitter _shapeEmitter = new InternalShapeEmitter();
+
     @Nullable
     @Override
     public <T extends IParticleEffect> T create(ParticleType<T> type) {
@@ -87,6 +90,11 @@ public final class InternalParticleEffectFactory implements IParticleEffectFacto
         return result;
     }
 
+    @Override
+    public IShapeEmitter getShapeEmitter() {
+        return _shapeEmitter;
+    }
+
     private Object getParticleInstance(ParticleType type) {
 
         Class<?> clazz = type.getParticleClass();
@@ -0,0 +1,264 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.particles;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.particles.IParticleEffect;
+import com.jcwhatever.nucleus.managed.particles.shapes.IShapeEmitter;
+import com.jcwhatever.nucleus.managed.particles.shapes.ParticleShape;
+import com.jcwhatever.nucleus.managed.scheduler.IScheduledTask;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.ThreadSingletons;
+import com.jcwhatever.nucleus.utils.coords.LocationUtils;
+import com.jcwhatever.nucleus.utils.coords.MutableCoords3D;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Implementation of {@link IShapeEmitter}.
+ */
+final class InternalShapeEmitter implements IShapeEmitter, Runnable {
+
+    static final int DEFAULT_PACKET_BUDGET = 2000;
+
+    // maximum number of ticks worth of packets that can be queued
+    static final int MAX_BACKLOG_TICKS = 20;
+
+    private static final ThreadSingletons<Location> LOCATIONS = LocationUtils.createThreadSingleton();
+
+    private final Deque<Emission> _queue = new ArrayDeque<>(10);
+    private final MutableCoords3D _coords = new MutableCoords3D();
+
+    private int _budget = DEFAULT_PACKET_BUDGET;
+    private IScheduledTask _task;
+
+    @Override
+    public int getPacketBudget() {
+        return _budget;
+    }
+
+    @Override
+    public void setPacketBudget(int budget) {
+        PreCon.greaterThanZero(budget);
+
+        _budget = budget;
+    }
+
+    @Override
+    public int getPendingPackets() {
+        int pending = 0;
+
+        for (Emission emission : _queue) {
+            pending += emission.remainingPackets();
+        }
+
+        return pending;
+    }
+
+    @Override
+    public boolean emit(IParticleEffect effect, ParticleShape shape, Location origin, int count) {
+        return emit(effect, shape, origin, 0, 0, count);
+    }
+
+    @Override
+    public boolean emit(IParticleEffect effect, ParticleShape shape,
+                        Location origin, float yaw, float pitch, int count) {
+        PreCon.notNull(effect);
+        PreCon.notNull(shape);
+        PreCon.notNull(origin);
+
+        World world = origin.getWorld();
+        if (world == null)
+            return false;
+
+        double radius = effect.getRadius() + shape.getRadius();
+        double radiusSquared = radius * radius;
+
+        Collection<? extends Player> players = Bukkit.getOnlinePlayers();
+        List<Player> viewers = new ArrayList<>(Math.min(players.size(), 30));
+
+        for (Player player : players) {
+
+            if (!world.equals(player.getWorld()))
+                continue;
+
+            Location location = player.getLocation(LOCATIONS.get());
+            if (location.distanceSquared(origin) > radiusSquared)
+                continue;
+
+            viewers.add(player);
+        }
+
+        return queue(viewers, effect, shape, origin, yaw, pitch, count);
+    }
+
+    @Override
+    public boolean emit(Collection<? extends Player> viewers, IParticleEffect effect, ParticleShape shape,
+                        Location origin, float yaw, float pitch, int count) {
+        PreCon.notNull(viewers);
+        PreCon.notNull(effect);
+        PreCon.notNull(shape);
+        PreCon.notNull(origin);
+
+        World world = origin.getWorld();
+        List<Player> list = new ArrayList<>(viewers.size());
+
+        for (Player player : viewers) {
+            if (world == null || world.equals(player.getWorld()))
+                list.add(player);
+        }
+
+        return queue(list, effect, shape, origin, yaw, pitch, count);
+    }
+
+    @Override
+    public void clear() {
+        _queue.clear();
+    }
+
+    @Override
+    public void run() {
+
+        int budget = _budget;
+
+        while (budget > 0 && !_queue.isEmpty()) {
+
+            Emission emission = _queue.pollFirst();
+
+            budget -= emission.send(budget);
+
+            // continue next tick, after other emissions
+            if (!emission.isDone())
+                _queue.addLast(emission);
+        }
+
+        if (_queue.isEmpty() && _task != null) {
+            _task.cancel();
+            _task = null;
+        }
+    }
+
+    private boolean queue(List<Player> viewers, IParticleEffect effect, ParticleShape shape,
+                          Location origin, float yaw, float pitch, int count) {
+        PreCon.greaterThanZero(count);
+
+        if (viewers.isEmpty() || shape.size() == 0)
+            return false;
+
+        int packets = shape.size() * viewers.size();
+        if (getPendingPackets() + packets > _budget * MAX_BACKLOG_TICKS)
+            return false;
+
+        double[] points = shape.transform(yaw, pitch, origin.getX(), origin.getY(), origin.getZ(), null);
+
+        _queue.addLast(new Emission(effect, viewers, points, count));
+
+        if (_task == null)
+            _task = Scheduler.runTaskRepeat(Nucleus.getPlugin(), 1, 1, this);
+
+        return true;
+    }
+
+    /*
+     * A queued shape emission.
+     */
+    private final class Emission {
+
+        final IParticleEffect effect;
+        final List<Player> viewers;
+        final double[] points;
+        final int count;
+        int next;
+
+        Emission(IParticleEffect effect, List<Player> viewers, double[] points, int count) {
+            this.effect = effect;
+            this.viewers = viewers;
+            this.points = points;
+            this.count = count;
+        }
+
+        boolean isDone() {
+            return next * 3 >= points.length || viewers.isEmpty();
+        }
+
+        int remainingPackets() {
+            return (points.length / 3 - next) * viewers.size();
+        }
+
+        /*
+         * Send as many points as the budget allows. At least one point is
+         * always sent so that an emission with many viewers still progresses.
+         *
+         * Returns the number of packets sent.
+         */
+        int send(int budget) {
+
+            // remove viewers that logged out since the last tick
+            Iterator<Player> iterator = viewers.iterator();
+            while (iterator.hasNext()) {
+                if (!iterator.next().isOnline())
+                    iterator.remove();
+            }
+
+            if (viewers.isEmpty())
+                return 0;
+
+            int total = points.length / 3;
+            int end = Math.min(total, next + Math.max(1, budget / viewers.size()));
+            int packets = (end - next) * viewers.size();
+
+            if (effect instanceof AbstractParticle) {
+                if (!((AbstractParticle) effect).showPoints(viewers, points, next, end, count)) {
+                    // particles not available
+                    next = total;
+                    return 0;
+                }
+            }
+            else {
+                for (int i = next * 3, last = end * 3; i < last; i += 3) {
+                    _coords.setX(points[i]);
+                    _coords.setY(points[i + 1]);
+                    _coords.setZ(points[i + 2]);
+                    effect.showTo(viewers, _coords, count);
+                }
+            }
+
+            next = end;
+
+            return packets;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.reflection;
+
+import com.jcwhatever.nucleus.managed.reflection.IReflectedConstructor;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import javax.annotation.Nullable;
+
+/**
+ * Internal implementation of {@link IReflectedConstructor}.
+ */
+class ReflectedConstructor implements IReflectedConstructor {
+
+    private final Constructor<?> _constructor;
+    private final int _argCount;
+
+    // (Object... args)Object
+    private final MethodHandle _handle;
+    // (Object[] args)Object
+    private final MethodHandle _spreader;
+
+    /**
+     * Constructor.
+     *
+     * @param constructor  The accessible constructor.
+     */
+    ReflectedConstructor(Constructor<?> constructor) {
+        PreCon.notNull(constructor);
+
+        _constructor = constructor;
+        _argCount = constructor.getParameterTypes().length;
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Failed to access constructor.");
+        }
+
+        // a varargs constructor takes its trailing array as a single argument
+        _handle = handle.asFixedArity().asType(MethodType.genericMethodType(_argCount));
+        _spreader = _handle.asSpreader(Object[].class, _argCount);
+    }
+
+    @Override
+    public int getArgCount() {
+        return _argCount;
+    }
+
+    @Override
+    public Constructor<?> getHandle() {
+        return _constructor;
+    }
+
+    @Override
+    public Object construct() {
+        checkArgs(0);
+
+        try {
+            return (Object)_handle.invokeExact();
+        } catch (Throwable e) {
+            throw handleError(e);
+        }
+    }
+
+    @Override
+    public Object construct(@Nullable Object arg1) {
+        checkArgs(1);
+
+        try {
+            return (Object)_handle.invokeExact(arg1);
+        } catch (Throwable e) {
+            throw handleError(e, arg1);
+        }
+    }
+
+    @Override
+    public Object construct(@Nullable Object arg1, @Nullable Object arg2) {
+        checkArgs(2);
+
+        try {
+            return (Object)_handle.invokeExact(arg1, arg2);
+        } catch (Throwable e) {
+            throw handleError(e, arg1, arg2);
+        }
+    }
+
+    @Override
+    public Object construct(@Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3) {
+        checkArgs(3);
+
+        try {
+            return (Object)_handle.invokeExact(arg1, arg2, arg3);
+        } catch (Throwable e) {
+            throw handleError(e, arg1, arg2, arg3);
+        }
+    }
+
+    @Override
+    public Object constructArgs(Object... arguments) {
+        PreCon.notNull(arguments, "arguments");
+
+        checkArgs(arguments.length);
+
+        try {
+            return (Object)_spreader.invokeExact(arguments);
+        } catch (Throwable e) {
+            throw handleError(e, arguments);
+        }
+    }
+
+    private void checkArgs(int argCount) {
+        if (argCount != _argCount) {
+            throw new IllegalArgumentException("Constructor expects " + _argCount +
+                    " arguments but " + argCount + " were provided.");
+        }
+    }
+
+    private RuntimeException handleError(Throwable e, Object... arguments) {
+        if (e instanceof Error)
+            throw (Error)e;
+
+        // argument type mismatches are not wrapped, the same as Constructor.newInstance
+        if (e instanceof ClassCastException || e instanceof NullPointerException)
+            ReflectedInvoker.checkArgTypes(_constructor.getParameterTypes(), arguments);
+
+        e.printStackTrace();
+        return new RuntimeException("Failed to instantiate constructor.");
+    }
+}
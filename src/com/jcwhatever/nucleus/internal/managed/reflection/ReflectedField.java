@@ -26,6 +26,9 @@ package com.jcwhatever.nucleus.internal.managed.reflection;
 
 import com.jcwhatever.nucleus.managed.reflection.IReflectedField;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import javax.annotation.Nullable;
@@ -39,6 +42,10 @@ class ReflectedField implements IReflectedField {
     private CachedReflectedType _type;
     private int _modifiers;
 
+    // compiled accessors, (Object instance)Object and (Object instance, Object value)void
+    private volatile MethodHandle _getter;
+    private volatile MethodHandle _setter;
+
     /**
      * Constructor.
      *
@@ -126,8 +133,62 @@ class ReflectedField implements IReflectedField {
         return Modifier.isVolatile(_modifiers);
     }
 
+    /**
+     * Bind the field getter and setter to method handles so the field
+     * can be accessed without reflection.
+     *
+     * <p>The setter is not compiled for static final fields.</p>
+     */
+    void compileAccessors() {
+
+        if (_getter != null)
+            return;
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        boolean isStatic = isStatic();
+
+        try {
+            MethodHandle getter = lookup.unreflectGetter(_field);
+            if (isStatic)
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+
+            _getter = getter.asType(MethodType.genericMethodType(1));
+
+            if (!isStatic || !isFinal()) {
+                MethodHandle setter = lookup.unreflectSetter(_field);
+                if (isStatic)
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+
+                _setter = setter.asType(
+                        MethodType.methodType(void.class, Object.class, Object.class));
+            }
+        }
+        catch (IllegalAccessException e) {
+            // use reflection
+            e.printStackTrace();
+        }
+    }
+
     @Override
     public Object get(@Nullable Object instance) {
+
+        MethodHandle getter = _getter;
+        if (getter != null) {
+
+            if (instance == null && !isStatic())
+                throw new RuntimeException("Failed to get field value. The field might not be static.");
+
+            try {
+                return (Object)getter.invokeExact(instance);
+            } catch (Throwable e) {
+                if (e instanceof Error)
+                    throw (Error)e;
+
+                e.printStackTrace();
+                throw new RuntimeException("Failed to get field value.");
+            }
+        }
+
         try {
             return _field.get(instance);
         } catch (IllegalAccessException | NullPointerException e) {
@@ -143,6 +204,25 @@ class ReflectedField implements IReflectedField {
 
     @Override
     public void set(@Nullable Object instance, @Nullable Object value) {
+
+        MethodHandle setter = _setter;
+        if (setter != null) {
+
+            if (instance == null && !isStatic())
+                throw new RuntimeException("Failed to set field value. The field might not be static.");
+
+            try {
+                setter.invokeExact(instance, value);
+                return;
+            } catch (Throwable e) {
+                if (e instanceof Error)
+                    throw (Error)e;
+
+                e.printStackTrace();
+                throw new RuntimeException("Failed to set field value.");
+            }
+        }
+
         try {
             _field.set(instance, value);
         } catch (IllegalAccessException e) {
@@ -0,0 +1,260 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.reflection;
+
+import com.jcwhatever.nucleus.managed.reflection.IReflectedInvoker;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import javax.annotation.Nullable;
+
+/**
+ * Internal implementation of {@link IReflectedInvoker}.
+ */
+class ReflectedInvoker implements IReflectedInvoker {
+
+    private final String _name;
+    private final Method _method;
+    private final boolean _isStatic;
+    private final int _argCount;
+
+    // (Object instance, Object... args)Object
+    private final MethodHandle _handle;
+    // (Object instance, Object[] args)Object
+    private final MethodHandle _spreader;
+
+    /**
+     * Constructor.
+     *
+     * @param name    The registered name or alias of the method.
+     * @param method  The accessible method.
+     */
+    ReflectedInvoker(String name, Method method) {
+        PreCon.notNull(name);
+        PreCon.notNull(method);
+
+        _name = name;
+        _method = method;
+        _isStatic = Modifier.isStatic(method.getModifiers());
+        _argCount = method.getParameterTypes().length;
+
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            e.printStackTrace();
+            throw new RuntimeException("Failed to access method " + method.getName());
+        }
+
+        // accept and ignore an instance argument for static methods
+        if (_isStatic)
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+        // a varargs method takes its trailing array as a single argument
+        _handle = handle.asFixedArity().asType(MethodType.genericMethodType(_argCount + 1));
+        _spreader = _handle.asSpreader(Object[].class, _argCount);
+    }
+
+    @Override
+    public String getName() {
+        return _name;
+    }
+
+    @Override
+    public int getArgCount() {
+        return _argCount;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return _isStatic;
+    }
+
+    @Override
+    public Method getHandle() {
+        return _method;
+    }
+
+    @Nullable
+    @Override
+    public <V> V invoke(@Nullable Object instance) {
+        checkInvoke(instance, 0);
+
+        try {
+            return cast((Object)_handle.invokeExact(instance));
+        } catch (Throwable e) {
+            return handleError(e);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <V> V invoke(@Nullable Object instance, @Nullable Object arg1) {
+        checkInvoke(instance, 1);
+
+        try {
+            return cast((Object)_handle.invokeExact(instance, arg1));
+        } catch (Throwable e) {
+            return handleError(e, arg1);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <V> V invoke(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2) {
+        checkInvoke(instance, 2);
+
+        try {
+            return cast((Object)_handle.invokeExact(instance, arg1, arg2));
+        } catch (Throwable e) {
+            return handleError(e, arg1, arg2);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <V> V invoke(@Nullable Object instance,
+                        @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3) {
+        checkInvoke(instance, 3);
+
+        try {
+            return cast((Object)_handle.invokeExact(instance, arg1, arg2, arg3));
+        } catch (Throwable e) {
+            return handleError(e, arg1, arg2, arg3);
+        }
+    }
+
+    @Nullable
+    @Override
+    public <V> V invokeArgs(@Nullable Object instance, Object... arguments) {
+        PreCon.notNull(arguments, "arguments");
+
+        checkInvoke(instance, arguments.length);
+
+        try {
+            return cast((Object)_spreader.invokeExact(instance, arguments));
+        } catch (Throwable e) {
+            return handleError(e, arguments);
+        }
+    }
+
+    private void checkInvoke(@Nullable Object instance, int argCount) {
+
+        if (argCount != _argCount) {
+            throw new IllegalArgumentException("Method " + _name + " expects " + _argCount +
+                    " arguments but " + argCount + " were provided.");
+        }
+
+        if (instance == null && !_isStatic)
+            throw new RuntimeException("Method " + _name + " is not static.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V cast(Object result) {
+        return (V)result;
+    }
+
+    /*
+     * Handle an exception thrown while invoking the method the same way as
+     * Method.invoke: argument type mismatches throw IllegalArgumentException,
+     * exceptions thrown by the method are printed and null is returned.
+     */
+    @Nullable
+    private <V> V handleError(Throwable e, Object... arguments) {
+        if (e instanceof Error)
+            throw (Error)e;
+
+        // argument conversion failures are thrown by the handle as
+        // ClassCastException or NullPointerException
+        if (e instanceof ClassCastException || e instanceof NullPointerException)
+            checkArgTypes(_method.getParameterTypes(), arguments);
+
+        e.printStackTrace();
+        return null;
+    }
+
+    /**
+     * Throw {@link IllegalArgumentException} if the arguments cannot be
+     * passed to parameters of the specified types.
+     *
+     * <p>Uses the same unboxing and widening rules as {@link Method#invoke}.</p>
+     *
+     * @param types      The parameter types.
+     * @param arguments  The arguments.
+     */
+    static void checkArgTypes(Class<?>[] types, Object[] arguments) {
+
+        for (int i = 0; i < types.length; i++) {
+
+            Class<?> type = types[i];
+            Object arg = arguments[i];
+
+            if (type.isPrimitive()) {
+                if (arg == null || !isWidened(arg.getClass(), type))
+                    throw new IllegalArgumentException("argument type mismatch");
+            }
+            else if (arg != null && !type.isInstance(arg)) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
+        }
+    }
+
+    /*
+     * Determine if a primitive wrapper type can be unboxed and widened
+     * to a primitive type.
+     */
+    private static boolean isWidened(Class<?> wrapper, Class<?> primitive) {
+
+        if (wrapper == Boolean.class)
+            return primitive == boolean.class;
+
+        if (wrapper == Character.class)
+            return primitive == char.class || numberRank(primitive) >= 2;
+
+        int rank = numberRank(wrapper);
+        return rank != -1 && numberRank(primitive) >= rank;
+    }
+
+    // byte < short < int < long < float < double
+    private static int numberRank(Class<?> type) {
+        if (type == byte.class || type == Byte.class)
+            return 0;
+        if (type == short.class || type == Short.class)
+            return 1;
+        if (type == int.class || type == Integer.class)
+            return 2;
+        if (type == long.class || type == Long.class)
+            return 3;
+        if (type == float.class || type == Float.class)
+            return 4;
+        if (type == double.class || type == Double.class)
+            return 5;
+        return -1;
+    }
+}
@@ -47,11 +47,9 @@ import javax.annotation.Nullable;
 class ReflectedType implements IReflectedType {
 
     private final CachedReflectedType _cached;
-    private final Collection<Constructor<?>> _constructorOutput = new ArrayList<>(5);
-    private final Collection<Method> _methodOutput = new ArrayList<>(5);
-    private Map<String, Method> _aliasMethods;
+    private Map<String, ReflectedInvoker> _aliasMethods;
     private Map<String, ReflectedField> _aliasFields;
-    private Map<String, Constructor<?>> _aliasConstructors;
+    private Map<String, ReflectedConstructor> _aliasConstructors;
     private Map<String, Object> _aliasEnum;
 
     /**
@@ -142,19 +140,21 @@ class ReflectedType implements IReflectedType {
         PreCon.notNullOrEmpty(alias, "alias");
         PreCon.notNull(arguments, "arguments");
 
+        return getConstructor(alias).constructArgs(arguments);
+    }
+
+    @Override
+    public ReflectedConstructor getConstructor(String alias) {
+        PreCon.notNullOrEmpty(alias, "alias");
+
         if (_aliasConstructors == null)
             throw new RuntimeException("No constructor aliases registered.");
 
-        Constructor<?> constructor = _aliasConstructors.get(alias);
+        ReflectedConstructor constructor = _aliasConstructors.get(alias);
         if (constructor == null)
             throw new RuntimeException("Constructor alias not found : " + alias);
 
-        try {
-            return constructor.newInstance(arguments);
-        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to instantiate constructor.");
-        }
+        return constructor;
     }
 
     @Override
@@ -180,8 +180,8 @@ class ReflectedType implements IReflectedType {
     public Object newInstance(Object... arguments) {
         PreCon.notNull(arguments, "arguments");
 
-        _constructorOutput.clear();
-        Collection<Constructor<?>> constructors = _cached.constructorsByCount(arguments.length, _constructorOutput);
+        Collection<Constructor<?>> constructors = _cached.constructorsByCount(
+                arguments.length, new ArrayList<Constructor<?>>(5));
 
         Constructor<?> constructor;
 
@@ -279,7 +279,7 @@ class ReflectedType implements IReflectedType {
         }
 
         constructor.setAccessible(true);
-        _aliasConstructors.put(alias, constructor);
+        _aliasConstructors.put(alias, new ReflectedConstructor(constructor));
 
         return this;
     }
@@ -299,6 +299,7 @@ class ReflectedType implements IReflectedType {
         if (field == null)
             throw new RuntimeException("Field " + fieldName + " not found in type " + getHandle().getName());
 
+        field.compileAccessors();
         _aliasFields.put(fieldAlias, field);
 
         return this;
@@ -358,7 +359,7 @@ class ReflectedType implements IReflectedType {
 
         method.setAccessible(true);
 
-        _aliasMethods.put(methodName, method);
+        _aliasMethods.put(methodName, new ReflectedInvoker(methodName, method));
         return this;
     }
 
@@ -386,11 +387,22 @@ class ReflectedType implements IReflectedType {
 
         method.setAccessible(true);
 
-        _aliasMethods.put(alias, method);
+        _aliasMethods.put(alias, new ReflectedInvoker(alias, method));
 
         return this;
     }
 
+    @Override
+    public ReflectedInvoker getInvoker(String methodName) {
+        PreCon.notNullOrEmpty(methodName, "methodName");
+
+        ReflectedInvoker invoker = _aliasMethods != null ? _aliasMethods.get(methodName) : null;
+        if (invoker == null)
+            throw new RuntimeException("Method not registered: " + methodName);
+
+        return invoker;
+    }
+
     @Override
     @Nullable
     public <V> V invokeStatic(String staticMethodName, Object... arguments) {
@@ -406,22 +418,27 @@ class ReflectedType implements IReflectedType {
         PreCon.notNullOrEmpty(methodName, "methodName");
         PreCon.notNull(arguments, "arguments");
 
-        Method method = _aliasMethods != null ? _aliasMethods.get(methodName) : null;
+        ReflectedInvoker invoker = _aliasMethods != null ? _aliasMethods.get(methodName) : null;
 
-        if (method == null) {
+        if (invoker != null) {
 
-            _methodOutput.clear();
-            Collection<Method> methods = _cached.methodsByName(methodName, _methodOutput);
+            if (instance != null && invoker.isStatic())
+                throw new RuntimeException("Method " + methodName + " is static.");
 
-            // get method definition
-            if (methods.size() == 1) {
-                method = methods.iterator().next();
-            } else {
-                method = Reflection.findMethodByArgs(methods, methodName, arguments);
-                if (method == null)
-                    throw new RuntimeException("Method '" + methodName +
-                            "' not found in type " + _cached.getHandle().getCanonicalName());
-            }
+            return invoker.invokeArgs(instance, arguments);
+        }
+
+        Collection<Method> methods = _cached.methodsByName(methodName, new ArrayList<Method>(5));
+
+        // get method definition
+        Method method;
+        if (methods.size() == 1) {
+            method = methods.iterator().next();
+        } else {
+            method = Reflection.findMethodByArgs(methods, methodName, arguments);
+            if (method == null)
+                throw new RuntimeException("Method '" + methodName +
+                        "' not found in type " + _cached.getHandle().getCanonicalName());
         }
 
         if (instance == null && !Modifier.isStatic(method.getModifiers())) {
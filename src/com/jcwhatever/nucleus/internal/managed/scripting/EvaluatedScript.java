@@ -147,7 +147,8 @@ class EvaluatedScript implements IEvaluatedScript {
 
         _scriptApis.put(scriptApi.getName(), scriptApi);
 
-        _engine.put(variableName, apiObject);
+        // the engine may be shared by other evaluations of the same compiled
+        // script, only add to the context of this evaluation.
         getContext().setAttribute(variableName, apiObject, ScriptContext.ENGINE_SCOPE);
 
         _apiObjects.add(apiObject);
@@ -179,6 +180,11 @@ class EvaluatedScript implements IEvaluatedScript {
 
         Invocable inv = (Invocable)_engine;
 
+        // functions are invoked from the engines default context,
+        // use the context the script was evaluated in.
+        ScriptContext engineContext = _engine.getContext();
+        _engine.setContext(getContext());
+
         try {
             return inv.invokeFunction(functionName, parameters);
         }
@@ -186,6 +192,9 @@ class EvaluatedScript implements IEvaluatedScript {
             e.printStackTrace();
             return null;
         }
+        finally {
+            _engine.setContext(engineContext);
+        }
     }
 
     /**
@@ -227,16 +236,22 @@ class EvaluatedScript implements IEvaluatedScript {
 
     /**
      * Invoked to get a context for the script.
+     *
+     * <p>The context has new engine scope bindings and shares the global
+     * scope bindings of the engine.</p>
      */
     protected ScriptContext createContext() {
 
-        Class<?> contextClazz = getScriptEngine().getContext().getClass();
+        ScriptEngine engine = getScriptEngine();
+        ScriptContext context;
+
+        Class<?> contextClazz = engine.getContext().getClass();
         try {
 
             // some engines require their own script context implementation,
             // try instantiating a new script context using the type from the engine.
             Constructor<?> constructor = contextClazz.getDeclaredConstructor();
-            return (ScriptContext)constructor.newInstance();
+            context = (ScriptContext)constructor.newInstance();
 
         } catch (NoSuchMethodException | InvocationTargetException |
                 InstantiationException | IllegalAccessException e) {
@@ -244,7 +259,12 @@ class EvaluatedScript implements IEvaluatedScript {
                     "Using SimpleScriptContext instead.");
 
             // if failed, use a SimpleScriptContext
-            return new SimpleScriptContext();
+            context = new SimpleScriptContext();
         }
+
+        context.setBindings(engine.createBindings(), ScriptContext.ENGINE_SCOPE);
+        context.setBindings(engine.getBindings(ScriptContext.GLOBAL_SCOPE), ScriptContext.GLOBAL_SCOPE);
+
+        return context;
     }
 }
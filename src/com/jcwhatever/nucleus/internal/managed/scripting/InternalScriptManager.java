@@ -67,7 +67,6 @@ import com.jcwhatever.nucleus.storage.DataPath;
 import com.jcwhatever.nucleus.storage.IDataNode;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.ScriptUtils;
-import com.jcwhatever.nucleus.utils.file.FileUtils.DirectoryTraversal;
 import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
@@ -75,8 +74,10 @@ import javax.script.ScriptEngineManager;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * NucleusFramework's default ScriptManager.
@@ -102,6 +103,9 @@ public final class InternalScriptManager implements IScriptManager {
     // default script apis included in all evaluated scripts
     private final List<IScriptApi> _api = new ArrayList<>(15);
 
+    // script files and compiled scripts kept between reloads
+    private final ScriptCache _cache;
+
     // global managers
     private InternalScriptItemManager _itemManager;
     private InternalScriptLocationManager _locationManager;
@@ -127,6 +131,8 @@ public final class InternalScriptManager implements IScriptManager {
             throw new RuntimeException("Failed to create script includes folder.");
         }
 
+        _cache = new ScriptCache(_scriptFolder, _includeFolder);
+
         loadDefaultApi();
     }
 
@@ -287,32 +293,32 @@ public final class InternalScriptManager implements IScriptManager {
      * <p>Clears current scripts and evaluated scripts before loading.</p>
      *
      * <p>Loaded scripts are not automatically re-evaluated.</p>
+     *
+     * <p>Script files that have not changed since they were last loaded
+     * are not read again.</p>
      */
     public void loadScripts() {
 
-        clearScripts();
-        clearEvaluated();
-
-        if (!_scriptFolder.exists())
+        if (!_scriptFolder.exists()) {
+            clearScripts();
             return;
-
-        List<IScript> scripts = ScriptUtils.loadScripts(
-                Nucleus.getPlugin(), getEngineManager(), _scriptFolder, _includeFolder,
-                DirectoryTraversal.RECURSIVE,
-                getScriptFactory());
-
-        for (IScript script : scripts) {
-            addScript(script);
         }
+
+        setScripts(_cache.load(Nucleus.getPlugin(), getEngineManager(), getScriptFactory()));
     }
 
     /**
      * Evaluates all scripts.
      *
      * <p>If a script is already evaluated, it is disposed and re-evaluated.</p>
+     *
+     * <p>Scripts that are not compiled are compiled in parallel before
+     * they are evaluated.</p>
      */
     public void evaluate() {
 
+        _cache.compile(_scripts.values());
+
         for (IScript script : _scripts.values()) {
             evaluate(script);
         }
@@ -373,6 +379,59 @@ public final class InternalScriptManager implements IScriptManager {
         return true;
     }
 
+    /**
+     * Reload scripts from the script folder, only re-evaluating scripts
+     * that are new or whose file content changed.
+     *
+     * <p>Scripts whose files were removed are disposed. If a file in the
+     * include folder changed, all scripts are reloaded.</p>
+     *
+     * @return  The number of scripts that were evaluated.
+     */
+    public int reloadChanged() {
+
+        if (!_scriptFolder.exists()) {
+            clearScripts();
+            return 0;
+        }
+
+        List<IScript> scripts = _cache.load(Nucleus.getPlugin(), getEngineManager(), getScriptFactory());
+
+        // scripts may depend on includes, re-evaluate everything
+        if (_cache.isIncludeChanged()) {
+            setScripts(scripts);
+            resetAndEvaluate();
+            return _evaluated.size();
+        }
+
+        Set<String> names = new HashSet<>(scripts.size());
+        List<IScript> changed = new ArrayList<>(10);
+
+        for (IScript script : scripts) {
+            String name = script.getName().toLowerCase();
+            names.add(name);
+
+            if (_scripts.get(name) != script || _cache.isChanged(script)) {
+                _scripts.put(name, script);
+                changed.add(script);
+            }
+        }
+
+        // dispose scripts whose file was removed
+        for (String name : new ArrayList<>(_scripts.keySet())) {
+            if (!names.contains(name))
+                removeScript(name);
+        }
+
+        _cache.compile(changed);
+
+        for (IScript script : changed) {
+            evaluate(script);
+        }
+
+        return changed.size();
+    }
+
     public boolean unload(String scriptName) {
         PreCon.notNullOrEmpty(scriptName);
 
@@ -393,11 +452,17 @@ public final class InternalScriptManager implements IScriptManager {
     @Override
     public void reload() {
         loadScripts();
-        GlobalMeta.reset();
-        ((InternalScriptEngineManager)Nucleus.getScriptEngineManager()).reload();
-        evaluate();
+        resetAndEvaluate();
+    }
 
-        Scheduler.runTaskLater(Nucleus.getPlugin(), 20, new ScriptReloadGC());
+    /**
+     * Dispose evaluated scripts and stop the script compiler threads.
+     *
+     * <p>Invoked when the plugin is disabled.</p>
+     */
+    public void dispose() {
+        clearScripts();
+        _cache.dispose();
     }
 
     @Override
@@ -470,6 +535,29 @@ public final class InternalScriptManager implements IScriptManager {
         return _scriptFactory;
     }
 
+    /*
+     * Replace the current scripts. Evaluated scripts are disposed.
+     */
+    private void setScripts(List<IScript> scripts) {
+
+        clearScripts();
+
+        for (IScript script : scripts) {
+            addScript(script);
+        }
+    }
+
+    /*
+     * Reset global script state and evaluate all scripts.
+     */
+    private void resetAndEvaluate() {
+        GlobalMeta.reset();
+        ((InternalScriptEngineManager)Nucleus.getScriptEngineManager()).reload();
+        evaluate();
+
+        Scheduler.runTaskLater(Nucleus.getPlugin(), 20, new ScriptReloadGC());
+    }
+
     /*
      * Clear all evaluated scripts.
      */
@@ -35,6 +35,7 @@ import com.jcwhatever.nucleus.utils.ScriptUtils;
 import java.io.File;
 import java.util.Collection;
 import javax.annotation.Nullable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 
@@ -47,6 +48,7 @@ class Script implements IScript {
     private final File _file;
     private final String _type;
     private final String _script;
+    private CompiledScript _compiled;
 
     /**
      * Constructor.
@@ -88,11 +90,45 @@ class Script implements IScript {
         return _type;
     }
 
+    /**
+     * Determine if the script is compiled.
+     */
+    public boolean isCompiled() {
+        return _compiled != null;
+    }
+
+    /**
+     * Compile the script so it does not need to be parsed when evaluated.
+     *
+     * <p>The compiled script is bound to its own engine which is used
+     * each time the script is evaluated. Each evaluation runs in a new
+     * context with its own engine scope bindings, so evaluations do not
+     * share variables.</p>
+     *
+     * @return  True if compiled, false if the engine does not support compiling
+     * or the script could not be compiled.
+     */
+    public boolean compile() {
+
+        if (_compiled != null)
+            return true;
+
+        ScriptEngine engine = getScriptEngine();
+        if (engine == null)
+            return false;
+
+        _compiled = ScriptUtils.compile(engine, this);
+        return _compiled != null;
+    }
+
     @Override
     @Nullable
     public IEvaluatedScript evaluate(@Nullable Collection<? extends IScriptApi> apiCollection) {
 
-        ScriptEngine engine = getScriptEngine();
+        ScriptEngine engine = _compiled != null
+                ? _compiled.getEngine()
+                : getScriptEngine();
+
         if (engine == null) {
             return null;
         }
@@ -138,6 +174,9 @@ class Script implements IScript {
      */
     protected boolean eval(ScriptEngine engine, ScriptContext context) {
 
+        if (_compiled != null && _compiled.getEngine() == engine)
+            return ScriptUtils.eval(_compiled, context, this).hasResult();
+
         return ScriptUtils.eval(engine, context, this).hasResult();
     }
 }
@@ -0,0 +1,336 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.managed.scripting;
+
+import com.jcwhatever.nucleus.managed.scripting.IScript;
+import com.jcwhatever.nucleus.managed.scripting.IScriptFactory;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.ScriptUtils;
+import com.jcwhatever.nucleus.utils.file.FileUtils;
+import com.jcwhatever.nucleus.utils.file.FileUtils.DirectoryTraversal;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.script.ScriptEngineManager;
+
+/**
+ * Tracks script files between reloads.
+ *
+ * <p>Files that have not changed since the previous load are not read again and
+ * the previously loaded (and compiled) script instance is returned. Files that
+ * were modified but whose content hash did not change are also kept.</p>
+ */
+final class ScriptCache {
+
+    private final File _scriptFolder;
+    private final File _includeFolder;
+
+    // key is absolute file path
+    private Map<String, Entry> _entries = new HashMap<>(25);
+    private long _includeStamp;
+    private boolean _isIncludeChanged = true;
+
+    // compiles scripts, created when first needed
+    private ThreadPoolExecutor _executor;
+
+    /**
+     * Constructor.
+     *
+     * @param scriptFolder   The folder scripts are loaded from.
+     * @param includeFolder  The include folder, which is excluded from loading.
+     */
+    ScriptCache(File scriptFolder, File includeFolder) {
+        PreCon.notNull(scriptFolder);
+        PreCon.notNull(includeFolder);
+
+        _scriptFolder = scriptFolder;
+        _includeFolder = includeFolder;
+    }
+
+    /**
+     * Load scripts from the script folder.
+     *
+     * <p>Scripts whose files did not change since the previous load are
+     * returned as the same instance.</p>
+     *
+     * @param plugin         The scripts owning plugin.
+     * @param engineManager  The engine manager used to determine if a file type is a script.
+     * @param scriptFactory  The factory used to create new script instances.
+     */
+    List<IScript> load(Plugin plugin, ScriptEngineManager engineManager, IScriptFactory scriptFactory) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(engineManager);
+        PreCon.notNull(scriptFactory);
+
+        List<File> files = FileUtils.getFiles(_scriptFolder, DirectoryTraversal.RECURSIVE);
+        Map<String, Entry> entries = new HashMap<>(files.size() + 10);
+        List<IScript> result = new ArrayList<>(files.size());
+
+        // getting an engine creates a new instance, only check each type once
+        Map<String, Boolean> supportedTypes = new HashMap<>(5);
+
+        String excludePath = _includeFolder.getAbsolutePath();
+
+        for (File file : files) {
+
+            String path = file.getAbsolutePath();
+            if (path.startsWith(excludePath))
+                continue;
+
+            String type = ScriptUtils.getScriptType(file);
+            if (type == null || type.isEmpty())
+                continue;
+
+            Boolean isSupported = supportedTypes.get(type);
+            if (isSupported == null) {
+                isSupported = engineManager.getEngineByExtension(type) != null;
+                supportedTypes.put(type, isSupported);
+            }
+
+            if (!isSupported)
+                continue;
+
+            long lastModified = file.lastModified();
+            long length = file.length();
+
+            Entry entry = _entries.get(path);
+
+            if (entry == null || entry.lastModified != lastModified || entry.length != length) {
+
+                IScript script = ScriptUtils.loadScript(plugin, _scriptFolder, file, scriptFactory);
+                if (script == null)
+                    continue;
+
+                byte[] hash = hash(script.getScript());
+
+                if (entry == null || !Arrays.equals(entry.hash, hash)) {
+                    entry = new Entry(script, hash);
+                }
+                else {
+                    entry.isChanged = false;
+                }
+
+                entry.lastModified = lastModified;
+                entry.length = length;
+            }
+            else {
+                entry.isChanged = false;
+            }
+
+            entries.put(path, entry);
+            result.add(entry.script);
+        }
+
+        _entries = entries;
+
+        long includeStamp = getIncludeStamp();
+        _isIncludeChanged = includeStamp != _includeStamp;
+        _includeStamp = includeStamp;
+
+        return result;
+    }
+
+    /**
+     * Determine if the script instance was created from a new or
+     * changed file during the most recent load.
+     *
+     * @param script  The script to check.
+     */
+    boolean isChanged(IScript script) {
+        PreCon.notNull(script);
+
+        File file = script.getFile();
+        if (file == null)
+            return true;
+
+        Entry entry = _entries.get(file.getAbsolutePath());
+        return entry == null || entry.script != script || entry.isChanged;
+    }
+
+    /**
+     * Determine if any file in the include folder was added, removed or
+     * modified before the most recent load.
+     */
+    boolean isIncludeChanged() {
+        return _isIncludeChanged;
+    }
+
+    /**
+     * Compile scripts that are not already compiled.
+     *
+     * <p>Scripts are compiled in parallel. The method returns when all
+     * scripts are compiled.</p>
+     *
+     * @param scripts  The scripts to compile.
+     */
+    void compile(Collection<? extends IScript> scripts) {
+        PreCon.notNull(scripts);
+
+        List<Script> toCompile = new ArrayList<>(scripts.size());
+
+        for (IScript script : scripts) {
+            if (script instanceof Script && !((Script) script).isCompiled())
+                toCompile.add((Script) script);
+        }
+
+        if (toCompile.isEmpty())
+            return;
+
+        if (toCompile.size() == 1) {
+            toCompile.get(0).compile();
+            return;
+        }
+
+        ExecutorService executor = getExecutor();
+
+        try {
+
+            List<Future<?>> futures = new ArrayList<>(toCompile.size());
+
+            for (final Script script : toCompile) {
+                futures.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        script.compile();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    e.getCause().printStackTrace();
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the compiler threads.
+     *
+     * <p>Invoked when the plugin is disabled.</p>
+     */
+    void dispose() {
+        if (_executor != null) {
+            _executor.shutdownNow();
+            _executor = null;
+        }
+    }
+
+    /*
+     * Get the executor used to compile scripts. Idle threads are stopped
+     * so the executor does not keep threads between reloads.
+     */
+    private ExecutorService getExecutor() {
+
+        if (_executor != null)
+            return _executor;
+
+        // script engines use the context class loader to find classes
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        int totalThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        _executor = new ThreadPoolExecutor(totalThreads, totalThreads, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Nucleus-ScriptCompiler");
+                thread.setDaemon(true);
+                thread.setContextClassLoader(classLoader);
+                return thread;
+            }
+        });
+        _executor.allowCoreThreadTimeOut(true);
+
+        return _executor;
+    }
+
+    /*
+     * Get a value that changes when a file in the include folder is added,
+     * removed or modified.
+     */
+    private long getIncludeStamp() {
+
+        if (!_includeFolder.exists())
+            return 0;
+
+        List<File> files = FileUtils.getFiles(_includeFolder, DirectoryTraversal.RECURSIVE);
+
+        long stamp = files.size();
+
+        for (File file : files) {
+            stamp = stamp * 31 + file.getAbsolutePath().hashCode();
+            stamp = stamp * 31 + file.lastModified();
+            stamp = stamp * 31 + file.length();
+        }
+
+        return stamp;
+    }
+
+    private static byte[] hash(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return digest.digest(script.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static class Entry {
+        final IScript script;
+        final byte[] hash;
+        long lastModified;
+        long length;
+        boolean isChanged = true;
+
+        Entry(IScript script, byte[] hash) {
+            this.script = script;
+            this.hash = hash;
+        }
+    }
+}
@@ -26,6 +26,7 @@ package com.jcwhatever.nucleus.internal.providers;
 
 import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.internal.NucMsg;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
 import com.jcwhatever.nucleus.providers.Provider;
 import com.jcwhatever.nucleus.providers.playerlookup.IPlayerLookupProvider;
 import com.jcwhatever.nucleus.providers.storage.DataStorage;
@@ -49,15 +50,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Nucleus frameworks default player lookup provider
+ *
+ * <p>Player names are indexed in memory. The index is built asynchronously when the
+ * provider is enabled. Until it is built, lookups scan the player data node.</p>
  */
 public final class InternalPlayerLookupProvider extends Provider implements IPlayerLookupProvider {
 
     private final Object _dataSync = new Object();
+    private final PlayerNameIndex _index = new PlayerNameIndex();
     private volatile IDataNode _nameData;
 
     public InternalPlayerLookupProvider(Plugin plugin) {
@@ -76,6 +83,9 @@ public final class InternalPlayerLookupProvider extends Provider implements IPla
         if (p != null)
             return p.getUniqueId();
 
+        if (_index.isBuilt())
+            return _index.getId(playerName);
+
         // check stored id/name map
         IDataNode nameData = getPlayerData();
 
@@ -157,6 +167,11 @@ public final class InternalPlayerLookupProvider extends Provider implements IPla
     @Override
     public IFutureResult<Collection<UUID>> searchNames(String searchText, int maxResults) {
 
+        if (_index.isBuilt()) {
+            Collection<UUID> result = _index.search(searchText, maxResults);
+            return new FutureResultAgent<Collection<UUID>>().success(result);
+        }
+
         Deque<PlayerData> unsorted = new ArrayDeque<>(15);
         String lower = searchText.toLowerCase();
 
@@ -224,9 +239,44 @@ public final class InternalPlayerLookupProvider extends Provider implements IPla
             data.set("name", name);
         }
 
+        _index.setName(playerId, currentName, name);
+
         data.save();
     }
 
+    @Override
+    protected void onEnable() {
+
+        // build name index
+        Scheduler.runTaskLaterAsync(Nucleus.getPlugin(), 1, new Runnable() {
+            @Override
+            public void run() {
+
+                IDataNode playersNode = getPlayerData();
+                Collection<String> nodeNames;
+
+                synchronized (_dataSync) {
+                    nodeNames = playersNode.getSubNodeNames(new ArrayList<String>(100));
+                }
+
+                Map<UUID, String> names = new HashMap<>(nodeNames.size());
+
+                for (String nodeName : nodeNames) {
+
+                    UUID playerId = TextUtils.parseUUID(nodeName);
+                    if (playerId == null)
+                        continue;
+
+                    synchronized (_dataSync) {
+                        names.put(playerId, playersNode.getString(nodeName + ".name"));
+                    }
+                }
+
+                _index.build(names);
+            }
+        });
+    }
+
     // get the node that contains player id/name data.
     private IDataNode getPlayerData() {
 
@@ -90,4 +90,9 @@ public final class InternalProviderInfo implements IProviderInfo {
     public List<String> getBukkitSoftDepends() {
         return CollectionUtils.unmodifiableList();
     }
+
+    @Override
+    public List<String> getProviderDepends() {
+        return CollectionUtils.unmodifiableList();
+    }
 }
@@ -92,7 +92,7 @@ public final class InternalProviderLoader extends JarModuleLoader<Provider> {
             Scheduler.runTaskLater(Nucleus.getPlugin(), new Runnable() {
                 @Override
                 public void run() {
-                    ((BukkitPlugin) Nucleus.getPlugin()).notifyProvidersReady();
+                    enableProviders();
                 }
             });
             return;
@@ -103,15 +103,7 @@ public final class InternalProviderLoader extends JarModuleLoader<Provider> {
         _depend.onFinish(new IFinishHandler<IDependantRunnable>() {
             @Override
             public void onFinish(List<IDependantRunnable> notRun) {
-
-                _manager.setLoading(false);
-                _manager.enableProviders()
-                        .onSuccess(new FutureSubscriber() {
-                            @Override
-                            public void on(FutureStatus status, @Nullable CharSequence message) {
-                                ((BukkitPlugin)Nucleus.getPlugin()).notifyProvidersReady();
-                            }
-                        });
+                enableProviders();
             }
         });
 
@@ -168,6 +160,22 @@ public final class InternalProviderLoader extends JarModuleLoader<Provider> {
         return instance;
     }
 
+    /*
+     * Enable the default and loaded providers and notify the plugin
+     * when they are ready.
+     */
+    private void enableProviders() {
+
+        _manager.setLoading(false);
+        _manager.enableProviders()
+                .onSuccess(new FutureSubscriber() {
+                    @Override
+                    public void on(FutureStatus status, @Nullable CharSequence message) {
+                        ((BukkitPlugin)Nucleus.getPlugin()).notifyProvidersReady();
+                    }
+                });
+    }
+
     private class DependantRunnable implements IDependantRunnable {
 
         final Provider provider;
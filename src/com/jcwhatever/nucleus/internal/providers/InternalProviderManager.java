@@ -39,7 +39,9 @@ import com.jcwhatever.nucleus.internal.providers.permissions.bukkit.BukkitProvid
 import com.jcwhatever.nucleus.internal.providers.permissions.vault.VaultProvider;
 import com.jcwhatever.nucleus.internal.providers.selection.NucleusSelectionProvider;
 import com.jcwhatever.nucleus.internal.providers.selection.WorldEditSelectionProvider;
+import com.jcwhatever.nucleus.internal.providers.storage.BinaryStorageProvider;
 import com.jcwhatever.nucleus.internal.providers.storage.JsonStorageProvider;
+import com.jcwhatever.nucleus.internal.providers.storage.ShardedYamlStorageProvider;
 import com.jcwhatever.nucleus.internal.providers.storage.YamlStorageProvider;
 import com.jcwhatever.nucleus.mixins.IDisposable;
 import com.jcwhatever.nucleus.providers.IProvider;
@@ -67,7 +69,9 @@ import com.jcwhatever.nucleus.utils.DependencyRunner.IDependantRunnable;
 import com.jcwhatever.nucleus.utils.DependencyRunner.IFinishHandler;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.observer.future.FutureAgent;
+import com.jcwhatever.nucleus.utils.observer.future.FutureSubscriber;
 import com.jcwhatever.nucleus.utils.observer.future.IFuture;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture.FutureStatus;
 import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
@@ -76,6 +80,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -93,7 +98,7 @@ public final class InternalProviderManager implements IProviderManager {
             MultimapBuilder.enumKeys(ProviderType.class).hashSetValues().build();
 
     // providers that need to be enabled
-    private Set<IProvider> _toEnable = new HashSet<>(25);
+    private Set<IProvider> _toEnable = new LinkedHashSet<>(25);
 
     private volatile IPlayerLookupProvider _playerLookup;
     private volatile IFriendsProvider _friends;
@@ -134,6 +139,8 @@ public final class InternalProviderManager implements IProviderManager {
         addName(WorldEditSelectionProvider.NAME, ProviderType.REGION_SELECT);
         addName(YamlStorageProvider.NAME, ProviderType.STORAGE);
         addName(JsonStorageProvider.NAME, ProviderType.STORAGE);
+        addName(ShardedYamlStorageProvider.NAME, ProviderType.STORAGE);
+        addName(BinaryStorageProvider.NAME, ProviderType.STORAGE);
 
         _dataNode = isTest
                 ? new MemoryDataNode(Nucleus.getPlugin())
@@ -142,6 +149,8 @@ public final class InternalProviderManager implements IProviderManager {
         _dataNode.load();
 
         registerStorageProvider(new JsonStorageProvider());
+        registerStorageProvider(new ShardedYamlStorageProvider());
+        registerStorageProvider(new BinaryStorageProvider());
 
         // setup preferred internal bank items
         String prefBankItems = getPreferred(ProviderType.BANK_ITEMS);
@@ -207,14 +216,14 @@ public final class InternalProviderManager implements IProviderManager {
 
     /**
      * Enable all providers.
+     *
+     * <p>Provider data nodes are loaded concurrently and the providers
+     * are enabled in dependency order.</p>
      */
     public IFuture enableProviders() {
 
         final FutureAgent agent = new FutureAgent();
 
-        DependencyRunner<IDependantRunnable> runner =
-                new DependencyRunner<IDependantRunnable>(Nucleus.getPlugin());
-
         Iterator<IProvider> iterator = _toEnable.iterator();
         while (iterator.hasNext()) {
 
@@ -229,41 +238,45 @@ public final class InternalProviderManager implements IProviderManager {
             }
         }
 
-        for (final IProvider provider : _toEnable) {
-            try {
-                provider.enable();
-            }
-            catch (Throwable e) {
-                e.printStackTrace();
-                continue;
-            }
+        final ProviderBootstrap bootstrap = new ProviderBootstrap(_toEnable);
 
-            runner.add(new IDependantRunnable() {
-                @Override
-                public DependencyStatus getDependencyStatus() {
-                    return provider.isLoaded()
-                            ? DependencyStatus.READY
-                            : DependencyStatus.NOT_READY;
-                }
+        _toEnable.clear();
 
-                @Override
-                public void run() {
-                    // do nothing
+        bootstrap.start().onSuccess(new FutureSubscriber() {
+            @Override
+            public void on(FutureStatus status, @Nullable CharSequence message) {
+
+                DependencyRunner<IDependantRunnable> runner =
+                        new DependencyRunner<IDependantRunnable>(Nucleus.getPlugin());
+
+                for (final IProvider provider : bootstrap.getEnabled()) {
+
+                    runner.add(new IDependantRunnable() {
+                        @Override
+                        public DependencyStatus getDependencyStatus() {
+                            return provider.isLoaded()
+                                    ? DependencyStatus.READY
+                                    : DependencyStatus.NOT_READY;
+                        }
+
+                        @Override
+                        public void run() {
+                            // do nothing
+                        }
+                    });
                 }
-            });
-        }
 
-        runner.onFinish(new IFinishHandler<IDependantRunnable>() {
-            @Override
-            public void onFinish(List<IDependantRunnable> notRun) {
-                agent.success();
+                runner.onFinish(new IFinishHandler<IDependantRunnable>() {
+                    @Override
+                    public void onFinish(List<IDependantRunnable> notRun) {
+                        agent.success();
+                    }
+                });
+
+                runner.start();
             }
         });
 
-        _toEnable.clear();
-
-        runner.start();
-
         return agent.getFuture();
     }
 
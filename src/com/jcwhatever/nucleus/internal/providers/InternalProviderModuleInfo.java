@@ -48,6 +48,7 @@ public final class InternalProviderModuleInfo extends YamlModuleInfo implements
     private String _moduleClassName;
     private List<String> _bukkitDepends;
     private List<String> _bukkitSoftDepends;
+    private List<String> _providerDepends;
 
     /**
      * Constructor.
@@ -88,6 +89,11 @@ public final class InternalProviderModuleInfo extends YamlModuleInfo implements
         return Collections.unmodifiableList(_bukkitSoftDepends);
     }
 
+    @Override
+    public List<String> getProviderDepends() {
+        return Collections.unmodifiableList(_providerDepends);
+    }
+
     /**
      * Determine if required dependencies are ready.
      */
@@ -116,6 +122,9 @@ public final class InternalProviderModuleInfo extends YamlModuleInfo implements
         _bukkitSoftDepends = dataNode.getStringList(
                 "bukkit-soft-depends", CollectionUtils.unmodifiableList(String.class));
 
+        _providerDepends = dataNode.getStringList(
+                "provider-depends", CollectionUtils.unmodifiableList(String.class));
+
         return _moduleClassName != null;
     }
 
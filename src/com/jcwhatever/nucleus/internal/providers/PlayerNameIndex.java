@@ -0,0 +1,415 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.providers;
+
+import com.jcwhatever.nucleus.utils.CollectionUtils;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * In memory index of stored player names used by {@link InternalPlayerLookupProvider}.
+ *
+ * <p>Exact lookups use a case insensitive hash map. Searches use an array of names
+ * sorted by lower case name so names that start with the search text are found with
+ * a binary search and other matches are found without accessing the player data
+ * node.</p>
+ *
+ * <p>The index is built from the player data once, usually on an asynchronous
+ * thread. Changes made before the index is built are queued and applied when the
+ * build completes. Reads do not block; snapshots are replaced rather than modified.
+ * Name changes are kept in a small sorted overlay and merged into the sorted array
+ * once the overlay fills, so a name change does not copy the whole index.</p>
+ */
+final class PlayerNameIndex {
+
+    // max number of added and removed names kept outside of the sorted array.
+    static final int MAX_OVERLAY = 64;
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final Object _sync = new Object();
+    private final Map<String, UUID> _exact = new ConcurrentHashMap<>(100);
+    private final List<Entry> _pending = new ArrayList<>(10);
+
+    private volatile Snapshot _snapshot = new Snapshot(NO_ENTRIES, NO_INDEXES, NO_ENTRIES);
+    private volatile boolean _isBuilt;
+
+    /**
+     * Determine if the index is built.
+     *
+     * <p>Lookups return incomplete results until the index is built.</p>
+     */
+    boolean isBuilt() {
+        return _isBuilt;
+    }
+
+    /**
+     * Build the index.
+     *
+     * @param names  The player ID's mapped to player names. A name may be null
+     *               if a player does not have a stored name.
+     */
+    void build(Map<UUID, String> names) {
+        PreCon.notNull(names);
+
+        List<Entry> entries = new ArrayList<>(names.size());
+
+        for (Map.Entry<UUID, String> mapEntry : names.entrySet()) {
+            if (mapEntry.getValue() == null)
+                continue;
+
+            entries.add(new Entry(mapEntry.getKey(), mapEntry.getValue()));
+        }
+
+        Entry[] sorted = entries.toArray(new Entry[entries.size()]);
+        Arrays.sort(sorted);
+
+        synchronized (_sync) {
+
+            for (Entry entry : sorted) {
+                _exact.put(entry.lower, entry.id);
+            }
+
+            _snapshot = new Snapshot(sorted, NO_INDEXES, NO_ENTRIES);
+
+            // apply changes made during the build
+            for (Entry entry : _pending) {
+                applyName(entry.id, entry.previous, entry.name);
+            }
+
+            _pending.clear();
+            _isBuilt = true;
+        }
+    }
+
+    /**
+     * Set the name of a player.
+     *
+     * @param playerId      The ID of the player.
+     * @param previousName  The previously stored name of the player, if any.
+     * @param name          The new name of the player.
+     */
+    void setName(UUID playerId, @Nullable String previousName, String name) {
+        PreCon.notNull(playerId);
+        PreCon.notNull(name);
+
+        synchronized (_sync) {
+
+            if (!_isBuilt) {
+                Entry entry = new Entry(playerId, name);
+                entry.previous = previousName;
+                _pending.add(entry);
+                return;
+            }
+
+            applyName(playerId, previousName, name);
+        }
+    }
+
+    /**
+     * Get the ID of the player with the specified name.
+     *
+     * @param name  The case insensitive player name.
+     *
+     * @return  The ID or null if not found.
+     */
+    @Nullable
+    UUID getId(String name) {
+        return _exact.get(name.toLowerCase());
+    }
+
+    /**
+     * Search for players whose names contain the specified text.
+     *
+     * <p>Names that start with the search text are ranked first. The rest of the
+     * index is only scanned if there are fewer of them than the max results, and
+     * the scan stops once enough names are found. Each group is ordered the same
+     * as {@link CollectionUtils#textSearch}.</p>
+     *
+     * @param searchText  The text to search for.
+     * @param maxResults  The max number of results.
+     */
+    List<UUID> search(String searchText, int maxResults) {
+
+        Snapshot snapshot = _snapshot;
+        String lower = searchText.toLowerCase();
+
+        List<UUID> result = new ArrayList<>(Math.min(maxResults, 15));
+
+        List<Entry> prefixed = new ArrayList<>(15);
+        snapshot.collectPrefixed(lower, prefixed);
+        addSorted(prefixed, searchText, maxResults, result);
+
+        if (result.size() < maxResults) {
+            List<Entry> contained = new ArrayList<>(15);
+            snapshot.collectContained(lower, maxResults - result.size(), contained);
+            addSorted(contained, searchText, maxResults, result);
+        }
+
+        return result;
+    }
+
+    /*
+     * Order matched entries and add their ID's to the result.
+     */
+    private static void addSorted(List<Entry> matches, String searchText,
+                                  int maxResults, List<UUID> result) {
+
+        List<Entry> sorted = CollectionUtils.textSearch(
+                matches, searchText, new CollectionUtils.ISearchTextGetter<Entry>() {
+                    @Override
+                    public String getText(Entry element) {
+                        return element.name;
+                    }
+                });
+
+        for (int i = 0; i < sorted.size() && result.size() < maxResults; i++) {
+            result.add(sorted.get(i).id);
+        }
+    }
+
+    /*
+     * Update the index with a name change. Invoked while synchronized.
+     */
+    private void applyName(UUID playerId, @Nullable String previousName, String name) {
+
+        Snapshot snapshot = _snapshot;
+
+        if (previousName != null) {
+
+            String previousLower = previousName.toLowerCase();
+            _exact.remove(previousLower, playerId);
+
+            snapshot = snapshot.without(previousLower, playerId);
+
+            // another player may have the previous name
+            UUID other = snapshot.getFirstId(previousLower);
+            if (other != null)
+                _exact.putIfAbsent(previousLower, other);
+        }
+
+        Entry entry = new Entry(playerId, name);
+        _exact.put(entry.lower, playerId);
+
+        // not already indexed by the build
+        if (!snapshot.contains(entry.lower, playerId))
+            snapshot = snapshot.with(entry);
+
+        if (snapshot.removed.length + snapshot.added.length > MAX_OVERLAY)
+            snapshot = snapshot.merge();
+
+        _snapshot = snapshot;
+    }
+
+    /*
+     * Index position of the first entry whose lower case name is greater than
+     * or equal to the text.
+     */
+    private static int lowerBound(Entry[] entries, String text) {
+        int low = 0;
+        int high = entries.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (entries[mid].lower.compareTo(text) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /*
+     * Immutable index state. A sorted array of entries, sorted index positions
+     * of entries removed from the array and sorted entries added since the
+     * array was created.
+     */
+    private static class Snapshot {
+        final Entry[] sorted;
+        final int[] removed;
+        final Entry[] added;
+
+        Snapshot(Entry[] sorted, int[] removed, Entry[] added) {
+            this.sorted = sorted;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        boolean isRemoved(int index) {
+            return removed.length != 0 && Arrays.binarySearch(removed, index) >= 0;
+        }
+
+        boolean contains(String lowerName, UUID id) {
+            return indexOf(sorted, lowerName, id) != -1 || indexOf(added, lowerName, id) != -1;
+        }
+
+        @Nullable
+        UUID getFirstId(String lowerName) {
+            for (int i = lowerBound(sorted, lowerName);
+                 i < sorted.length && sorted[i].lower.equals(lowerName); i++) {
+                if (!isRemoved(i))
+                    return sorted[i].id;
+            }
+
+            int index = lowerBound(added, lowerName);
+            if (index < added.length && added[index].lower.equals(lowerName))
+                return added[index].id;
+
+            return null;
+        }
+
+        void collectPrefixed(String text, List<Entry> output) {
+            for (int i = lowerBound(sorted, text);
+                 i < sorted.length && sorted[i].lower.startsWith(text); i++) {
+                if (!isRemoved(i))
+                    output.add(sorted[i]);
+            }
+
+            for (int i = lowerBound(added, text);
+                 i < added.length && added[i].lower.startsWith(text); i++) {
+                output.add(added[i]);
+            }
+        }
+
+        void collectContained(String text, int max, List<Entry> output) {
+            for (Entry entry : added) {
+                if (output.size() >= max)
+                    return;
+
+                if (isContained(entry, text))
+                    output.add(entry);
+            }
+
+            for (int i = 0; i < sorted.length && output.size() < max; i++) {
+                if (isContained(sorted[i], text) && !isRemoved(i))
+                    output.add(sorted[i]);
+            }
+        }
+
+        Snapshot with(Entry entry) {
+            int index = -(Arrays.binarySearch(added, entry) + 1);
+
+            Entry[] newAdded = new Entry[added.length + 1];
+            System.arraycopy(added, 0, newAdded, 0, index);
+            newAdded[index] = entry;
+            System.arraycopy(added, index, newAdded, index + 1, added.length - index);
+
+            return new Snapshot(sorted, removed, newAdded);
+        }
+
+        Snapshot without(String lowerName, UUID id) {
+
+            int index = indexOf(sorted, lowerName, id);
+            if (index != -1) {
+                int insert = -(Arrays.binarySearch(removed, index) + 1);
+
+                int[] newRemoved = new int[removed.length + 1];
+                System.arraycopy(removed, 0, newRemoved, 0, insert);
+                newRemoved[insert] = index;
+                System.arraycopy(removed, insert, newRemoved, insert + 1, removed.length - insert);
+
+                return new Snapshot(sorted, newRemoved, added);
+            }
+
+            index = indexOf(added, lowerName, id);
+            if (index != -1) {
+                Entry[] newAdded = new Entry[added.length - 1];
+                System.arraycopy(added, 0, newAdded, 0, index);
+                System.arraycopy(added, index + 1, newAdded, index, newAdded.length - index);
+
+                return new Snapshot(sorted, removed, newAdded);
+            }
+
+            return this;
+        }
+
+        // merge the added and removed entries into a new sorted array.
+        Snapshot merge() {
+
+            Entry[] merged = new Entry[sorted.length - removed.length + added.length];
+            int size = 0;
+            int a = 0;
+
+            for (int i = 0; i < sorted.length; i++) {
+                if (isRemoved(i))
+                    continue;
+
+                while (a < added.length && added[a].compareTo(sorted[i]) < 0) {
+                    merged[size++] = added[a++];
+                }
+                merged[size++] = sorted[i];
+            }
+
+            while (a < added.length) {
+                merged[size++] = added[a++];
+            }
+
+            return new Snapshot(merged, NO_INDEXES, NO_ENTRIES);
+        }
+
+        // names that start with the text are collected separately
+        private static boolean isContained(Entry entry, String text) {
+            return entry.lower.contains(text) && !entry.lower.startsWith(text);
+        }
+
+        private int indexOf(Entry[] entries, String lowerName, UUID id) {
+            for (int i = lowerBound(entries, lowerName);
+                 i < entries.length && entries[i].lower.equals(lowerName); i++) {
+                if (entries[i].id.equals(id) && (entries != sorted || !isRemoved(i)))
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+    private static class Entry implements Comparable<Entry> {
+        final UUID id;
+        final String name;
+        final String lower;
+        String previous;
+
+        Entry(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+            this.lower = name.toLowerCase();
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int result = lower.compareTo(o.lower);
+            return result != 0 ? result : id.compareTo(o.id);
+        }
+    }
+}
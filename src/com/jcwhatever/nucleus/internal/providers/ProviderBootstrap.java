@@ -0,0 +1,376 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.providers;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.internal.NucMsg;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.providers.IProvider;
+import com.jcwhatever.nucleus.providers.Provider;
+import com.jcwhatever.nucleus.providers.storage.IStorageProvider;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.observer.future.FutureAgent;
+import com.jcwhatever.nucleus.utils.observer.future.FutureSubscriber;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture.FutureStatus;
+import org.bukkit.Bukkit;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enables providers in dependency order.
+ *
+ * <p>The preload data nodes of all providers are loaded concurrently before
+ * any provider is enabled. Providers are then enabled on the main thread so
+ * that each provider is enabled after the providers it depends on.</p>
+ *
+ * <p>A provider depends on the providers named in its info and, unless it is
+ * a storage provider, is enabled after the storage providers. A provider is not
+ * enabled if a provider named in its info fails to enable. Storage providers
+ * only affect the order, a failed storage provider does not prevent other
+ * providers from being enabled.</p>
+ */
+final class ProviderBootstrap {
+
+    // keyed to provider search name, in the order providers were added
+    private final Map<String, Entry> _entries;
+    private final List<IProvider> _enabled;
+    private final FutureAgent _agent = new FutureAgent();
+    private final AtomicInteger _pending = new AtomicInteger();
+
+    private boolean _isStarted;
+    private long _startTime;
+
+    /**
+     * Constructor.
+     *
+     * @param providers  The providers to enable.
+     */
+    ProviderBootstrap(Collection<? extends IProvider> providers) {
+        PreCon.notNull(providers);
+
+        _entries = new LinkedHashMap<>(providers.size() * 2);
+        _enabled = new ArrayList<>(providers.size());
+
+        for (IProvider provider : providers) {
+            _entries.put(provider.getInfo().getSearchName(), new Entry(provider));
+        }
+    }
+
+    /**
+     * Get the providers that were enabled.
+     *
+     * <p>The providers are in the order they were enabled.</p>
+     */
+    List<IProvider> getEnabled() {
+        return _enabled;
+    }
+
+    /**
+     * Load provider data nodes and enable the providers.
+     *
+     * <p>Must be invoked from the main thread.</p>
+     *
+     * @return  A future that is completed when all providers have been enabled.
+     */
+    IFuture start() {
+        PreCon.isValid(!_isStarted, "Bootstrap already started.");
+
+        _isStarted = true;
+        _startTime = System.nanoTime();
+
+        List<IDataNode> nodes = new ArrayList<>(_entries.size());
+
+        // count nodes before loading so the enable step cannot run early
+        for (Entry entry : _entries.values()) {
+
+            if (!(entry.provider instanceof Provider))
+                continue;
+
+            Collection<IDataNode> preload;
+            try {
+                preload = ((Provider) entry.provider).getPreloadNodes();
+            }
+            catch (Throwable e) {
+                e.printStackTrace();
+                continue;
+            }
+
+            for (IDataNode node : preload) {
+                if (node.isLoaded())
+                    continue;
+
+                nodes.add(node);
+                entry.nodes.add(node);
+            }
+
+            entry.pending.set(entry.nodes.size());
+        }
+
+        _pending.set(nodes.size() + 1);
+
+        for (final Entry entry : _entries.values()) {
+
+            if (entry.nodes.isEmpty())
+                continue;
+
+            entry.loadStart = System.nanoTime();
+
+            for (IDataNode node : entry.nodes) {
+                node.loadAsync().onStatus(new FutureSubscriber() {
+                    @Override
+                    public void on(FutureStatus status, @Nullable CharSequence message) {
+
+                        if (entry.pending.decrementAndGet() == 0)
+                            entry.loadEnd = System.nanoTime();
+
+                        onNodeLoaded();
+                    }
+                });
+            }
+        }
+
+        onNodeLoaded();
+
+        return _agent.getFuture();
+    }
+
+    /*
+     * Invoked when a data node is loaded and once after all loads are started.
+     * Enables the providers after the last node is loaded.
+     */
+    private void onNodeLoaded() {
+
+        if (_pending.decrementAndGet() != 0)
+            return;
+
+        if (Bukkit.isPrimaryThread()) {
+            enableAll();
+            return;
+        }
+
+        Scheduler.runTaskSync(Nucleus.getPlugin(), new Runnable() {
+            @Override
+            public void run() {
+                enableAll();
+            }
+        });
+    }
+
+    /*
+     * Enable providers in topological order. Must be invoked from the main thread.
+     */
+    void enableAll() {
+
+        for (Entry entry : sort()) {
+
+            Entry failed = entry.getFailedDependency();
+            if (failed != null) {
+                entry.isProcessed = true;
+                NucMsg.warning("Provider '{0}' not enabled because its dependency '{1}' failed to enable.",
+                        entry.provider.getInfo().getName(), failed.provider.getInfo().getName());
+                continue;
+            }
+
+            long start = System.nanoTime();
+
+            entry.isProcessed = true;
+
+            try {
+                entry.provider.enable();
+                entry.isEnabled = true;
+                _enabled.add(entry.provider);
+            }
+            catch (Throwable e) {
+                e.printStackTrace();
+            }
+
+            entry.enableTime = System.nanoTime() - start;
+        }
+
+        report();
+
+        _agent.success();
+    }
+
+    /*
+     * Sort entries so each entry is after the entries it depends on.
+     * Entries in a dependency cycle are added in the order they were added.
+     */
+    List<Entry> sort() {
+
+        Entry[] storage = getStorageEntries();
+
+        for (Entry entry : _entries.values()) {
+
+            for (String name : entry.provider.getInfo().getProviderDepends()) {
+
+                Entry depend = _entries.get(name.toLowerCase());
+                if (depend == null) {
+                    entry.missing = name;
+                    continue;
+                }
+
+                entry.addDependency(depend, true);
+            }
+
+            if (!(entry.provider instanceof IStorageProvider)) {
+                for (Entry depend : storage) {
+                    entry.addDependency(depend, false);
+                }
+            }
+        }
+
+        List<Entry> result = new ArrayList<>(_entries.size());
+        Deque<Entry> ready = new ArrayDeque<>(_entries.size());
+
+        for (Entry entry : _entries.values()) {
+            if (entry.remaining == 0)
+                ready.add(entry);
+        }
+
+        while (!ready.isEmpty()) {
+
+            Entry entry = ready.removeFirst();
+            result.add(entry);
+
+            for (Entry dependant : entry.dependants) {
+                dependant.remaining--;
+                if (dependant.remaining == 0)
+                    ready.add(dependant);
+            }
+        }
+
+        if (result.size() != _entries.size()) {
+            for (Entry entry : _entries.values()) {
+                if (entry.remaining > 0) {
+                    NucMsg.warning("Provider '{0}' has a circular dependency.",
+                            entry.provider.getInfo().getName());
+                    result.add(entry);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private Entry[] getStorageEntries() {
+
+        List<Entry> storage = new ArrayList<>(3);
+
+        for (Entry entry : _entries.values()) {
+            if (entry.provider instanceof IStorageProvider)
+                storage.add(entry);
+        }
+
+        return storage.toArray(new Entry[storage.size()]);
+    }
+
+    /*
+     * Report provider load timings to the console.
+     */
+    private void report() {
+
+        for (Entry entry : _entries.values()) {
+
+            if (entry.missing != null) {
+                NucMsg.warning("Provider '{0}' depends on provider '{1}' which is not installed.",
+                        entry.provider.getInfo().getName(), entry.missing);
+            }
+
+            NucMsg.info("Provider '{0}' {1}: data loaded in {2}ms, enabled in {3}ms.",
+                    entry.provider.getInfo().getName(),
+                    entry.isEnabled ? "enabled" : "failed",
+                    toMillis(entry.loadEnd - entry.loadStart),
+                    toMillis(entry.enableTime));
+        }
+
+        NucMsg.info("{0} provider(s) enabled in {1}ms.",
+                _enabled.size(), toMillis(System.nanoTime() - _startTime));
+    }
+
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    static class Entry {
+
+        final IProvider provider;
+        final List<IDataNode> nodes = new ArrayList<>(3);
+        final AtomicInteger pending = new AtomicInteger();
+        final List<Entry> depends = new ArrayList<>(3);
+        final List<Entry> dependants = new ArrayList<>(3);
+
+        // dependencies named in the provider info, a failure of one of
+        // these prevents the provider from being enabled.
+        final List<Entry> required = new ArrayList<>(3);
+
+        volatile long loadStart;
+        volatile long loadEnd;
+        long enableTime;
+        int remaining;
+        boolean isProcessed;
+        boolean isEnabled;
+        String missing;
+
+        Entry(IProvider provider) {
+            this.provider = provider;
+        }
+
+        void addDependency(Entry depend, boolean isRequired) {
+            if (depend == this)
+                return;
+
+            if (isRequired && !required.contains(depend))
+                required.add(depend);
+
+            if (depends.contains(depend))
+                return;
+
+            depends.add(depend);
+            depend.dependants.add(this);
+            remaining++;
+        }
+
+        @Nullable
+        Entry getFailedDependency() {
+            for (Entry depend : required) {
+                if (depend.isProcessed && !depend.isEnabled)
+                    return depend;
+            }
+            return null;
+        }
+    }
+}
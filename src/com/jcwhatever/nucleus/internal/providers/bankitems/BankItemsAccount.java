@@ -181,7 +181,7 @@ class BankItemsAccount implements IBankItemsAccount {
         checkDisposed();
         updateLastAccess();
 
-        MatchableItem wrapper = new MatchableItem(itemStack, ItemStackMatcher.getTypeMetaDurability());
+        MatchableItem wrapper = new MatchableItem(itemStack.clone(), ItemStackMatcher.getTypeMetaDurability());
 
         synchronized (_sync) {
             BankItem item = _items.get(wrapper);
@@ -367,7 +367,7 @@ class BankItemsAccount implements IBankItemsAccount {
             }
 
             BankItem item = new BankItem(id, items[0], amount, itemNode);
-            _items.put(new MatchableItem(items[0]), item);
+            _items.put(new MatchableItem(items[0].clone(), ItemStackMatcher.getTypeMetaDurability()), item);
         }
     }
 
@@ -42,6 +42,8 @@ import com.jcwhatever.nucleus.utils.TimeScale;
 import org.bukkit.Bukkit;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -73,9 +75,11 @@ public class BankItemsProvider extends Provider implements IBankItemsProvider {
         _bankNode = Nucleus.getPlugin().isTesting()
                 ? new MemoryDataNode(Nucleus.getPlugin())
                 : new YamlDataNode(Nucleus.getPlugin(), getDataPath("banks"));
-        _bankNode.load();
+    }
 
-        load();
+    @Override
+    public Collection<IDataNode> getPreloadNodes() {
+        return Collections.singletonList(_bankNode);
     }
 
     @Override
@@ -154,6 +158,11 @@ public class BankItemsProvider extends Provider implements IBankItemsProvider {
         }
     }
 
+    @Override
+    protected void onEnable() {
+        load();
+    }
+
     @Override
     protected void onDisable() {
         super.onDisable();
@@ -42,6 +42,8 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.text.DecimalFormat;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,8 +76,6 @@ public final class NucleusEconomyProvider extends Provider implements IBankEcono
 
         _globalAccountNode = new YamlDataNode(plugin, getDataPath("global"));
 
-        _globalAccountNode.load();
-
         IDataNode dataNode = getDataNode();
         dataNode.setDefaultsSaved(true);
         String singular = dataNode.getString("currency-singular", "Dollar");
@@ -90,6 +90,11 @@ public final class NucleusEconomyProvider extends Provider implements IBankEcono
         _currency = new NucleusCurrency(singular, plural, 1.0D, formatTemplate, formatter);
     }
 
+    @Override
+    public Collection<IDataNode> getPreloadNodes() {
+        return Collections.singletonList(_globalAccountNode);
+    }
+
     @Override
     public ICurrency getCurrency() {
         return _currency;
@@ -31,6 +31,7 @@ import com.jcwhatever.nucleus.providers.kits.IKitContext;
 import com.jcwhatever.nucleus.utils.ArrayUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.utils.inventory.InventoryTransaction;
 import com.jcwhatever.nucleus.utils.inventory.InventoryUtils;
 import com.jcwhatever.nucleus.utils.items.ItemStackMatcher;
 import com.jcwhatever.nucleus.utils.materials.MaterialProperty;
@@ -181,17 +182,14 @@ class NucleusKit implements IKit {
 
             InventoryHolder holder = (InventoryHolder)entity;
 
-            // check entity has all required items
-            for (ItemStack item : itemsToTake) {
-                if (!InventoryUtils.has(holder.getInventory(), item, matcher, qty))
-                    return false;
-            }
+            InventoryTransaction transaction = new InventoryTransaction(matcher);
 
-            // take items
             for (ItemStack item : itemsToTake) {
-                InventoryUtils.removeAmount(holder.getInventory(), item, matcher, qty);
+                transaction.remove(item, qty);
             }
-            return true;
+
+            // takes nothing unless the entity has all required items
+            return transaction.commit(holder.getInventory());
         }
 
         return false;
@@ -223,11 +221,9 @@ class NucleusKit implements IKit {
                         ? ((LivingEntity) entity).getEquipment()
                         : null;
 
-                // add items
+                // add items, and equipment if the entity cannot equip it
                 if (inventory != null) {
-                    for (ItemStack item : event.getItems()) {
-                        inventory.addItem(item);
-                    }
+                    giveInventory(inventory, event, equipment == null);
                 } else if (equipment != null) {
                     List<ItemStack> items = event.getItems();
                     if (items.size() > 0)
@@ -235,11 +231,8 @@ class NucleusKit implements IKit {
                 }
 
                 // add equipment
-                if (equipment != null) {
+                if (equipment != null)
                     giveEquipment(equipment, event);
-                } else if (inventory != null) {
-                    giveEquipmentInventory(inventory, event);
-                }
             }
         });
     }
@@ -491,6 +484,37 @@ class NucleusKit implements IKit {
             equipment.setBoots(event.getBoots());
     }
 
+    // give items to Inventory in a single pass, or as many as fit if there
+    // is not enough room for all of them
+    private void giveInventory(Inventory inventory, GiveKitEvent event, boolean includeEquipment) {
+
+        ItemStack[] equipment = includeEquipment
+                ? new ItemStack[] { event.getHelmet(), event.getChestplate(),
+                        event.getLeggings(), event.getBoots() }
+                : new ItemStack[0];
+
+        InventoryTransaction transaction = new InventoryTransaction();
+
+        for (ItemStack item : event.getItems()) {
+            transaction.add(item);
+        }
+
+        for (ItemStack item : equipment) {
+            if (item != null)
+                transaction.add(item);
+        }
+
+        if (transaction.commit(inventory))
+            return;
+
+        for (ItemStack item : event.getItems()) {
+            inventory.addItem(item);
+        }
+
+        if (includeEquipment)
+            giveEquipmentInventory(inventory, event);
+    }
+
     // give equipment to Inventory
     private void giveEquipmentInventory(Inventory inventory, GiveKitEvent event) {
 
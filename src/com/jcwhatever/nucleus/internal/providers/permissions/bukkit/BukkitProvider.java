@@ -48,6 +48,8 @@ import org.bukkit.permissions.PermissionAttachment;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -72,8 +74,15 @@ public final class BukkitProvider extends AbstractPermissionsProvider {
 
         // get permissions data node
         _dataNode = DataStorage.get(Nucleus.getPlugin(), new DataPath("bukkit-permissions"));
-        _dataNode.load();
+    }
 
+    @Override
+    public Collection<IDataNode> getPreloadNodes() {
+        return Collections.singletonList(_dataNode);
+    }
+
+    @Override
+    protected void onEnable() {
         Bukkit.getPluginManager().registerEvents(new PermissionListener(this), Nucleus.getPlugin());
     }
 
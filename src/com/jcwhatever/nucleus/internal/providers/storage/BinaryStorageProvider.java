@@ -0,0 +1,147 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.internal.providers.storage;
+
+import com.jcwhatever.nucleus.internal.providers.InternalProviderInfo;
+import com.jcwhatever.nucleus.providers.Provider;
+import com.jcwhatever.nucleus.providers.storage.IStorageProvider;
+import com.jcwhatever.nucleus.storage.BinaryDataNode;
+import com.jcwhatever.nucleus.storage.DataPath;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import com.jcwhatever.nucleus.storage.YamlDataNode;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.file.FileUtils;
+import com.jcwhatever.nucleus.utils.file.FileUtils.DirectoryTraversal;
+import com.jcwhatever.nucleus.utils.validate.IValidator;
+
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Binary log file data storage.
+ */
+public final class BinaryStorageProvider extends Provider implements IStorageProvider {
+
+    public static final String NAME = "NucleusBinary";
+
+    public BinaryStorageProvider() {
+        setInfo(new InternalProviderInfo(this.getClass(),
+                NAME, "Binary storage provider for large data sets. Data is read from disk as needed."));
+    }
+
+    @Override
+    public boolean remove(Plugin plugin, DataPath path) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(path);
+
+        File file = BinaryDataNode.dataPathToFile(plugin, path);
+        File indexFile = BinaryDataNode.getIndexFile(file);
+
+        if (indexFile.exists() && !indexFile.delete())
+            return false;
+
+        return file.exists() && file.delete();
+    }
+
+    @Override
+    public IDataNode get(Plugin plugin, DataPath path) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(path);
+
+        return new BinaryDataNode(plugin, path);
+    }
+
+    @Override
+    public boolean has(Plugin plugin, DataPath path) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(path);
+
+        File file = BinaryDataNode.dataPathToFile(plugin, path);
+        return file.exists();
+    }
+
+    /**
+     * Copy the data in the YAML files of a plugin into binary data files.
+     *
+     * <p>Each YAML file in the plugins data folder is copied into a binary
+     * data file with the same name. The YAML files are not modified. YAML
+     * files that already have a binary data file are skipped.</p>
+     *
+     * <p>Should not be invoked while the plugin is modifying its data.</p>
+     *
+     * @param plugin  The plugin whose data is migrated.
+     *
+     * @return  The number of migrated files.
+     */
+    public int migrateYaml(Plugin plugin) {
+        PreCon.notNull(plugin);
+
+        File folder = plugin.getDataFolder();
+        if (!folder.isDirectory())
+            return 0;
+
+        List<File> files = FileUtils.getFiles(folder, DirectoryTraversal.RECURSIVE,
+                new IValidator<File>() {
+                    @Override
+                    public boolean isValid(File file) {
+                        return file.getName().endsWith(".yml") &&
+                                !file.getParentFile().getName().endsWith(".shards");
+                    }
+                });
+
+        int total = 0;
+
+        for (File file : files) {
+
+            String name = FileUtils.getNameWithoutExtension(file);
+            File binaryFile = new File(file.getParentFile(), name + BinaryDataNode.LOG_EXTENSION);
+            if (binaryFile.exists())
+                continue;
+
+            YamlDataNode yaml = new YamlDataNode(plugin, file);
+            if (!yaml.load())
+                continue;
+
+            BinaryDataNode binary = new BinaryDataNode(plugin, binaryFile);
+            if (!binary.load())
+                continue;
+
+            Map<String, Object> values = yaml.getAllValues();
+
+            for (Entry<String, Object> entry : values.entrySet()) {
+                binary.set(entry.getKey(), entry.getValue());
+            }
+
+            if (binary.close())
+                total++;
+        }
+
+        return total;
+    }
+}
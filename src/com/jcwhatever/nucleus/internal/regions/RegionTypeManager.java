@@ -24,23 +24,21 @@
 
 package com.jcwhatever.nucleus.internal.regions;
 
+import com.jcwhatever.nucleus.collections.LongHashMap;
 import com.jcwhatever.nucleus.internal.NucMsg;
 import com.jcwhatever.nucleus.regions.IRegion;
 import com.jcwhatever.nucleus.regions.options.RegionEventPriority.PriorityType;
 import com.jcwhatever.nucleus.utils.CollectionUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
-import com.jcwhatever.nucleus.utils.coords.ChunkCoords;
-import com.jcwhatever.nucleus.utils.coords.IChunkCoords;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
 
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,11 +46,11 @@ import java.util.Set;
  */
 class RegionTypeManager<R extends IRegion> {
 
-    // Player watcher regions chunk map.
-    private final Map<IChunkCoords, EventOrderedRegions<R>> _listenerRegionsMap = new HashMap<>(10);
+    // Player watcher regions chunk map, keyed to packed chunk coordinates.
+    private final LongHashMap<EventOrderedRegions<R>> _listenerRegionsMap = new LongHashMap<>(10);
 
-    // All regions chunk map.
-    private final Map<IChunkCoords, Set<R>> _allRegionsMap = new HashMap<>(15);
+    // All regions chunk map, keyed to packed chunk coordinates.
+    private final LongHashMap<Set<R>> _allRegionsMap = new LongHashMap<>(15);
 
     // hash set of all registered regions
     private final Set<R> _regions = new RegionSet<>(10, false);
@@ -118,7 +116,7 @@ class RegionTypeManager<R extends IRegion> {
             int chunkX = (int)Math.floor((double)x / 16);
             int chunkZ = (int)Math.floor((double)z / 16);
 
-            IChunkCoords key = getChunkKey(world, chunkX, chunkZ);
+            long key = getChunkKey(world, chunkX, chunkZ);
 
             Set<R> regions = _allRegionsMap.get(key);
             if (regions == null)
@@ -231,7 +229,7 @@ class RegionTypeManager<R extends IRegion> {
     public List<R> getRegionsInChunk(World world, int x, int z) {
         synchronized(_sync) {
 
-            IChunkCoords key = getChunkKey(world, x, z);
+            long key = getChunkKey(world, x, z);
 
             Set<R> regions = _allRegionsMap.get(key);
             if (regions == null)
@@ -247,7 +245,7 @@ class RegionTypeManager<R extends IRegion> {
      */
     private <T extends Set<R>> List<R> getRegion(World world, int x, int y, int z,
                                                              PriorityType priorityType,
-                                                             Map<IChunkCoords, T> map) {
+                                                             LongHashMap<T> map) {
         synchronized(_sync) {
 
             List<R> results = new ArrayList<>(10);
@@ -260,7 +258,7 @@ class RegionTypeManager<R extends IRegion> {
             int chunkX = (int)Math.floor((double)x / 16);
             int chunkZ = (int)Math.floor((double)z / 16);
 
-            IChunkCoords key = getChunkKey(world, chunkX, chunkZ);
+            long key = getChunkKey(world, chunkX, chunkZ);
 
             Set<R> regions = map.get(key);
             if (regions == null)
@@ -311,7 +309,7 @@ class RegionTypeManager<R extends IRegion> {
                 for (int z= region.getChunkZ(); z < zMax; z++) {
 
                     //noinspection ConstantConditions
-                    IChunkCoords key = getChunkKey(region.getWorld(), x, z);
+                    long key = getChunkKey(region.getWorld(), x, z);
 
                     if (region.isEventListener()) {
 
@@ -363,7 +361,7 @@ class RegionTypeManager<R extends IRegion> {
                 for (int z= region.getChunkZ(); z < zMax; z++) {
 
                     //noinspection ConstantConditions
-                    IChunkCoords key = getChunkKey(region.getWorld(), x, z);
+                    long key = getChunkKey(region.getWorld(), x, z);
 
                     removeFromMap(_listenerRegionsMap, key, region);
                     removeFromMap(_allRegionsMap, key, region);
@@ -395,7 +393,7 @@ class RegionTypeManager<R extends IRegion> {
     /*
      * Remove a region from a region map.
      */
-    protected <T extends Set<R>> boolean removeFromMap(Map<IChunkCoords, T> map, IChunkCoords key, R region) {
+    protected <T extends Set<R>> boolean removeFromMap(LongHashMap<T> map, long key, R region) {
         Set<R> regions = map.get(key);
         return regions != null && regions.remove(region);
     }
@@ -403,7 +401,7 @@ class RegionTypeManager<R extends IRegion> {
     /*
      * Get a regions chunk map key.
      */
-    protected IChunkCoords getChunkKey(World world, int x, int z) {
-        return new ChunkCoords(world, x, z);
+    protected long getChunkKey(World world, int x, int z) {
+        return PackedCoords.packChunk(world, x, z);
     }
 }
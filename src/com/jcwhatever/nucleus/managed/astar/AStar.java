@@ -65,6 +65,13 @@ public final class AStar {
         return manager().getNamedNodeMap(nodes);
     }
 
+    /**
+     * Get the path cache used by world based searches.
+     */
+    public static IAStarPathCache getPathCache() {
+        return manager().getPathCache();
+    }
+
     /**
      * Create a new coordinate settings instance.
      */
@@ -62,6 +62,11 @@ public interface IAStarManager {
      */
     IAStarNodeGraph getNamedNodeMap(Collection<? extends AStarGraphNode> nodes);
 
+    /**
+     * Get the path cache used by world based searches.
+     */
+    IAStarPathCache getPathCache();
+
     /**
      * Create a new coordinate settings instance.
      */
@@ -108,7 +113,10 @@ public interface IAStarManager {
 
     /**
      * Perform a world based coordinate path search from the specified start to the
-     * specified destination location using default settings.
+     * specified destination location using the specified settings.
+     *
+     * <p>Resolved paths are cached if the path cache is enabled.
+     * See {@link #getPathCache}.</p>
      *
      * @param start        The start location.
      * @param destination  The destination location.
@@ -0,0 +1,115 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.managed.astar;
+
+/**
+ * Cache of resolved world path searches.
+ *
+ * <p>Paths are keyed by world, start block, destination block and search settings.
+ * Block changes in the chunk sections a cached path passes through mark the path
+ * for validation the next time it is requested.</p>
+ *
+ * <p>The cache is disabled by default. Only block changes that raise a Bukkit block
+ * event are detected. Blocks written without an event, such as by
+ * {@link com.jcwhatever.nucleus.utils.performance.BlockBatch}, region restores or
+ * {@link org.bukkit.block.Block#setType} calls from plugins, leave cached paths
+ * unchanged. Plugins that enable the cache and write blocks that way should
+ * {@link #clear} it afterwards.</p>
+ */
+public interface IAStarPathCache {
+
+    /**
+     * Determine if the cache is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Set the cache enabled state.
+     *
+     * <p>Disabling the cache clears it.</p>
+     *
+     * @param isEnabled  True to enable, otherwise false.
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * Get the max number of paths the cache holds.
+     */
+    int getCapacity();
+
+    /**
+     * Set the max number of paths the cache holds.
+     *
+     * <p>The least recently used paths are removed when the capacity is exceeded.</p>
+     *
+     * @param capacity  The capacity.
+     */
+    void setCapacity(int capacity);
+
+    /**
+     * Get the number of paths currently cached.
+     */
+    int size();
+
+    /**
+     * Get the number of searches answered by an unchanged cached path.
+     */
+    long getHits();
+
+    /**
+     * Get the number of searches that were not cached or whose
+     * cached path had to be searched again in full.
+     */
+    long getMisses();
+
+    /**
+     * Get the ratio of hits and repairs to total cached searches.
+     *
+     * @return  A value from 0.0 to 1.0.
+     */
+    double getHitRate();
+
+    /**
+     * Get the number of cached paths evicted because block changes
+     * were found on them.
+     */
+    long getInvalidations();
+
+    /**
+     * Get the number of invalidated paths that were repaired by searching
+     * only the changed segment.
+     */
+    long getRepairs();
+
+    /**
+     * Clear all cached paths. Does not reset counters.
+     */
+    void clear();
+
+    /**
+     * Reset the hit, miss, invalidation and repair counters.
+     */
+    void resetStats();
+}
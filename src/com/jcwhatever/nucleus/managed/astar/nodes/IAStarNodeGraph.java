@@ -24,6 +24,8 @@
 
 package com.jcwhatever.nucleus.managed.astar.nodes;
 
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
 import com.jcwhatever.nucleus.utils.coords.ICoords3Di;
 import com.jcwhatever.nucleus.utils.validate.IValidator;
 import org.bukkit.Location;
@@ -100,6 +102,44 @@ public interface IAStarNodeGraph extends Iterable<AStarGraphNode>{
     AStarGraphNode getClosest(ICoords3Di source, double radius,
                                      @Nullable IValidator<AStarGraphNode> validator);
 
+    /**
+     * Search for the shortest path between 2 nodes in the map.
+     *
+     * <p>The search runs on the map's own compact adjacency data and does not use
+     * node contexts, examiners or scores. A node is pathable to the nodes it lists
+     * as adjacent at the time the map was created.</p>
+     *
+     * @param start        The start node.
+     * @param destination  The destination node.
+     *
+     * @return  The path results.
+     *
+     * @throws IllegalArgumentException if either node is not in the map.
+     */
+    IAStarResult<AStarGraphNode> search(AStarGraphNode start, AStarGraphNode destination);
+
+    /**
+     * Search for the shortest path between 2 nodes in the map.
+     *
+     * <p>The search runs on the map's own compact adjacency data and does not use
+     * node contexts, examiners or scores. Only the max iterations setting is used.</p>
+     *
+     * @param start        The start node.
+     * @param destination  The destination node.
+     * @param settings     The search settings.
+     *
+     * @return  The path results.
+     *
+     * @throws IllegalArgumentException if either node is not in the map.
+     */
+    IAStarResult<AStarGraphNode> search(AStarGraphNode start, AStarGraphNode destination,
+                                        IAStarSettings settings);
+
+    /**
+     * Get the number of landmarks precomputed for the search heuristic.
+     */
+    int getLandmarkCount();
+
     /**
      * Get all nodes in the map.
      */
@@ -24,6 +24,8 @@
 
 package com.jcwhatever.nucleus.managed.particles;
 
+import com.jcwhatever.nucleus.managed.particles.shapes.IShapeEmitter;
+
 import javax.annotation.Nullable;
 
 /**
@@ -42,4 +44,9 @@ public interface IParticleEffectFactory {
      */
     @Nullable
     <T extends IParticleEffect> T create(ParticleType<T> type);
+
+    /**
+     * Get the global particle shape emitter.
+     */
+    IShapeEmitter getShapeEmitter();
 }
@@ -27,6 +27,7 @@ package com.jcwhatever.nucleus.managed.particles;
 import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.managed.particles.IParticleEffectFactory;
 import com.jcwhatever.nucleus.managed.particles.ParticleType;
+import com.jcwhatever.nucleus.managed.particles.shapes.IShapeEmitter;
 import com.jcwhatever.nucleus.managed.particles.types.IBarrierParticle;
 import com.jcwhatever.nucleus.managed.particles.types.IBlockCrackParticle;
 import com.jcwhatever.nucleus.managed.particles.types.IBlockDustParticle;
@@ -350,6 +351,13 @@ public final class Particles {
         return factory().create(ParticleType.WATER_WAKE);
     }
 
+    /**
+     * Get the global particle shape emitter.
+     */
+    public static IShapeEmitter shapes() {
+        return factory().getShapeEmitter();
+    }
+
     public static IParticleEffectFactory factory() {
         return Nucleus.getParticleEffects();
     }
@@ -0,0 +1,119 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.managed.particles.shapes;
+
+import com.jcwhatever.nucleus.managed.particles.IParticleEffect;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Interface for the global particle shape emitter.
+ *
+ * <p>Emitting a shape transforms its points once and queues them. The queued
+ * points are sent over the following ticks, limited by a global per-tick
+ * packet budget that is shared by all emissions. One packet is counted for
+ * each point sent to each viewer.</p>
+ *
+ * <p>Viewers are resolved once per emission instead of once per point.</p>
+ *
+ * <p>Must be used from the primary thread.</p>
+ */
+public interface IShapeEmitter {
+
+    /**
+     * Get the maximum number of particle packets sent per tick.
+     */
+    int getPacketBudget();
+
+    /**
+     * Set the maximum number of particle packets sent per tick.
+     *
+     * @param budget  The packet budget. Must be greater than 0.
+     */
+    void setPacketBudget(int budget);
+
+    /**
+     * Get the number of packets that are queued and have not been sent yet.
+     */
+    int getPendingPackets();
+
+    /**
+     * Emit a shape at a location to all players within the visible radius
+     * of the effect.
+     *
+     * @param effect  The particle effect to show at each point.
+     * @param shape   The shape.
+     * @param origin  The location of the shape origin.
+     * @param count   The particle count per point. Must be greater than 0.
+     *
+     * @return  True if the emission was queued, false if there are no viewers
+     * or the queue is full.
+     */
+    boolean emit(IParticleEffect effect, ParticleShape shape, Location origin, int count);
+
+    /**
+     * Emit a rotated shape at a location to all players within the visible radius
+     * of the effect.
+     *
+     * @param effect  The particle effect to show at each point.
+     * @param shape   The shape.
+     * @param origin  The location of the shape origin.
+     * @param yaw     The yaw rotation of the shape in degrees.
+     * @param pitch   The pitch rotation of the shape in degrees.
+     * @param count   The particle count per point. Must be greater than 0.
+     *
+     * @return  True if the emission was queued, false if there are no viewers
+     * or the queue is full.
+     */
+    boolean emit(IParticleEffect effect, ParticleShape shape,
+                 Location origin, float yaw, float pitch, int count);
+
+    /**
+     * Emit a rotated shape at a location to a collection of players.
+     *
+     * <p>Players that are not in the same world as the origin are ignored.</p>
+     *
+     * @param viewers  The players to show the shape to.
+     * @param effect   The particle effect to show at each point.
+     * @param shape    The shape.
+     * @param origin   The location of the shape origin.
+     * @param yaw      The yaw rotation of the shape in degrees.
+     * @param pitch    The pitch rotation of the shape in degrees.
+     * @param count    The particle count per point. Must be greater than 0.
+     *
+     * @return  True if the emission was queued, false if there are no viewers
+     * or the queue is full.
+     */
+    boolean emit(Collection<? extends Player> viewers, IParticleEffect effect, ParticleShape shape,
+                 Location origin, float yaw, float pitch, int count);
+
+    /**
+     * Remove all queued emissions.
+     */
+    void clear();
+}
@@ -0,0 +1,324 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.managed.particles.shapes;
+
+import com.jcwhatever.nucleus.providers.math.FastMath;
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable, precomputed cloud of particle points relative to an origin.
+ *
+ * <p>Points are stored as a primitive float array of x, y and z coordinate
+ * triples. Shapes are intended to be created once and reused for every frame
+ * of an effect; use {@link #transform} to rotate and translate all of the
+ * points into world coordinates in a single pass.</p>
+ *
+ * <p>Shapes are oriented so that yaw 0 and pitch 0 face the positive Z axis.
+ * Rotation is consistent with {@link com.jcwhatever.nucleus.providers.math.IRotationMatrix}.</p>
+ *
+ * @see IShapeEmitter
+ */
+public final class ParticleShape {
+
+    private static final double GOLDEN_ANGLE = Math.PI * (3 - Math.sqrt(5));
+
+    /**
+     * Create a horizontal circle of points around the origin.
+     *
+     * @param radius  The circle radius.
+     * @param points  The number of points.
+     */
+    public static ParticleShape circle(double radius, int points) {
+        PreCon.positiveNumber(radius);
+        PreCon.greaterThanZero(points);
+
+        float[] result = new float[points * 3];
+        double step = (Math.PI * 2) / points;
+
+        for (int i = 0, j = 0; i < points; i++, j += 3) {
+            double angle = step * i;
+            result[j] = (float) (Math.cos(angle) * radius);
+            result[j + 2] = (float) (Math.sin(angle) * radius);
+        }
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Create a vertical helix of points rising from the origin.
+     *
+     * @param radius  The helix radius.
+     * @param height  The helix height.
+     * @param turns   The number of full turns the helix makes.
+     * @param points  The number of points.
+     */
+    public static ParticleShape helix(double radius, double height, double turns, int points) {
+        PreCon.positiveNumber(radius);
+        PreCon.greaterThanZero(points);
+
+        float[] result = new float[points * 3];
+        double angleStep = (Math.PI * 2 * turns) / points;
+        double heightStep = points > 1 ? height / (points - 1) : 0;
+
+        for (int i = 0, j = 0; i < points; i++, j += 3) {
+            double angle = angleStep * i;
+            result[j] = (float) (Math.cos(angle) * radius);
+            result[j + 1] = (float) (heightStep * i);
+            result[j + 2] = (float) (Math.sin(angle) * radius);
+        }
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Create a sphere of evenly distributed points around the origin.
+     *
+     * @param radius  The sphere radius.
+     * @param points  The number of points.
+     */
+    public static ParticleShape sphere(double radius, int points) {
+        PreCon.positiveNumber(radius);
+        PreCon.greaterThanZero(points);
+
+        float[] result = new float[points * 3];
+
+        // fibonacci lattice
+        for (int i = 0, j = 0; i < points; i++, j += 3) {
+            double y = points > 1 ? 1 - (i / (double) (points - 1)) * 2 : 0;
+            double ringRadius = Math.sqrt(1 - y * y);
+            double angle = GOLDEN_ANGLE * i;
+
+            result[j] = (float) (Math.cos(angle) * ringRadius * radius);
+            result[j + 1] = (float) (y * radius);
+            result[j + 2] = (float) (Math.sin(angle) * ringRadius * radius);
+        }
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Create a line of points from the origin along the positive Z axis.
+     *
+     * @param length  The line length.
+     * @param points  The number of points.
+     */
+    public static ParticleShape line(double length, int points) {
+        PreCon.positiveNumber(length);
+        PreCon.greaterThanZero(points);
+
+        float[] result = new float[points * 3];
+        double step = points > 1 ? length / (points - 1) : 0;
+
+        for (int i = 0, j = 2; i < points; i++, j += 3) {
+            result[j] = (float) (step * i);
+        }
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Create a shape from an array of x, y and z coordinate triples.
+     *
+     * <p>The array is copied.</p>
+     *
+     * @param points  The point coordinates. The length must be a multiple of 3.
+     */
+    public static ParticleShape fromPoints(float[] points) {
+        PreCon.notNull(points);
+        PreCon.isValid(points.length % 3 == 0, "Points array length must be a multiple of 3.");
+
+        return new ParticleShape(Arrays.copyOf(points, points.length));
+    }
+
+    private final float[] _points;
+    private final int _size;
+    private final float _radius;
+
+    /**
+     * Private constructor.
+     *
+     * @param points  The point array. Not copied.
+     */
+    private ParticleShape(float[] points) {
+        _points = points;
+        _size = points.length / 3;
+
+        float radiusSquared = 0;
+        for (int i = 0; i < points.length; i += 3) {
+            float x = points[i];
+            float y = points[i + 1];
+            float z = points[i + 2];
+            radiusSquared = Math.max(radiusSquared, x * x + y * y + z * z);
+        }
+
+        _radius = (float) Math.sqrt(radiusSquared);
+    }
+
+    /**
+     * Get the number of points in the shape.
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Get the distance from the origin to the furthest point in the shape.
+     */
+    public float getRadius() {
+        return _radius;
+    }
+
+    /**
+     * Get the X coordinate of a point.
+     *
+     * @param index  The point index.
+     */
+    public float getX(int index) {
+        return _points[index * 3];
+    }
+
+    /**
+     * Get the Y coordinate of a point.
+     *
+     * @param index  The point index.
+     */
+    public float getY(int index) {
+        return _points[index * 3 + 1];
+    }
+
+    /**
+     * Get the Z coordinate of a point.
+     *
+     * @param index  The point index.
+     */
+    public float getZ(int index) {
+        return _points[index * 3 + 2];
+    }
+
+    /**
+     * Get a copy of the point coordinates as x, y and z triples.
+     */
+    public float[] getPoints() {
+        return Arrays.copyOf(_points, _points.length);
+    }
+
+    /**
+     * Combine the points of this shape with another shape.
+     *
+     * @param shape  The other shape.
+     *
+     * @return  A new shape.
+     */
+    public ParticleShape combine(ParticleShape shape) {
+        PreCon.notNull(shape);
+
+        float[] result = Arrays.copyOf(_points, _points.length + shape._points.length);
+        System.arraycopy(shape._points, 0, result, _points.length, shape._points.length);
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Get a new shape that is this shape rotated and scaled.
+     *
+     * <p>Use to precompute a fixed orientation.</p>
+     *
+     * @param yaw    The yaw rotation in degrees.
+     * @param pitch  The pitch rotation in degrees.
+     * @param scale  The scale factor.
+     */
+    public ParticleShape rotate(float yaw, float pitch, float scale) {
+
+        double[] transformed = transform(yaw, pitch, 0, 0, 0, null);
+        float[] result = new float[transformed.length];
+
+        for (int i = 0; i < transformed.length; i++) {
+            result[i] = (float) (transformed[i] * scale);
+        }
+
+        return new ParticleShape(result);
+    }
+
+    /**
+     * Rotate and translate all of the points in the shape in a single pass.
+     *
+     * <p>Pitch is applied around the X axis first, then yaw around the Y axis. The
+     * sine and cosine of each angle are looked up once using {@link FastMath}.</p>
+     *
+     * @param yaw     The yaw rotation in degrees.
+     * @param pitch   The pitch rotation in degrees.
+     * @param x       The X coordinate to translate to.
+     * @param y       The Y coordinate to translate to.
+     * @param z       The Z coordinate to translate to.
+     * @param output  Optional output array. Must have a length of at least
+     *                {@link #size} * 3. If null, a new array is created.
+     *
+     * @return  The output array containing x, y and z triples.
+     */
+    public double[] transform(float yaw, float pitch,
+                              double x, double y, double z, @Nullable double[] output) {
+
+        if (output == null)
+            output = new double[_points.length];
+
+        PreCon.isValid(output.length >= _points.length, "Output array is too small.");
+
+        float[] points = _points;
+
+        if (yaw == 0 && pitch == 0) {
+            for (int i = 0; i < points.length; i += 3) {
+                output[i] = x + points[i];
+                output[i + 1] = y + points[i + 1];
+                output[i + 2] = z + points[i + 2];
+            }
+            return output;
+        }
+
+        float cosYaw = FastMath.cos(yaw);
+        float sinYaw = FastMath.sin(yaw);
+        float cosPitch = FastMath.cos(pitch);
+        float sinPitch = FastMath.sin(pitch);
+
+        for (int i = 0; i < points.length; i += 3) {
+            float px = points[i];
+            float py = points[i + 1];
+            float pz = points[i + 2];
+
+            // rotate X axis (pitch)
+            float ry = py * cosPitch - pz * sinPitch;
+            float rz = py * sinPitch + pz * cosPitch;
+
+            // rotate Y axis (yaw), reversed due to Minecraft's inverted X axis
+            output[i] = x + (px * cosYaw - rz * sinYaw);
+            output[i + 1] = y + ry;
+            output[i + 2] = z + (px * sinYaw + rz * cosYaw);
+        }
+
+        return output;
+    }
+}
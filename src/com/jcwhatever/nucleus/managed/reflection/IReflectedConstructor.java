@@ -0,0 +1,84 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.managed.reflection;
+
+import com.jcwhatever.nucleus.mixins.IWrapper;
+
+import java.lang.reflect.Constructor;
+import javax.annotation.Nullable;
+
+/**
+ * A precompiled constructor registered with {@link IReflectedType#constructorAlias}.
+ *
+ * <p>The constructor is bound to a {@link java.lang.invoke.MethodHandle} when it is
+ * registered. Constructing with one of the fixed argument count methods does not
+ * require an argument array or reflective invocation.</p>
+ *
+ * <p>The construct method used must match the number of arguments of the
+ * constructor.</p>
+ */
+public interface IReflectedConstructor extends IWrapper<Constructor<?>> {
+
+    /**
+     * Get the number of arguments the constructor takes.
+     */
+    int getArgCount();
+
+    /**
+     * Create a new instance using a constructor that takes no arguments.
+     */
+    Object construct();
+
+    /**
+     * Create a new instance using a constructor that takes 1 argument.
+     *
+     * @param arg1  The first argument.
+     */
+    Object construct(@Nullable Object arg1);
+
+    /**
+     * Create a new instance using a constructor that takes 2 arguments.
+     *
+     * @param arg1  The first argument.
+     * @param arg2  The second argument.
+     */
+    Object construct(@Nullable Object arg1, @Nullable Object arg2);
+
+    /**
+     * Create a new instance using a constructor that takes 3 arguments.
+     *
+     * @param arg1  The first argument.
+     * @param arg2  The second argument.
+     * @param arg3  The third argument.
+     */
+    Object construct(@Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3);
+
+    /**
+     * Create a new instance with any number of arguments.
+     *
+     * @param arguments  The constructor arguments.
+     */
+    Object constructArgs(Object... arguments);
+}
@@ -0,0 +1,123 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.managed.reflection;
+
+import com.jcwhatever.nucleus.mixins.INamed;
+import com.jcwhatever.nucleus.mixins.IWrapper;
+
+import java.lang.reflect.Method;
+import javax.annotation.Nullable;
+
+/**
+ * A precompiled invoker for a method registered with {@link IReflectedType#method}
+ * or {@link IReflectedType#methodAlias}.
+ *
+ * <p>The method is bound to a {@link java.lang.invoke.MethodHandle} when it is
+ * registered. Invoking with one of the fixed argument count methods does not
+ * require an argument array or reflective method lookup.</p>
+ *
+ * <p>The invoke method used must match the number of arguments of the method.
+ * The instance is ignored for static methods.</p>
+ */
+public interface IReflectedInvoker extends INamed, IWrapper<Method> {
+
+    /**
+     * Get the number of arguments the method takes.
+     */
+    int getArgCount();
+
+    /**
+     * Determine if the method is static.
+     */
+    boolean isStatic();
+
+    /**
+     * Invoke a method that takes no arguments.
+     *
+     * @param instance  The instance to invoke the method on. Null if static.
+     *
+     * @param <V>  The return type.
+     *
+     * @return  Null if the method returns null or void.
+     */
+    @Nullable
+    <V> V invoke(@Nullable Object instance);
+
+    /**
+     * Invoke a method that takes 1 argument.
+     *
+     * @param instance  The instance to invoke the method on. Null if static.
+     * @param arg1      The first argument.
+     *
+     * @param <V>  The return type.
+     *
+     * @return  Null if the method returns null or void.
+     */
+    @Nullable
+    <V> V invoke(@Nullable Object instance, @Nullable Object arg1);
+
+    /**
+     * Invoke a method that takes 2 arguments.
+     *
+     * @param instance  The instance to invoke the method on. Null if static.
+     * @param arg1      The first argument.
+     * @param arg2      The second argument.
+     *
+     * @param <V>  The return type.
+     *
+     * @return  Null if the method returns null or void.
+     */
+    @Nullable
+    <V> V invoke(@Nullable Object instance, @Nullable Object arg1, @Nullable Object arg2);
+
+    /**
+     * Invoke a method that takes 3 arguments.
+     *
+     * @param instance  The instance to invoke the method on. Null if static.
+     * @param arg1      The first argument.
+     * @param arg2      The second argument.
+     * @param arg3      The third argument.
+     *
+     * @param <V>  The return type.
+     *
+     * @return  Null if the method returns null or void.
+     */
+    @Nullable
+    <V> V invoke(@Nullable Object instance,
+                 @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3);
+
+    /**
+     * Invoke the method with any number of arguments.
+     *
+     * @param instance   The instance to invoke the method on. Null if static.
+     * @param arguments  The method arguments.
+     *
+     * @param <V>  The return type.
+     *
+     * @return  Null if the method returns null or void.
+     */
+    @Nullable
+    <V> V invokeArgs(@Nullable Object instance, Object... arguments);
+}
@@ -257,6 +257,29 @@ public interface IReflectedType extends IWrapper<Class<?>> {
      */
     IReflectedType methodAlias(String alias, String methodName, Class<?>... signature);
 
+    /**
+     * Get a precompiled invoker for a method registered with {@link #method}
+     * or {@link #methodAlias}.
+     *
+     * <p>Prefer over {@link #invoke} for frequently invoked methods.</p>
+     *
+     * @param methodName  The registered method name or alias.
+     *
+     * @throws RuntimeException if the method is not registered.
+     */
+    IReflectedInvoker getInvoker(String methodName);
+
+    /**
+     * Get a precompiled constructor registered with {@link #constructorAlias}.
+     *
+     * <p>Prefer over {@link #construct} for frequently used constructors.</p>
+     *
+     * @param alias  The registered constructor alias.
+     *
+     * @throws RuntimeException if the alias is not registered.
+     */
+    IReflectedConstructor getConstructor(String alias);
+
     /**
      * Invoke a static method on the encapsulated class.
      *
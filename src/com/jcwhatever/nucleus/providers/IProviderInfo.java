@@ -63,4 +63,11 @@ public interface IProviderInfo extends INamedInsensitive {
      * does not require.
      */
     List<String> getBukkitSoftDepends();
+
+    /**
+     * Get the names of providers the module depends on.
+     *
+     * <p>Dependencies are enabled before the module.</p>
+     */
+    List<String> getProviderDepends();
 }
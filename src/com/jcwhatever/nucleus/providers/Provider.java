@@ -28,9 +28,11 @@ import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.storage.DataPath;
 import com.jcwhatever.nucleus.storage.IDataNode;
 import com.jcwhatever.nucleus.storage.YamlDataNode;
+import com.jcwhatever.nucleus.utils.CollectionUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
 
 import java.io.File;
+import java.util.Collection;
 
 /**
  * Abstract implementation of a NucleusFramework service provider.
@@ -110,6 +112,12 @@ public abstract class Provider implements IProvider {
 
         _isEnabled = true;
 
+        // load preload nodes that were not loaded in advance
+        for (IDataNode dataNode : getPreloadNodes()) {
+            if (!dataNode.isLoaded())
+                dataNode.load();
+        }
+
         onEnable();
     }
 
@@ -136,6 +144,19 @@ public abstract class Provider implements IProvider {
         _info = info;
     }
 
+    /**
+     * Get data nodes that must be loaded before the provider is enabled.
+     *
+     * <p>The nodes are loaded asynchronously along with the nodes of other providers
+     * during startup. Nodes that are not loaded when the provider is enabled are
+     * loaded before {@link #onEnable} is invoked.</p>
+     *
+     * <p>Intended for optional override.</p>
+     */
+    public Collection<IDataNode> getPreloadNodes() {
+        return CollectionUtils.unmodifiableList();
+    }
+
     /**
      * Invoked to register provider supplied types.
      *
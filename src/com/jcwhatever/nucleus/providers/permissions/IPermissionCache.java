@@ -0,0 +1,112 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.providers.permissions;
+
+import org.bukkit.OfflinePlayer;
+
+/**
+ * Cache of permission check results used by {@link Permissions}.
+ *
+ * <p>Results are keyed by player, world and permission name and expire after a
+ * short time. A players results are removed when the player joins, quits or
+ * changes worlds and when the players permissions or groups are changed through
+ * {@link Permissions}. All results are removed when a permission is registered
+ * or unregistered through {@link Permissions} or when the provider changes.</p>
+ *
+ * <p>Changes made directly to the provider or by other plugins are only seen
+ * after the cached results expire.</p>
+ */
+public interface IPermissionCache {
+
+    /**
+     * Determine if the cache is enabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Set the cache enabled state.
+     *
+     * <p>Disabling the cache clears it.</p>
+     *
+     * @param isEnabled  True to enable, otherwise false.
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * Get the number of milliseconds a result is cached.
+     */
+    long getTimeToLive();
+
+    /**
+     * Set the number of milliseconds a result is cached.
+     *
+     * @param milliseconds  The time to live in milliseconds.
+     */
+    void setTimeToLive(long milliseconds);
+
+    /**
+     * Get the number of players with cached results.
+     */
+    int size();
+
+    /**
+     * Get the number of checks answered by a cached result.
+     */
+    long getHits();
+
+    /**
+     * Get the number of checks that were not cached or whose result expired.
+     */
+    long getMisses();
+
+    /**
+     * Get the ratio of hits to total checks.
+     *
+     * @return  A value from 0.0 to 1.0.
+     */
+    double getHitRate();
+
+    /**
+     * Get the number of times cached results were removed before expiring.
+     */
+    long getInvalidations();
+
+    /**
+     * Remove the cached results of a player.
+     *
+     * @param player  The player.
+     */
+    void invalidate(OfflinePlayer player);
+
+    /**
+     * Clear all cached results. Does not reset counters.
+     */
+    void clear();
+
+    /**
+     * Reset the hit, miss and invalidation counters.
+     */
+    void resetStats();
+}
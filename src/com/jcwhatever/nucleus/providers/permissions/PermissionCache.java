@@ -0,0 +1,339 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.providers.permissions;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.observer.future.FutureResultAgent;
+import com.jcwhatever.nucleus.utils.observer.future.IFutureResult;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IPermissionCache} implementation used by {@link Permissions}.
+ */
+final class PermissionCache implements IPermissionCache {
+
+    // number of players with cached results before expired players are purged
+    private static final int PURGE_THRESHOLD = 500;
+
+    private final ConcurrentHashMap<UUID, PlayerResults> _players = new ConcurrentHashMap<>(50);
+    private final AtomicLong _hits = new AtomicLong();
+    private final AtomicLong _misses = new AtomicLong();
+    private final AtomicLong _invalidations = new AtomicLong();
+
+    private volatile boolean _isEnabled;
+    private volatile long _ttlNanos = TimeUnit.SECONDS.toNanos(2);
+    private volatile IPermissionsProvider _provider;
+    private boolean _isListening;
+
+    @Override
+    public boolean isEnabled() {
+        return _isEnabled;
+    }
+
+    @Override
+    public synchronized void setEnabled(boolean isEnabled) {
+
+        if (isEnabled && !_isListening) {
+            Bukkit.getPluginManager().registerEvents(new BukkitListener(), Nucleus.getPlugin());
+            _isListening = true;
+        }
+
+        _isEnabled = isEnabled;
+
+        if (!isEnabled)
+            _players.clear();
+    }
+
+    @Override
+    public long getTimeToLive() {
+        return TimeUnit.NANOSECONDS.toMillis(_ttlNanos);
+    }
+
+    @Override
+    public void setTimeToLive(long milliseconds) {
+        PreCon.positiveNumber(milliseconds);
+
+        _ttlNanos = TimeUnit.MILLISECONDS.toNanos(milliseconds);
+        _players.clear();
+    }
+
+    @Override
+    public int size() {
+        return _players.size();
+    }
+
+    @Override
+    public long getHits() {
+        return _hits.get();
+    }
+
+    @Override
+    public long getMisses() {
+        return _misses.get();
+    }
+
+    @Override
+    public double getHitRate() {
+        long hits = _hits.get();
+        long total = hits + _misses.get();
+
+        return total == 0 ? 0.0D : (double)hits / total;
+    }
+
+    @Override
+    public long getInvalidations() {
+        return _invalidations.get();
+    }
+
+    @Override
+    public void invalidate(OfflinePlayer player) {
+        PreCon.notNull(player);
+
+        if (_players.remove(player.getUniqueId()) != null)
+            _invalidations.incrementAndGet();
+    }
+
+    @Override
+    public void clear() {
+        _players.clear();
+    }
+
+    @Override
+    public void resetStats() {
+        _hits.set(0);
+        _misses.set(0);
+        _invalidations.set(0);
+    }
+
+    /**
+     * Remove all cached results and count the invalidation.
+     */
+    void invalidateAll() {
+        if (!_players.isEmpty()) {
+            _players.clear();
+            _invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Determine if a player has a permission.
+     *
+     * @param player          The player.
+     * @param world           Optional world to check the permission in.
+     * @param permissionName  The name of the permission.
+     */
+    boolean has(OfflinePlayer player, @Nullable World world, String permissionName) {
+        PreCon.notNull(player);
+        PreCon.notNull(permissionName);
+
+        if (!_isEnabled)
+            return query(player, world, permissionName);
+
+        IPermissionsProvider provider = Permissions.getProvider();
+        if (provider != _provider) {
+            _provider = provider;
+            invalidateAll();
+        }
+
+        String key = world == null
+                ? permissionName
+                : world.getName() + '\0' + permissionName;
+
+        long now = System.nanoTime();
+
+        PlayerResults results = _players.get(player.getUniqueId());
+        if (results != null) {
+
+            Result result = results.map.get(key);
+            if (result != null && now - result.expires < 0) {
+                _hits.incrementAndGet();
+                return result.value;
+            }
+        }
+        else {
+
+            if (_players.size() >= PURGE_THRESHOLD)
+                purge(now);
+
+            results = new PlayerResults();
+
+            PlayerResults current = _players.putIfAbsent(player.getUniqueId(), results);
+
+            if (current != null)
+                results = current;
+        }
+
+        _misses.incrementAndGet();
+
+        // results invalidated during the query are stored in a detached
+        // results instance and are not seen by later checks
+        boolean value = query(player, world, permissionName);
+
+        long expires = now + _ttlNanos;
+        results.map.put(key, new Result(value, expires));
+        results.expires = expires;
+
+        return value;
+    }
+
+    /**
+     * Determine if a player has a permission from an asynchronous thread.
+     *
+     * <p>Cached results are returned immediately. Online players are otherwise
+     * checked on the main thread. Only offline players are checked by the
+     * provider on an asynchronous thread. The future result is sent from the
+     * main thread.</p>
+     *
+     * @param player          The player.
+     * @param permissionName  The name of the permission.
+     */
+    IFutureResult<Boolean> hasAsync(final OfflinePlayer player, final String permissionName) {
+        PreCon.notNull(player);
+        PreCon.notNull(permissionName);
+
+        if (_isEnabled) {
+
+            PlayerResults results = _players.get(player.getUniqueId());
+            Result result = results != null ? results.map.get(permissionName) : null;
+
+            if (result != null && System.nanoTime() - result.expires < 0 &&
+                    _provider == Permissions.getProvider()) {
+                _hits.incrementAndGet();
+                return FutureResultAgent.successResult(result.value);
+            }
+        }
+
+        final FutureResultAgent<Boolean> agent = new FutureResultAgent<>();
+
+        // online player permissions may be changed by plugins on the main
+        // thread, so they are not read from other threads
+        if (player.isOnline()) {
+
+            Scheduler.runTaskSync(Nucleus.getPlugin(), new Runnable() {
+                @Override
+                public void run() {
+                    agent.success(has(player, null, permissionName));
+                }
+            });
+
+            return agent.getFuture();
+        }
+
+        Scheduler.runTaskLaterAsync(Nucleus.getPlugin(), 1, new Runnable() {
+            @Override
+            public void run() {
+
+                final boolean value = has(player, null, permissionName);
+
+                Scheduler.runTaskSync(Nucleus.getPlugin(), new Runnable() {
+                    @Override
+                    public void run() {
+                        agent.success(value);
+                    }
+                });
+            }
+        });
+
+        return agent.getFuture();
+    }
+
+    /*
+     * Get a permission result from the provider.
+     */
+    private boolean query(OfflinePlayer player, @Nullable World world, String permissionName) {
+        return world == null
+                ? Permissions.getProvider().has(player, permissionName)
+                : Permissions.getWorldProvider().has(player, world, permissionName);
+    }
+
+    /*
+     * Remove players whose cached results have all expired.
+     */
+    private void purge(long now) {
+
+        Iterator<PlayerResults> iterator = _players.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next().expires >= 0)
+                iterator.remove();
+        }
+    }
+
+    private static class PlayerResults {
+
+        // keyed to world name and permission name
+        final Map<String, Result> map = new ConcurrentHashMap<>(20);
+
+        // expiration of the most recent result
+        volatile long expires;
+    }
+
+    private static class Result {
+
+        final boolean value;
+        final long expires;
+
+        Result(boolean value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+    }
+
+    private class BukkitListener implements Listener {
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        private void onPlayerJoin(PlayerJoinEvent event) {
+            invalidate(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        private void onPlayerQuit(PlayerQuitEvent event) {
+            invalidate(event.getPlayer());
+        }
+
+        @EventHandler(priority = EventPriority.LOWEST)
+        private void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+            invalidate(event.getPlayer());
+        }
+    }
+}
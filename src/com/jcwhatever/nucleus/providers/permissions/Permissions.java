@@ -27,6 +27,7 @@ package com.jcwhatever.nucleus.providers.permissions;
 
 import com.jcwhatever.nucleus.Nucleus;
 import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.observer.future.IFutureResult;
 import com.jcwhatever.nucleus.utils.text.TextUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -47,6 +48,17 @@ public final class Permissions {
 
     private Permissions() {}
 
+    private static final PermissionCache _cache = new PermissionCache();
+
+    /**
+     * Get the permission result cache.
+     *
+     * <p>The cache is disabled by default.</p>
+     */
+    public static IPermissionCache getCache() {
+        return _cache;
+    }
+
     /**
      * Determine if the permissions implementation has group support.
      */
@@ -99,6 +111,8 @@ public final class Permissions {
         PreCon.notNullOrEmpty(permissionName);
         PreCon.notNull(value);
 
+        _cache.invalidateAll();
+
         if (permissionName.endsWith(".*") || !registerParents)
             return getProvider().register(permissionName, value);
 
@@ -156,6 +170,7 @@ public final class Permissions {
      */
     public static void unregister(String permissionName) {
         getProvider().unregister(permissionName);
+        _cache.invalidateAll();
     }
 
     /**
@@ -165,6 +180,7 @@ public final class Permissions {
      */
     public static void unregister(IPermission permission) {
         getProvider().unregister(permission);
+        _cache.invalidateAll();
     }
 
     /**
@@ -196,7 +212,7 @@ public final class Permissions {
      * @param permissionName  The name of the permission.
      */
     public static boolean has(OfflinePlayer player, String permissionName) {
-        return getProvider().has(player, permissionName);
+        return _cache.has(player, null, permissionName);
     }
 
     /**
@@ -206,7 +222,7 @@ public final class Permissions {
      * @param permission  The permission.
      */
     public static boolean has(OfflinePlayer player, IPermission permission) {
-        return getProvider().has(player, permission.getName());
+        return _cache.has(player, null, permission.getName());
     }
 
     /**
@@ -219,7 +235,27 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if the provider does not support permission by world.
      */
     public static boolean has(OfflinePlayer player, World world, String permissionName) {
-        return getWorldProvider().has(player, world, permissionName);
+        PreCon.notNull(world);
+
+        return _cache.has(player, world, permissionName);
+    }
+
+    /**
+     * Determine if the player has permission from an asynchronous thread.
+     *
+     * <p>Intended for checking offline players without blocking the main thread.
+     * If the cache is enabled and has an unexpired result, the future is completed
+     * immediately. Otherwise online players are checked on the main thread and
+     * offline players are checked by the provider asynchronously. The future
+     * result is sent from the main thread.</p>
+     *
+     * @param player          The player to check.
+     * @param permissionName  The name of the permission.
+     *
+     * @return  A future result of the permission check.
+     */
+    public static IFutureResult<Boolean> hasAsync(OfflinePlayer player, String permissionName) {
+        return _cache.hasAsync(player, permissionName);
     }
 
     /**
@@ -232,7 +268,9 @@ public final class Permissions {
      * @return  True if the permission was added.
      */
     public static boolean addTransient(Plugin plugin, Player player, String permissionName) {
-        return getProvider().addTransient(plugin, player, permissionName);
+        boolean isChanged = getProvider().addTransient(plugin, player, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -245,7 +283,9 @@ public final class Permissions {
      * @return  True if the permission was removed.
      */
     public static boolean removeTransient(Plugin plugin, Player player, String permissionName) {
-        return getProvider().removeTransient(plugin, player, permissionName);
+        boolean isChanged = getProvider().removeTransient(plugin, player, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -258,7 +298,9 @@ public final class Permissions {
      * @return  True if the permission was added.
      */
     public static boolean add(Plugin plugin, OfflinePlayer player, String permissionName) {
-        return getProvider().add(plugin, player, permissionName);
+        boolean isChanged = getProvider().add(plugin, player, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -271,7 +313,9 @@ public final class Permissions {
      * @return  True if the permission was added.
      */
     public static boolean add(Plugin plugin, OfflinePlayer player, IPermission permission) {
-        return getProvider().add(plugin, player, permission.getName());
+        boolean isChanged = getProvider().add(plugin, player, permission.getName());
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -287,7 +331,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if the provider does not support permissions by world.
      */
     public static boolean add(Plugin plugin, OfflinePlayer player, World world, String permissionName) {
-        return getWorldProvider().add(plugin, player, world, permissionName);
+        boolean isChanged = getWorldProvider().add(plugin, player, world, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -303,7 +349,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if the provider does not support permissions by world.
      */
     public static boolean add(Plugin plugin, OfflinePlayer player, World world, IPermission permission) {
-        return getWorldProvider().add(plugin, player, world, permission.getName());
+        boolean isChanged = getWorldProvider().add(plugin, player, world, permission.getName());
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -316,7 +364,9 @@ public final class Permissions {
      * @return  True if the permission was removed.
      */
     public static boolean remove(Plugin plugin, OfflinePlayer player, String permissionName) {
-        return getProvider().remove(plugin, player, permissionName);
+        boolean isChanged = getProvider().remove(plugin, player, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -329,7 +379,9 @@ public final class Permissions {
      * @return  True if the permission was removed.
      */
     public static boolean remove(Plugin plugin, OfflinePlayer player, IPermission permission) {
-        return getProvider().remove(plugin, player, permission.getName());
+        boolean isChanged = getProvider().remove(plugin, player, permission.getName());
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -345,7 +397,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have world group support.
      */
     public static boolean remove(Plugin plugin, OfflinePlayer player, World world, String permissionName) {
-        return getWorldProvider().remove(plugin, player, world, permissionName);
+        boolean isChanged = getWorldProvider().remove(plugin, player, world, permissionName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -361,7 +415,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have world group support.
      */
     public static boolean remove(Plugin plugin, OfflinePlayer player, World world, IPermission permission) {
-        return getWorldProvider().remove(plugin, player, world, permission.getName());
+        boolean isChanged = getWorldProvider().remove(plugin, player, world, permission.getName());
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -376,7 +432,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have group support.
      */
     public static boolean addGroup(Plugin plugin, OfflinePlayer player, String groupName) {
-        return getGroupProvider().addGroup(plugin, player, groupName);
+        boolean isChanged = getGroupProvider().addGroup(plugin, player, groupName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -392,7 +450,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have world group support.
      */
     public static boolean addGroup(Plugin plugin, OfflinePlayer player, World world, String groupName) {
-        return getWorldGroupProvider().addGroup(plugin, player, world, groupName);
+        boolean isChanged = getWorldGroupProvider().addGroup(plugin, player, world, groupName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -407,7 +467,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have group support.
      */
     public static boolean removeGroup(Plugin plugin, OfflinePlayer player, String groupName) {
-        return getGroupProvider().removeGroup(plugin, player, groupName);
+        boolean isChanged = getGroupProvider().removeGroup(plugin, player, groupName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
@@ -423,7 +485,9 @@ public final class Permissions {
      * @throws java.lang.UnsupportedOperationException if permissions provider does not have world group support.
      */
     public static boolean removeGroup(Plugin plugin, OfflinePlayer player, World world, String groupName) {
-        return getWorldGroupProvider().removeGroup(plugin, player, world, groupName);
+        boolean isChanged = getWorldGroupProvider().removeGroup(plugin, player, world, groupName);
+        _cache.invalidate(player);
+        return isChanged;
     }
 
     /**
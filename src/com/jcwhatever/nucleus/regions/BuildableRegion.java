@@ -31,6 +31,7 @@ import com.jcwhatever.nucleus.regions.data.RegionChunkSection;
 import com.jcwhatever.nucleus.storage.IDataNode;
 import com.jcwhatever.nucleus.utils.observer.future.FutureSubscriber;
 import com.jcwhatever.nucleus.utils.observer.future.IFuture.FutureStatus;
+import com.jcwhatever.nucleus.utils.performance.BlockBatch;
 import com.jcwhatever.nucleus.utils.performance.queued.Iteration3DTask;
 import com.jcwhatever.nucleus.utils.performance.queued.QueueProject;
 import com.jcwhatever.nucleus.utils.performance.queued.QueueTask;
@@ -39,18 +40,14 @@ import com.jcwhatever.nucleus.utils.performance.queued.TaskConcurrency;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.ChunkSnapshot;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
 import org.bukkit.material.MaterialData;
 import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
-import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.List;
-import java.util.Queue;
 
 
 /**
@@ -202,7 +199,7 @@ public abstract class BuildableRegion extends Region {
 
         private final ChunkSnapshot snapshot;
         private final Chunk chunk;
-        private final Queue<BlockState> blocks;
+        private final BlockBatch blocks;
 
         public BuildChunkIterator (Region region, ChunkSnapshot snapshot, long segmentSize,
                                    int xStart, int yStart, int zStart,
@@ -210,26 +207,26 @@ public abstract class BuildableRegion extends Region {
 
             super(region.getPlugin(), TaskConcurrency.ASYNC, segmentSize, xStart, yStart, zStart, xEnd, yEnd, zEnd);
 
-            this.blocks = new ArrayDeque<>((int)this.getVolume());
             this.snapshot = snapshot;
 
             //noinspection ConstantConditions
             this.chunk = region.getWorld().getChunkAt(snapshot.getX(), snapshot.getZ());
+            this.blocks = new BlockBatch(chunk.getWorld(), 1);
         }
 
         @Override
         public void onIterateItem(int x, int y, int z) {
 
-            Material type = Material.getMaterial(snapshot.getBlockTypeId(x, y, z));
+            int typeId = snapshot.getBlockTypeId(x, y, z);
             int data = snapshot.getBlockData(x, y, z);
 
             Block block = chunk.getBlock(x, y, z);
-            BlockState state = block.getState();
 
-            if (state.getType() != type || (type != Material.AIR && state.getData().getData() != data)) {
-                state.setType(type);
-                state.setRawData((byte)data);
-                this.blocks.add(state);
+            //noinspection deprecation
+            int currentTypeId = block.getTypeId();
+
+            if (currentTypeId != typeId || (typeId != 0 && block.getData() != data)) {
+                this.blocks.add(block.getX(), y, block.getZ(), typeId, data);
             }
         }
 
@@ -241,18 +238,14 @@ public abstract class BuildableRegion extends Region {
         }
 
         /*
-         * Update block states for chunk all at once on the
+         * Apply block changes for chunk all at once on the
          * the main thread.
          */
         final class UpdateBlocks implements Runnable {
 
             @Override
             public final void run() {
-
-                while (!blocks.isEmpty()) {
-                    BlockState state = blocks.remove();
-                    state.update(true, false);
-                }
+                blocks.apply();
             }
         }
     }
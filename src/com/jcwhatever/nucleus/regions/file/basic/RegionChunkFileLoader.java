@@ -34,6 +34,8 @@ import com.jcwhatever.nucleus.utils.EnumUtils;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.ICoords2Di;
 import com.jcwhatever.nucleus.utils.file.BasicByteReader;
+import com.jcwhatever.nucleus.utils.file.IByteReader;
+import com.jcwhatever.nucleus.utils.file.NioByteReader;
 import com.jcwhatever.nucleus.utils.file.SerializableBlockEntity;
 import com.jcwhatever.nucleus.utils.file.SerializableFurnitureEntity;
 import com.jcwhatever.nucleus.utils.observer.future.IFuture;
@@ -48,9 +50,13 @@ import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.plugin.Plugin;
 
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import javax.annotation.Nullable;
 
 /**
@@ -59,7 +65,8 @@ import javax.annotation.Nullable;
 public class RegionChunkFileLoader {
 
     public static final int COMPATIBLE_FILE_VERSION = 3;
-    public static final int RESTORE_FILE_VERSION = 4;
+    public static final int LEGACY_FILE_VERSION = 4;
+    public static final int RESTORE_FILE_VERSION = 5;
 
     private Plugin _plugin;
     private IRegion _region;
@@ -166,7 +173,9 @@ public class RegionChunkFileLoader {
      */
     private final class LoadChunkIterator extends Iteration3DTask {
 
-        private BasicByteReader reader;
+        private IByteReader reader;
+        private Closeable stream;
+        private int fileVersion;
         private final ChunkSnapshot snapshot;
         private final File file;
         private final LoadType loadType;
@@ -197,19 +206,39 @@ public class RegionChunkFileLoader {
 
             try {
 
-                reader = new BasicByteReader(new FileInputStream(file));
+                FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+                stream = channel;
 
-                // Read restore file version
-                int restoreFileVersion = reader.getInteger();
+                // Read restore file version, always a fixed 4 byte integer
+                ByteBuffer version = ByteBuffer.allocate(4);
+                while (version.hasRemaining()) {
+                    if (channel.read(version) == -1)
+                        break;
+                }
+                version.flip();
+
+                int restoreFileVersion = version.remaining() == 4 ? version.getInt() : -1;
 
-                // make sure the file version is correct
-                if (restoreFileVersion != RESTORE_FILE_VERSION &&
-                        restoreFileVersion != COMPATIBLE_FILE_VERSION) {
+                // select the reader for the file version
+                if (restoreFileVersion == RESTORE_FILE_VERSION) {
+                    NioByteReader nioReader = new NioByteReader(channel);
+                    reader = nioReader;
+                    stream = nioReader;
+                }
+                else if (restoreFileVersion == LEGACY_FILE_VERSION ||
+                        restoreFileVersion == COMPATIBLE_FILE_VERSION) {
+                    BasicByteReader basicReader = new BasicByteReader(Channels.newInputStream(channel));
+                    reader = basicReader;
+                    stream = basicReader;
+                }
+                else {
                     cancel("Invalid region file. File version is not compatible.");
                     _isLoading = false;
                     return;
                 }
 
+                fileVersion = restoreFileVersion;
+
                 // get name of the region associated with the restore file
                 reader.getString();
 
@@ -255,20 +284,19 @@ public class RegionChunkFileLoader {
 
             try {
 
-                String typeName = reader.getSmallString();
-                if (typeName == null) {
-                    handleException(null, "Failed to read from file for chunk ({0}, {1}). " +
-                                    "Found a null block type in file.",
-                            snapshot.getX(), snapshot.getZ());
-                    return;
+                if (fileVersion == RESTORE_FILE_VERSION) {
+                    type = reader.getEnum(Material.class);
+                    if (type == null) {
+                        handleException(null, "Failed to read from file for chunk ({0}, {1}). " +
+                                        "Found a null block type in file.",
+                                snapshot.getX(), snapshot.getZ());
+                        return;
+                    }
                 }
-
-                type = EnumUtils.getEnum(typeName, Material.class);
-                if (type == null) {
-                    handleException(null, "Failed to read from file for chunk ({0}, {1}). " +
-                                    "Found a block type in file that is not a valid type: {2}",
-                            snapshot.getX(), snapshot.getZ(), typeName);
-                    return;
+                else {
+                    type = getLegacyType();
+                    if (type == null)
+                        return;
                 }
 
                 data = reader.getShort();
@@ -291,6 +319,30 @@ public class RegionChunkFileLoader {
             }
         }
 
+        /*
+         * Read a block type written by file versions that store the material name.
+         */
+        @Nullable
+        private Material getLegacyType() throws IOException {
+
+            String typeName = reader.getSmallString();
+            if (typeName == null) {
+                handleException(null, "Failed to read from file for chunk ({0}, {1}). " +
+                                "Found a null block type in file.",
+                        snapshot.getX(), snapshot.getZ());
+                return null;
+            }
+
+            Material type = EnumUtils.getEnum(typeName, Material.class);
+            if (type == null) {
+                handleException(null, "Failed to read from file for chunk ({0}, {1}). " +
+                                "Found a block type in file that is not a valid type: {2}",
+                        snapshot.getX(), snapshot.getZ(), typeName);
+            }
+
+            return type;
+        }
+
         /**
          * Read block entities and entities from file on successful completion
          * of loading blocks.
@@ -345,10 +397,10 @@ public class RegionChunkFileLoader {
 
         @Override
         protected void onEnd() {
-            if (reader != null) {
+            if (stream != null) {
                 try {
                     // close the file
-                    reader.close();
+                    stream.close();
                 }
                 catch (IOException e) {
                     handleException(e, "Failed to close region data file for chunk ({0}, {1}).",
@@ -28,7 +28,7 @@ import com.jcwhatever.nucleus.regions.IRegion;
 import com.jcwhatever.nucleus.regions.data.RegionChunkSection;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.IChunkCoords;
-import com.jcwhatever.nucleus.utils.file.BasicByteWriter;
+import com.jcwhatever.nucleus.utils.file.NioByteWriter;
 import com.jcwhatever.nucleus.utils.file.SerializableBlockEntity;
 import com.jcwhatever.nucleus.utils.file.SerializableFurnitureEntity;
 import com.jcwhatever.nucleus.utils.observer.future.FutureSubscriber;
@@ -48,8 +48,10 @@ import org.bukkit.plugin.Plugin;
 
 import javax.annotation.Nullable;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayDeque;
 import java.util.Queue;
 
@@ -58,7 +60,7 @@ import java.util.Queue;
  */
 public class RegionChunkFileWriter {
 
-    public static final int SAVE_FILE_VERSION = 4;
+    public static final int SAVE_FILE_VERSION = 5;
 
     private final Plugin _plugin;
     private final IRegion _region;
@@ -209,7 +211,7 @@ public class RegionChunkFileWriter {
      */
     private final class SaveChunkIterator extends Iteration3DTask {
 
-        private BasicByteWriter writer;
+        private NioByteWriter writer;
         private final File file;
 
         public SaveChunkIterator (File file, long segmentSize,
@@ -227,8 +229,19 @@ public class RegionChunkFileWriter {
         protected void onIterateBegin() {
 
             try {
-                writer = new BasicByteWriter(new FileOutputStream(file));
-                writer.write(SAVE_FILE_VERSION);
+                FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+
+                // write the file version as a fixed 4 byte integer so the loader
+                // can select a reader for the rest of the file
+                ByteBuffer version = ByteBuffer.allocate(4);
+                version.putInt(SAVE_FILE_VERSION).flip();
+
+                while (version.hasRemaining()) {
+                    channel.write(version);
+                }
+
+                writer = new NioByteWriter(channel);
 
                 // write region name
                 writer.write(_region.getName());
@@ -265,7 +278,7 @@ public class RegionChunkFileWriter {
             int ls = (light << 4) | skylight;
 
             try {
-                writer.writeSmallString(type.name());
+                writer.write(type);
                 writer.write((short)data);
                 writer.write((byte)ls);
             }
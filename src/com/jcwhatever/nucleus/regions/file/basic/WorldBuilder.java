@@ -24,16 +24,20 @@
 
 package com.jcwhatever.nucleus.regions.file.basic;
 
-import com.google.common.collect.Multimap;
-import com.google.common.collect.MultimapBuilder;
+import com.jcwhatever.nucleus.collections.LongHashMap;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.managed.scheduler.TaskHandler;
 import com.jcwhatever.nucleus.mixins.IPluginOwned;
 import com.jcwhatever.nucleus.regions.file.IRegionFileData;
 import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
 import com.jcwhatever.nucleus.utils.file.IAppliedSerializable;
 import com.jcwhatever.nucleus.utils.materials.Materials;
+import com.jcwhatever.nucleus.utils.performance.BlockBatch;
 import com.jcwhatever.nucleus.utils.performance.queued.QueueTask;
 import com.jcwhatever.nucleus.utils.performance.queued.TaskConcurrency;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -42,26 +46,64 @@ import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.List;
 import java.util.Queue;
-import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 
 /**
  * Builds region data into a world.
  *
  * <p>Basic implementation of {@link IRegionFileData}</p>
+ *
+ * <p>Blocks are streamed into the world while they are being added. Added blocks
+ * are collected into section sized buffers which are applied on the main thread,
+ * up to a maximum number of blocks per tick. When the maximum number of buffers
+ * are waiting to be applied, {@link #addBlock} blocks until the main thread catches
+ * up, so memory use does not depend on the size of the region. If the plugin is
+ * disabled while waiting, the task returned by {@link #commit} fails.</p>
+ *
+ * <p>The blocks applied in a tick are relit and resent per chunk. A chunk whose blocks
+ * are spread across several ticks is relit and resent once in each of them.</p>
  */
 public class WorldBuilder implements IRegionFileData, IPluginOwned {
 
+    /**
+     * The default maximum number of section buffers waiting to be applied.
+     */
+    public static final int DEFAULT_MAX_SECTIONS = 16;
+
+    /**
+     * The default maximum number of blocks applied per tick.
+     */
+    public static final int DEFAULT_BLOCKS_PER_TICK = 16384;
+
+    // number of blocks in a buffer, the volume of a chunk section.
+    private static final int SECTION_VOLUME = 4096;
+
     private final Plugin _plugin;
     private final World _world;
     private final Object _sync = new Object();
+    private final int _blocksPerTick;
+
+    // filled buffers and commit markers waiting to be applied on the main thread
+    private final BlockingQueue<SectionBuffer> _pending;
+
+    // applied buffers available for reuse
+    private final Queue<SectionBuffer> _free = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean _isApplying = new AtomicBoolean();
+
+    // main thread only
+    private final BlockBatch _batch;
 
     private Builder _builder;
+    private SectionBuffer _buffer;
 
     /**
      * Constructor.
@@ -70,12 +112,30 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
      * @param world        The world to build in.
      */
     public WorldBuilder(Plugin plugin, World world) {
+        this(plugin, world, DEFAULT_MAX_SECTIONS, DEFAULT_BLOCKS_PER_TICK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param plugin         The owning plugin.
+     * @param world          The world to build in.
+     * @param maxSections    The maximum number of section buffers waiting to be applied
+     *                       before adding blocks blocks the adding thread.
+     * @param blocksPerTick  The maximum number of blocks applied per tick.
+     */
+    public WorldBuilder(Plugin plugin, World world, int maxSections, int blocksPerTick) {
         PreCon.notNull(plugin);
         PreCon.notNull(world);
+        PreCon.greaterThanZero(maxSections);
+        PreCon.greaterThanZero(blocksPerTick);
 
         _plugin = plugin;
         _world = world;
-        _builder = new Builder(plugin, world);
+        _blocksPerTick = blocksPerTick;
+        _pending = new ArrayBlockingQueue<>(maxSections);
+        _batch = new BlockBatch(world);
+        _builder = new Builder(plugin);
     }
 
     @Override
@@ -89,9 +149,34 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
 
     @Override
     public void addBlock(int x, int y, int z, Material material, int data, int light, int skylight) {
+
+        SectionBuffer full = null;
+        Builder builder;
+
         synchronized (_sync) {
-            _builder.blockQueue.add(new BlockInfo(x, y, z, material, data));
+
+            builder = _builder;
+
+            // multi-blocks are restored individually after the streamed blocks
+            if (Materials.isMultiBlock(material)) {
+                _builder.multiBlocks.add(new BlockInfo(x, y, z, material, data));
+                return;
+            }
+
+            if (_buffer == null)
+                _buffer = getFreeBuffer();
+
+            //noinspection deprecation
+            _buffer.add(x, y, z, material.getId(), data);
+
+            if (_buffer.isFull()) {
+                full = _buffer;
+                _buffer = null;
+            }
         }
+
+        if (full != null)
+            submit(full, builder);
     }
 
     @Override
@@ -106,15 +191,192 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
     public QueueTask commit() {
 
         Builder builder;
+        SectionBuffer buffer;
 
         synchronized (_sync) {
             builder = _builder;
-            _builder = new Builder(getPlugin(), getWorld());
+            buffer = _buffer;
+            _builder = new Builder(getPlugin());
+            _buffer = null;
         }
 
+        if (buffer != null)
+            submit(buffer, builder);
+
+        // the builder is finished when the applier reaches the marker
+        submit(new SectionBuffer(builder), builder);
+
         return builder;
     }
 
+    /*
+     * Get a recycled buffer or create a new one.
+     */
+    private SectionBuffer getFreeBuffer() {
+        SectionBuffer buffer = _free.poll();
+        return buffer != null ? buffer : new SectionBuffer(null);
+    }
+
+    /*
+     * Add a buffer to the pending queue, waiting for space if the
+     * queue is full. The buffer is discarded if the builder it belongs to
+     * has failed.
+     */
+    private void submit(SectionBuffer buffer, Builder builder) {
+
+        if (builder.isEnded()) {
+            recycle(buffer);
+            return;
+        }
+
+        if (!_pending.offer(buffer)) {
+
+            if (Bukkit.isPrimaryThread()) {
+                // the applier runs on this thread, apply now instead of waiting
+                do {
+                    applyPending(Integer.MAX_VALUE);
+                } while (!_pending.offer(buffer));
+            }
+            else if (!putUninterruptibly(buffer)) {
+                recycle(buffer);
+                builder.failDisabled();
+                return;
+            }
+        }
+
+        if (_isApplying.compareAndSet(false, true))
+            Scheduler.runTaskRepeat(getPlugin(), 1, 1, new Applier());
+    }
+
+    /*
+     * Wait for space in the pending queue. Gives up and returns false if the
+     * plugin is disabled since the applier no longer runs.
+     */
+    private boolean putUninterruptibly(SectionBuffer buffer) {
+
+        boolean isInterrupted = false;
+        boolean isAdded = false;
+
+        while (_plugin.isEnabled()) {
+            try {
+                if (_pending.offer(buffer, 1, TimeUnit.SECONDS)) {
+                    isAdded = true;
+                    break;
+                }
+            }
+            catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+
+        if (isInterrupted)
+            Thread.currentThread().interrupt();
+
+        return isAdded;
+    }
+
+    /*
+     * Return a block buffer to the free queue.
+     */
+    private void recycle(SectionBuffer buffer) {
+        if (buffer.builder != null)
+            return;
+
+        buffer.clear();
+        _free.add(buffer);
+    }
+
+    /*
+     * Apply pending buffers on the main thread.
+     */
+    private void applyPending(int budget) {
+
+        while (budget > 0) {
+
+            SectionBuffer buffer = _pending.poll();
+            if (buffer == null)
+                break;
+
+            if (buffer.builder != null) {
+                // blocks before the marker must be in the world first
+                _batch.apply();
+                buffer.builder.setApplied();
+                continue;
+            }
+
+            buffer.addTo(_batch);
+            budget -= buffer.size;
+
+            recycle(buffer);
+        }
+
+        _batch.apply();
+    }
+
+    /*
+     * Applies pending buffers each tick until the queue is empty.
+     */
+    private class Applier extends TaskHandler {
+
+        @Override
+        public void run() {
+
+            applyPending(_blocksPerTick);
+
+            if (!_pending.isEmpty())
+                return;
+
+            cancelTask();
+            _isApplying.set(false);
+
+            // a buffer may have been submitted after the queue was checked
+            if (!_pending.isEmpty() && _isApplying.compareAndSet(false, true))
+                Scheduler.runTaskRepeat(getPlugin(), 1, 1, new Applier());
+        }
+    }
+
+    /*
+     * Primitive buffer of up to one section volume of blocks, or a marker
+     * indicating the blocks of a builder have all been submitted.
+     */
+    private static class SectionBuffer {
+
+        final Builder builder;
+        final long[] positions;
+        final int[] states;
+        int size;
+
+        SectionBuffer(@Nullable Builder builder) {
+            this.builder = builder;
+            this.positions = builder == null ? new long[SECTION_VOLUME] : null;
+            this.states = builder == null ? new int[SECTION_VOLUME] : null;
+        }
+
+        boolean isFull() {
+            return size == SECTION_VOLUME;
+        }
+
+        void add(int x, int y, int z, int typeId, int data) {
+            positions[size] = PackedCoords.pack(x, y, z);
+            states[size] = typeId << 4 | (data & 15);
+            size++;
+        }
+
+        void addTo(BlockBatch batch) {
+            for (int i = 0; i < size; i++) {
+                long position = positions[i];
+                int state = states[i];
+
+                batch.add(PackedCoords.getX(position), PackedCoords.getY(position),
+                        PackedCoords.getZ(position), state >> 4, state & 15);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+
     private static class BlockInfo implements Comparable<BlockInfo> {
 
         final int x;
@@ -139,47 +401,57 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
     }
 
     /*
-     * Restore blocks from blockInfo stack on the main thread.
+     * Restores multi-blocks and serializables on the main thread once the
+     * streamed blocks added before the commit have been applied.
      */
-    private static class Builder extends QueueTask {
+    private class Builder extends QueueTask {
 
-        World world;
-        Queue<BlockInfo> blockQueue = new ArrayDeque<>(512);
+        Queue<BlockInfo> multiBlocks = new ArrayDeque<>(10);
         Queue<IAppliedSerializable> serializables = new ArrayDeque<>(100);
 
+        // main thread only
+        boolean isApplied;
+
         /**
          * Constructor.
          *
          * @param plugin  The owning plugin.
-         * @param world   The world to build in.
          */
-        public Builder(Plugin plugin, World world) {
+        public Builder(Plugin plugin) {
             super(plugin, TaskConcurrency.MAIN_THREAD);
-
-            this.world = world;
         }
 
         @Override
         protected void onRun() {
 
-            Deque<BlockInfo> multiBlocks = new ArrayDeque<>(blockQueue.size());
+            // completed when the applier reaches the commit marker
+            if (isApplied)
+                finish();
+        }
+
+        /*
+         * Invoked when blocks cannot be submitted because the plugin
+         * is disabled.
+         */
+        void failDisabled() {
+            fail("Plugin disabled before the region was built.");
+        }
 
-            while (!blockQueue.isEmpty()) {
-                BlockInfo info = blockQueue.remove();
+        /*
+         * Invoked by the applier when the commit marker is reached.
+         */
+        void setApplied() {
+            isApplied = true;
 
-                // skip multi-blocks and restore afterwards
-                if (Materials.isMultiBlock(info.material)) {
-                    multiBlocks.add(info);
-                    continue;
-                }
+            if (isRunning())
+                finish();
+        }
 
-                restoreBlock(info);
-            }
+        private void finish() {
 
             // Restore block Pairs
-            // keyed to block x, y z value as a string
-            Multimap<String, BlockInfo> placedMultiBlocks =
-                    MultimapBuilder.hashKeys(multiBlocks.size()).hashSetValues(3).build();
+            // keyed to packed block coordinates of the first block in the pair
+            LongHashMap<List<BlockInfo>> placedMultiBlocks = new LongHashMap<>(multiBlocks.size());
 
             // Get block pairs
             while (!multiBlocks.isEmpty()) {
@@ -189,34 +461,25 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
                 int y = info.y;
                 int z = info.z;
 
-                String lowerKey = getKey(x, y - 1, z);
-                Collection<BlockInfo> lowerBlock = placedMultiBlocks.get(lowerKey);
-
+                List<BlockInfo> lowerBlock = placedMultiBlocks.get(PackedCoords.pack(x, y - 1, z));
                 if (lowerBlock != null) {
-                    placedMultiBlocks.put(lowerKey, info);
+                    lowerBlock.add(info);
                     continue;
                 }
 
-                String upperKey = getKey(x, y + 1, z);
-                Collection<BlockInfo> upperBlock = placedMultiBlocks.get(upperKey);
+                List<BlockInfo> upperBlock = placedMultiBlocks.get(PackedCoords.pack(x, y + 1, z));
                 if (upperBlock != null) {
-                    placedMultiBlocks.put(upperKey, info);
+                    upperBlock.add(info);
                     continue;
                 }
 
-                placedMultiBlocks.put(getKey(x, y, z), info);
+                List<BlockInfo> pair = new ArrayList<>(3);
+                pair.add(info);
+                placedMultiBlocks.put(PackedCoords.pack(x, y, z), pair);
             }
 
             // Restore pairs
-            Set<String> keys = placedMultiBlocks.keySet();
-
-            for (String key : keys) {
-
-                Collection<BlockInfo> multiBlockSetSet = placedMultiBlocks.get(key);
-                if (multiBlockSetSet == null)
-                    continue;
-
-                List<BlockInfo> multiBlockSet = new ArrayList<>(multiBlockSetSet);
+            for (List<BlockInfo> multiBlockSet : placedMultiBlocks.values()) {
 
                 Collections.sort(multiBlockSet);
 
@@ -234,13 +497,6 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
             complete();
         }
 
-        /*
-         * Get a block map key using its coordinates
-         */
-        private String getKey(int x, int y, int z) {
-            return String.valueOf(x) + '.' + y + '.' + z;
-        }
-
         /*
          * Restore a block
          */
@@ -250,7 +506,7 @@ public class WorldBuilder implements IRegionFileData, IPluginOwned {
             int y = info.y;
             int z = info.z;
 
-            Block block = this.world.getBlockAt(x, y, z);
+            Block block = getWorld().getBlockAt(x, y, z);
             BlockState state = block.getState();
 
             state.setType(info.material);
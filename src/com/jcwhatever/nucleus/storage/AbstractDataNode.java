@@ -84,6 +84,7 @@ public abstract class AbstractDataNode implements IDataNode {
     protected final ReadLock _read;
     protected final WriteLock _write;
     protected final Set<AbstractDataNode> _dirtyNodes;
+    private final DecodedValueCache _decoded;
 
     /**
      * Constructor for the root node.
@@ -95,6 +96,7 @@ public abstract class AbstractDataNode implements IDataNode {
         _root = this;
         _parentPath = null;
         _dirtyNodes = new HashSet<>(5);
+        _decoded = new DecodedValueCache();
 
         ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
         _read = lock.readLock();
@@ -126,6 +128,7 @@ public abstract class AbstractDataNode implements IDataNode {
         _root = root;
         _parentPath = getParentPath(path);
         _dirtyNodes = null;
+        _decoded = null;
     }
 
     @Override
@@ -330,6 +333,14 @@ public abstract class AbstractDataNode implements IDataNode {
     @Override
     public UUID getUUID(String keyPath, @Nullable UUID def) {
 
+        String fullPath = getFullPath(keyPath);
+        DecodedValueCache decoded = _root._decoded;
+
+        Object cached = decoded.get(fullPath);
+        if (cached instanceof UUID)
+            return (UUID) cached;
+
+        long version = decoded.getVersion();
         Object value = getStringObject(keyPath);
 
         if (value instanceof UUID) {
@@ -337,8 +348,10 @@ public abstract class AbstractDataNode implements IDataNode {
         }
         else if (value instanceof String) {
             UUID result = TextUtils.parseUUID((String)value);
-            if (result != null)
+            if (result != null) {
+                decoded.put(fullPath, result, version);
                 return result;
+            }
         }
 
         if (def != null && isDefaultsSaved())
@@ -382,14 +395,26 @@ public abstract class AbstractDataNode implements IDataNode {
     @Override
     public SyncLocation getLocation(String keyPath, @Nullable Location def) {
 
+        String fullPath = getFullPath(keyPath);
+        DecodedValueCache decoded = _root._decoded;
+
+        // locations are mutable, return a copy of the cached location
+        Object cached = decoded.get(fullPath);
+        if (cached instanceof SyncLocation)
+            return new SyncLocation((SyncLocation) cached);
+
+        long version = decoded.getVersion();
         Object value = getStringObject(keyPath);
+
         if (value instanceof Location) {
             return new SyncLocation((Location) value);
         }
         else if (value instanceof String) {
             SyncLocation location = LocationUtils.parseLocation((String) value);
-            if (location != null)
-                return location;
+            if (location != null) {
+                decoded.put(fullPath, location, version);
+                return new SyncLocation(location);
+            }
         }
 
         if (def == null)
@@ -420,6 +445,15 @@ public abstract class AbstractDataNode implements IDataNode {
     @Override
     public ItemStack[] getItemStacks(String keyPath, @Nullable ItemStack[] def) {
 
+        String fullPath = getFullPath(keyPath);
+        DecodedValueCache decoded = _root._decoded;
+
+        // item stacks are mutable, return copies of the cached item stacks
+        Object cached = decoded.get(fullPath);
+        if (cached instanceof ItemStack[])
+            return copyItemStacks((ItemStack[]) cached);
+
+        long version = decoded.getVersion();
         Object value = getStringObject(keyPath);
 
         if (value instanceof ItemStack) {
@@ -437,7 +471,11 @@ public abstract class AbstractDataNode implements IDataNode {
                     str = str.substring(14);
                 }
 
-                return ItemStackUtils.parse(str);
+                ItemStack[] result = ItemStackUtils.parse(str);
+                if (result != null) {
+                    decoded.put(fullPath, result, version);
+                    return copyItemStacks(result);
+                }
             } catch (InvalidItemStackStringException ignore) {}
         }
 
@@ -457,6 +495,14 @@ public abstract class AbstractDataNode implements IDataNode {
     @Override
     public <T extends Enum<T>> T getEnum(String keyPath, @Nullable T def, Class<T> enumClass) {
 
+        String fullPath = getFullPath(keyPath);
+        DecodedValueCache decoded = _root._decoded;
+
+        Object cached = decoded.get(fullPath);
+        if (enumClass.isInstance(cached))
+            return enumClass.cast(cached);
+
+        long version = decoded.getVersion();
         Object value = getStringObject(keyPath);
 
         if (enumClass.isInstance(value)) {
@@ -468,8 +514,10 @@ public abstract class AbstractDataNode implements IDataNode {
         }
         else if (value instanceof String) {
             T result = EnumUtils.searchEnum((String) value, enumClass);
-            if (result != null)
+            if (result != null) {
+                decoded.put(fullPath, result, version);
                 return result;
+            }
         }
 
         if (def != null && isDefaultsSaved())
@@ -482,6 +530,14 @@ public abstract class AbstractDataNode implements IDataNode {
     @Override
     public Enum<?> getEnumGeneric(String keyPath, @Nullable Enum<?> def, Class<? extends Enum<?>> enumClass) {
 
+        String fullPath = getFullPath(keyPath);
+        DecodedValueCache decoded = _root._decoded;
+
+        Object cached = decoded.get(fullPath);
+        if (enumClass.isInstance(cached))
+            return (Enum<?>) cached;
+
+        long version = decoded.getVersion();
         Object value = getStringObject(keyPath);
 
         if (enumClass.isInstance(value)) {
@@ -492,7 +548,12 @@ public abstract class AbstractDataNode implements IDataNode {
             return result;
         }
         else if (value instanceof String) {
-            return EnumUtils.searchGenericEnum((String) value, enumClass, def);
+            Enum<?> result = EnumUtils.searchGenericEnum((String) value, enumClass, null);
+            if (result != null) {
+                decoded.put(fullPath, result, version);
+                return result;
+            }
+            return def;
         }
 
         if (def != null && isDefaultsSaved())
@@ -649,6 +710,27 @@ public abstract class AbstractDataNode implements IDataNode {
         return get(keyPath);
     }
 
+    /**
+     * To be invoked by implementation when the value of a key path is
+     * changed or removed so cached decoded values are discarded.
+     *
+     * <p>Discards the cached values of the key path, its sub paths and
+     * its parent paths.</p>
+     *
+     * @param fullPath  The full path from the root node.
+     */
+    protected void invalidateDecoded(String fullPath) {
+        _root._decoded.invalidate(fullPath);
+    }
+
+    /**
+     * To be invoked by implementation when the node data is loaded or
+     * replaced so all cached decoded values are discarded.
+     */
+    protected void clearDecoded() {
+        _root._decoded.clear();
+    }
+
     /**
      * Get the full path from the root node of the
      * specified path relative to the current node.
@@ -733,6 +815,15 @@ public abstract class AbstractDataNode implements IDataNode {
         _root._dirtyNodes.clear();
     }
 
+    // copy cached item stacks so callers can modify the result.
+    private static ItemStack[] copyItemStacks(ItemStack[] items) {
+        ItemStack[] result = new ItemStack[items.length];
+        for (int i = 0; i < items.length; i++) {
+            result[i] = items[i] != null ? items[i].clone() : null;
+        }
+        return result;
+    }
+
     // mark all parents as dirty without adding them
     // to the auto save pool.
     private void parentDirty() {
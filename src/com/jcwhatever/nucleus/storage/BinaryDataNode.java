@@ -0,0 +1,738 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage;
+
+import com.jcwhatever.nucleus.internal.NucMsg;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.storage.serialize.IDataNodeSerializable;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.coords.LocationUtils;
+import com.jcwhatever.nucleus.utils.items.ItemStackUtils;
+import com.jcwhatever.nucleus.utils.observer.future.FutureAgent;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture;
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * A binary data node backed by an append only log file and a memory mapped index.
+ *
+ * <p>Unlike the YAML and JSON data nodes, the data is not loaded into memory. Values
+ * and child node names are read from disk when requested and each modification is
+ * appended to the log, so saving only has to flush what was appended. This makes the
+ * node suitable for large data sets such as per player data.</p>
+ *
+ * <p>The log is compacted in the background after a save once most of it is made of
+ * replaced or removed values.</p>
+ *
+ * <p>Values are stored as strings, booleans, numbers, string arrays or lists of
+ * strings, booleans and numbers. Other values are converted the same way as in the
+ * YAML and JSON data nodes. Collections that contain other collections or arrays
+ * cannot be stored and are rejected with an {@link IllegalArgumentException}.</p>
+ */
+public class BinaryDataNode extends AbstractDataNode {
+
+    /**
+     * The file extension of binary data log files.
+     */
+    public static final String LOG_EXTENSION = BinaryLogStore.LOG_EXTENSION;
+
+    /**
+     * Convert a {@link DataPath} instance to a {@link java.io.File} which
+     * points to a binary log file.
+     *
+     * @param plugin    The owning plugin. Used to determine the base
+     *                  path of the file.
+     * @param dataPath  The {@link DataPath} to convert.
+     */
+    public static File dataPathToFile(Plugin plugin, DataPath dataPath) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(dataPath);
+
+        File yamlFile = YamlDataNode.dataPathToFile(plugin, dataPath);
+        String name = yamlFile.getName();
+        name = name.substring(0, name.length() - ".yml".length());
+
+        return new File(yamlFile.getParentFile(), name + LOG_EXTENSION);
+    }
+
+    /**
+     * Get the index file of a log file.
+     *
+     * @param logFile  The log file.
+     */
+    public static File getIndexFile(File logFile) {
+        PreCon.notNull(logFile);
+
+        String name = logFile.getName();
+        if (name.endsWith(LOG_EXTENSION))
+            name = name.substring(0, name.length() - LOG_EXTENSION.length());
+
+        return new File(logFile.getParentFile(), name + BinaryLogStore.INDEX_EXTENSION);
+    }
+
+    private final Plugin _plugin;
+    private final BinaryDataNode _root;
+
+    // instantiated on root only
+    private final BinaryLogStore _store;
+    private volatile boolean _isCompacting;
+
+    /**
+     * Constructor.
+     *
+     * @param plugin       The owning plugin.
+     * @param storagePath  The storage path.
+     */
+    public BinaryDataNode(Plugin plugin, DataPath storagePath) {
+        this(plugin, dataPathToFile(plugin, storagePath));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param plugin   The owning plugin.
+     * @param logFile  The log file. The index file is stored in the same directory.
+     */
+    public BinaryDataNode(Plugin plugin, File logFile) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(logFile);
+
+        _plugin = plugin;
+        _root = this;
+        _store = new BinaryLogStore(logFile, getIndexFile(logFile));
+    }
+
+    /**
+     * Private constructor. Used for creating child nodes.
+     *
+     * @param root  The root node.
+     * @param path  The full node path.
+     */
+    private BinaryDataNode(BinaryDataNode root, String path) {
+        super(root, path);
+
+        _plugin = root.getPlugin();
+        _root = root;
+        _store = null;
+    }
+
+    @Override
+    public Plugin getPlugin() {
+        return _plugin;
+    }
+
+    @Override
+    public BinaryDataNode getRoot() {
+        return _root;
+    }
+
+    @Override
+    public boolean isRoot() {
+        return _root == this;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return _root._store.isOpen();
+    }
+
+    @Override
+    public boolean load() {
+
+        _root._write.lock();
+        try {
+            _root._store.open();
+            clearDecoded();
+            return true;
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        finally {
+            _root._write.unlock();
+        }
+
+        NucMsg.severe("The data file '{0}' failed to load.", _root._store.getLogFile().getName());
+
+        return false;
+    }
+
+    /**
+     * Flush and close the data files.
+     *
+     * <p>The node is no longer loaded until {@link #load} is invoked again.</p>
+     *
+     * @return  True if the files were closed without error.
+     */
+    public boolean close() {
+
+        _root._write.lock();
+        try {
+            _root._store.close();
+            cleanAll();
+            return true;
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        finally {
+            _root._write.unlock();
+        }
+    }
+
+    @Override
+    public IFuture loadAsync() {
+
+        final FutureAgent agent = new FutureAgent();
+
+        Scheduler.runTaskLaterAsync(_plugin, 1, new Runnable() {
+            @Override
+            public void run() {
+                if (load()) {
+                    agent.success();
+                }
+                else {
+                    agent.error("Failed to load data file.");
+                }
+            }
+        });
+
+        return agent.getFuture();
+    }
+
+    @Override
+    public boolean saveSync() {
+
+        if (!isLoaded())
+            return false;
+
+        _root._write.lock();
+        try {
+            _root._store.flush();
+            cleanAll();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        finally {
+            _root._write.unlock();
+        }
+
+        if (_root._store.isCompactNeeded() && !_root._isCompacting && _plugin.isEnabled()) {
+            _root._isCompacting = true;
+
+            Scheduler.runTaskLaterAsync(_plugin, 1, new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        _root.compact();
+                    }
+                    finally {
+                        _root._isCompacting = false;
+                    }
+                }
+            });
+        }
+
+        return true;
+    }
+
+    @Override
+    public IFuture save() {
+        return DataNodeSaveQueue.save(_root);
+    }
+
+    @Override
+    public boolean saveSync(File destination) {
+        PreCon.notNull(destination);
+
+        if (!isLoaded())
+            return false;
+
+        File indexFile = getIndexFile(destination);
+        if (indexFile.exists() && !indexFile.delete())
+            return false;
+
+        if (destination.exists() && !destination.delete())
+            return false;
+
+        BinaryLogStore target = new BinaryLogStore(destination, indexFile);
+
+        _root._read.lock();
+        try {
+            target.open();
+            _root._store.copyTo(target);
+            target.close();
+            return true;
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        finally {
+            _root._read.unlock();
+        }
+    }
+
+    @Override
+    public IFuture save(final File destination) {
+        PreCon.notNull(destination);
+
+        final FutureAgent agent = new FutureAgent();
+
+        if (!_plugin.isEnabled()) {
+            return saveSync(destination) ? agent.success() : agent.error("Error while saving.");
+        }
+
+        Scheduler.runTaskLaterAsync(_plugin, 1, new Runnable() {
+            @Override
+            public void run() {
+
+                final boolean isSuccess = saveSync(destination);
+
+                Scheduler.runTaskSync(_plugin, new Runnable() {
+                    @Override
+                    public void run() {
+
+                        if (isSuccess) {
+                            agent.success();
+                        } else {
+                            agent.error("Failed to save data to file.");
+                        }
+                    }
+                });
+            }
+        });
+
+        return agent.getFuture();
+    }
+
+    @Override
+    public AutoSaveMode getDefaultAutoSaveMode() {
+        return AutoSaveMode.DISABLED;
+    }
+
+    @Override
+    public int size() {
+        return getSubNodeNames(new HashSet<String>(10)).size();
+    }
+
+    @Override
+    public boolean hasNode(String nodePath) {
+        PreCon.notNull(nodePath);
+
+        if (!isLoaded())
+            return false;
+
+        _root._read.lock();
+        try {
+            return _root._store.has(getFullPath(nodePath));
+        }
+        finally {
+            _root._read.unlock();
+        }
+    }
+
+    @Override
+    public IDataNode getNode(String nodePath) {
+        PreCon.notNull(nodePath);
+
+        String fullPath = getFullPath(nodePath);
+        if (fullPath.isEmpty())
+            return _root;
+
+        return new BinaryDataNode(_root, fullPath);
+    }
+
+    @Override
+    public Collection<String> getSubNodeNames() {
+        return getSubNodeNames("", new HashSet<String>(10));
+    }
+
+    @Override
+    public <T extends Collection<String>> T getSubNodeNames(T output) {
+        return getSubNodeNames("", output);
+    }
+
+    @Override
+    public Collection<String> getSubNodeNames(String nodePath) {
+        return getSubNodeNames(nodePath, new HashSet<String>(10));
+    }
+
+    @Override
+    public <T extends Collection<String>> T getSubNodeNames(String nodePath, T output) {
+        PreCon.notNull(nodePath);
+        PreCon.notNull(output);
+
+        if (!isLoaded())
+            return output;
+
+        _root._read.lock();
+        try {
+            return _root._store.getChildNames(getFullPath(nodePath), output);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return output;
+        }
+        finally {
+            _root._read.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+
+        if (!isLoaded())
+            return;
+
+        String fullPath = getFullPath("");
+
+        markDirty();
+        invalidateDecoded(fullPath);
+
+        _root._write.lock();
+        try {
+            for (String name : _root._store.getChildNames(fullPath, new HashSet<String>(10))) {
+                _root._store.remove(fullPath.isEmpty() ? name : fullPath + '.' + name);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        finally {
+            _root._write.unlock();
+        }
+    }
+
+    @Override
+    public void remove() {
+        if (isRoot())
+            throw new UnsupportedOperationException("Cannot remove the root node.");
+
+        _root.remove(getFullPath(""));
+    }
+
+    @Override
+    public void remove(String nodePath) {
+        PreCon.notNull(nodePath);
+
+        if (isRoot() && nodePath.isEmpty())
+            throw new UnsupportedOperationException("Cannot remove the root node.");
+
+        set(nodePath, null);
+    }
+
+    @Override
+    public Map<String, Object> getAllValues() {
+
+        Map<String, Object> result = new HashMap<>(20);
+
+        if (!isLoaded())
+            return result;
+
+        _root._read.lock();
+        try {
+            getAllValues(getFullPath(""), "", result);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        finally {
+            _root._read.unlock();
+        }
+
+        return result;
+    }
+
+    @Nullable
+    @Override
+    public Object get(String keyPath) {
+        PreCon.notNull(keyPath);
+
+        if (!isLoaded())
+            return null;
+
+        _root._read.lock();
+        try {
+            return _root._store.get(getFullPath(keyPath));
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+        finally {
+            _root._read.unlock();
+        }
+    }
+
+    @Override
+    public boolean set(String keyPath, @Nullable Object value) {
+        PreCon.notNull(keyPath);
+
+        if (!isLoaded())
+            return false;
+
+        String fullPath = getFullPath(keyPath);
+
+        if (value instanceof IDataNodeSerializable) {
+
+            IDataNode dataNode = getNode(keyPath);
+            dataNode.clear();
+
+            IDataNodeSerializable serializable = (IDataNodeSerializable)value;
+            serializable.serialize(dataNode);
+            return true;
+        }
+
+        if (value != null && fullPath.isEmpty())
+            return false;
+
+        markDirty();
+        invalidateDecoded(fullPath);
+
+        if (value != null)
+            value = convert(value);
+
+        _root._write.lock();
+        try {
+            if (value == null) {
+                _root._store.remove(fullPath);
+            }
+            else {
+                _root._store.set(fullPath, value);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        finally {
+            _root._write.unlock();
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return _root._store.hashCode() ^ _rawPath.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof BinaryDataNode) {
+            BinaryDataNode other = (BinaryDataNode)obj;
+            return other._root == _root &&
+                    other._rawPath.equals(_rawPath);
+        }
+        return false;
+    }
+
+    /*
+     * Write a compacted copy of the log and replace the current files with it.
+     */
+    private void compact() {
+
+        File logFile = _store.getLogFile();
+        File tempLog = new File(logFile.getParentFile(), logFile.getName() + ".compact");
+        File tempIndex = getIndexFile(tempLog);
+
+        BinaryLogStore target = new BinaryLogStore(tempLog, tempIndex);
+        BinaryLogStore snapshot;
+        long copied;
+
+        // snapshot the log position and index
+        _write.lock();
+        try {
+            if (!_store.isOpen())
+                return;
+
+            snapshot = _store.snapshot();
+            copied = _store.length();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        finally {
+            _write.unlock();
+        }
+
+        // copy from the snapshot without holding the lock
+        try {
+            if (tempLog.exists() && !tempLog.delete())
+                return;
+
+            if (tempIndex.exists() && !tempIndex.delete())
+                return;
+
+            target.open();
+            snapshot.copyTo(target);
+        }
+        catch (IOException | IllegalStateException e) {
+            // the store may have been closed during the copy
+            closeQuietly(target);
+            if (_store.isOpen())
+                e.printStackTrace();
+            return;
+        }
+        finally {
+            snapshot.release();
+        }
+
+        // apply changes made during the copy and swap files
+        _write.lock();
+        try {
+            if (!_store.isOpen()) {
+                closeQuietly(target);
+                return;
+            }
+
+            _store.copyTail(copied, target);
+            target.close();
+            _store.replaceWith(target);
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            closeQuietly(target);
+
+            NucMsg.severe("Failed to compact data file '{0}'.", logFile.getName());
+        }
+        finally {
+            _write.unlock();
+        }
+    }
+
+    /*
+     * Recursively collect values from the store.
+     */
+    private void getAllValues(String fullPath, String relativePath,
+                              Map<String, Object> output) throws IOException {
+
+        for (String name : _store.getChildNames(fullPath, new HashSet<String>(10))) {
+
+            String childFull = fullPath.isEmpty() ? name : fullPath + '.' + name;
+            String childRelative = relativePath.isEmpty() ? name : relativePath + '.' + name;
+
+            Object value = _store.get(childFull);
+            if (value != null) {
+                output.put(childRelative, value);
+            }
+            else {
+                getAllValues(childFull, childRelative, output);
+            }
+        }
+    }
+
+    private static void closeQuietly(BinaryLogStore store) {
+        try {
+            store.close();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /*
+     * Convert a value to a type that can be stored.
+     */
+    private static Object convert(Object value) {
+
+        if (BinaryLogStore.isSupported(value))
+            return value;
+
+        if (value instanceof UUID) {
+            return String.valueOf(value);
+        }
+        else if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        else if (value instanceof Location) {
+            return LocationUtils.serialize((Location) value, 3);
+        }
+        else if (value instanceof ItemStack) {
+            return ItemStackUtils.serialize((ItemStack) value);
+        }
+        else if (value instanceof ItemStack[]) {
+            return ItemStackUtils.serialize((ItemStack[]) value);
+        }
+        else if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        else if (value instanceof Collection) {
+
+            Collection<?> collection = (Collection<?>)value;
+            List<Object> list = new ArrayList<>(collection.size());
+
+            for (Object element : collection) {
+
+                if (element != null && !BinaryLogStore.isSupportedElement(element)) {
+
+                    if (element instanceof Collection || element.getClass().isArray()) {
+                        throw new IllegalArgumentException(
+                                "Nested collections and arrays cannot be stored in a binary data node.");
+                    }
+
+                    element = convert(element);
+                }
+
+                list.add(element);
+            }
+
+            return list;
+        }
+        else if (value.getClass().isArray()) {
+
+            int size = Array.getLength(value);
+            String[] array = new String[size];
+
+            for (int i = 0; i < size; i++) {
+                Object element = Array.get(value, i);
+                array[i] = element == null ? null : String.valueOf(element);
+            }
+
+            return array;
+        }
+
+        return String.valueOf(value);
+    }
+}
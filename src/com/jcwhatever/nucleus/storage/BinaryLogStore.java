@@ -0,0 +1,1347 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+
+/**
+ * Append only record log with a memory mapped hash index.
+ *
+ * <p>Used by {@link BinaryDataNode}. Every modification is appended to the log
+ * file as a record. The index file is an open addressing hash table of
+ * (key hash, record offset) slots that is memory mapped so the keys and values
+ * of the store are never held on the heap as a whole.</p>
+ *
+ * <p>The store has two kinds of keys. A value key is the full path of a node
+ * and points to the value of the node. A node key is the full path prefixed
+ * with {@link #NODE_PREFIX} and points to the newest record of the chain of
+ * child name changes of the node. Child names are resolved by walking the chain
+ * backwards, so adding a child never re-writes the existing child names.</p>
+ *
+ * <p>Replaced and removed records remain in the log until the store is
+ * compacted. Compaction writes a new log that contains only the reachable
+ * records with each child chain collapsed into a single record.</p>
+ *
+ * <p>The store is not thread safe. Reads may be performed concurrently, writes
+ * must be exclusive.</p>
+ */
+final class BinaryLogStore {
+
+    static final String LOG_EXTENSION = ".kvlog";
+    static final String INDEX_EXTENSION = ".kvidx";
+
+    static final char NODE_PREFIX = '\u0001';
+
+    // record types
+    private static final byte RECORD_VALUE = 1;
+    private static final byte RECORD_DELETE = 2;
+    private static final byte RECORD_CHILD = 3;
+    private static final byte RECORD_CHILD_LIST = 4;
+
+    // value tags
+    private static final byte TAG_NULL = 0; // list elements only
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LONG = 4;
+    private static final byte TAG_DOUBLE = 5;
+    private static final byte TAG_FLOAT = 6;
+    private static final byte TAG_SHORT = 7;
+    private static final byte TAG_BYTE = 8;
+    private static final byte TAG_STRING_ARRAY = 9;
+    private static final byte TAG_LIST = 10;
+
+    // record header: body length, crc
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    // index header: magic, version, capacity, size, tombstones, dirty, log length, garbage
+    private static final int INDEX_MAGIC = 0x4E4B5649;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_SIZE = 64;
+    private static final int SLOT_SIZE = 16;
+    private static final int MIN_CAPACITY = 1024;
+    private static final long SLOT_REMOVED = -1;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int VALUE_CACHE_SIZE = 1024;
+
+    private static final long MIN_COMPACT_GARBAGE = 1024 * 1024;
+
+    private final File _logFile;
+    private final File _indexFile;
+
+    private RandomAccessFile _logAccess;
+    private FileChannel _log;
+    private RandomAccessFile _indexAccess;
+    private ByteBuffer _index; // mapped
+
+    // temporary index copy of a snapshot view
+    private File _snapshotFile;
+
+    private int _capacity;
+    private int _size;
+    private int _tombstones;
+    private long _garbage;
+    private boolean _isIndexDirty;
+
+    // appended records not yet written to the log file
+    private byte[] _pending = new byte[WRITE_BUFFER_SIZE];
+    private int _pendingSize;
+    private long _pendingStart;
+
+    private final Map<String, Object> _valueCache =
+            new LinkedHashMap<String, Object>(VALUE_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                    return size() > VALUE_CACHE_SIZE;
+                }
+            };
+
+    /**
+     * Constructor.
+     *
+     * <p>The store must be opened before use.</p>
+     *
+     * @param logFile    The log file.
+     * @param indexFile  The index file.
+     */
+    BinaryLogStore(File logFile, File indexFile) {
+        _logFile = logFile;
+        _indexFile = indexFile;
+    }
+
+    /**
+     * Get the log file.
+     */
+    File getLogFile() {
+        return _logFile;
+    }
+
+    /**
+     * Determine if the store is open.
+     */
+    boolean isOpen() {
+        return _log != null;
+    }
+
+    /**
+     * Open the store, creating the files if they do not exist.
+     *
+     * <p>The index is rebuilt from the log if it is missing or was not
+     * flushed when the store was last used.</p>
+     *
+     * @throws IOException
+     */
+    void open() throws IOException {
+
+        if (isOpen())
+            close();
+
+        _logAccess = new RandomAccessFile(_logFile, "rw");
+        _log = _logAccess.getChannel();
+        _pendingStart = _log.size();
+        _pendingSize = 0;
+
+        boolean isIndexValid = _indexFile.exists() && _indexFile.length() >= INDEX_HEADER_SIZE;
+
+        _indexAccess = new RandomAccessFile(_indexFile, "rw");
+
+        if (isIndexValid) {
+            mapIndex((int)Math.max(0, (_indexAccess.length() - INDEX_HEADER_SIZE) / SLOT_SIZE));
+
+            isIndexValid = _index.getInt(0) == INDEX_MAGIC &&
+                    _index.getInt(4) == INDEX_VERSION &&
+                    _index.getInt(8) == _capacity &&
+                    _index.getInt(20) == 0 &&
+                    _index.getLong(24) <= _pendingStart;
+        }
+
+        if (isIndexValid) {
+            _size = _index.getInt(12);
+            _tombstones = _index.getInt(16);
+            _garbage = _index.getLong(32);
+
+            // records appended after the last flush
+            replay(_index.getLong(24));
+        }
+        else {
+            _index = null;
+            _indexAccess.setLength(0);
+            mapIndex(MIN_CAPACITY);
+            _size = 0;
+            _tombstones = 0;
+            _garbage = 0;
+            _isIndexDirty = true;
+            replay(0);
+        }
+
+        if (_isIndexDirty) {
+            flush();
+        }
+        else {
+            writeIndexHeader();
+        }
+    }
+
+    /**
+     * Write buffered records to disk and mark the index as consistent
+     * with the log.
+     *
+     * @throws IOException
+     */
+    void flush() throws IOException {
+        if (!isOpen())
+            return;
+
+        writePending();
+        _log.force(false);
+
+        _isIndexDirty = false;
+        writeIndexHeader();
+        ((MappedByteBuffer)_index).force();
+    }
+
+    /**
+     * Flush and close the store.
+     *
+     * @throws IOException
+     */
+    void close() throws IOException {
+        if (!isOpen())
+            return;
+
+        try {
+            flush();
+        }
+        finally {
+            _log.close();
+            _logAccess.close();
+            _indexAccess.close();
+            _log = null;
+            _logAccess = null;
+            _indexAccess = null;
+            _index = null;
+
+            synchronized (_valueCache) {
+                _valueCache.clear();
+            }
+        }
+    }
+
+    /**
+     * Determine if enough of the log is made of replaced or removed records
+     * that it should be compacted.
+     */
+    boolean isCompactNeeded() {
+        long length = _pendingStart + _pendingSize;
+        return _garbage >= MIN_COMPACT_GARBAGE && _garbage * 2 >= length;
+    }
+
+    /**
+     * Determine if a value or node exists at the specified path.
+     *
+     * @param path  The full path.
+     */
+    boolean has(String path) {
+        return find(path) != -1 || find(NODE_PREFIX + path) != -1;
+    }
+
+    /**
+     * Get the value at the specified path.
+     *
+     * @param path  The full path.
+     *
+     * @return  The value or null if the path does not have a value.
+     *
+     * @throws IOException
+     */
+    @Nullable
+    Object get(String path) throws IOException {
+
+        synchronized (_valueCache) {
+            Object cached = _valueCache.get(path);
+            if (cached != null)
+                return copyValue(cached);
+        }
+
+        long offset = find(path);
+        if (offset == -1)
+            return null;
+
+        Record record = readRecord(offset);
+        Object value = decodeValue(record.bytes, record.payload);
+
+        synchronized (_valueCache) {
+            _valueCache.put(path, value);
+        }
+
+        return copyValue(value);
+    }
+
+    /**
+     * Get the names of the child nodes of a node.
+     *
+     * @param path    The full path of the node.
+     * @param output  The output collection.
+     *
+     * @throws IOException
+     */
+    <T extends Collection<String>> T getChildNames(String path, T output) throws IOException {
+
+        long offset = find(NODE_PREFIX + path);
+        if (offset == -1)
+            return output;
+
+        Set<String> resolved = new HashSet<>(10);
+
+        while (offset != -1) {
+
+            Record record = readRecord(offset);
+            DataInputStream stream = record.payloadStream();
+
+            if (record.type == RECORD_CHILD_LIST) {
+
+                int total = stream.readInt();
+                for (int i = 0; i < total; i++) {
+                    String name = stream.readUTF();
+                    if (resolved.add(name))
+                        output.add(name);
+                }
+                break;
+            }
+
+            offset = stream.readLong();
+            boolean isAdded = stream.readBoolean();
+            String name = stream.readUTF();
+
+            // newer records take precedence
+            if (resolved.add(name) && isAdded)
+                output.add(name);
+        }
+
+        return output;
+    }
+
+    /**
+     * Set the value of a path.
+     *
+     * <p>Any child nodes of the path are removed and missing parent nodes
+     * are created.</p>
+     *
+     * @param path   The full path.
+     * @param value  The value. Must be a type supported by {@link #encodeValue}.
+     *
+     * @throws IOException
+     */
+    void set(String path, Object value) throws IOException {
+
+        byte[] payload = encodeValue(value);
+
+        boolean exists = has(path);
+
+        if (find(NODE_PREFIX + path) != -1)
+            removeTree(path);
+
+        append(RECORD_VALUE, path, payload);
+
+        if (!exists)
+            link(path);
+    }
+
+    /**
+     * Remove the value and child nodes of a path.
+     *
+     * @param path  The full path.
+     *
+     * @throws IOException
+     */
+    void remove(String path) throws IOException {
+
+        if (path.isEmpty()) {
+            for (String name : getChildNames("", new HashSet<String>(10))) {
+                remove(name);
+            }
+            return;
+        }
+
+        if (!has(path))
+            return;
+
+        removeTree(path);
+
+        int index = path.lastIndexOf('.');
+        String parent = index == -1 ? "" : path.substring(0, index);
+        String name = path.substring(index + 1);
+
+        appendChild(parent, name, false);
+    }
+
+    /**
+     * Write a compacted copy of the store to another store.
+     *
+     * <p>Only records reachable from the root are copied and child chains
+     * are collapsed.</p>
+     *
+     * @param target  The open target store.
+     *
+     * @throws IOException
+     */
+    void copyTo(BinaryLogStore target) throws IOException {
+        copyTree("", target);
+    }
+
+    /**
+     * Create a read-only view of the store as it is at the current log length.
+     *
+     * <p>Buffered records are written to the log file first. The view reads
+     * from the same log file channel but uses its own copy of the index, so it
+     * can be read while the store is appended to. Records are never modified
+     * once written, so the view stays consistent until the store is closed
+     * or replaced.</p>
+     *
+     * <p>The index is copied into a temporary memory mapped file next to the
+     * index file, so the copy is not held on the heap.</p>
+     *
+     * <p>The view must not be written to or closed. Invoke {@link #release} on
+     * the view when it is no longer needed.</p>
+     *
+     * @throws IOException
+     */
+    BinaryLogStore snapshot() throws IOException {
+
+        writePending();
+
+        ByteBuffer source = _index.duplicate();
+        source.clear();
+
+        File indexCopy = File.createTempFile(_indexFile.getName() + ".snapshot-", ".tmp",
+                _indexFile.getAbsoluteFile().getParentFile());
+
+        RandomAccessFile copyAccess = null;
+        ByteBuffer index;
+
+        try {
+            copyAccess = new RandomAccessFile(indexCopy, "rw");
+            copyAccess.setLength(source.capacity());
+
+            // mapped to mapped copy, never touches the heap
+            index = copyAccess.getChannel().map(MapMode.READ_WRITE, 0, source.capacity());
+            index.put(source);
+        }
+        catch (IOException e) {
+            if (copyAccess != null)
+                copyAccess.close();
+
+            //noinspection ResultOfMethodCallIgnored
+            indexCopy.delete();
+            throw e;
+        }
+
+        BinaryLogStore view = new BinaryLogStore(_logFile, _indexFile);
+        view._log = _log;
+        view._index = index;
+        view._indexAccess = copyAccess;
+        view._snapshotFile = indexCopy;
+        view._capacity = _capacity;
+        view._size = _size;
+        view._tombstones = _tombstones;
+        view._garbage = _garbage;
+        view._pendingStart = _pendingStart;
+
+        return view;
+    }
+
+    /**
+     * Release the temporary index copy of a view created by {@link #snapshot}.
+     *
+     * <p>Does nothing if the store is not a snapshot view.</p>
+     */
+    void release() {
+
+        if (_snapshotFile == null)
+            return;
+
+        _index = null;
+        _log = null;
+
+        try {
+            _indexAccess.close();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        _indexAccess = null;
+
+        // a mapped file cannot be deleted on some platforms until it is unmapped
+        if (!_snapshotFile.delete())
+            _snapshotFile.deleteOnExit();
+
+        _snapshotFile = null;
+    }
+
+    /**
+     * Get the current length of the log including buffered records.
+     */
+    long length() {
+        return _pendingStart + _pendingSize;
+    }
+
+    /**
+     * Copy records appended to the log after the specified position into
+     * another store.
+     *
+     * <p>Used to apply modifications made while a compacted copy was being
+     * written.</p>
+     *
+     * @param start   The log position to start from.
+     * @param target  The open target store.
+     *
+     * @throws IOException
+     */
+    void copyTail(long start, BinaryLogStore target) throws IOException {
+
+        long position = start;
+        long end = length();
+
+        while (position < end) {
+
+            Record record = readRecord(position);
+
+            switch (record.type) {
+                case RECORD_CHILD:
+                    DataInputStream stream = record.payloadStream();
+                    stream.readLong();
+                    boolean isAdded = stream.readBoolean();
+                    String name = stream.readUTF();
+                    target.appendChild(record.key.substring(1), name, isAdded);
+                    break;
+                default:
+                    target.append(record.type, record.key,
+                            copyPayload(record));
+                    break;
+            }
+
+            position += record.length;
+        }
+    }
+
+    /**
+     * Replace the files of the store with the files of another closed store
+     * and re-open.
+     *
+     * @param source  The closed store whose files replace the current files.
+     *
+     * @throws IOException
+     */
+    void replaceWith(BinaryLogStore source) throws IOException {
+
+        close();
+
+        move(source._indexFile, _indexFile);
+        move(source._logFile, _logFile);
+
+        open();
+    }
+
+    /*
+     * Remove the value, child nodes and child chain of a path without
+     * unlinking it from its parent.
+     */
+    private void removeTree(String path) throws IOException {
+
+        if (find(path) != -1)
+            append(RECORD_DELETE, path, new byte[0]);
+
+        String nodeKey = NODE_PREFIX + path;
+        if (find(nodeKey) == -1)
+            return;
+
+        for (String name : getChildNames(path, new HashSet<String>(10))) {
+            removeTree(path + '.' + name);
+        }
+
+        append(RECORD_DELETE, nodeKey, new byte[0]);
+    }
+
+    /*
+     * Add a path that did not exist to the child chains of its parents.
+     */
+    private void link(String path) throws IOException {
+
+        while (!path.isEmpty()) {
+
+            int index = path.lastIndexOf('.');
+            String parent = index == -1 ? "" : path.substring(0, index);
+            String name = path.substring(index + 1);
+
+            boolean isParentLinked = parent.isEmpty() || has(parent);
+
+            // a value cannot have child nodes
+            if (!parent.isEmpty() && find(parent) != -1)
+                append(RECORD_DELETE, parent, new byte[0]);
+
+            appendChild(parent, name, true);
+
+            if (isParentLinked)
+                return;
+
+            path = parent;
+        }
+    }
+
+    /*
+     * Copy a node and its children into another store.
+     */
+    private void copyTree(String path, BinaryLogStore target) throws IOException {
+
+        if (!path.isEmpty()) {
+            long offset = find(path);
+            if (offset != -1) {
+                Record record = readRecord(offset);
+                target.append(RECORD_VALUE, path, copyPayload(record));
+            }
+        }
+
+        if (find(NODE_PREFIX + path) == -1)
+            return;
+
+        Set<String> names = getChildNames(path, new HashSet<String>(10));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(names.size() * 16 + 4);
+        DataOutputStream stream = new DataOutputStream(buffer);
+        stream.writeInt(names.size());
+        for (String name : names) {
+            stream.writeUTF(name);
+        }
+
+        target.append(RECORD_CHILD_LIST, NODE_PREFIX + path, buffer.toByteArray());
+
+        for (String name : names) {
+            copyTree(path.isEmpty() ? name : path + '.' + name, target);
+        }
+    }
+
+    /*
+     * Append a child add or remove record to the child chain of a node.
+     */
+    private void appendChild(String parent, String name, boolean isAdded) throws IOException {
+
+        String nodeKey = NODE_PREFIX + parent;
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(name.length() + 16);
+        DataOutputStream stream = new DataOutputStream(buffer);
+        stream.writeLong(find(nodeKey));
+        stream.writeBoolean(isAdded);
+        stream.writeUTF(name);
+
+        byte[] payload = buffer.toByteArray();
+
+        if (!isAdded) {
+            // the removed record and the record it cancels
+            _garbage += (RECORD_HEADER_SIZE + payload.length) * 2;
+        }
+
+        append(RECORD_CHILD, nodeKey, payload);
+    }
+
+    /*
+     * Append a record to the log and update the index.
+     */
+    private long append(byte type, String key, byte[] payload) throws IOException {
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int bodyLength = 1 + 2 + keyBytes.length + payload.length;
+        int recordLength = RECORD_HEADER_SIZE + bodyLength;
+
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        body.put(type);
+        body.putShort((short)keyBytes.length);
+        body.put(keyBytes);
+        body.put(payload);
+
+        CRC32 crc = new CRC32();
+        crc.update(body.array(), 0, bodyLength);
+
+        if (_pendingSize + recordLength > _pending.length)
+            writePending();
+
+        if (recordLength > _pending.length)
+            _pending = new byte[recordLength];
+
+        long offset = _pendingStart + _pendingSize;
+
+        ByteBuffer.wrap(_pending, _pendingSize, recordLength)
+                .putInt(bodyLength)
+                .putInt((int)crc.getValue())
+                .put(body.array());
+
+        _pendingSize += recordLength;
+
+        markIndexDirty();
+
+        synchronized (_valueCache) {
+            _valueCache.remove(key);
+        }
+
+        if (type == RECORD_DELETE) {
+            _garbage += recordLength;
+            removeIndex(key);
+        }
+        else {
+            putIndex(key, offset, type != RECORD_CHILD);
+        }
+
+        return offset;
+    }
+
+    /*
+     * Write buffered records to the log file.
+     */
+    private void writePending() throws IOException {
+
+        if (_pendingSize == 0)
+            return;
+
+        ByteBuffer buffer = ByteBuffer.wrap(_pending, 0, _pendingSize);
+        long position = _pendingStart;
+
+        while (buffer.hasRemaining()) {
+            position += _log.write(buffer, position);
+        }
+
+        _pendingStart += _pendingSize;
+        _pendingSize = 0;
+
+        if (_pending.length > WRITE_BUFFER_SIZE)
+            _pending = new byte[WRITE_BUFFER_SIZE];
+    }
+
+    /*
+     * Read records from the log starting at the specified position and
+     * apply them to the index. A partially written record at the end of
+     * the log is truncated.
+     */
+    private void replay(long position) throws IOException {
+
+        long end = _log.size();
+
+        while (position < end) {
+
+            Record record;
+            try {
+                record = readRecord(position);
+            }
+            catch (IOException e) {
+                // incomplete or corrupt tail
+                _log.truncate(position);
+                break;
+            }
+
+            if (record.type == RECORD_DELETE) {
+                _garbage += record.length;
+                removeIndex(record.key);
+            }
+            else {
+                putIndex(record.key, position, record.type != RECORD_CHILD);
+            }
+
+            position += record.length;
+            _isIndexDirty = true;
+        }
+
+        _pendingStart = position;
+    }
+
+    /*
+     * Read the record at the specified log position.
+     */
+    private Record readRecord(long offset) throws IOException {
+
+        byte[] header = read(offset, RECORD_HEADER_SIZE);
+        ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+
+        int bodyLength = headerBuffer.getInt();
+        int checksum = headerBuffer.getInt();
+
+        if (bodyLength < 3)
+            throw new IOException("Invalid record length at " + offset);
+
+        byte[] body = read(offset + RECORD_HEADER_SIZE, bodyLength);
+
+        CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+
+        if ((int)crc.getValue() != checksum)
+            throw new IOException("Record checksum mismatch at " + offset);
+
+        ByteBuffer bodyBuffer = ByteBuffer.wrap(body);
+        byte type = bodyBuffer.get();
+        int keyLength = bodyBuffer.getShort() & 0xFFFF;
+        String key = new String(body, 3, keyLength, StandardCharsets.UTF_8);
+
+        return new Record(type, key, body, 3 + keyLength, RECORD_HEADER_SIZE + bodyLength);
+    }
+
+    /*
+     * Read bytes from the log or the write buffer.
+     */
+    private byte[] read(long offset, int length) throws IOException {
+
+        byte[] result = new byte[length];
+
+        if (offset >= _pendingStart) {
+            int start = (int)(offset - _pendingStart);
+            if (start + length > _pendingSize)
+                throw new EOFException();
+
+            System.arraycopy(_pending, start, result, 0, length);
+            return result;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(result);
+        long position = offset;
+
+        while (buffer.hasRemaining()) {
+            int read = _log.read(buffer, position);
+            if (read == -1)
+                throw new EOFException();
+
+            position += read;
+        }
+
+        return result;
+    }
+
+    /*
+     * Find the log offset of the record of a key.
+     */
+    private long find(String key) {
+
+        long hash = hash(key);
+        int mask = _capacity - 1;
+        int slot = (int)hash & mask;
+
+        for (int i = 0; i < _capacity; i++) {
+
+            int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+            long slotHash = _index.getLong(position);
+
+            if (slotHash == 0)
+                return -1;
+
+            if (slotHash == hash) {
+                long offset = _index.getLong(position + 8);
+                if (offset != SLOT_REMOVED && key.equals(readKey(offset)))
+                    return offset;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    /*
+     * Set the log offset of a key in the index.
+     */
+    private void putIndex(String key, long offset, boolean isReplacedGarbage) throws IOException {
+
+        if ((_size + _tombstones + 1) * 10L > _capacity * 7L)
+            resizeIndex();
+
+        long hash = hash(key);
+        int mask = _capacity - 1;
+        int slot = (int)hash & mask;
+        int free = -1;
+
+        while (true) {
+
+            int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+            long slotHash = _index.getLong(position);
+
+            if (slotHash == 0)
+                break;
+
+            if (slotHash == hash) {
+                long current = _index.getLong(position + 8);
+
+                if (current == SLOT_REMOVED) {
+                    if (free == -1)
+                        free = slot;
+                }
+                else if (key.equals(readKey(current))) {
+
+                    if (isReplacedGarbage)
+                        _garbage += readRecordLength(current);
+
+                    _index.putLong(position + 8, offset);
+                    return;
+                }
+            }
+            else if (free == -1 && _index.getLong(position + 8) == SLOT_REMOVED) {
+                free = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (free != -1) {
+            slot = free;
+            _tombstones--;
+        }
+
+        int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+        _index.putLong(position, hash);
+        _index.putLong(position + 8, offset);
+        _size++;
+    }
+
+    /*
+     * Remove a key from the index.
+     */
+    private void removeIndex(String key) throws IOException {
+
+        long hash = hash(key);
+        int mask = _capacity - 1;
+        int slot = (int)hash & mask;
+
+        for (int i = 0; i < _capacity; i++) {
+
+            int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+            long slotHash = _index.getLong(position);
+
+            if (slotHash == 0)
+                return;
+
+            if (slotHash == hash) {
+                long offset = _index.getLong(position + 8);
+                if (offset != SLOT_REMOVED && key.equals(readKey(offset))) {
+
+                    _garbage += readRecordLength(offset);
+                    _index.putLong(position + 8, SLOT_REMOVED);
+                    _size--;
+                    _tombstones++;
+                    return;
+                }
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /*
+     * Grow the index or clear its tombstones.
+     */
+    private void resizeIndex() throws IOException {
+
+        int total = 0;
+
+        for (int i = 0; i < _capacity; i++) {
+            int position = INDEX_HEADER_SIZE + i * SLOT_SIZE;
+            if (_index.getLong(position) != 0 && _index.getLong(position + 8) != SLOT_REMOVED)
+                total++;
+        }
+
+        long[] hashes = new long[total];
+        long[] offsets = new long[total];
+        total = 0;
+
+        for (int i = 0; i < _capacity; i++) {
+            int position = INDEX_HEADER_SIZE + i * SLOT_SIZE;
+            long hash = _index.getLong(position);
+            long offset = _index.getLong(position + 8);
+
+            if (hash != 0 && offset != SLOT_REMOVED) {
+                hashes[total] = hash;
+                offsets[total] = offset;
+                total++;
+            }
+        }
+
+        int capacity = _capacity;
+        while ((total + 1) * 2L > capacity) {
+            capacity *= 2;
+        }
+
+        _index = null;
+        _indexAccess.setLength(0);
+        mapIndex(capacity);
+
+        int mask = capacity - 1;
+
+        for (int i = 0; i < total; i++) {
+            int slot = (int)hashes[i] & mask;
+
+            while (_index.getLong(INDEX_HEADER_SIZE + slot * SLOT_SIZE) != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            int position = INDEX_HEADER_SIZE + slot * SLOT_SIZE;
+            _index.putLong(position, hashes[i]);
+            _index.putLong(position + 8, offsets[i]);
+        }
+
+        _size = total;
+        _tombstones = 0;
+        _isIndexDirty = true;
+        writeIndexHeader();
+    }
+
+    /*
+     * Map the index file with the specified slot capacity.
+     */
+    private void mapIndex(int capacity) throws IOException {
+        _capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, capacity)));
+
+        long size = INDEX_HEADER_SIZE + (long)_capacity * SLOT_SIZE;
+        _indexAccess.setLength(size);
+        _index = _indexAccess.getChannel().map(MapMode.READ_WRITE, 0, size);
+    }
+
+    /*
+     * Mark the index as not consistent with the log until the next flush.
+     */
+    private void markIndexDirty() throws IOException {
+        if (_isIndexDirty)
+            return;
+
+        _isIndexDirty = true;
+        writeIndexHeader();
+        ((MappedByteBuffer)_index).force();
+    }
+
+    private void writeIndexHeader() {
+        _index.putInt(0, INDEX_MAGIC);
+        _index.putInt(4, INDEX_VERSION);
+        _index.putInt(8, _capacity);
+        _index.putInt(12, _size);
+        _index.putInt(16, _tombstones);
+        _index.putInt(20, _isIndexDirty ? 1 : 0);
+        _index.putLong(24, _pendingStart + _pendingSize);
+        _index.putLong(32, _garbage);
+    }
+
+    /*
+     * Read only the key of the record at the specified log position.
+     */
+    private String readKey(long offset) {
+        try {
+            byte[] prefix = read(offset + RECORD_HEADER_SIZE, 3);
+            int keyLength = ((prefix[1] & 0xFF) << 8) | (prefix[2] & 0xFF);
+            byte[] key = read(offset + RECORD_HEADER_SIZE + 3, keyLength);
+            return new String(key, StandardCharsets.UTF_8);
+        }
+        catch (IOException e) {
+            throw new IllegalStateException("Failed to read key from data log.", e);
+        }
+    }
+
+    private int readRecordLength(long offset) throws IOException {
+        return RECORD_HEADER_SIZE + ByteBuffer.wrap(read(offset, 4)).getInt();
+    }
+
+    private static byte[] copyPayload(Record record) {
+        byte[] payload = new byte[record.bytes.length - record.payload];
+        System.arraycopy(record.bytes, record.payload, payload, 0, payload.length);
+        return payload;
+    }
+
+    private static void move(File source, File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /*
+     * 64-bit FNV-1a hash of a key. Zero is reserved for empty slots.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        hash ^= (hash >>> 32);
+
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Determine if a value can be stored without conversion.
+     *
+     * <p>Lists are supported if all of their elements are null or supported
+     * scalar values, see {@link #isSupportedElement}.</p>
+     *
+     * @param value  The value to check.
+     */
+    static boolean isSupported(Object value) {
+
+        if (value instanceof List) {
+            for (Object element : (List<?>)value) {
+                if (!isSupportedElement(element))
+                    return false;
+            }
+            return true;
+        }
+
+        return isSupportedElement(value) || value instanceof String[];
+    }
+
+    /**
+     * Determine if a value can be stored as a list element.
+     *
+     * @param value  The value to check.
+     */
+    static boolean isSupportedElement(@Nullable Object value) {
+        return value == null ||
+                value instanceof String || value instanceof Boolean ||
+                value instanceof Integer || value instanceof Long ||
+                value instanceof Double || value instanceof Float ||
+                value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * Encode a value.
+     *
+     * @param value  The value. Must be a type accepted by {@link #isSupported}.
+     *
+     * @throws IOException
+     * @throws IllegalArgumentException if the value is not supported.
+     */
+    static byte[] encodeValue(Object value) throws IOException {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16);
+        DataOutputStream stream = new DataOutputStream(buffer);
+
+        if (value instanceof List) {
+            List<?> list = (List<?>)value;
+            stream.writeByte(TAG_LIST);
+            stream.writeInt(list.size());
+            for (Object element : list) {
+                if (element == null) {
+                    stream.writeByte(TAG_NULL);
+                }
+                else if (!isSupportedElement(element) || !writeScalar(stream, element)) {
+                    throw new IllegalArgumentException(
+                            "Unsupported list element type: " + element.getClass().getName());
+                }
+            }
+        }
+        else if (value instanceof String[]) {
+            String[] array = (String[])value;
+            stream.writeByte(TAG_STRING_ARRAY);
+            stream.writeInt(array.length);
+            for (String element : array) {
+                stream.writeBoolean(element != null);
+                if (element != null)
+                    writeString(stream, element);
+            }
+        }
+        else if (!writeScalar(stream, value)) {
+            throw new IllegalArgumentException("Unsupported value type: " + value.getClass().getName());
+        }
+
+        return buffer.toByteArray();
+    }
+
+    /*
+     * Write a tagged scalar value. Returns false if the value is not a scalar.
+     */
+    private static boolean writeScalar(DataOutputStream stream, Object value) throws IOException {
+
+        if (value instanceof String) {
+            stream.writeByte(TAG_STRING);
+            writeString(stream, (String)value);
+        }
+        else if (value instanceof Boolean) {
+            stream.writeByte(TAG_BOOLEAN);
+            stream.writeBoolean((Boolean)value);
+        }
+        else if (value instanceof Integer) {
+            stream.writeByte(TAG_INT);
+            stream.writeInt((Integer) value);
+        }
+        else if (value instanceof Long) {
+            stream.writeByte(TAG_LONG);
+            stream.writeLong((Long) value);
+        }
+        else if (value instanceof Double) {
+            stream.writeByte(TAG_DOUBLE);
+            stream.writeDouble((Double) value);
+        }
+        else if (value instanceof Float) {
+            stream.writeByte(TAG_FLOAT);
+            stream.writeFloat((Float) value);
+        }
+        else if (value instanceof Short) {
+            stream.writeByte(TAG_SHORT);
+            stream.writeShort((Short) value);
+        }
+        else if (value instanceof Byte) {
+            stream.writeByte(TAG_BYTE);
+            stream.writeByte((Byte) value);
+        }
+        else {
+            return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Decode a value.
+     */
+    private static Object decodeValue(byte[] bytes, int offset) throws IOException {
+
+        DataInputStream stream = new DataInputStream(
+                new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+
+        return readValue(stream);
+    }
+
+    /*
+     * Read a tagged value.
+     */
+    private static Object readValue(DataInputStream stream) throws IOException {
+
+        byte tag = stream.readByte();
+        switch (tag) {
+            case TAG_STRING:
+                return readString(stream);
+            case TAG_BOOLEAN:
+                return stream.readBoolean();
+            case TAG_INT:
+                return stream.readInt();
+            case TAG_LONG:
+                return stream.readLong();
+            case TAG_DOUBLE:
+                return stream.readDouble();
+            case TAG_FLOAT:
+                return stream.readFloat();
+            case TAG_SHORT:
+                return stream.readShort();
+            case TAG_BYTE:
+                return stream.readByte();
+            case TAG_STRING_ARRAY:
+                String[] array = new String[stream.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = stream.readBoolean() ? readString(stream) : null;
+                }
+                return array;
+            case TAG_LIST:
+                int size = stream.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(stream));
+                }
+                return list;
+            case TAG_NULL:
+                return null;
+            default:
+                throw new IOException("Unknown value tag: " + tag);
+        }
+    }
+
+    // arrays and lists are the only mutable value types
+    private static Object copyValue(Object value) {
+
+        if (value instanceof String[])
+            return ((String[])value).clone();
+
+        if (value instanceof List)
+            return new ArrayList<>((List<?>)value);
+
+        return value;
+    }
+
+    // strings are length prefixed with an int instead of writeUTF's
+    // unsigned short to allow values larger than 64KB.
+    private static void writeString(DataOutputStream stream, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    private static String readString(DataInputStream stream) throws IOException {
+        byte[] bytes = new byte[stream.readInt()];
+        stream.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /*
+     * A record read from the log.
+     */
+    private static class Record {
+        final byte type;
+        final String key;
+        final byte[] bytes;
+        final int payload;
+        final int length;
+
+        Record(byte type, String key, byte[] bytes, int payload, int length) {
+            this.type = type;
+            this.key = key;
+            this.bytes = bytes;
+            this.payload = payload;
+            this.length = length;
+        }
+
+        DataInputStream payloadStream() {
+            return new DataInputStream(
+                    new ByteArrayInputStream(bytes, payload, bytes.length - payload));
+        }
+    }
+}
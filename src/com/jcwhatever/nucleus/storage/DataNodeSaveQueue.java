@@ -0,0 +1,157 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
+import com.jcwhatever.nucleus.utils.observer.future.FutureAgent;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Coalesces asynchronous data node saves.
+ *
+ * <p>Save requests made within the same interval are collected and flushed by a single
+ * asynchronous task. Each root node is saved once per flush regardless of how many
+ * times it was requested. Results are returned to the futures on the main thread.</p>
+ *
+ * <p>NucleusFramework flushes the queue when it is disabled.</p>
+ */
+public final class DataNodeSaveQueue {
+
+    private static final int FLUSH_INTERVAL_TICKS = 20;
+
+    private static final Map<IDataNode, List<FutureAgent>> _queue = new LinkedHashMap<>(10);
+    private static boolean _isFlushScheduled;
+
+    private DataNodeSaveQueue() {}
+
+    /**
+     * Queue a root data node to be saved on the next flush.
+     *
+     * <p>If the plugin is not enabled, the node is saved immediately.</p>
+     *
+     * @param dataNode  The root data node.
+     *
+     * @return  A future to receive the save result.
+     */
+    static IFuture save(IDataNode dataNode) {
+
+        FutureAgent agent = new FutureAgent();
+
+        if (!dataNode.getPlugin().isEnabled() || !Nucleus.getPlugin().isEnabled()) {
+            return dataNode.saveSync()
+                    ? agent.success()
+                    : agent.error("Error while saving.");
+        }
+
+        synchronized (_queue) {
+
+            List<FutureAgent> agents = _queue.get(dataNode);
+            if (agents == null) {
+                agents = new ArrayList<>(3);
+                _queue.put(dataNode, agents);
+            }
+            agents.add(agent);
+
+            if (!_isFlushScheduled) {
+                _isFlushScheduled = true;
+                Scheduler.runTaskLaterAsync(Nucleus.getPlugin(), FLUSH_INTERVAL_TICKS, new Flush());
+            }
+        }
+
+        return agent.getFuture();
+    }
+
+    /**
+     * Immediately save all queued nodes on the current thread.
+     *
+     * <p>When invoked from the main thread, results are returned to the
+     * futures before the method returns.</p>
+     */
+    public static void flush() {
+        new Flush().run();
+    }
+
+    private static class Flush implements Runnable {
+
+        @Override
+        public void run() {
+
+            List<Entry<IDataNode, List<FutureAgent>>> entries;
+
+            synchronized (_queue) {
+                entries = new ArrayList<>(_queue.entrySet());
+                _queue.clear();
+                _isFlushScheduled = false;
+            }
+
+            if (entries.isEmpty())
+                return;
+
+            final List<FutureAgent> succeeded = new ArrayList<>(entries.size());
+            final List<FutureAgent> failed = new ArrayList<>(0);
+
+            for (Entry<IDataNode, List<FutureAgent>> entry : entries) {
+
+                boolean isSaved = entry.getKey().saveSync();
+                if (isSaved) {
+                    succeeded.addAll(entry.getValue());
+                }
+                else {
+                    failed.addAll(entry.getValue());
+                }
+            }
+
+            Runnable results = new Runnable() {
+                @Override
+                public void run() {
+
+                    for (FutureAgent agent : succeeded) {
+                        agent.success();
+                    }
+
+                    for (FutureAgent agent : failed) {
+                        agent.error("Error while saving.");
+                    }
+                }
+            };
+
+            // return results on main thread, tasks cannot be scheduled while disabling
+            if (Bukkit.isPrimaryThread()) {
+                results.run();
+            }
+            else {
+                Scheduler.runTaskSync(Nucleus.getPlugin(), results);
+            }
+        }
+    }
+}
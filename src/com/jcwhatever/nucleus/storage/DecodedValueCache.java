@@ -0,0 +1,139 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage;
+
+import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of values decoded from a data node's raw stored values,
+ * keyed by full key path from the root node.
+ *
+ * <p>Lookups are a single hash lookup. Cached key paths are also kept in sorted
+ * order so a write to a key path can invalidate the key path, its sub paths
+ * and its parent paths without scanning the whole cache.</p>
+ */
+class DecodedValueCache {
+
+    // character after the path separator, used as exclusive end of sub path ranges.
+    private static final char PATH_END = '.' + 1;
+
+    private final Map<String, Object> _values = new ConcurrentHashMap<>(35);
+    private final NavigableSet<String> _keys = new ConcurrentSkipListSet<>();
+    private final AtomicLong _version = new AtomicLong();
+
+    /**
+     * Get the current invalidation version.
+     *
+     * <p>Read before reading the raw value that will be decoded and pass to
+     * {@link #put} so a value decoded during a concurrent write is not kept.</p>
+     */
+    long getVersion() {
+        return _version.get();
+    }
+
+    /**
+     * Get a cached decoded value.
+     *
+     * @param fullPath  The full key path.
+     *
+     * @return  The value or null if not cached.
+     */
+    @Nullable
+    Object get(String fullPath) {
+        return _values.get(fullPath);
+    }
+
+    /**
+     * Cache a decoded value.
+     *
+     * @param fullPath  The full key path.
+     * @param value     The decoded value.
+     * @param version   The version returned by {@link #getVersion} before the raw value was read.
+     */
+    void put(String fullPath, Object value, long version) {
+        if (_values.put(fullPath, value) == null)
+            _keys.add(fullPath);
+
+        // invalidated while decoding
+        if (_version.get() != version)
+            remove(fullPath);
+    }
+
+    /**
+     * Invalidate the cached values of a key path, its sub paths
+     * and its parent paths.
+     *
+     * @param fullPath  The full key path.
+     */
+    void invalidate(String fullPath) {
+
+        _version.incrementAndGet();
+
+        if (_values.isEmpty())
+            return;
+
+        if (fullPath.isEmpty()) {
+            clear();
+            return;
+        }
+
+        remove(fullPath);
+
+        // sub paths
+        Iterator<String> iterator = _keys.subSet(
+                fullPath + '.', true, fullPath + PATH_END, false).iterator();
+
+        while (iterator.hasNext()) {
+            _values.remove(iterator.next());
+            iterator.remove();
+        }
+
+        // parent paths
+        int index = fullPath.length();
+        while ((index = fullPath.lastIndexOf('.', index - 1)) > 0) {
+            remove(fullPath.substring(0, index));
+        }
+    }
+
+    /**
+     * Clear all cached values.
+     */
+    void clear() {
+        _version.incrementAndGet();
+        _values.clear();
+        _keys.clear();
+    }
+
+    private void remove(String fullPath) {
+        if (_values.remove(fullPath) != null)
+            _keys.remove(fullPath);
+    }
+}
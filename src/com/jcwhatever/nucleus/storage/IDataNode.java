@@ -43,6 +43,10 @@ import java.util.UUID;
 
 /**
  * Represents a key/value data storage node.
+ *
+ * <p>Values decoded from stored strings by the typed getters (locations, item stacks,
+ * enums and UUID's) are cached per key by the root node until the key is set, removed
+ * or the node is loaded again. Mutable values are returned as copies.</p>
  */
 public interface IDataNode extends Iterable<IDataNode>, ILoadable, IPluginOwned {
 
@@ -49,7 +49,6 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.io.IOException;
 import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
@@ -203,6 +202,7 @@ public class JsonDataNode extends AbstractDataNode {
 
         try {
             _object = _gson.fromJson(reader, JsonObject.class);
+            clearDecoded();
         } catch (JsonIOException | JsonSyntaxException e) {
             e.printStackTrace();
             return false;
@@ -297,17 +297,7 @@ public class JsonDataNode extends AbstractDataNode {
             clean();
         }
 
-        try {
-            if (!destination.exists() && !destination.createNewFile()) {
-                return false;
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-            return false;
-        }
-
-        int written = FileUtils.writeTextFile(destination, StandardCharsets.UTF_8, json);
-        if (written == -1) {
+        if (!FileUtils.writeTextFileAtomic(destination, StandardCharsets.UTF_8, json)) {
             return false;
         } else {
             clean();
@@ -435,6 +425,8 @@ public class JsonDataNode extends AbstractDataNode {
             throw new UnsupportedOperationException("Cannot remove the root node.");
 
         String[] pathElements = TextUtils.PATTERN_DOT.split(path);
+
+        invalidateDecoded(path);
         removeKey(pathElements);
     }
 
@@ -444,6 +436,8 @@ public class JsonDataNode extends AbstractDataNode {
         keyPath = getFullPath(keyPath);
         String[] path = TextUtils.PATTERN_DOT.split(keyPath);
 
+        invalidateDecoded(keyPath);
+
         if (!keyPath.isEmpty())
             removeKey(path);
 
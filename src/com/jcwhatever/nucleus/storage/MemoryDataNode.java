@@ -193,6 +193,7 @@ public class MemoryDataNode extends AbstractDataNode {
 
     @Override
     public void clear() {
+        invalidateDecoded(getFullPath(""));
         _node.clearChildren();
 
         markDirty();
@@ -204,6 +205,7 @@ public class MemoryDataNode extends AbstractDataNode {
             throw new UnsupportedOperationException("Cannot remove root node.");
 
         markDirty();
+        invalidateDecoded(getFullPath(""));
 
         _node.getParent().removeChild(_node);
     }
@@ -215,6 +217,7 @@ public class MemoryDataNode extends AbstractDataNode {
             return;
 
         markDirty();
+        invalidateDecoded(getFullPath(nodePath));
 
         //noinspection ConstantConditions
         treeNode.getParent().removeChild(treeNode);
@@ -248,6 +251,7 @@ public class MemoryDataNode extends AbstractDataNode {
     public boolean set(String keyPath, @Nullable Object value) {
 
         markDirty();
+        invalidateDecoded(getFullPath(keyPath));
 
         if (value instanceof IDataNodeSerializable) {
             removeNode(keyPath);
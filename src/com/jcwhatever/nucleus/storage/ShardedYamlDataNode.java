@@ -0,0 +1,365 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage;
+
+import com.jcwhatever.nucleus.internal.NucMsg;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.file.FileUtils;
+import com.jcwhatever.nucleus.utils.observer.future.IFuture;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * A YAML data node that stores each top level node in its own file.
+ *
+ * <p>The files are stored in a directory named after the data path with a
+ * ".shards" extension. When saved, only the files of top level nodes that
+ * have been modified since the last save are re-written. Each file is
+ * written to a temporary file first and then renamed over the original
+ * so a failed save never leaves a partially written file. Saves of the same
+ * node are written one at a time, in the order they were serialized.</p>
+ *
+ * <p>If the shard directory does not exist but a regular YAML file with the
+ * same data path does, the YAML file is loaded and converted to shards on
+ * the next save. The original file is renamed with a ".migrated" extension
+ * after the conversion succeeds.</p>
+ *
+ * <p>Asynchronous saves are coalesced with saves of other nodes and written
+ * by a single task.</p>
+ */
+public class ShardedYamlDataNode extends YamlDataNode {
+
+    private static final String SHARD_EXTENSION = ".yml";
+
+    /**
+     * Get the shard directory of a data path.
+     *
+     * @param plugin    The owning plugin. Used to determine the base path.
+     * @param dataPath  The data path.
+     */
+    public static File dataPathToDirectory(Plugin plugin, DataPath dataPath) {
+        PreCon.notNull(plugin);
+        PreCon.notNull(dataPath);
+
+        return fileToDirectory(dataPathToFile(plugin, dataPath));
+    }
+
+    /*
+     * Get the shard directory of a legacy single YAML file.
+     */
+    private static File fileToDirectory(File file) {
+
+        String name = file.getName();
+        if (name.endsWith(SHARD_EXTENSION))
+            name = name.substring(0, name.length() - SHARD_EXTENSION.length());
+
+        return new File(file.getParentFile(), name + ".shards");
+    }
+
+    private final File _directory;
+    private final Set<String> _dirtyShards =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(10));
+    private volatile boolean _isMigrating;
+
+    // held through the whole save so an older serialization is never
+    // written over a newer one.
+    private final Object _saveSync = new Object();
+
+    /**
+     * Constructor.
+     *
+     * @param plugin       The owning plugin.
+     * @param storagePath  The storage path.
+     */
+    public ShardedYamlDataNode(Plugin plugin, DataPath storagePath) {
+        super(plugin, dataPathToFile(plugin, storagePath));
+
+        _directory = dataPathToDirectory(plugin, storagePath);
+    }
+
+    /**
+     * Constructor.
+     *
+     * <p>The shard directory is created next to the file, named after
+     * the file with a ".shards" extension.</p>
+     *
+     * @param plugin  The owning plugin.
+     * @param file    The legacy single YAML file.
+     */
+    public ShardedYamlDataNode(Plugin plugin, File file) {
+        super(plugin, file);
+
+        PreCon.notNull(file);
+
+        _directory = fileToDirectory(file);
+    }
+
+    /**
+     * Get the directory the shard files are stored in.
+     */
+    public File getDirectory() {
+        return _directory;
+    }
+
+    @Override
+    public boolean load() {
+
+        YamlConfiguration yaml = getYamlConfiguration();
+
+        _write.lock();
+        try {
+
+            _dirtyShards.clear();
+
+            if (!_directory.exists() && _file.exists()) {
+                // convert legacy single file
+                yaml.load(_file);
+                _dirtyShards.addAll(yaml.getKeys(false));
+                _isMigrating = true;
+            }
+            else {
+                yaml.loadFromString(readShards());
+                _isMigrating = false;
+            }
+
+            clearDecoded();
+            return _isLoaded = true;
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        finally {
+            _write.unlock();
+        }
+
+        NucMsg.severe("The data shards in '{0}' failed to load.", _directory.getName());
+
+        return _isLoaded = false;
+    }
+
+    @Override
+    public boolean saveSync() {
+
+        synchronized (_saveSync) {
+            return saveShards();
+        }
+    }
+
+    /*
+     * Serialize and write the modified shards. Invoked while holding the save lock.
+     */
+    private boolean saveShards() {
+
+        Map<String, String> shards;
+
+        // serialize modified shards while locked, write files after.
+        _write.lock();
+        try {
+
+            YamlConfiguration yaml = getYamlConfiguration();
+            shards = new HashMap<>(_dirtyShards.size());
+
+            for (String key : _dirtyShards) {
+
+                Object value = yaml.get(key);
+                if (value == null) {
+                    shards.put(key, null);
+                    continue;
+                }
+
+                YamlConfiguration shard = new YamlConfiguration();
+                shard.options().indent(2);
+                shard.set(key, value);
+
+                shards.put(key, shard.saveToString());
+            }
+
+            _dirtyShards.clear();
+            cleanAll();
+        }
+        finally {
+            _write.unlock();
+        }
+
+        if (!_directory.exists() && !_directory.mkdirs()) {
+            _dirtyShards.addAll(shards.keySet());
+            return false;
+        }
+
+        boolean isSaved = true;
+
+        for (Entry<String, String> entry : shards.entrySet()) {
+
+            File file = new File(_directory, encodeKey(entry.getKey()) + SHARD_EXTENSION);
+            String text = entry.getValue();
+
+            boolean isWritten = text == null
+                    ? !file.exists() || file.delete()
+                    : FileUtils.writeTextFileAtomic(file, StandardCharsets.UTF_8, text);
+
+            if (!isWritten) {
+                // retry on next save
+                _dirtyShards.add(entry.getKey());
+                isSaved = false;
+            }
+        }
+
+        if (isSaved && _isMigrating) {
+            _isMigrating = false;
+
+            File migrated = new File(_file.getParentFile(), _file.getName() + ".migrated");
+            if (!_file.renameTo(migrated)) {
+                NucMsg.warning("Failed to rename migrated data file '{0}'.", _file.getName());
+            }
+        }
+
+        return isSaved;
+    }
+
+    @Override
+    public IFuture save() {
+        return DataNodeSaveQueue.save(getRoot());
+    }
+
+    @Override
+    public boolean set(String keyPath, @Nullable Object value) {
+        PreCon.notNull(keyPath);
+
+        if (!isRoot())
+            return super.set(keyPath, value);
+
+        int index = keyPath.indexOf('.');
+        String key = index == -1 ? keyPath : keyPath.substring(0, index);
+
+        // Mark the shard after the value is stored and before the lock is released,
+        // otherwise a concurrent save could clear the mark and serialize the old value.
+        _write.lock();
+        try {
+
+            // root cleared, all shards are affected
+            Collection<String> keys = key.isEmpty() ? getSubNodeNames() : null;
+
+            boolean isSet = super.set(keyPath, value);
+
+            if (keys != null) {
+                _dirtyShards.addAll(keys);
+            }
+            else {
+                _dirtyShards.add(key);
+            }
+
+            return isSet;
+        }
+        finally {
+            _write.unlock();
+        }
+    }
+
+    /**
+     * Determine if a top level node has been modified since the last save.
+     *
+     * @param key  The name of the top level node.
+     */
+    public boolean isShardDirty(String key) {
+        PreCon.notNull(key);
+
+        return _dirtyShards.contains(key);
+    }
+
+    /*
+     * Read all shard files into a single yaml string.
+     */
+    private String readShards() throws Exception {
+
+        if (!_directory.exists())
+            return "";
+
+        File[] files = _directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SHARD_EXTENSION);
+            }
+        });
+
+        if (files == null)
+            return "";
+
+        StringBuilder buffer = new StringBuilder(files.length * 256);
+
+        for (File file : files) {
+
+            String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            if (text.isEmpty())
+                continue;
+
+            buffer.append(text);
+
+            if (text.charAt(text.length() - 1) != '\n')
+                buffer.append('\n');
+        }
+
+        return buffer.toString();
+    }
+
+    /*
+     * Encode a top level node name into a safe file name. Upper case letters are
+     * escaped so names that differ only by case do not share a file on case
+     * insensitive file systems.
+     */
+    static String encodeKey(String key) {
+
+        StringBuilder buffer = new StringBuilder(key.length() + 8);
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+
+        for (byte b : bytes) {
+            int ch = b & 0xFF;
+
+            if ((ch >= 'a' && ch <= 'z') ||
+                    (ch >= '0' && ch <= '9') || ch == '_' || ch == '-') {
+                buffer.append((char)ch);
+            }
+            else {
+                buffer.append('%');
+                buffer.append(Character.toUpperCase(Character.forDigit(ch >> 4, 16)));
+                buffer.append(Character.toUpperCase(Character.forDigit(ch & 0xF, 16)));
+            }
+        }
+
+        return buffer.toString();
+    }
+}
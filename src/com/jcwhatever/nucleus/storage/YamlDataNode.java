@@ -33,6 +33,7 @@ import com.jcwhatever.nucleus.managed.scheduler.Scheduler;
 import com.jcwhatever.nucleus.storage.serialize.IDataNodeSerializable;
 import com.jcwhatever.nucleus.utils.PreCon;
 import com.jcwhatever.nucleus.utils.coords.LocationUtils;
+import com.jcwhatever.nucleus.utils.file.FileUtils;
 import com.jcwhatever.nucleus.utils.items.ItemStackUtils;
 import com.jcwhatever.nucleus.utils.observer.future.FutureAgent;
 import com.jcwhatever.nucleus.utils.observer.future.IFuture;
@@ -48,6 +49,7 @@ import org.bukkit.plugin.Plugin;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -96,7 +98,7 @@ public class YamlDataNode extends AbstractDataNode {
     private final ConfigurationSection _section;
     private final Map<String, YamlDataNode> _cachedNodes;
     private final AgentMultimap<IDataNode, FutureAgent> _saveAgents;
-    private volatile boolean _isLoaded;
+    protected volatile boolean _isLoaded;
     private volatile IScheduledTask _saveTask;
     protected String _yamlString;
     protected File _file;
@@ -228,6 +230,7 @@ public class YamlDataNode extends AbstractDataNode {
         try {
 
             yaml.load(getRoot()._file);
+            clearDecoded();
             return getRoot()._isLoaded = true;
 
         } catch (Exception e) {
@@ -294,16 +297,17 @@ public class YamlDataNode extends AbstractDataNode {
 
                 // save yaml
                 if (_file != null) {
-                    yaml.save(_file);
+                    isSaved = FileUtils.writeTextFileAtomic(
+                            _file, StandardCharsets.UTF_8, yaml.saveToString());
                 }
                 else {
                     _yamlString = yaml.getKeys(false).size() == 0 ? "" : yaml.saveToString();
+                    isSaved = true;
                 }
 
-                isSaved = true;
-
                 // mark dirty nodes as clean
-                cleanAll();
+                if (isSaved)
+                    cleanAll();
 
             } catch (Exception e) {
                 e.printStackTrace();
@@ -380,17 +384,12 @@ public class YamlDataNode extends AbstractDataNode {
 
         getRoot()._write.lock();
         try {
-            try {
-                getYamlConfiguration().save(destination);
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            return FileUtils.writeTextFileAtomic(
+                    destination, StandardCharsets.UTF_8, getYamlConfiguration().saveToString());
         }
         finally {
             getRoot()._write.unlock();
         }
-
-        return true;
     }
 
     @Override
@@ -547,6 +546,8 @@ public class YamlDataNode extends AbstractDataNode {
         getRoot()._write.lock();
         try {
 
+            invalidateDecoded(keyPath);
+
             if (value instanceof UUID) {
                 value = String.valueOf(value);
             }
@@ -0,0 +1,367 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.storage.serialize;
+
+import com.jcwhatever.nucleus.managed.reflection.Reflection;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import com.jcwhatever.nucleus.utils.coords.SyncLocation;
+
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A per-class plan used by {@link DataFieldSerializer}.
+ *
+ * <p>The {@link DataField} annotated fields of a class are resolved once, when the
+ * plan is first requested, into an ordered list of field codecs. Each codec holds the
+ * data node key and method handles bound to the field so that serializing and
+ * deserializing an instance does not require any reflection lookups.</p>
+ *
+ * <p>Plans are cached per class using a {@link ClassValue}.</p>
+ */
+final class DataFieldPlan {
+
+    private static final ClassValue<DataFieldPlan> _plans = new ClassValue<DataFieldPlan>() {
+        @Override
+        protected DataFieldPlan computeValue(Class<?> type) {
+            return new DataFieldPlan(type);
+        }
+    };
+
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        try {
+            FIELD_SET = MethodHandles.lookup().findVirtual(Field.class, "set",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Get the plan for the specified class.
+     *
+     * @param clazz  The class.
+     */
+    static DataFieldPlan get(Class<?> clazz) {
+        return _plans.get(clazz);
+    }
+
+    private final Class<?> _type;
+    private final FieldCodec[] _codecs;
+    private final String _unsupported;
+
+    /**
+     * Private constructor.
+     *
+     * @param type  The class to create a plan for.
+     */
+    private DataFieldPlan(Class<?> type) {
+        _type = type;
+
+        Field[] fields = type.getDeclaredFields();
+        List<FieldCodec> codecs = new ArrayList<>(fields.length);
+        String unsupported = null;
+
+        for (Field field : fields) {
+
+            DataField dataValue = field.getAnnotation(DataField.class);
+            if (dataValue == null)
+                continue;
+
+            String keyName = dataValue.keyName();
+            if (keyName.isEmpty())
+                keyName = field.getName();
+
+            Class<?> fieldType = field.getType();
+            CodecType codecType = CodecType.get(fieldType);
+
+            if (codecType == null) {
+                if (unsupported == null) {
+                    unsupported = "Cannot serialize field type: " + fieldType.getName() +
+                            " in class: " + type.getName();
+                }
+                continue;
+            }
+
+            codecs.add(new FieldCodec(field, keyName, codecType));
+        }
+
+        _codecs = codecs.toArray(new FieldCodec[codecs.size()]);
+        _unsupported = unsupported;
+    }
+
+    /**
+     * Serialize the data fields of an object into a data node.
+     *
+     * @param object    The object to serialize.
+     * @param dataNode  The data node to store the field values in.
+     */
+    void serialize(Object object, IDataNode dataNode) {
+
+        if (_unsupported != null)
+            throw new RuntimeException(_unsupported);
+
+        for (FieldCodec codec : _codecs) {
+
+            boolean isSet;
+
+            try {
+                isSet = dataNode.set(codec.keyName, (Object)codec.getter.invokeExact(object));
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+
+            if (!isSet) {
+                throw new RuntimeException(
+                        "Failed to serialize field type: " + codec.fieldType.getName() +
+                                " in class:" + _type.getName() +
+                                " using IDataNode implementation: " + dataNode.getClass().getName());
+            }
+        }
+    }
+
+    /**
+     * Deserialize data node values into the data fields of an object.
+     *
+     * @param object         The object to deserialize into.
+     * @param dataNode       The data node where the values are stored.
+     * @param ignoreMissing  True to skip fields that have no value in the data node.
+     */
+    void deserializeInto(Object object, IDataNode dataNode, boolean ignoreMissing) {
+
+        for (FieldCodec codec : _codecs) {
+
+            if (ignoreMissing && !dataNode.hasNode(codec.keyName))
+                continue;
+
+            try {
+                codec.deserialize(object, dataNode);
+            }
+            catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof Error)
+            throw (Error)e;
+
+        if (e instanceof RuntimeException)
+            return (RuntimeException)e;
+
+        e.printStackTrace();
+        return new RuntimeException("Failed to access data field.", e);
+    }
+
+    /*
+     * The serializable field types.
+     */
+    private enum CodecType {
+        BOOLEAN        (boolean.class),
+        BYTE           (byte.class),
+        SHORT          (short.class),
+        CHAR           (char.class),
+        INT            (int.class),
+        LONG           (long.class),
+        FLOAT          (float.class),
+        DOUBLE         (double.class),
+        STRING         (Object.class),
+        ENUM           (Object.class),
+        LOCATION       (Object.class),
+        ITEM_STACK     (Object.class),
+        ITEM_STACKS    (Object.class),
+        SERIALIZABLE   (Object.class);
+
+        final Class<?> setterType;
+
+        CodecType(Class<?> setterType) {
+            this.setterType = setterType;
+        }
+
+        static CodecType get(Class<?> clazz) {
+
+            if (clazz.equals(boolean.class))
+                return BOOLEAN;
+            if (clazz.equals(byte.class))
+                return BYTE;
+            if (clazz.equals(short.class))
+                return SHORT;
+            if (clazz.equals(char.class))
+                return CHAR;
+            if (clazz.equals(int.class))
+                return INT;
+            if (clazz.equals(long.class))
+                return LONG;
+            if (clazz.equals(float.class))
+                return FLOAT;
+            if (clazz.equals(double.class))
+                return DOUBLE;
+            if (clazz.equals(String.class))
+                return STRING;
+            if (clazz.isEnum())
+                return ENUM;
+            if (clazz.equals(Location.class))
+                return LOCATION;
+            if (clazz.equals(ItemStack.class))
+                return ITEM_STACK;
+            if (clazz.equals(ItemStack[].class))
+                return ITEM_STACKS;
+            if (IDataNodeSerializable.class.isAssignableFrom(clazz))
+                return SERIALIZABLE;
+
+            return null;
+        }
+    }
+
+    /*
+     * Pre-resolved accessors and data node key for a single data field.
+     */
+    private static final class FieldCodec {
+
+        final String keyName;
+        final Class<?> fieldType;
+        final CodecType codecType;
+
+        // (Object instance)Object
+        final MethodHandle getter;
+
+        // (Object instance, <setterType> value)void
+        final MethodHandle setter;
+
+        FieldCodec(Field field, String keyName, CodecType codecType) {
+            this.keyName = keyName;
+            this.fieldType = field.getType();
+            this.codecType = codecType;
+
+            if (Modifier.isFinal(field.getModifiers()))
+                Reflection.removeFinal(field);
+
+            field.setAccessible(true);
+
+            boolean isStatic = Modifier.isStatic(field.getModifiers());
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            MethodType setterType = MethodType.methodType(
+                    void.class, Object.class, codecType.setterType);
+
+            MethodHandle getter;
+            MethodHandle setter;
+
+            try {
+                getter = lookup.unreflectGetter(field);
+                if (isStatic)
+                    getter = MethodHandles.dropArguments(getter, 0, Object.class);
+            }
+            catch (IllegalAccessException e) {
+                throw new AssertionError(e);
+            }
+
+            try {
+                setter = lookup.unreflectSetter(field);
+                if (isStatic)
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            catch (IllegalAccessException e) {
+                // use reflection
+                setter = FIELD_SET.bindTo(field);
+            }
+
+            this.getter = getter.asType(MethodType.genericMethodType(1));
+            this.setter = setter.asType(setterType);
+        }
+
+        void deserialize(Object object, IDataNode dataNode) throws Throwable {
+
+            switch (codecType) {
+                case BOOLEAN:
+                    setter.invokeExact(object, dataNode.getBoolean(keyName));
+                    break;
+                case BYTE:
+                    setter.invokeExact(object, (byte) dataNode.getInteger(keyName));
+                    break;
+                case SHORT:
+                    setter.invokeExact(object, (short) dataNode.getInteger(keyName));
+                    break;
+                case CHAR:
+                    setter.invokeExact(object, (char) dataNode.getInteger(keyName));
+                    break;
+                case INT:
+                    setter.invokeExact(object, dataNode.getInteger(keyName));
+                    break;
+                case LONG:
+                    setter.invokeExact(object, dataNode.getLong(keyName));
+                    break;
+                case FLOAT:
+                    setter.invokeExact(object, (float) dataNode.getDouble(keyName));
+                    break;
+                case DOUBLE:
+                    setter.invokeExact(object, dataNode.getDouble(keyName));
+                    break;
+                case STRING:
+                    setter.invokeExact(object, (Object) dataNode.getString(keyName));
+                    break;
+                case ENUM:
+                    //noinspection unchecked
+                    setter.invokeExact(object, (Object) dataNode.getEnumGeneric(
+                            keyName, null, (Class<? extends Enum<?>>) fieldType));
+                    break;
+                case LOCATION: {
+                    SyncLocation syncLocation = dataNode.getLocation(keyName);
+                    if (syncLocation != null)
+                        setter.invokeExact(object, (Object) syncLocation.getBukkitLocation());
+                    break;
+                }
+                case ITEM_STACK: {
+                    ItemStack[] stacks = dataNode.getItemStacks(keyName);
+                    setter.invokeExact(object,
+                            (Object) (stacks != null && stacks.length > 0 ? stacks[0] : null));
+                    break;
+                }
+                case ITEM_STACKS:
+                    setter.invokeExact(object, (Object) dataNode.getItemStacks(keyName));
+                    break;
+                case SERIALIZABLE:
+                    //noinspection unchecked
+                    setter.invokeExact(object, (Object) dataNode.getSerializable(
+                            keyName, (Class<? extends IDataNodeSerializable>) fieldType));
+                    break;
+                default:
+                    throw new AssertionError();
+            }
+        }
+    }
+}
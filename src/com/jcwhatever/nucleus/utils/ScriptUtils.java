@@ -42,9 +42,12 @@ import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
 
 /**
  * Script utilities.
@@ -271,4 +274,65 @@ public final class ScriptUtils {
             return new Result<Object>(false);
         }
     }
+
+    /**
+     * Compile a script using a script engine.
+     *
+     * <p>The compiled script is bound to the engine and can be evaluated
+     * repeatedly into new contexts of the engine using
+     * {@link #eval(CompiledScript, ScriptContext, IScript)}.</p>
+     *
+     * @param engine  The script engine.
+     * @param script  The script to compile.
+     *
+     * @return  The compiled script or null if the engine does not support compiling
+     * or the script could not be compiled.
+     */
+    @Nullable
+    public static CompiledScript compile(ScriptEngine engine, IScript script) {
+        PreCon.notNull(engine);
+        PreCon.notNull(script);
+
+        if (!(engine instanceof Compilable))
+            return null;
+
+        File file = script.getFile();
+        engine.put(ScriptEngine.FILENAME, file != null ? file.getName() : "<unknown>");
+
+        try {
+            return ((Compilable) engine).compile(script.getScript());
+        }
+        catch (ScriptException e) {
+            // errors are reported when the script is evaluated
+            return null;
+        }
+    }
+
+    /**
+     * Evaluate a compiled script.
+     *
+     * @param compiled  The compiled script.
+     * @param context   The script context. Must be a context for the engine
+     *                  that compiled the script.
+     * @param script    The script that was compiled.
+     *
+     * @return The results returned from the script, if any.
+     */
+    public static Result<Object> eval(CompiledScript compiled, ScriptContext context, IScript script) {
+        PreCon.notNull(compiled);
+        PreCon.notNull(context);
+        PreCon.notNull(script);
+
+        File file = script.getFile();
+        String filename = file != null ? file.getName() : "<unknown>";
+
+        context.setAttribute(ScriptEngine.FILENAME, filename, ScriptContext.ENGINE_SCOPE);
+
+        try {
+            return new Result<Object>(true, compiled.eval(context));
+        } catch (Throwable e) {
+            e.printStackTrace();
+            return new Result<Object>(false);
+        }
+    }
 }
@@ -0,0 +1,295 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.coords;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Packs block and chunk coordinates into primitive long values.
+ *
+ * <p>Packed coordinates can be used as hash keys without allocating coordinate
+ * objects. See {@link com.jcwhatever.nucleus.collections.LongHashMap} and
+ * {@link com.jcwhatever.nucleus.collections.LongHashSet}.</p>
+ *
+ * <p>Block coordinates use 26 bits for the X and Z axis, in the range
+ * {@link #MIN_BLOCK_XZ} to {@link #MAX_BLOCK_XZ}, which covers the largest
+ * world border. The Y axis uses 12 bits, in the range {@link #MIN_BLOCK_Y}
+ * to {@link #MAX_BLOCK_Y}. Chunk coordinates use 24 bits per axis and the
+ * remaining 16 bits store a world id from the world id table.</p>
+ */
+public final class PackedCoords {
+
+    private PackedCoords() {}
+
+    /**
+     * The smallest X or Z block coordinate that can be packed.
+     */
+    public static final int MIN_BLOCK_XZ = -(1 << 25);
+
+    /**
+     * The largest X or Z block coordinate that can be packed.
+     */
+    public static final int MAX_BLOCK_XZ = (1 << 25) - 1;
+
+    /**
+     * The smallest Y block coordinate that can be packed.
+     */
+    public static final int MIN_BLOCK_Y = -(1 << 11);
+
+    /**
+     * The largest Y block coordinate that can be packed.
+     */
+    public static final int MAX_BLOCK_Y = (1 << 11) - 1;
+
+    /**
+     * The largest world id.
+     */
+    public static final int MAX_WORLD_ID = 0xFFFF;
+
+    private static final long BLOCK_XZ_MASK = (1L << 26) - 1;
+    private static final long BLOCK_Y_MASK = (1L << 12) - 1;
+    private static final long CHUNK_MASK = (1L << 24) - 1;
+
+    private static final Map<String, Integer> _worldIds = new ConcurrentHashMap<>(10);
+    private static final List<String> _worldNames = new ArrayList<>(10);
+
+    /**
+     * Pack block coordinates.
+     *
+     * @param x  The X coordinates.
+     * @param y  The Y coordinates.
+     * @param z  The Z coordinates.
+     *
+     * @throws IllegalArgumentException if a coordinate is out of range.
+     */
+    public static long pack(int x, int y, int z) {
+        PreCon.isValid(x >= MIN_BLOCK_XZ && x <= MAX_BLOCK_XZ &&
+                        z >= MIN_BLOCK_XZ && z <= MAX_BLOCK_XZ &&
+                        y >= MIN_BLOCK_Y && y <= MAX_BLOCK_Y,
+                IllegalArgumentException.class, "Block coordinates out of range.");
+
+        return (x & BLOCK_XZ_MASK) << 38
+                | (z & BLOCK_XZ_MASK) << 12
+                | (y & BLOCK_Y_MASK);
+    }
+
+    /**
+     * Pack block coordinates.
+     *
+     * @param coords  The coordinates.
+     */
+    public static long pack(ICoords3Di coords) {
+        PreCon.notNull(coords);
+
+        return pack(coords.getX(), coords.getY(), coords.getZ());
+    }
+
+    /**
+     * Get the X coordinates of packed block coordinates.
+     *
+     * @param packed  The packed coordinates.
+     */
+    public static int getX(long packed) {
+        return (int)(packed >> 38);
+    }
+
+    /**
+     * Get the Y coordinates of packed block coordinates.
+     *
+     * @param packed  The packed coordinates.
+     */
+    public static int getY(long packed) {
+        return (int)(packed << 52 >> 52);
+    }
+
+    /**
+     * Get the Z coordinates of packed block coordinates.
+     *
+     * @param packed  The packed coordinates.
+     */
+    public static int getZ(long packed) {
+        return (int)(packed << 26 >> 38);
+    }
+
+    /**
+     * Offset packed block coordinates.
+     *
+     * @param packed  The packed coordinates.
+     * @param deltaX  The X coordinates offset.
+     * @param deltaY  The Y coordinates offset.
+     * @param deltaZ  The Z coordinates offset.
+     *
+     * @return  The packed offset coordinates.
+     */
+    public static long offset(long packed, int deltaX, int deltaY, int deltaZ) {
+        return pack(getX(packed) + deltaX, getY(packed) + deltaY, getZ(packed) + deltaZ);
+    }
+
+    /**
+     * Unpack block coordinates into a new coordinates object.
+     *
+     * @param packed  The packed coordinates.
+     */
+    public static Coords3Di toCoords(long packed) {
+        return new Coords3Di(getX(packed), getY(packed), getZ(packed));
+    }
+
+    /**
+     * Unpack block coordinates into an output coordinates object.
+     *
+     * @param packed  The packed coordinates.
+     * @param output  The output coordinates.
+     *
+     * @return  The output coordinates.
+     */
+    public static MutableCoords3Di toCoords(long packed, MutableCoords3Di output) {
+        PreCon.notNull(output);
+
+        output.setX(getX(packed));
+        output.setY(getY(packed));
+        output.setZ(getZ(packed));
+        return output;
+    }
+
+    /**
+     * Pack chunk coordinates.
+     *
+     * @param worldId  The world id. See {@link #getWorldId}.
+     * @param x        The chunk X coordinates.
+     * @param z        The chunk Z coordinates.
+     */
+    public static long packChunk(int worldId, int x, int z) {
+        return ((long)worldId & MAX_WORLD_ID) << 48
+                | (x & CHUNK_MASK) << 24
+                | (z & CHUNK_MASK);
+    }
+
+    /**
+     * Pack chunk coordinates.
+     *
+     * @param world  The world the chunk is in.
+     * @param x      The chunk X coordinates.
+     * @param z      The chunk Z coordinates.
+     */
+    public static long packChunk(World world, int x, int z) {
+        return packChunk(getWorldId(world), x, z);
+    }
+
+    /**
+     * Get the world id of packed chunk coordinates.
+     *
+     * @param packed  The packed chunk coordinates.
+     */
+    public static int getChunkWorldId(long packed) {
+        return (int)(packed >>> 48);
+    }
+
+    /**
+     * Get the X coordinates of packed chunk coordinates.
+     *
+     * @param packed  The packed chunk coordinates.
+     */
+    public static int getChunkX(long packed) {
+        return (int)(packed << 16 >> 40);
+    }
+
+    /**
+     * Get the Z coordinates of packed chunk coordinates.
+     *
+     * @param packed  The packed chunk coordinates.
+     */
+    public static int getChunkZ(long packed) {
+        return (int)(packed << 40 >> 40);
+    }
+
+    /**
+     * Get the id of a world from the world id table.
+     *
+     * @param world  The world.
+     */
+    public static int getWorldId(World world) {
+        PreCon.notNull(world);
+
+        return getWorldId(world.getName());
+    }
+
+    /**
+     * Get the id of a world from the world id table.
+     *
+     * <p>A new id is assigned the first time a world name is used. Ids are
+     * not reused for the lifetime of the server.</p>
+     *
+     * @param worldName  The name of the world.
+     *
+     * @throws IllegalStateException if the id table is full.
+     */
+    public static int getWorldId(String worldName) {
+        PreCon.notNull(worldName);
+
+        Integer id = _worldIds.get(worldName);
+        if (id != null)
+            return id;
+
+        synchronized (_worldNames) {
+
+            id = _worldIds.get(worldName);
+            if (id != null)
+                return id;
+
+            if (_worldNames.size() > MAX_WORLD_ID)
+                throw new IllegalStateException("World id table is full.");
+
+            id = _worldNames.size();
+            _worldNames.add(worldName);
+            _worldIds.put(worldName, id);
+
+            return id;
+        }
+    }
+
+    /**
+     * Get the name of a world from the world id table.
+     *
+     * @param worldId  The world id.
+     *
+     * @return  The world name or null if the id is not assigned.
+     */
+    @Nullable
+    public static String getWorldName(int worldId) {
+        synchronized (_worldNames) {
+            return worldId >= 0 && worldId < _worldNames.size()
+                    ? _worldNames.get(worldId)
+                    : null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.file;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct byte buffers used by {@link NioByteWriter} and {@link NioByteReader}.
+ *
+ * <p>Direct buffers are expensive to allocate and are released by the garbage
+ * collector late, so released buffers are kept for reuse.</p>
+ */
+final class DirectBufferPool {
+
+    private DirectBufferPool() {}
+
+    /**
+     * The capacity of pooled buffers.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    // maximum number of idle buffers kept in the pool
+    private static final int MAX_POOLED = 16;
+
+    private static final Queue<ByteBuffer> _pool = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger _pooled = new AtomicInteger();
+
+    /**
+     * Get a cleared buffer from the pool or allocate a new one.
+     */
+    static ByteBuffer acquire() {
+
+        ByteBuffer buffer = _pool.poll();
+        if (buffer == null)
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        _pooled.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Return a buffer to the pool.
+     *
+     * @param buffer  The buffer. The buffer must not be used after it is released.
+     */
+    static void release(ByteBuffer buffer) {
+
+        if (_pooled.incrementAndGet() > MAX_POOLED) {
+            _pooled.decrementAndGet();
+            return;
+        }
+
+        _pool.offer(buffer);
+    }
+}
@@ -38,6 +38,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -531,6 +534,97 @@ public final class FileUtils {
         return written;
     }
 
+    /**
+     * Atomically writes a text file.
+     *
+     * <p>The text is written to a temporary file in the same directory which is
+     * then moved over the target file, so the target file is never left partially
+     * written. Falls back to a non-atomic replace if the file system does not
+     * support atomic moves.</p>
+     *
+     * @param file     The file to write.
+     * @param charset  The encoding to use.
+     * @param text     The text to write to the file.
+     *
+     * @return  True if the file was written, otherwise false.
+     */
+    public static boolean writeTextFileAtomic(File file, Charset charset, String text) {
+        PreCon.notNull(file);
+        PreCon.notNull(charset);
+        PreCon.notNull(text);
+
+        return writeFileAtomic(file, text.getBytes(charset));
+    }
+
+    /**
+     * Atomically writes a file.
+     *
+     * <p>The bytes are written to a uniquely named temporary file in the same directory
+     * which is then moved over the target file, so the target file is never left partially
+     * written. Falls back to a non-atomic replace if the file system does not
+     * support atomic moves.</p>
+     *
+     * @param file   The file to write.
+     * @param bytes  The bytes to write to the file.
+     *
+     * @return  True if the file was written, otherwise false.
+     */
+    public static boolean writeFileAtomic(File file, byte[] bytes) {
+        PreCon.notNull(file);
+        PreCon.notNull(bytes);
+
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs())
+            return false;
+
+        // unique per write so concurrent writers of the same file never share a temp file
+        File temp = null;
+
+        FileOutputStream stream = null;
+        try {
+            temp = File.createTempFile(file.getName() + ".save-", ".tmp", directory);
+            stream = new FileOutputStream(temp);
+            stream.write(bytes);
+            stream.getFD().sync();
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+
+            if (temp != null) {
+                //noinspection ResultOfMethodCallIgnored
+                temp.delete();
+            }
+            return false;
+        }
+        finally {
+            if (stream != null) {
+                try {
+                    stream.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        try {
+            try {
+                Files.move(temp.toPath(), file.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return false;
+        }
+
+        return true;
+    }
+
     /**
      * Extract a class resource into a file.
      *
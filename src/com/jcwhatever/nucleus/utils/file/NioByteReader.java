@@ -0,0 +1,894 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.file;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.items.meta.IItemMetaHandler;
+import com.jcwhatever.nucleus.managed.items.meta.ItemMetaValue;
+import com.jcwhatever.nucleus.utils.EnumUtils;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.coords.SyncLocation;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.EulerAngle;
+import org.bukkit.util.Vector;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * Read bytes from a channel through a pooled direct buffer. Bytes need to
+ * have been generated by {@link NioByteWriter} in order to be read.
+ *
+ * <p>Not thread safe.</p>
+ */
+public class NioByteReader implements IByteReader, Closeable {
+
+    private final ReadableByteChannel _channel;
+
+    // strings in the order they were added to the writers string table
+    private final List<String> _strings = new ArrayList<>(64);
+
+    // enum constants resolved from string table entries
+    private Object[] _enums = new Object[64];
+
+    // index of the string table entry of the last string read, -1 if none
+    private int _lastStringIndex = -1;
+
+    private ByteBuffer _buffer;
+    private long _bytesRead = 0;
+
+    private int _booleanReadCount = 7; // resets to 7
+    private byte _booleans = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param file  The file to read.
+     *
+     * @throws IOException
+     */
+    public NioByteReader(File file) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channel  The channel to read from. The channel is closed when
+     *                 the reader is closed.
+     */
+    public NioByteReader(ReadableByteChannel channel) {
+        PreCon.notNull(channel);
+
+        _channel = channel;
+        _buffer = DirectBufferPool.acquire();
+        _buffer.flip(); // start empty
+    }
+
+    /**
+     * Get the number of bytes read so far.
+     */
+    @Override
+    public long getBytesRead() {
+        return _bytesRead;
+    }
+
+    /**
+     * Skip over a number of bytes without returning them.
+     *
+     * @param byteDistance  The number of bytes to skip.
+     *
+     * @return  The number of bytes skipped.
+     *
+     * @throws IOException
+     */
+    @Override
+    public long skip(long byteDistance) throws IOException {
+        PreCon.positiveNumber(byteDistance);
+
+        resetBooleanBuffer();
+        checkOpen();
+
+        long skipped = Math.min(byteDistance, _buffer.remaining());
+        _buffer.position(_buffer.position() + (int)skipped);
+
+        while (skipped < byteDistance) {
+
+            if (_channel instanceof FileChannel) {
+                FileChannel channel = (FileChannel)_channel;
+                long size = channel.size();
+                long position = channel.position();
+                long distance = Math.min(byteDistance - skipped, size - position);
+
+                channel.position(position + distance);
+                skipped += distance;
+                break;
+            }
+
+            _buffer.clear();
+            int read = _channel.read(_buffer);
+            _buffer.flip();
+
+            if (read == -1)
+                break;
+
+            int distance = (int)Math.min(byteDistance - skipped, _buffer.remaining());
+            _buffer.position(distance);
+            skipped += distance;
+        }
+
+        _bytesRead += skipped;
+        return skipped;
+    }
+
+    /**
+     * Get a boolean.
+     *
+     * <p>Booleans read sequentially are read as bits from the current byte. When the byte
+     * runs out of bits, the next bit is read from the next byte.</p>
+     *
+     * <p>Bytes that store boolean values do not share bits with other data types.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    public boolean getBoolean() throws IOException {
+
+        if (_booleanReadCount == 7) {
+            require(1);
+            _booleans = _buffer.get();
+            _bytesRead++;
+            _booleanReadCount = 0;
+        }
+
+        boolean result = (_booleans & (1 << _booleanReadCount)) != 0;
+
+        _booleanReadCount++;
+
+        return result;
+    }
+
+    /**
+     * Get the next byte.
+     *
+     * @throws IOException
+     */
+    @Override
+    public byte getByte() throws IOException {
+
+        resetBooleanBuffer();
+
+        require(1);
+        _bytesRead++;
+        return _buffer.get();
+    }
+
+    /**
+     * Get the next byte array.
+     *
+     * <p>The length of the array plus 1 is read first as a variable length
+     * number. A length of 0 indicates a null array.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public byte[] getBytes() throws IOException {
+
+        resetBooleanBuffer();
+
+        int size = readVarInt();
+        if (size == 0)
+            return null;
+
+        byte[] bytes = new byte[size - 1];
+        readRaw(bytes);
+
+        return bytes;
+    }
+
+    /**
+     * Read the next variable length number as a short.
+     *
+     * @throws IOException
+     */
+    @Override
+    public short getShort() throws IOException {
+        return (short)getInteger();
+    }
+
+    /**
+     * Read the next variable length number as an integer.
+     *
+     * @throws IOException
+     */
+    @Override
+    public int getInteger() throws IOException {
+
+        resetBooleanBuffer();
+
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read the next variable length number as a long.
+     *
+     * @throws IOException
+     */
+    @Override
+    public long getLong() throws IOException {
+
+        resetBooleanBuffer();
+
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Read the next group of bytes as a {@link BigDecimal}.
+     *
+     * <p>If the {@link BigDecimal} that was written was null, then
+     * null is returned.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public BigDecimal getBigDecimal() throws IOException {
+
+        byte[] unscaled = getBytes();
+        if (unscaled == null)
+            return null;
+
+        int scale = getInteger();
+
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    /**
+     * Read the next group of bytes as a {@link BigInteger}.
+     *
+     * <p>If the {@link BigInteger} that was written was null, then
+     * null is returned.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public BigInteger getBigInteger() throws IOException {
+
+        byte[] bytes = getBytes();
+        if (bytes == null)
+            return null;
+
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Get the next string.
+     *
+     * <p>If the original string written was null, then null is returned.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public String getString() throws IOException {
+        return getString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the next string.
+     *
+     * <p>If the original string written was null, then null is returned.</p>
+     *
+     * @param charset  The character set encoding the string was written with.
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public String getString(Charset charset) throws IOException {
+        PreCon.notNull(charset);
+
+        resetBooleanBuffer();
+
+        _lastStringIndex = -1;
+
+        int tag = readVarInt();
+
+        switch (tag) {
+            case NioByteWriter.TAG_NULL:
+                return null;
+
+            case NioByteWriter.TAG_LITERAL:
+                return readText(charset);
+
+            case NioByteWriter.TAG_NEW_ENTRY:
+                String text = readText(StandardCharsets.UTF_8);
+                _lastStringIndex = _strings.size();
+                _strings.add(text);
+                return text;
+
+            default:
+                int index = tag - NioByteWriter.TAG_REFERENCE;
+                if (index < 0 || index >= _strings.size())
+                    throw new IOException("Invalid string table index: " + index);
+
+                _lastStringIndex = index;
+                return _strings.get(index);
+        }
+    }
+
+    /**
+     * Get the next string.
+     *
+     * <p>Same as {@link #getString()}.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public String getSmallString() throws IOException {
+        return getString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Get the next 4 bytes as a float value.
+     *
+     * @throws IOException
+     */
+    @Override
+    public float getFloat() throws IOException {
+
+        resetBooleanBuffer();
+
+        require(4);
+        _bytesRead += 4;
+        return Float.intBitsToFloat(_buffer.getInt());
+    }
+
+    /**
+     * Get the next 8 bytes as a double value.
+     *
+     * @throws IOException
+     */
+    @Override
+    public double getDouble() throws IOException {
+
+        resetBooleanBuffer();
+
+        require(8);
+        _bytesRead += 8;
+        return Double.longBitsToDouble(_buffer.getLong());
+    }
+
+    /**
+     * Get the next group of bytes as an enum.
+     *
+     * <p>Enum values are read as the name of the constant.
+     * (See {@link #getString()})</p>
+     *
+     * @param enumClass  The enum class.
+     *
+     * @param <T>  The enum type.
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public <T extends Enum<T>> T getEnum(Class<T> enumClass) throws IOException {
+        PreCon.notNull(enumClass);
+
+        String constantName = getString(StandardCharsets.UTF_8);
+        if (constantName == null)
+            return null;
+
+        int index = _lastStringIndex;
+
+        if (index != -1 && index < _enums.length) {
+            Object cached = _enums[index];
+            if (enumClass.isInstance(cached))
+                return enumClass.cast(cached);
+        }
+
+        T e = EnumUtils.getEnum(constantName, enumClass);
+        if (e == null) {
+            throw new IOException(
+                    "The enum name retrieved is not a valid constant name for " +
+                            "enum type: " + enumClass.getName());
+        }
+
+        if (index != -1) {
+
+            if (index >= _enums.length) {
+                Object[] enums = new Object[Math.max(_enums.length * 2, index + 1)];
+                System.arraycopy(_enums, 0, enums, 0, _enums.length);
+                _enums = enums;
+            }
+
+            _enums[index] = e;
+        }
+
+        return e;
+    }
+
+    /**
+     * Get the next 1-17 bytes as a UUID.
+     *
+     * <p>The UUID is read as a boolean value (See {@link #getBoolean}. If
+     * the boolean value is "true", the next 16 bytes are read as the UUID. If
+     * the boolean value is "false", null is returned.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public UUID getUUID() throws IOException {
+
+        boolean hasValue = getBoolean();
+        if (!hasValue)
+            return null;
+
+        resetBooleanBuffer();
+
+        require(16);
+        _bytesRead += 16;
+        return new UUID(_buffer.getLong(), _buffer.getLong());
+    }
+
+    /**
+     * Get the next group of bytes as a location.
+     *
+     * <p>A boolean is read to indicate if the location is null, followed by
+     * the world name, the X, Y and Z values as doubles and the yaw and pitch
+     * values as floats.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public SyncLocation getLocation() throws IOException {
+        return getLocation(new SyncLocation((String)null, 0, 0, 0));
+    }
+
+    /**
+     * Get the next group of bytes as a location.
+     *
+     * <p>A boolean is read to indicate if the location is null, followed by
+     * the world name, the X, Y and Z values as doubles and the yaw and pitch
+     * values as floats.</p>
+     *
+     * @param output  The output {@link SyncLocation} to put values into.
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public SyncLocation getLocation(SyncLocation output) throws IOException {
+        PreCon.notNull(output);
+
+        if (!getBoolean())
+            return null;
+
+        output.setWorld(getString());
+        output.setX(getDouble());
+        output.setY(getDouble());
+        output.setZ(getDouble());
+        output.setYaw(getFloat());
+        output.setPitch(getFloat());
+
+        if (output.getWorldName() != null && Bukkit.isPrimaryThread()) {
+            output.setWorld(Bukkit.getWorld(output.getWorldName()));
+        }
+
+        return output;
+    }
+
+    /**
+     * Get the next group of bytes as an EulerAngle.
+     *
+     * <p>A boolean is read to indicate if the angle is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public EulerAngle getEulerAngle() throws IOException {
+        return getEulerAngle(new EulerAngle(0, 0, 0));
+    }
+
+    /**
+     * Get the next group of bytes as an EulerAngle.
+     *
+     * <p>A boolean is read to indicate if the angle is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @param output  The {@link EulerAngle} to put values into.
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public EulerAngle getEulerAngle(EulerAngle output) throws IOException {
+        PreCon.notNull(output);
+
+        if (!getBoolean())
+            return null;
+
+        output.setX(getDouble());
+        output.setY(getDouble());
+        output.setZ(getDouble());
+
+        return output;
+    }
+
+    /**
+     * Get the next group of bytes as a Vector.
+     *
+     * <p>A boolean is read to indicate if the vector is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public Vector getVector() throws IOException {
+        return getVector(new Vector(0, 0, 0));
+    }
+
+    /**
+     * Get the next group of bytes as a Vector.
+     *
+     * <p>A boolean is read to indicate if the vector is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @param output  The output {@link Vector} to put values into.
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public Vector getVector(Vector output) throws IOException {
+        PreCon.notNull(output);
+
+        if (!getBoolean())
+            return null;
+
+        output.setX(getDouble());
+        output.setY(getDouble());
+        output.setZ(getDouble());
+
+        return output;
+    }
+
+    /**
+     * Get the next group of bytes as an item stack.
+     *
+     * <p>See {@link NioByteWriter#write(ItemStack)} for the format.</p>
+     *
+     * @throws IOException
+     */
+    @Override
+    @Nullable
+    public ItemStack getItemStack() throws IOException {
+
+        boolean isNull = !getBoolean();
+        if (isNull)
+            return null;
+
+        // read basic data
+        Material type = getEnum(Material.class);
+        if (type == null)
+            throw new IOException("Failed to read ItemStack material.");
+
+        short durability = (short)getInteger();
+        int amount = getInteger();
+
+        ItemStack result = new ItemStack(type, amount, durability);
+
+        int totalMeta = getInteger();
+
+        for (int i=0; i < totalMeta; i++) {
+
+            String metaName = getString();
+            if (metaName == null)
+                throw new IOException("Failed to read meta name of entry #" + i);
+
+            String metaData = getString();
+            if (metaData == null)
+                throw new IOException("Failed to read meta data of entry #" + i);
+
+            IItemMetaHandler handler = Nucleus.getItemMetaHandlers().getHandler(metaName);
+            if (handler == null)
+                continue;
+
+            ItemMetaValue meta = new ItemMetaValue(metaName, metaData);
+
+            handler.apply(result, meta);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get an {@link IByteSerializable} object.
+     *
+     * <p>A boolean is read (See {@link #getBoolean} to indicate if the object
+     * is null (0 = null) and if not null a new object is instantiate via empty
+     * constructor and is responsible for deserializing data from the stream
+     * into itself.</p>
+     *
+     * @param objectClass  The object class.
+     *
+     * @param <T>  The object type.
+     *
+     * @throws Exception
+     */
+    @Override
+    @Nullable
+    public <T extends IByteSerializable> T deserialize(Class<T> objectClass)
+            throws IOException, InstantiationException {
+
+        PreCon.notNull(objectClass);
+
+        boolean isNull = !getBoolean();
+        if (isNull)
+            return null;
+
+        T object;
+
+        try {
+            Constructor<T> constructor = objectClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            object = constructor.newInstance();
+            object.deserialize(this);
+
+        } catch (NoSuchMethodException | IllegalAccessException | ClassNotFoundException |
+                InvocationTargetException | InstantiationException e) {
+            e.printStackTrace();
+            throw new InstantiationException("Failed to instantiate IBinarySerializable: "
+                    + objectClass.getName());
+        }
+
+        return object;
+    }
+
+    /**
+     * Deserialize an object from the next set of bytes.
+     *
+     * <p>A boolean is read (See {@link #getBoolean} indicating if the object
+     * is null (0 = null) and if not null the object is deserialized from the
+     * next byte array using an {@link ObjectInputStream}.</p>
+     *
+     * @param objectClass  The object class.
+     *
+     * @param <T>  The object type.
+     *
+     * @return The deserialized object or null if the object was written as null.
+     *
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    @Override
+    @Nullable
+    public <T extends Serializable> T deserializeObject(Class<T> objectClass)
+            throws IOException, ClassNotFoundException {
+        PreCon.notNull(objectClass);
+
+        boolean isNull = !getBoolean();
+        if (isNull)
+            return null;
+
+        byte[] bytes = getBytes();
+        if (bytes == null)
+            throw new IOException("Failed to read serialized object bytes.");
+
+        ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(bytes));
+
+        Object object = objectStream.readObject();
+
+        if (!objectClass.isInstance(object)) {
+            throw new ClassNotFoundException("The object returned by the stream is not of the " +
+                    "specified class: " + objectClass.getName());
+        }
+
+        return objectClass.cast(object);
+    }
+
+    /**
+     * Close the reader and the channel.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (_buffer == null)
+            return;
+
+        DirectBufferPool.release(_buffer);
+        _buffer = null;
+        _channel.close();
+    }
+
+    /*
+     * Read an unsigned LEB128 variable length integer.
+     */
+    private int readVarInt() throws IOException {
+
+        int result = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+
+            require(1);
+            byte b = _buffer.get();
+            _bytesRead++;
+
+            result |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return result;
+        }
+
+        throw new IOException("Malformed variable length integer.");
+    }
+
+    /*
+     * Read an unsigned LEB128 variable length long.
+     */
+    private long readVarLong() throws IOException {
+
+        long result = 0;
+
+        for (int shift = 0; shift < 70; shift += 7) {
+
+            require(1);
+            byte b = _buffer.get();
+            _bytesRead++;
+
+            result |= (long)(b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0)
+                return result;
+        }
+
+        throw new IOException("Malformed variable length long.");
+    }
+
+    /*
+     * Read text preceded by its byte length.
+     */
+    private String readText(Charset charset) throws IOException {
+
+        int length = readVarInt();
+        if (length == 0)
+            return "";
+
+        if (length <= _buffer.capacity()) {
+            require(length);
+
+            String text;
+
+            if (_buffer.hasArray()) {
+                text = new String(_buffer.array(), _buffer.arrayOffset() + _buffer.position(),
+                        length, charset);
+                _buffer.position(_buffer.position() + length);
+            }
+            else {
+                byte[] bytes = new byte[length];
+                _buffer.get(bytes);
+                text = new String(bytes, charset);
+            }
+
+            _bytesRead += length;
+            return text;
+        }
+
+        byte[] bytes = new byte[length];
+        readRaw(bytes);
+
+        return new String(bytes, charset);
+    }
+
+    /*
+     * Fill an array with the next bytes.
+     */
+    private void readRaw(byte[] bytes) throws IOException {
+        checkOpen();
+
+        int buffered = Math.min(bytes.length, _buffer.remaining());
+        _buffer.get(bytes, 0, buffered);
+
+        if (buffered < bytes.length) {
+
+            // read the remainder directly into the array
+            ByteBuffer wrapped = ByteBuffer.wrap(bytes, buffered, bytes.length - buffered);
+
+            while (wrapped.hasRemaining()) {
+                if (_channel.read(wrapped) == -1)
+                    throw new EOFException();
+            }
+        }
+
+        _bytesRead += bytes.length;
+    }
+
+    /*
+     * Make sure the buffer has the specified number of bytes available.
+     */
+    private void require(int size) throws IOException {
+        checkOpen();
+
+        if (_buffer.remaining() >= size)
+            return;
+
+        _buffer.compact();
+
+        while (_buffer.position() < size) {
+            if (_channel.read(_buffer) == -1) {
+                _buffer.flip();
+                throw new EOFException();
+            }
+        }
+
+        _buffer.flip();
+    }
+
+    private void checkOpen() throws IOException {
+        if (_buffer == null)
+            throw new IOException("The reader is closed.");
+    }
+
+    private void resetBooleanBuffer() {
+        _booleanReadCount = 7;
+        _booleans = 0;
+    }
+}
@@ -0,0 +1,757 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.file;
+
+import com.jcwhatever.nucleus.Nucleus;
+import com.jcwhatever.nucleus.managed.items.meta.IItemMetaHandler;
+import com.jcwhatever.nucleus.managed.items.meta.ItemMetaValue;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.coords.SyncLocation;
+
+import org.bukkit.Location;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.EulerAngle;
+import org.bukkit.util.Vector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.annotation.Nullable;
+
+/**
+ * Write bytes to a channel through a pooled direct buffer. In order to read
+ * the data, {@link NioByteReader} needs to be used.
+ *
+ * <p>The format is more compact than {@link BasicByteWriter}:</p>
+ *
+ * <ul>
+ *     <li>Short, integer and long values are written as zig-zag encoded LEB128
+ *     variable length numbers.</li>
+ *     <li>Float and double values are written as their IEEE 754 bits.</li>
+ *     <li>Strings are UTF-8 encoded. Strings up to {@link #MAX_INTERNED_LENGTH}
+ *     characters, including enum constant names, are written once per stream and
+ *     are referenced by index afterwards.</li>
+ * </ul>
+ *
+ * <p>Not thread safe.</p>
+ */
+public class NioByteWriter implements IByteWriter, Closeable, Flushable {
+
+    /**
+     * The maximum length of a string that is added to the string table.
+     */
+    public static final int MAX_INTERNED_LENGTH = 256;
+
+    // string tags, values at or above TAG_REFERENCE are table indexes
+    static final int TAG_NULL = 0;
+    static final int TAG_LITERAL = 1;
+    static final int TAG_NEW_ENTRY = 2;
+    static final int TAG_REFERENCE = 3;
+
+    private final WritableByteChannel _channel;
+    private final Map<String, Integer> _strings = new HashMap<>(64);
+
+    private ByteBuffer _buffer;
+    private long _bytesWritten = 0;
+
+    private int _booleanCount = 0;
+    private byte _booleans = 0;
+
+    /**
+     * Constructor.
+     *
+     * <p>Creates or replaces the file.</p>
+     *
+     * @param file  The file to write to.
+     *
+     * @throws IOException
+     */
+    public NioByteWriter(File file) throws IOException {
+        this(FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channel  The channel to write to. The channel is closed when
+     *                 the writer is closed.
+     */
+    public NioByteWriter(WritableByteChannel channel) {
+        PreCon.notNull(channel);
+
+        _channel = channel;
+        _buffer = DirectBufferPool.acquire();
+    }
+
+    /**
+     * Get the number of bytes written.
+     */
+    @Override
+    public long getBytesWritten() {
+        return _bytesWritten;
+    }
+
+    /**
+     * Write a boolean value.
+     *
+     * <p>Booleans written sequentially are written as bits into the current byte. When the byte
+     * runs out of bits, the next bit is written to the next byte. Because of this, 7 boolean
+     * values written sequentially use only 1 byte of space in the stream instead of 7 bytes.</p>
+     *
+     * <p>Bytes that store the boolean values do not share their bits with other data types.</p>
+     *
+     * @param booleanValue  The boolean value.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(boolean booleanValue) throws IOException {
+
+        if (_booleanCount == 7) {
+            writeBooleans();
+        }
+
+        if (booleanValue) {
+            _booleans |= 1 << _booleanCount;
+        }
+
+        _booleanCount++;
+    }
+
+    /**
+     * Write a byte.
+     *
+     * @param byteValue  The byte.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(byte byteValue) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        ensure(1);
+        _buffer.put(byteValue);
+        _bytesWritten++;
+    }
+
+    /**
+     * Write a byte array.
+     *
+     * <p>The length of the array plus 1 is written first as a variable length
+     * number, followed by the array bytes. A null array is written as 0.</p>
+     *
+     * @param byteArray  The byte array.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable byte[] byteArray) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        if (byteArray == null) {
+            writeVarInt(0);
+            return;
+        }
+
+        writeVarInt(byteArray.length + 1);
+        writeRaw(byteArray, 0, byteArray.length);
+    }
+
+    /**
+     * Write a 16-bit number as a variable length number (1-3 bytes).
+     *
+     * @param shortValue  The short.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(short shortValue) throws IOException {
+        write((int)shortValue);
+    }
+
+    /**
+     * Write a 32-bit number as a variable length number (1-5 bytes).
+     *
+     * @param integerValue  The integer.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(int integerValue) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        writeVarInt((integerValue << 1) ^ (integerValue >> 31));
+    }
+
+    /**
+     * Write a 64-bit number as a variable length number (1-10 bytes).
+     *
+     * @param longValue  The long.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(long longValue) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        writeVarLong((longValue << 1) ^ (longValue >> 63));
+    }
+
+    /**
+     * Write a floating point number (4 bytes).
+     *
+     * @param floatValue  The floating point value.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(float floatValue) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        ensure(4);
+        _buffer.putInt(Float.floatToRawIntBits(floatValue));
+        _bytesWritten += 4;
+    }
+
+    /**
+     * Write a double number (8 bytes).
+     *
+     * @param doubleValue  The floating point double.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(double doubleValue) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        ensure(8);
+        _buffer.putLong(Double.doubleToRawLongBits(doubleValue));
+        _bytesWritten += 8;
+    }
+
+    /**
+     * Write a {@link BigDecimal} number.
+     *
+     * <p>The unscaled value is written as a byte array (See {@link #write(byte[])})
+     * followed by the scale as an integer. A null value is written as a null array.</p>
+     *
+     * @param decimal  The big decimal.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable BigDecimal decimal) throws IOException {
+
+        if (decimal == null) {
+            write((byte[])null);
+            return;
+        }
+
+        write(decimal.unscaledValue().toByteArray());
+        write(decimal.scale());
+    }
+
+    /**
+     * Write a {@link BigInteger} number.
+     *
+     * <p>The number is written as its two's complement byte array.
+     * (See {@link #write(byte[])})</p>
+     *
+     * @param integer  The big integer.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable BigInteger integer) throws IOException {
+        write(integer != null ? integer.toByteArray() : null);
+    }
+
+    /**
+     * Write a text string using UTF-8 encoding.
+     *
+     * <p>Strings up to {@link #MAX_INTERNED_LENGTH} characters are written
+     * once and referenced by index when written again.</p>
+     *
+     * @param text  The text to write. Can be null.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable String text) throws IOException {
+
+        // write buffered booleans
+        writeBooleans();
+
+        if (text == null) {
+            writeVarInt(TAG_NULL);
+            return;
+        }
+
+        if (text.length() > MAX_INTERNED_LENGTH) {
+            writeVarInt(TAG_LITERAL);
+            writeText(text, StandardCharsets.UTF_8);
+            return;
+        }
+
+        Integer index = _strings.get(text);
+        if (index != null) {
+            writeVarInt(TAG_REFERENCE + index);
+            return;
+        }
+
+        _strings.put(text, _strings.size());
+
+        writeVarInt(TAG_NEW_ENTRY);
+        writeText(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a text string.
+     *
+     * <p>UTF-8 text is written the same as {@link #write(String)}. Text
+     * in other encodings is not added to the string table.</p>
+     *
+     * @param text     The text to write. Can be null.
+     * @param charset  The charset encoding to use.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable String text, Charset charset) throws IOException {
+        PreCon.notNull(charset);
+
+        if (text == null || StandardCharsets.UTF_8.equals(charset)) {
+            write(text);
+            return;
+        }
+
+        // write buffered booleans
+        writeBooleans();
+
+        writeVarInt(TAG_LITERAL);
+        writeText(text, charset);
+    }
+
+    /**
+     * Write a text string using UTF-8 encoding.
+     *
+     * <p>Same as {@link #write(String)}.</p>
+     *
+     * @param text  The text to write. Can be null.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void writeSmallString(@Nullable String text) throws IOException {
+        write(text);
+    }
+
+    /**
+     * Write an enum.
+     *
+     * <p>The name of the enum constant is written as a string. (See {@link #write(String)})</p>
+     *
+     * @param enumConstant  The enum constant.
+     *
+     * @param <T>  The enum type.
+     *
+     * @throws IOException
+     */
+    @Override
+    public <T extends Enum<T>> void write(@Nullable T enumConstant) throws IOException {
+        write(enumConstant != null ? enumConstant.name() : null);
+    }
+
+    /**
+     * Write a UUID.
+     *
+     * <p>A boolean is written first to indicate if the value is null. If the value is
+     * not null, the most significant bits are written followed by the least significant
+     * bits, 8 bytes each.</p>
+     *
+     * @param uuid  The UUID to write.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable UUID uuid) throws IOException {
+
+        write(uuid != null);
+        if (uuid == null)
+            return;
+
+        writeBooleans();
+
+        ensure(16);
+        _buffer.putLong(uuid.getMostSignificantBits());
+        _buffer.putLong(uuid.getLeastSignificantBits());
+        _bytesWritten += 16;
+    }
+
+    /**
+     * Write a {@link Location}.
+     *
+     * <p>A boolean is written to indicate if the location is null, followed by
+     * the world name (See {@link #write(String)}), the X, Y and Z values as doubles
+     * and the yaw and pitch values as floats.</p>
+     *
+     * @param location  The location.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable Location location) throws IOException {
+
+        write(location != null);
+        if (location == null)
+            return;
+
+        String worldName = null;
+
+        if (location instanceof SyncLocation) {
+            worldName = ((SyncLocation) location).getWorldName();
+        }
+        else if (location.getWorld() != null) {
+            worldName = location.getWorld().getName();
+        }
+
+        write(worldName);
+        write(location.getX());
+        write(location.getY());
+        write(location.getZ());
+        write(location.getYaw());
+        write(location.getPitch());
+    }
+
+    /**
+     * Write an {@link EulerAngle}.
+     *
+     * <p>A boolean is written to indicate if the angle is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @param angle  The angle.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable EulerAngle angle) throws IOException {
+
+        write(angle != null);
+        if (angle == null)
+            return;
+
+        write(angle.getX());
+        write(angle.getY());
+        write(angle.getZ());
+    }
+
+    /**
+     * Write a {@link Vector}.
+     *
+     * <p>A boolean is written to indicate if the vector is null, followed
+     * by the X, Y and Z values as doubles.</p>
+     *
+     * @param vector  The vector.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable Vector vector) throws IOException {
+
+        write(vector != null);
+        if (vector == null)
+            return;
+
+        write(vector.getX());
+        write(vector.getY());
+        write(vector.getZ());
+    }
+
+    /**
+     * Write an {@link ItemStack}.
+     *
+     * <p>Writes the item stack as follows:</p>
+     * <ul>
+     *     <li>Boolean indicating if the item stack is null. 0 = null.</li>
+     *     <li>Material - Enum (See {@link #write(Enum)})</li>
+     *     <li>Durability - Integer</li>
+     *     <li>Amount - Integer</li>
+     *     <li>Meta count - Integer</li>
+     *     <li>Meta name and data strings for each meta element.
+     *     (See {@link #write(String)})</li>
+     * </ul>
+     *
+     * @param itemStack  The item stack.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void write(@Nullable ItemStack itemStack) throws IOException {
+
+        write(itemStack != null);
+        if (itemStack == null)
+            return;
+
+        // write basic data
+        write(itemStack.getType());
+        write((int)itemStack.getDurability());
+        write(itemStack.getAmount());
+
+        Collection<IItemMetaHandler> handlers = Nucleus.getItemMetaHandlers().getHandlers();
+
+        List<ItemMetaValue> metaObjects = new ArrayList<>(10);
+
+        for (IItemMetaHandler handler : handlers) {
+            metaObjects.addAll(handler.getMeta(itemStack));
+        }
+
+        write(metaObjects.size());
+
+        for (ItemMetaValue metaObject : metaObjects) {
+            write(metaObject.getName());
+            write(metaObject.getRawData());
+        }
+    }
+
+    /**
+     * Serialize an {@link IByteSerializable} object.
+     *
+     * <p>A boolean is written to indicate if the object is null (0 = null) and if not
+     * null the object serializes itself into the stream.</p>
+     *
+     * @param object  The object to serialize.
+     *
+     * @param <T>  The object type.
+     *
+     * @throws IOException
+     */
+    @Override
+    public <T extends IByteSerializable> void write(@Nullable T object) throws IOException {
+        write(object != null);
+        if (object == null)
+            return;
+
+        object.serialize(this);
+    }
+
+    /**
+     * Serialize an object.
+     *
+     * <p>A boolean is written indicating if the object is null (0 = null) and if not
+     * null the object is serialized using an {@link ObjectOutputStream} and written
+     * as a byte array. (See {@link #write(byte[])})</p>
+     *
+     * <p>Prefer {@link IByteSerializable} for objects written frequently.</p>
+     *
+     * @param object  The object to serialize. Can be null.
+     *
+     * @throws IOException
+     */
+    @Override
+    public <T extends Serializable> void write(@Nullable T object) throws IOException {
+
+        write(object != null);
+        if (object == null)
+            return;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        ObjectOutputStream objectStream = new ObjectOutputStream(bytes);
+        objectStream.writeObject(object);
+        objectStream.close();
+
+        write(bytes.toByteArray());
+    }
+
+    /**
+     * Write buffered bytes to the channel.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+
+        if (_buffer == null)
+            return;
+
+        // write buffered booleans
+        writeBooleans();
+
+        drain();
+    }
+
+    /**
+     * Flush buffered bytes and close the channel.
+     *
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (_buffer == null)
+            return;
+
+        try {
+            flush();
+        }
+        finally {
+            DirectBufferPool.release(_buffer);
+            _buffer = null;
+            _channel.close();
+        }
+    }
+
+    /*
+     * Write an unsigned LEB128 variable length integer.
+     */
+    private void writeVarInt(int value) throws IOException {
+
+        ensure(5);
+
+        while ((value & ~0x7F) != 0) {
+            _buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+            _bytesWritten++;
+        }
+
+        _buffer.put((byte)value);
+        _bytesWritten++;
+    }
+
+    /*
+     * Write an unsigned LEB128 variable length long.
+     */
+    private void writeVarLong(long value) throws IOException {
+
+        ensure(10);
+
+        while ((value & ~0x7FL) != 0) {
+            _buffer.put((byte)((value & 0x7F) | 0x80));
+            value >>>= 7;
+            _bytesWritten++;
+        }
+
+        _buffer.put((byte)value);
+        _bytesWritten++;
+    }
+
+    /*
+     * Write encoded text preceded by the byte length.
+     */
+    private void writeText(String text, Charset charset) throws IOException {
+        byte[] bytes = text.getBytes(charset);
+
+        writeVarInt(bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    /*
+     * Write bytes without a length.
+     */
+    private void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+
+        if (length > _buffer.remaining()) {
+            drain();
+
+            // write large arrays directly
+            if (length > _buffer.capacity()) {
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes, offset, length);
+                while (wrapped.hasRemaining()) {
+                    _channel.write(wrapped);
+                }
+                _bytesWritten += length;
+                return;
+            }
+        }
+
+        _buffer.put(bytes, offset, length);
+        _bytesWritten += length;
+    }
+
+    /*
+     * Make sure the buffer has room for the specified number of bytes.
+     */
+    private void ensure(int size) throws IOException {
+        if (_buffer == null)
+            throw new IOException("The writer is closed.");
+
+        if (_buffer.remaining() < size)
+            drain();
+    }
+
+    /*
+     * Write the buffer contents to the channel.
+     */
+    private void drain() throws IOException {
+
+        _buffer.flip();
+
+        while (_buffer.hasRemaining()) {
+            _channel.write(_buffer);
+        }
+
+        _buffer.clear();
+    }
+
+    private void writeBooleans() throws IOException {
+        if (_booleanCount > 0) {
+            ensure(1);
+            _buffer.put(_booleans);
+            _bytesWritten++;
+            _booleans = 0;
+            _booleanCount = 0;
+        }
+    }
+}
@@ -136,7 +136,22 @@ public class InventorySnapshot {
     public int getAmount(MatchableItem matchable) {
         PreCon.notNull(matchable);
 
-        Item item = _itemMap.get(matchable);
+        Item item = null;
+
+        if (matchable.getItemStackMatcher().getMatcherOperations() == _comparer.getMatcherOperations()) {
+            item = _itemMap.get(matchable);
+        }
+        else {
+            // wrappers with different operations are never equal, compare against each item instead
+            ItemStackMatcher matcher = matchable.getItemStackMatcher();
+
+            for (Map.Entry<MatchableItem, Item> entry : _itemMap.entrySet()) {
+                if (matcher.isMatch(matchable.getItem(), entry.getKey().getItem())) {
+                    item = entry.getValue();
+                    break;
+                }
+            }
+        }
 
         if (item == null)
             return 0;
@@ -0,0 +1,549 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.inventory;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.items.ItemStackMatcher;
+import com.jcwhatever.nucleus.utils.items.ItemStackUtils;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Removes and adds a bill of {@link ItemStack}'s to and from an inventory
+ * as a single operation.
+ *
+ * <p>The inventory contents are scanned once for all items in the bill. Items
+ * to remove are grouped by their {@link ItemStackMatcher} fingerprint so each
+ * slot is only compared to bill items that can match it.</p>
+ *
+ * <p>The matcher is only used to find items to remove. Items to add are only
+ * stacked onto items that are {@link ItemStack#isSimilar similar}, so the meta
+ * of an added item is never lost to a looser matcher.</p>
+ *
+ * <p>The transaction is atomic: when {@link #commit} returns false, the inventory
+ * is unchanged. If applying the changes fails, changes already made are
+ * rolled back.</p>
+ *
+ * <p>When the inventory is a {@link PlayerInventory}, items are also removed
+ * from armor slots. Added items are only placed in the main contents.</p>
+ *
+ * <p>The working buffers are reused between commits so an instance can be kept
+ * and reused for repeated transactions. Not thread safe.</p>
+ */
+public class InventoryTransaction {
+
+    private static final int EMPTY = -1;
+    private static final int OTHER = -2;
+
+    private final ItemStackMatcher _matcher;
+    private final List<Entry> _entries = new ArrayList<>(10);
+    private final List<Entry> _additions = new ArrayList<>(10);
+
+    // working buffers, indexed by slot
+    private int[] _originalEntries = new int[0];
+    private int[] _finalEntries = new int[0];
+    private int[] _addedEntries = new int[0];
+    private int[] _amounts = new int[0];
+    private ItemStack[] _originals = new ItemStack[0];
+
+    /**
+     * Constructor.
+     *
+     * <p>Uses the type, meta and durability {@link ItemStackMatcher}.</p>
+     */
+    public InventoryTransaction() {
+        this(ItemStackMatcher.getTypeMetaDurability());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param matcher  The {@link ItemStackMatcher} used to match items in the bill
+     *                 to items in the inventory.
+     */
+    public InventoryTransaction(ItemStackMatcher matcher) {
+        PreCon.notNull(matcher);
+
+        _matcher = matcher;
+    }
+
+    /**
+     * Get the {@link ItemStackMatcher} used by the transaction.
+     */
+    public ItemStackMatcher getMatcher() {
+        return _matcher;
+    }
+
+    /**
+     * Add items to remove from the inventory.
+     *
+     * <p>The amount of the item stack is used as the quantity.</p>
+     *
+     * @param itemStack  The item to remove.
+     *
+     * @return  Self for chaining.
+     */
+    public InventoryTransaction remove(ItemStack itemStack) {
+        PreCon.notNull(itemStack);
+
+        return remove(itemStack, itemStack.getAmount());
+    }
+
+    /**
+     * Add items to remove from the inventory.
+     *
+     * @param itemStack  The item to remove.
+     * @param qty        The quantity to remove.
+     *
+     * @return  Self for chaining.
+     */
+    public InventoryTransaction remove(ItemStack itemStack, int qty) {
+        PreCon.notNull(itemStack);
+        PreCon.positiveNumber(qty);
+
+        if (qty > 0 && itemStack.getType() != Material.AIR)
+            getEntry(itemStack).remove += qty;
+
+        return this;
+    }
+
+    /**
+     * Add items to add to the inventory.
+     *
+     * <p>The amount of the item stack is used as the quantity.</p>
+     *
+     * @param itemStack  The item to add.
+     *
+     * @return  Self for chaining.
+     */
+    public InventoryTransaction add(ItemStack itemStack) {
+        PreCon.notNull(itemStack);
+
+        return add(itemStack, itemStack.getAmount());
+    }
+
+    /**
+     * Add items to add to the inventory.
+     *
+     * <p>Items are added after items to remove are removed.</p>
+     *
+     * @param itemStack  The item to add.
+     * @param qty        The quantity to add.
+     *
+     * @return  Self for chaining.
+     */
+    public InventoryTransaction add(ItemStack itemStack, int qty) {
+        PreCon.notNull(itemStack);
+        PreCon.positiveNumber(qty);
+
+        if (qty > 0 && itemStack.getType() != Material.AIR)
+            getAddition(itemStack).add += qty;
+
+        return this;
+    }
+
+    /**
+     * Clear the bill of items.
+     *
+     * @return  Self for chaining.
+     */
+    public InventoryTransaction clear() {
+        _entries.clear();
+        _additions.clear();
+        return this;
+    }
+
+    /**
+     * Determine if the bill is empty.
+     */
+    public boolean isEmpty() {
+        return _entries.isEmpty() && _additions.isEmpty();
+    }
+
+    /**
+     * Determine if the transaction can be committed to an inventory.
+     *
+     * @param inventory  The inventory to check.
+     */
+    public boolean canCommit(Inventory inventory) {
+        PreCon.notNull(inventory);
+
+        return plan(inventory.getContents(), getArmor(inventory));
+    }
+
+    /**
+     * Determine if the transaction can be committed to an
+     * {@link ItemStack} array.
+     *
+     * @param contents  The contents to check.
+     */
+    public boolean canCommit(ItemStack[] contents) {
+        PreCon.notNull(contents);
+
+        return plan(contents, null);
+    }
+
+    /**
+     * Remove and add the items in the bill to an inventory.
+     *
+     * @param inventory  The inventory.
+     *
+     * @return  True if the items were removed and added. False if the inventory
+     * does not contain all of the items to remove or does not have room for all of
+     * the items to add, in which case the inventory is not modified.
+     */
+    public boolean commit(Inventory inventory) {
+        PreCon.notNull(inventory);
+
+        ItemStack[] contents = inventory.getContents();
+        ItemStack[] armor = getArmor(inventory);
+
+        if (!plan(contents, armor))
+            return false;
+
+        apply(inventory, contents, armor);
+        return true;
+    }
+
+    /**
+     * Remove and add the items in the bill to an {@link ItemStack} array.
+     *
+     * @param contents  The contents.
+     *
+     * @return  True if the items were removed and added. False if the array does
+     * not contain all of the items to remove or does not have room for all of the
+     * items to add, in which case the array is not modified.
+     */
+    public boolean commit(ItemStack[] contents) {
+        PreCon.notNull(contents);
+
+        if (!plan(contents, null))
+            return false;
+
+        apply(null, contents, null);
+        return true;
+    }
+
+    /*
+     * Scan the contents once and plan the final amount and item of each slot.
+     */
+    private boolean plan(ItemStack[] contents, @Nullable ItemStack[] armor) {
+
+        int totalSlots = contents.length + (armor != null ? armor.length : 0);
+        ensureCapacity(totalSlots);
+
+        for (int i = 0; i < _entries.size(); i++) {
+            Entry entry = _entries.get(i);
+            entry.available = 0;
+            entry.removeLeft = entry.remove;
+        }
+
+        for (int i = 0; i < _additions.size(); i++) {
+            Entry entry = _additions.get(i);
+            entry.addLeft = entry.add;
+        }
+
+        // match each slot to an entry
+        for (int i = 0; i < totalSlots; i++) {
+
+            ItemStack item = getSlot(contents, armor, i);
+
+            if (item == null || item.getType() == Material.AIR) {
+                _originalEntries[i] = EMPTY;
+                _amounts[i] = 0;
+            }
+            else {
+                int index = findEntry(item);
+                _originalEntries[i] = index;
+                _amounts[i] = item.getAmount();
+
+                if (index >= 0)
+                    _entries.get(index).available += item.getAmount();
+            }
+
+            _finalEntries[i] = _originalEntries[i];
+            _addedEntries[i] = EMPTY;
+        }
+
+        for (int i = 0; i < _entries.size(); i++) {
+            Entry entry = _entries.get(i);
+            if (entry.available < entry.remove)
+                return false;
+        }
+
+        // remove items, front to back
+        for (int i = 0; i < totalSlots; i++) {
+
+            int index = _originalEntries[i];
+            if (index < 0)
+                continue;
+
+            Entry entry = _entries.get(index);
+            if (entry.removeLeft == 0)
+                continue;
+
+            int take = Math.min(entry.removeLeft, _amounts[i]);
+            entry.removeLeft -= take;
+            _amounts[i] -= take;
+
+            if (_amounts[i] == 0)
+                _finalEntries[i] = EMPTY;
+        }
+
+        // add items, filling similar stacks before using empty slots
+        for (int index = 0; index < _additions.size(); index++) {
+
+            Entry entry = _additions.get(index);
+
+            int maxStackSize = entry.item.getType().getMaxStackSize();
+            if (maxStackSize <= 0)
+                return false;
+
+            for (int i = 0; i < contents.length && entry.addLeft > 0; i++) {
+
+                // skip slots that are empty after removing, including slots filled by an addition
+                if (_finalEntries[i] == EMPTY || _amounts[i] >= maxStackSize)
+                    continue;
+
+                ItemStack item = contents[i];
+                if (item.getType() != entry.item.getType() || !item.isSimilar(entry.item))
+                    continue;
+
+                int add = Math.min(entry.addLeft, maxStackSize - _amounts[i]);
+                entry.addLeft -= add;
+                _amounts[i] += add;
+            }
+
+            for (int i = 0; i < contents.length && entry.addLeft > 0; i++) {
+
+                if (_finalEntries[i] != EMPTY || _addedEntries[i] != EMPTY)
+                    continue;
+
+                int add = Math.min(entry.addLeft, maxStackSize);
+                entry.addLeft -= add;
+                _amounts[i] = add;
+                _addedEntries[i] = index;
+            }
+
+            if (entry.addLeft > 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /*
+     * Apply a successful plan. Restores changed slots if an exception is thrown.
+     */
+    private void apply(@Nullable Inventory inventory, ItemStack[] contents, @Nullable ItemStack[] armor) {
+
+        int totalSlots = contents.length + (armor != null ? armor.length : 0);
+        int applied = 0;
+        boolean isArmorChanged = false;
+
+        try {
+
+            for (int i = 0; i < totalSlots; i++, applied++) {
+
+                ItemStack original = getSlot(contents, armor, i);
+                _originals[i] = original;
+
+                int originalIndex = _originalEntries[i];
+                int finalIndex = _finalEntries[i];
+                int addedIndex = _addedEntries[i];
+
+                ItemStack result;
+
+                if (addedIndex != EMPTY) {
+                    // empty slot filled with an added item
+                    result = _additions.get(addedIndex).item.clone();
+                    result.setAmount(_amounts[i]);
+                }
+                else if (finalIndex == EMPTY) {
+                    if (originalIndex == EMPTY)
+                        continue;
+
+                    result = ItemStackUtils.AIR;
+                }
+                else {
+                    // original item with items removed or similar items added
+                    if (original.getAmount() == _amounts[i])
+                        continue;
+
+                    result = original.clone();
+                    result.setAmount(_amounts[i]);
+                }
+
+                if (i < contents.length) {
+                    contents[i] = result;
+
+                    if (inventory != null)
+                        inventory.setItem(i, result);
+                }
+                else {
+                    armor[i - contents.length] = result;
+                    isArmorChanged = true;
+                }
+            }
+
+            if (isArmorChanged)
+                ((PlayerInventory) inventory).setArmorContents(armor);
+        }
+        catch (RuntimeException e) {
+
+            // rollback, including the slot that failed
+            int rollback = Math.min(applied + 1, totalSlots);
+
+            for (int i = 0; i < Math.min(rollback, contents.length); i++) {
+                contents[i] = _originals[i];
+
+                if (inventory != null)
+                    inventory.setItem(i, _originals[i]);
+            }
+
+            for (int i = contents.length; i < rollback; i++) {
+                armor[i - contents.length] = _originals[i];
+            }
+
+            // armor is set after all slots are applied, so it only needs to be
+            // restored if setting it failed
+            if (isArmorChanged && applied == totalSlots)
+                ((PlayerInventory) inventory).setArmorContents(armor);
+
+            throw e;
+        }
+        finally {
+            for (int i = 0; i < totalSlots; i++) {
+                _originals[i] = null;
+            }
+        }
+    }
+
+    /*
+     * Find the index of the entry that matches an item or OTHER if there is none.
+     */
+    private int findEntry(ItemStack item) {
+
+        long fingerprint = 0;
+        boolean hasFingerprint = false;
+
+        for (int i = 0; i < _entries.size(); i++) {
+            Entry entry = _entries.get(i);
+
+            if (_matcher.isTypeMatcher() && entry.item.getType() != item.getType())
+                continue;
+
+            if (!hasFingerprint) {
+                fingerprint = _matcher.getFingerprint(item);
+                hasFingerprint = true;
+            }
+
+            if (entry.fingerprint == fingerprint && _matcher.isMatch(entry.item, item))
+                return i;
+        }
+
+        return OTHER;
+    }
+
+    /*
+     * Get the entry for an item to remove, creating it if necessary.
+     */
+    private Entry getEntry(ItemStack itemStack) {
+
+        int index = findEntry(itemStack);
+        if (index >= 0)
+            return _entries.get(index);
+
+        Entry entry = new Entry(itemStack.clone(), _matcher.getFingerprint(itemStack));
+        _entries.add(entry);
+        return entry;
+    }
+
+    /*
+     * Get the entry for an item to add, creating it if necessary. Items to
+     * add are grouped by similarity, not by the transaction matcher.
+     */
+    private Entry getAddition(ItemStack itemStack) {
+
+        for (int i = 0; i < _additions.size(); i++) {
+            Entry entry = _additions.get(i);
+            if (entry.item.isSimilar(itemStack))
+                return entry;
+        }
+
+        Entry entry = new Entry(itemStack.clone(), 0);
+        _additions.add(entry);
+        return entry;
+    }
+
+    private void ensureCapacity(int totalSlots) {
+        if (_amounts.length >= totalSlots)
+            return;
+
+        _originalEntries = new int[totalSlots];
+        _finalEntries = new int[totalSlots];
+        _addedEntries = new int[totalSlots];
+        _amounts = new int[totalSlots];
+        _originals = new ItemStack[totalSlots];
+    }
+
+    @Nullable
+    private static ItemStack getSlot(ItemStack[] contents, @Nullable ItemStack[] armor, int slot) {
+        return slot < contents.length
+                ? contents[slot]
+                : armor[slot - contents.length];
+    }
+
+    @Nullable
+    private static ItemStack[] getArmor(Inventory inventory) {
+        return inventory instanceof PlayerInventory
+                ? ((PlayerInventory) inventory).getArmorContents()
+                : null;
+    }
+
+    private static class Entry {
+        final ItemStack item;
+        final long fingerprint;
+        int remove;
+        int add;
+
+        // working values
+        int available;
+        int removeLeft;
+        int addLeft;
+
+        Entry(ItemStack item, long fingerprint) {
+            this.item = item;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -408,7 +408,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item))
+            if (isMatch(matcher, itemStack, item))
                 return true;
         }
 
@@ -494,7 +494,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item))
+            if (isMatch(matcher, itemStack, item))
                 return true;
         }
 
@@ -588,7 +588,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item))
+            if (isMatch(matcher, itemStack, item))
                 items.add(item);
         }
 
@@ -819,7 +819,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item)) {
+            if (isMatch(matcher, itemStack, item)) {
 
                 ItemStack clone = item.clone();
 
@@ -931,7 +931,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item)) {
+            if (isMatch(matcher, itemStack, item)) {
 
                 ItemStack clone = item.clone();
 
@@ -1107,7 +1107,7 @@ public final class InventoryUtils {
             if (item == null || item.getType() == Material.AIR)
                 continue;
 
-            if (matcher.isMatch(itemStack, item))
+            if (isMatch(matcher, itemStack, item))
                 count += item.getAmount();
 
             if (qty >= 0 && count >= qty)
@@ -1117,6 +1117,28 @@ public final class InventoryUtils {
         return count;
     }
 
+    /*
+     * Compare an item from the inventory contents to the item stack being searched for.
+     * Properties that are cheap to read are compared first so the meta data is only
+     * compared for likely matches.
+     */
+    private static boolean isMatch(ItemStackMatcher matcher, ItemStack itemStack, ItemStack item) {
+
+        if (matcher.isTypeMatcher() && itemStack.getType() != item.getType())
+            return false;
+
+        if (matcher.isDurabilityMatcher() && itemStack.getDurability() != item.getDurability())
+            return false;
+
+        if (matcher.isAmountMatcher() && itemStack.getAmount() != item.getAmount())
+            return false;
+
+        if (matcher.isMetaMatcher() && itemStack.hasItemMeta() != item.hasItemMeta())
+            return false;
+
+        return matcher.isMatch(itemStack, item);
+    }
+
     private static int count (Inventory inventory, ItemStack itemStack, ItemStackMatcher matcher, int qty) {
 
         ItemStack[] contents = inventory.getContents();
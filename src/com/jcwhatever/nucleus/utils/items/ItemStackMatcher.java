@@ -28,10 +28,13 @@ package com.jcwhatever.nucleus.utils.items;
 import com.jcwhatever.nucleus.utils.materials.Materials;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
 
 import javax.annotation.Nullable;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -75,6 +78,9 @@ public class ItemStackMatcher {
     private static final ItemStackMatcher _durabilityMatcher = new ItemStackMatcher(TYPE_META_DURABILITY_MATCH);
     private static final Map<Byte, ItemStackMatcher> _custom = new HashMap<Byte, ItemStackMatcher>(35);
 
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     /**
      * Get the default singleton instance of the {@link ItemStackMatcher}.
      *
@@ -231,4 +237,106 @@ public class ItemStackMatcher {
 
         return true;
     }
+
+    /**
+     * Get a 64-bit fingerprint of an item stack based on the properties
+     * the matcher matches.
+     *
+     * <p>Stacks that match according to {@link #isMatch} always have the
+     * same fingerprint, so different fingerprints can be used to rule out
+     * a match without comparing meta data. Stacks with the same fingerprint
+     * still need to be compared with {@link #isMatch}.</p>
+     *
+     * @param stack  The item stack.
+     *
+     * @return  The fingerprint or 0 if the stack is null.
+     */
+    public long getFingerprint(@Nullable ItemStack stack) {
+
+        if (stack == null)
+            return 0;
+
+        long hash = FNV_OFFSET ^ _matchOperations;
+
+        if (_matchType) {
+
+            Material type = stack.getType();
+            hash = mix(hash, type.ordinal());
+
+            if (Materials.hasSubMaterialDurability(type))
+                hash = mix(hash, stack.getDurability());
+
+            if (Materials.hasColorData(type) || Materials.hasSubMaterialData(type))
+                hash = mix(hash, stack.getData().getData());
+        }
+
+        if (_matchMeta) {
+
+            if (stack.hasItemMeta()) {
+                ItemMeta meta = stack.getItemMeta();
+
+                hash = mix(hash, 1);
+                hash = mix(hash, meta.hasDisplayName() ? hash(meta.getDisplayName()) : 0);
+
+                if (meta.hasLore()) {
+                    List<String> lore = meta.getLore();
+                    hash = mix(hash, lore.size());
+
+                    for (String line : lore) {
+                        hash = mix(hash, hash(line));
+                    }
+                }
+                else {
+                    hash = mix(hash, -1);
+                }
+
+                long enchants = 0;
+
+                if (meta.hasEnchants()) {
+
+                    // order independent sum so the map iteration order does not matter
+                    for (Map.Entry<Enchantment, Integer> entry : meta.getEnchants().entrySet()) {
+                        enchants += finish(mix(hash(entry.getKey().getName()), entry.getValue()));
+                    }
+                }
+
+                hash = mix(hash, enchants);
+            }
+            else {
+                hash = mix(hash, 0);
+            }
+        }
+
+        if (_matchDurability)
+            hash = mix(hash, stack.getDurability());
+
+        if (_matchAmount)
+            hash = mix(hash, stack.getAmount());
+
+        return finish(hash);
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private static long hash(@Nullable String text) {
+        if (text == null)
+            return 0;
+
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < text.length(); i++) {
+            hash = mix(hash, text.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
 }
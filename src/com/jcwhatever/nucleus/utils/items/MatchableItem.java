@@ -38,15 +38,24 @@ import org.bukkit.inventory.ItemStack;
  * that represents the item.</p>
  *
  * <p>{@link #hashCode} method returns the hash based on the encapsulated
- * {@link org.bukkit.inventory.ItemStack}'s {@link org.bukkit.Material} type so
- * that different {@link ItemStackMatcher} compare operations can be used to find
- * an {@link org.bukkit.inventory.ItemStack} by key or in a hash set.</p>
+ * {@link org.bukkit.inventory.ItemStack}'s fingerprint (see
+ * {@link ItemStackMatcher#getFingerprint}) so that items of the same
+ * {@link org.bukkit.Material} type with different meta data are spread across
+ * hash buckets. The fingerprint depends on the {@link ItemStackMatcher} compare
+ * operations, so wrappers are only equal to wrappers that use the same operations.
+ * To find an {@link org.bukkit.inventory.ItemStack} by key or in a hash set using
+ * different {@link ItemStackMatcher} compare operations, compare against each key
+ * with {@link ItemStackMatcher#isMatch} instead.</p>
  *
+ * <p>The fingerprint is cached, so the encapsulated {@link ItemStack} should not be
+ * modified while the wrapper is in use as a key.</p>
  */
 public class MatchableItem {
 
     private ItemStack _itemStack;
     private ItemStackMatcher _matcher;
+    private long _fingerprint;
+    private boolean _hasFingerprint;
 
     /**
      * Constructor.
@@ -103,12 +112,26 @@ public class MatchableItem {
         return _matcher;
     }
 
+    /**
+     * Get the fingerprint of the encapsulated {@link ItemStack} based
+     * on the {@link ItemStackMatcher} operations.
+     */
+    public long getFingerprint() {
+        if (!_hasFingerprint) {
+            _fingerprint = _matcher.getFingerprint(_itemStack);
+            _hasFingerprint = true;
+        }
+        return _fingerprint;
+    }
+
     @Override
     public int hashCode() {
         if (_itemStack == null)
             return 0;
 
-        return 31 + _itemStack.getTypeId();
+        long fingerprint = getFingerprint();
+
+        return (int)(fingerprint ^ (fingerprint >>> 32));
     }
 
     @Override
@@ -122,6 +145,17 @@ public class MatchableItem {
         else if (o instanceof MatchableItem) {
             MatchableItem wrapper = (MatchableItem)o;
 
+            if (wrapper.getItem() == null)
+                return false;
+
+            // hash codes are only consistent under the same operations
+            if (_matcher.getMatcherOperations() != wrapper._matcher.getMatcherOperations())
+                return false;
+
+            // different fingerprints can never match
+            if (getFingerprint() != wrapper.getFingerprint())
+                return false;
+
             return _matcher.isMatch(_itemStack, wrapper.getItem());
         }
 
@@ -137,6 +171,7 @@ public class MatchableItem {
         PreCon.notNull(itemStack);
 
         _itemStack = itemStack;
+        _hasFingerprint = false;
     }
 
     /**
@@ -148,5 +183,6 @@ public class MatchableItem {
         PreCon.notNull(matcher);
 
         _matcher = matcher;
+        _hasFingerprint = false;
     }
 }
@@ -0,0 +1,202 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.modules;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.annotation.Nullable;
+
+/**
+ * The header of a class file: class name, super class name and interface names.
+ *
+ * <p>Read directly from the class file bytes so the class does not need to be
+ * loaded to determine its type hierarchy. Names are internal names
+ * (i.e. "java/lang/Object").</p>
+ */
+final class ClassHeader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    /**
+     * Read a class header from a class file stream.
+     *
+     * <p>Only the constant pool and the header fields are read.</p>
+     *
+     * @param input  The class file input stream.
+     *
+     * @return  The header or null if the stream is not a class file.
+     *
+     * @throws IOException
+     */
+    @Nullable
+    static ClassHeader read(InputStream input) throws IOException {
+
+        DataInputStream stream = new DataInputStream(input);
+
+        if (stream.readInt() != MAGIC)
+            return null;
+
+        stream.readUnsignedShort(); // minor version
+        stream.readUnsignedShort(); // major version
+
+        int poolSize = stream.readUnsignedShort();
+
+        // utf8 constants by pool index
+        String[] utf8 = new String[poolSize];
+
+        // class constant name indexes by pool index
+        int[] classNames = new int[poolSize];
+
+        byte[] skipBuffer = new byte[8];
+
+        for (int i = 1; i < poolSize; i++) {
+
+            int tag = stream.readUnsignedByte();
+
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = stream.readUTF();
+                    break;
+
+                case 7: // Class
+                    classNames[i] = stream.readUnsignedShort();
+                    break;
+
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    stream.readFully(skipBuffer, 0, 2);
+                    break;
+
+                case 15: // MethodHandle
+                    stream.readFully(skipBuffer, 0, 3);
+                    break;
+
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    stream.readFully(skipBuffer, 0, 4);
+                    break;
+
+                case 5: // Long
+                case 6: // Double
+                    stream.readFully(skipBuffer, 0, 8);
+                    i++; // takes 2 pool slots
+                    break;
+
+                default:
+                    throw new IOException("Unknown constant pool tag: " + tag);
+            }
+        }
+
+        int access = stream.readUnsignedShort();
+        String name = getClassName(stream.readUnsignedShort(), classNames, utf8);
+        String superName = getClassName(stream.readUnsignedShort(), classNames, utf8);
+
+        int totalInterfaces = stream.readUnsignedShort();
+        String[] interfaces = new String[totalInterfaces];
+
+        for (int i = 0; i < totalInterfaces; i++) {
+            interfaces[i] = getClassName(stream.readUnsignedShort(), classNames, utf8);
+        }
+
+        if (name == null)
+            return null;
+
+        return new ClassHeader(access, name, superName, interfaces);
+    }
+
+    private final int _access;
+    private final String _name;
+    private final String _superName;
+    private final String[] _interfaces;
+
+    private ClassHeader(int access, String name, @Nullable String superName, String[] interfaces) {
+        _access = access;
+        _name = name;
+        _superName = superName;
+        _interfaces = interfaces;
+    }
+
+    /**
+     * Get the internal name of the class.
+     */
+    String getName() {
+        return _name;
+    }
+
+    /**
+     * Get the internal name of the super class.
+     *
+     * @return  The name or null if the class is java.lang.Object.
+     */
+    @Nullable
+    String getSuperName() {
+        return _superName;
+    }
+
+    /**
+     * Get the internal names of the interfaces the class directly implements.
+     */
+    String[] getInterfaces() {
+        return _interfaces;
+    }
+
+    /**
+     * Determine if the class is an interface.
+     */
+    boolean isInterface() {
+        return (_access & ACC_INTERFACE) != 0;
+    }
+
+    /**
+     * Determine if the class is abstract.
+     */
+    boolean isAbstract() {
+        return (_access & ACC_ABSTRACT) != 0;
+    }
+
+    @Nullable
+    private static String getClassName(int index, int[] classNames, String[] utf8) {
+        if (index <= 0 || index >= classNames.length)
+            return null;
+
+        int nameIndex = classNames[index];
+        if (nameIndex <= 0 || nameIndex >= utf8.length)
+            return null;
+
+        return utf8[nameIndex];
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.modules;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.file.FileUtils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the names of classes in a jar file that are sub types of a module
+ * class without loading the classes in the jar.
+ *
+ * <p>Class file headers are read to determine the type hierarchy. Super types
+ * that are not in the jar are resolved using the parent class loader.</p>
+ *
+ * <p>The concrete classes in the jar and the super types outside of the jar
+ * they depend on are saved to an index file next to the jar file. The index is
+ * used as long as the jar file size, modified date and hash do not change. The
+ * outside super types are resolved each time since they depend on the current
+ * state of the parent class loader.</p>
+ */
+final class JarClassIndex {
+
+    private static final String INDEX_VERSION = "2";
+    private static final String OBJECT_TYPE = "java/lang/Object";
+
+    private final File _file;
+    private final Class<?> _moduleClass;
+    private final ClassLoader _parentLoader;
+
+    /**
+     * Constructor.
+     *
+     * @param file          The jar file.
+     * @param moduleClass   The module super type.
+     * @param parentLoader  The class loader used to resolve types that are not
+     *                      in the jar file.
+     */
+    JarClassIndex(File file, Class<?> moduleClass, ClassLoader parentLoader) {
+        PreCon.notNull(file);
+        PreCon.notNull(moduleClass);
+        PreCon.notNull(parentLoader);
+
+        _file = file;
+        _moduleClass = moduleClass;
+        _parentLoader = parentLoader;
+    }
+
+    /**
+     * Get the index file.
+     */
+    File getIndexFile() {
+        return new File(_file.getParent(), _file.getName() + ".index");
+    }
+
+    /**
+     * Get the names of concrete classes in the jar file that are sub types
+     * of the module class.
+     *
+     * @param jarFile  The open jar file.
+     *
+     * @throws IOException
+     */
+    List<String> getModuleClassNames(JarFile jarFile) throws IOException {
+        PreCon.notNull(jarFile);
+
+        String hash = hash(_file);
+        String key = INDEX_VERSION + ':' + _file.length() + ':' + _file.lastModified() +
+                ':' + hash + ':' + _moduleClass.getName();
+
+        Map<String, Set<String>> roots = readIndex(key);
+        if (roots == null) {
+
+            roots = scan(jarFile);
+
+            StringBuilder buffer = new StringBuilder(key.length() + roots.size() * 100);
+            buffer.append(key);
+            buffer.append('\n');
+
+            for (Entry<String, Set<String>> entry : roots.entrySet()) {
+                buffer.append(entry.getKey());
+
+                for (String root : entry.getValue()) {
+                    buffer.append(' ');
+                    buffer.append(root);
+                }
+                buffer.append('\n');
+            }
+
+            FileUtils.writeTextFileAtomic(getIndexFile(), StandardCharsets.UTF_8, buffer.toString());
+        }
+
+        String target = _moduleClass.getName().replace('.', '/');
+        Map<String, Boolean> resolved = new HashMap<>(roots.size() + 10);
+        List<String> result = new ArrayList<>(5);
+
+        for (Entry<String, Set<String>> entry : roots.entrySet()) {
+
+            for (String root : entry.getValue()) {
+                if (isModuleType(root, target, resolved)) {
+                    result.add(entry.getKey().replace('/', '.'));
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /*
+     * Read concrete class names and their outside super types from the index
+     * file. Returns null if the index file does not exist or the key does
+     * not match.
+     */
+    @Nullable
+    private Map<String, Set<String>> readIndex(String key) {
+
+        File indexFile = getIndexFile();
+        if (!indexFile.exists())
+            return null;
+
+        String text = FileUtils.scanTextFile(indexFile, StandardCharsets.UTF_8);
+        if (text == null)
+            return null;
+
+        String[] lines = text.split("\n");
+        if (lines.length == 0 || !lines[0].trim().equals(key))
+            return null;
+
+        Map<String, Set<String>> result = new LinkedHashMap<>(lines.length);
+
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty())
+                continue;
+
+            String[] components = line.split(" ");
+            if (components.length < 2)
+                return null;
+
+            Set<String> roots = new HashSet<>(components.length);
+            roots.addAll(Arrays.asList(components).subList(1, components.length));
+
+            result.put(components[0], roots);
+        }
+
+        return result;
+    }
+
+    /*
+     * Read the header of each class in the jar and return the internal names
+     * of concrete classes mapped to the super types outside of the jar that
+     * they extend or implement. Classes that do not extend or implement an
+     * outside type other than Object are not included.
+     */
+    private Map<String, Set<String>> scan(JarFile jarFile) throws IOException {
+
+        Map<String, ClassHeader> headers = new HashMap<>(500);
+
+        Enumeration<JarEntry> entries = jarFile.entries();
+
+        while (entries.hasMoreElements()) {
+
+            JarEntry entry = entries.nextElement();
+
+            if (entry.isDirectory() || !entry.getName().endsWith(".class"))
+                continue;
+
+            ClassHeader header;
+
+            InputStream stream = jarFile.getInputStream(entry);
+            try {
+                header = ClassHeader.read(stream);
+            }
+            finally {
+                stream.close();
+            }
+
+            if (header != null)
+                headers.put(header.getName(), header);
+        }
+
+        String target = _moduleClass.getName().replace('.', '/');
+        Map<String, Set<String>> rootsByType = new HashMap<>(headers.size() + 50);
+        Map<String, Set<String>> result = new LinkedHashMap<>(10);
+
+        for (ClassHeader header : headers.values()) {
+
+            if (header.isInterface() || header.isAbstract() || header.getName().equals(target))
+                continue;
+
+            Set<String> roots = getRoots(header.getName(), target, headers, rootsByType);
+            if (!roots.isEmpty())
+                result.put(header.getName(), roots);
+        }
+
+        return result;
+    }
+
+    /*
+     * Get the super types outside of the jar that a type extends or implements.
+     * The target type is treated as outside of the jar.
+     */
+    private Set<String> getRoots(@Nullable String name, String target,
+                                 Map<String, ClassHeader> headers,
+                                 Map<String, Set<String>> rootsByType) {
+
+        if (name == null || name.equals(OBJECT_TYPE))
+            return Collections.emptySet();
+
+        Set<String> result = rootsByType.get(name);
+        if (result != null)
+            return result;
+
+        ClassHeader header = name.equals(target) ? null : headers.get(name);
+
+        if (header == null) {
+            result = Collections.singleton(name);
+            rootsByType.put(name, result);
+            return result;
+        }
+
+        // guard against circular hierarchies in malformed jars
+        rootsByType.put(name, Collections.<String>emptySet());
+
+        result = new HashSet<>(5);
+        result.addAll(getRoots(header.getSuperName(), target, headers, rootsByType));
+
+        for (String interfaceName : header.getInterfaces()) {
+            result.addAll(getRoots(interfaceName, target, headers, rootsByType));
+        }
+
+        rootsByType.put(name, result);
+        return result;
+    }
+
+    /*
+     * Determine if a type outside of the jar is the same as or a sub type
+     * of the module type using the parent class loader.
+     */
+    private boolean isModuleType(String name, String target, Map<String, Boolean> resolved) {
+
+        if (name.equals(target))
+            return true;
+
+        Boolean result = resolved.get(name);
+        if (result != null)
+            return result;
+
+        // resolve without initializing
+        try {
+            Class<?> clazz = Class.forName(name.replace('/', '.'), false, _parentLoader);
+            result = _moduleClass.isAssignableFrom(clazz);
+        }
+        catch (ClassNotFoundException | LinkageError e) {
+            result = false;
+        }
+
+        resolved.put(name, result);
+        return result;
+    }
+
+    private static String hash(File file) throws IOException {
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+
+        byte[] buffer = new byte[64 * 1024];
+
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        finally {
+            stream.close();
+        }
+
+        StringBuilder result = new StringBuilder(40);
+        for (byte b : digest.digest()) {
+            result.append(Character.forDigit((b >> 4) & 0xF, 16));
+            result.append(Character.forDigit(b & 0xF, 16));
+        }
+        return result.toString();
+    }
+}
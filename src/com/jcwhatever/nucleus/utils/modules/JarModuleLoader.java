@@ -41,13 +41,11 @@ import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import javax.annotation.Nullable;
 
@@ -265,6 +263,10 @@ public abstract class JarModuleLoader<T> implements IPluginOwned {
     /**
      * Find module classes in the specified jar file.
      *
+     * <p>Class headers are read to find module classes so that only module
+     * classes are loaded. The results are indexed in a file next to the jar
+     * file and reused until the jar file changes.</p>
+     *
      * @param file  The jar file to search in.
      *
      * @throws IOException
@@ -278,11 +280,20 @@ public abstract class JarModuleLoader<T> implements IPluginOwned {
 
         JarFile jarFile = new JarFile(file);
 
-        // validate jar file
-        if (!isValidJarFile(jarFile))
-            return new ArrayList<>(0);
+        // names of module classes found by reading class headers
+        List<String> classNames;
 
-        Enumeration<JarEntry> entries = jarFile.entries();
+        try {
+            // validate jar file
+            if (!isValidJarFile(jarFile))
+                return new ArrayList<>(0);
+
+            JarClassIndex index = new JarClassIndex(file, getModuleClass(), getClass().getClassLoader());
+            classNames = index.getModuleClassNames(jarFile);
+        }
+        finally {
+            jarFile.close();
+        }
 
         URL[] urls = { new URL("jar:file:" + file + "!/") };
 
@@ -295,17 +306,7 @@ public abstract class JarModuleLoader<T> implements IPluginOwned {
 
         moduleClasses = new ArrayList<>(10);
 
-        while (entries.hasMoreElements()) {
-
-            JarEntry entry = entries.nextElement();
-
-            // make sure entry is a class file
-            if (entry.isDirectory() || !entry.getName().endsWith(".class"))
-                continue;
-
-            // get the class name
-            String className = entry.getName().substring(0,  entry.getName().length() - 6);
-            className = className.replace('/', '.');
+        for (String className : classNames) {
 
             // check if the class has already been loaded
             if (_loadedClasses.contains(className))
@@ -338,8 +339,6 @@ public abstract class JarModuleLoader<T> implements IPluginOwned {
             }
         }
 
-        jarFile.close();
-
         // module class not found
         if (moduleClasses.isEmpty()) {
             return moduleClasses;
@@ -0,0 +1,103 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.nms;
+
+import org.bukkit.Chunk;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+
+/**
+ * Interface for NucleusFramework's Minecraft block handler.
+ *
+ * <p>Writes blocks directly into chunk sections. Physics is not applied and lighting
+ * and clients are not updated until the chunk is relit and resent.</p>
+ *
+ * @see NmsUtils
+ */
+public interface INmsBlockHandler extends INmsHandler {
+
+    /**
+     * Returned by {@link #setBlock} when the block has or will have a tile entity
+     * and must be set using Bukkit instead.
+     */
+    int BLOCK_NOT_SET = 0;
+
+    /**
+     * Returned by {@link #setBlock} when the block was set.
+     */
+    int BLOCK_SET = 1;
+
+    /**
+     * Returned by {@link #setBlock} when the block was set and the light emitted or
+     * blocked at the position changed.
+     */
+    int BLOCK_SET_LIGHT_CHANGED = 2;
+
+    /**
+     * Set a block type and data.
+     *
+     * @param chunk   The chunk the block is in.
+     * @param x       The chunk relative X coordinate. (0-15)
+     * @param y       The Y coordinate.
+     * @param z       The chunk relative Z coordinate. (0-15)
+     * @param typeId  The block type ID.
+     * @param data    The block data.
+     *
+     * @return  {@link #BLOCK_SET}, {@link #BLOCK_SET_LIGHT_CHANGED} or {@link #BLOCK_NOT_SET}.
+     */
+    int setBlock(Chunk chunk, int x, int y, int z, int typeId, int data);
+
+    /**
+     * Recalculate the sky light of a chunk and recheck the block light at
+     * positions whose light emission or opacity changed.
+     *
+     * @param chunk      The chunk.
+     * @param positions  The packed chunk relative positions to recheck.
+     *                   ({@code x << 12 | z << 8 | y})
+     * @param count      The number of positions to read from the array.
+     */
+    void relight(Chunk chunk, short[] positions, int count);
+
+    /**
+     * Resend an entire chunk to a collection of players.
+     *
+     * @param chunk    The chunk.
+     * @param players  The players to send the chunk to.
+     */
+    void sendChunk(Chunk chunk, Collection<? extends Player> players);
+
+    /**
+     * Send block changes within a chunk to a collection of players.
+     *
+     * @param chunk      The chunk.
+     * @param positions  The packed chunk relative positions of the changed blocks.
+     *                   ({@code x << 12 | z << 8 | y})
+     * @param count      The number of positions to read from the array.
+     * @param players    The players to send the changes to.
+     */
+    void sendBlockChanges(Chunk chunk, short[] positions, int count,
+                          Collection<? extends Player> players);
+}
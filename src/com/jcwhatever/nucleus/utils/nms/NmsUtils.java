@@ -240,6 +240,17 @@ public final class NmsUtils {
         return Nucleus.getNmsManager().getHandler(InternalNmsManager.VEHICLE);
     }
 
+    /**
+     * Get NucleusFramework's internal block handler.
+     *
+     * @return  The handler or null if a handler for the current version of
+     * Minecraft does not exist.
+     */
+    @Nullable
+    public static INmsBlockHandler getBlockHandler() {
+        return Nucleus.getNmsManager().getHandler(InternalNmsManager.BLOCKS);
+    }
+
     // load the the craft package version from NucleusFramework's config
     // or detect the version.
     private static void loadPackageVersion() {
@@ -0,0 +1,368 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.utils.performance;
+
+import com.jcwhatever.nucleus.collections.LongHashMap;
+import com.jcwhatever.nucleus.utils.PreCon;
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
+import com.jcwhatever.nucleus.utils.nms.INmsBlockHandler;
+import com.jcwhatever.nucleus.utils.nms.NmsUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Collects block changes in a world and applies them in a single pass,
+ * grouped by chunk and chunk section.
+ *
+ * <p>Blocks are written through the NMS block handler when it is available. Physics
+ * is not applied, each changed chunk is relit once and then resent to the players
+ * that can see it using a single multi block change packet or chunk packet.</p>
+ *
+ * <p>When the NMS block handler is not available, blocks are set using Bukkit
+ * without physics.</p>
+ *
+ * <p>Blocks can be added from any thread as long as only one thread adds
+ * at a time. The batch must be applied on the main thread.</p>
+ */
+public class BlockBatch {
+
+    // changes in a chunk at or above this amount are sent as a chunk packet.
+    private static final int CHUNK_PACKET_THRESHOLD = 64;
+
+    private static final int SECTIONS = 16;
+
+    // longs needed for one bit per block in a chunk section
+    private static final int SECTION_BITS = 4096 / 64;
+
+    private final World _world;
+    private final LongHashMap<ChunkWrites> _chunks;
+    private int _size;
+
+    /**
+     * Constructor.
+     *
+     * @param world  The world the blocks are in.
+     */
+    public BlockBatch(World world) {
+        this(world, 10);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param world          The world the blocks are in.
+     * @param chunkCapacity  The expected number of chunks changed.
+     */
+    public BlockBatch(World world, int chunkCapacity) {
+        PreCon.notNull(world);
+        PreCon.positiveNumber(chunkCapacity);
+
+        _world = world;
+        _chunks = new LongHashMap<>(chunkCapacity);
+    }
+
+    /**
+     * Get the world the blocks are in.
+     */
+    public World getWorld() {
+        return _world;
+    }
+
+    /**
+     * Get the number of blocks changed by the batch.
+     *
+     * <p>A block that is changed more than once is counted once.</p>
+     */
+    public int size() {
+        return _size;
+    }
+
+    /**
+     * Determine if the batch is empty.
+     */
+    public boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * Get the number of chunks changed by the batch.
+     */
+    public int getTotalChunks() {
+        return _chunks.size();
+    }
+
+    /**
+     * Add a block change.
+     *
+     * @param x         The block X coordinates.
+     * @param y         The block Y coordinates.
+     * @param z         The block Z coordinates.
+     * @param material  The block material.
+     * @param data      The block data.
+     */
+    public void add(int x, int y, int z, Material material, int data) {
+        PreCon.notNull(material);
+
+        add(x, y, z, material.getId(), data);
+    }
+
+    /**
+     * Add a block change.
+     *
+     * @param x       The block X coordinates.
+     * @param y       The block Y coordinates.
+     * @param z       The block Z coordinates.
+     * @param typeId  The block type ID.
+     * @param data    The block data.
+     */
+    public void add(int x, int y, int z, int typeId, int data) {
+
+        if (y < 0 || y >= SECTIONS << 4)
+            return;
+
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+        long key = PackedCoords.packChunk(_world, chunkX, chunkZ);
+
+        ChunkWrites chunk = _chunks.get(key);
+        if (chunk == null) {
+            chunk = new ChunkWrites(chunkX, chunkZ);
+            _chunks.put(key, chunk);
+        }
+
+        if (chunk.add(x & 15, y, z & 15, typeId, data & 15))
+            _size++;
+    }
+
+    /**
+     * Remove all block changes without applying them.
+     */
+    public void clear() {
+        _chunks.clear();
+        _size = 0;
+    }
+
+    /**
+     * Apply all block changes to the world and clear the batch.
+     *
+     * <p>Must be invoked from the main thread.</p>
+     *
+     * @return  The number of blocks changed.
+     */
+    public int apply() {
+
+        if (_size == 0)
+            return 0;
+
+        INmsBlockHandler handler = NmsUtils.getBlockHandler();
+        if (handler != null && !handler.isAvailable())
+            handler = null;
+
+        List<Player> players = _world.getPlayers();
+        List<Player> viewers = new ArrayList<>(players.size());
+        int viewDistance = Bukkit.getViewDistance();
+        Location location = new Location(null, 0, 0, 0);
+
+        short[] changed = new short[CHUNK_PACKET_THRESHOLD];
+        short[] lightChanged = new short[CHUNK_PACKET_THRESHOLD];
+
+        // positions in the current section already counted, a block can be added more than once
+        long[] seen = new long[SECTION_BITS];
+        long[] lightSeen = new long[SECTION_BITS];
+
+        for (ChunkWrites writes : _chunks.values()) {
+
+            Chunk chunk = _world.getChunkAt(writes.x, writes.z);
+            if (!chunk.isLoaded())
+                chunk.load();
+
+            int totalChanged = 0;
+            int totalLightChanged = 0;
+
+            for (int sectionY = 0; sectionY < SECTIONS; sectionY++) {
+
+                SectionWrites section = writes.sections[sectionY];
+                if (section == null)
+                    continue;
+
+                Arrays.fill(seen, 0L);
+                Arrays.fill(lightSeen, 0L);
+
+                for (int i = 0; i < section.size; i++) {
+
+                    int position = section.positions[i];
+                    int state = section.states[i];
+
+                    int x = position & 15;
+                    int y = (sectionY << 4) | (position >> 8);
+                    int z = (position >> 4) & 15;
+                    int typeId = state >> 4;
+                    int data = state & 15;
+
+                    int result = handler != null
+                            ? handler.setBlock(chunk, x, y, z, typeId, data)
+                            : INmsBlockHandler.BLOCK_NOT_SET;
+
+                    if (result == INmsBlockHandler.BLOCK_NOT_SET) {
+                        //noinspection deprecation
+                        chunk.getBlock(x, y, z).setTypeIdAndData(typeId, (byte) data, false);
+                    }
+
+                    short packed = (short)(x << 12 | z << 8 | y);
+
+                    if (result == INmsBlockHandler.BLOCK_SET_LIGHT_CHANGED && mark(lightSeen, position)) {
+
+                        if (totalLightChanged == lightChanged.length)
+                            lightChanged = Arrays.copyOf(lightChanged, totalLightChanged << 1);
+
+                        lightChanged[totalLightChanged] = packed;
+                        totalLightChanged++;
+                    }
+
+                    if (!mark(seen, position))
+                        continue;
+
+                    if (totalChanged < CHUNK_PACKET_THRESHOLD)
+                        changed[totalChanged] = packed;
+
+                    totalChanged++;
+                }
+            }
+
+            // Bukkit updates lighting and clients per block
+            if (handler == null)
+                continue;
+
+            handler.relight(chunk, lightChanged, totalLightChanged);
+
+            getViewers(players, writes.x, writes.z, viewDistance, location, viewers);
+
+            if (totalChanged < CHUNK_PACKET_THRESHOLD) {
+                handler.sendBlockChanges(chunk, changed, totalChanged, viewers);
+            }
+            else {
+                handler.sendChunk(chunk, viewers);
+            }
+        }
+
+        int size = _size;
+        clear();
+        return size;
+    }
+
+    /*
+     * Set the bit for a section position. Returns false if it was already set.
+     */
+    private static boolean mark(long[] bits, int position) {
+
+        int index = position >> 6;
+        long bit = 1L << (position & 63);
+
+        if ((bits[index] & bit) != 0)
+            return false;
+
+        bits[index] |= bit;
+        return true;
+    }
+
+    /*
+     * Get players within view distance of a chunk.
+     */
+    private static void getViewers(Collection<Player> players, int chunkX, int chunkZ,
+                                   int viewDistance, Location location, List<Player> output) {
+        output.clear();
+
+        for (Player player : players) {
+            player.getLocation(location);
+
+            int deltaX = Math.abs((location.getBlockX() >> 4) - chunkX);
+            int deltaZ = Math.abs((location.getBlockZ() >> 4) - chunkZ);
+
+            if (deltaX <= viewDistance && deltaZ <= viewDistance)
+                output.add(player);
+        }
+    }
+
+    /*
+     * Block changes in a chunk.
+     */
+    private static class ChunkWrites {
+
+        final int x;
+        final int z;
+        final SectionWrites[] sections = new SectionWrites[SECTIONS];
+
+        ChunkWrites(int x, int z) {
+            this.x = x;
+            this.z = z;
+        }
+
+        /*
+         * Returns true if the block was not already changed.
+         */
+        boolean add(int x, int y, int z, int typeId, int data) {
+
+            SectionWrites section = sections[y >> 4];
+            if (section == null)
+                section = sections[y >> 4] = new SectionWrites();
+
+            return section.add((y & 15) << 8 | z << 4 | x, typeId << 4 | data);
+        }
+    }
+
+    /*
+     * Block changes in a 16x16x16 chunk section, in the order they were added.
+     */
+    private static class SectionWrites {
+
+        final long[] added = new long[SECTION_BITS];
+        short[] positions = new short[64];
+        int[] states = new int[64];
+        int size;
+
+        boolean add(int position, int state) {
+
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size << 1);
+                states = Arrays.copyOf(states, size << 1);
+            }
+
+            positions[size] = (short)position;
+            states[size] = state;
+            size++;
+
+            return mark(added, position);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.views.menu;
+
+import javax.annotation.Nullable;
+
+/**
+ * Provides the items of a {@link VirtualMenuView} on demand.
+ *
+ * <p>Items are only created for the page that is being viewed and
+ * are cached by a {@link MenuPageCache}.</p>
+ */
+public interface IMenuPageProvider {
+
+    /**
+     * Get the total number of items.
+     */
+    int getTotalItems();
+
+    /**
+     * Create the menu item for an item index.
+     *
+     * <p>The returned item is cached and copied for each viewer of
+     * the page, so changes made after it is returned are not seen by
+     * views that already show the page.</p>
+     *
+     * @param index  The index of the item.
+     * @param slot   The inventory slot the item is shown in.
+     *
+     * @return  The menu item or null to leave the slot empty.
+     */
+    @Nullable
+    MenuItem createItem(int index, int slot);
+}
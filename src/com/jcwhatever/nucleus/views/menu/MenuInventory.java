@@ -84,6 +84,19 @@ public class MenuInventory implements Inventory, IWrapper<Inventory> {
         _menuItemMap.put(menuItem.getSlot(), menuItem);
     }
 
+    /**
+     * Assign a menu item to a slot without setting it into the inventory.
+     *
+     * <p>Used when the slot already contains an item that is similar to
+     * the menu item.</p>
+     *
+     * @param slot      The slot.
+     * @param menuItem  The menu item.
+     */
+    void registerMenuItem(int slot, MenuItem menuItem) {
+        _menuItemMap.put(slot, menuItem);
+    }
+
     /**
      * Get the menu item assigned to the specified slot.
      *
@@ -70,7 +70,7 @@ public class MenuItem extends ItemStack implements IMeta {
         super(menuItem);
 
         _slot = menuItem._slot;
-        _onClick = menuItem._onClick;
+        _onClick = menuItem._onClick != null ? new ArrayList<>(menuItem._onClick) : null;
         _meta.copyAll(menuItem);
     }
 
@@ -0,0 +1,150 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.views.menu;
+
+import com.jcwhatever.nucleus.utils.PreCon;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * A cache of menu item pages created by an {@link IMenuPageProvider}.
+ *
+ * <p>The cache can be shared by any number of {@link VirtualMenuView}'s so that
+ * the items of a page are only created once for every viewer of the page. Views
+ * show copies of the cached items. The least recently used pages are removed
+ * when the cache holds more than its maximum number of pages.</p>
+ *
+ * <p>Invoke {@link #invalidate} when the items of the provider change.</p>
+ */
+public class MenuPageCache {
+
+    /**
+     * The default maximum number of pages held by the cache.
+     */
+    public static final int DEFAULT_MAX_PAGES = 16;
+
+    private final IMenuPageProvider _provider;
+    private final int _maxPages;
+    private final Map<Long, MenuItem[]> _pages;
+
+    /**
+     * Constructor.
+     *
+     * @param provider  The page provider.
+     */
+    public MenuPageCache(IMenuPageProvider provider) {
+        this(provider, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param provider  The page provider.
+     * @param maxPages  The maximum number of pages to cache.
+     */
+    public MenuPageCache(IMenuPageProvider provider, int maxPages) {
+        PreCon.notNull(provider);
+        PreCon.greaterThanZero(maxPages);
+
+        _provider = provider;
+        _maxPages = maxPages;
+        _pages = new LinkedHashMap<Long, MenuItem[]>(maxPages + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Entry<Long, MenuItem[]> eldest) {
+                return size() > _maxPages;
+            }
+        };
+    }
+
+    /**
+     * Get the page provider.
+     */
+    public IMenuPageProvider getProvider() {
+        return _provider;
+    }
+
+    /**
+     * Get the total number of items.
+     */
+    public int getTotalItems() {
+        return _provider.getTotalItems();
+    }
+
+    /**
+     * Get the maximum number of pages held by the cache.
+     */
+    public int getMaxPages() {
+        return _maxPages;
+    }
+
+    /**
+     * Get the number of pages currently held by the cache.
+     */
+    public synchronized int getCachedPages() {
+        return _pages.size();
+    }
+
+    /**
+     * Remove all cached pages.
+     */
+    public synchronized void invalidate() {
+        _pages.clear();
+    }
+
+    /**
+     * Get the items of a page, creating them if the page is not cached.
+     *
+     * <p>The returned array is shared and must not be modified.</p>
+     *
+     * @param page      The zero based page index.
+     * @param pageSize  The number of items per page.
+     *
+     * @return  An array with a length of the page size. Empty slots are null.
+     */
+    synchronized MenuItem[] getPage(int page, int pageSize) {
+
+        long key = ((long) pageSize << 32) | (page & 0xFFFFFFFFL);
+
+        MenuItem[] items = _pages.get(key);
+        if (items != null)
+            return items;
+
+        items = new MenuItem[pageSize];
+
+        int start = page * pageSize;
+        int end = Math.min(_provider.getTotalItems(), start + pageSize);
+
+        for (int i = start; i < end; i++) {
+            int slot = i - start;
+            items[slot] = _provider.createItem(i, slot);
+        }
+
+        _pages.put(key, items);
+
+        return items;
+    }
+}
@@ -37,8 +37,6 @@ import com.jcwhatever.nucleus.views.ViewSession;
 import org.bukkit.Material;
 import org.bukkit.plugin.Plugin;
 
-import java.util.ArrayList;
-import java.util.List;
 import javax.annotation.Nullable;
 
 /**
@@ -48,8 +46,11 @@ import javax.annotation.Nullable;
  * {@link com.jcwhatever.nucleus.mixins.IPaginator} instance. When a page
  * is selected the view is closed and the result can be retrieved using the
  * {@link #getSelectedPage} method.</p>
+ *
+ * <p>Page items are created as they are viewed, so there is no limit to the
+ * number of pages.</p>
  */
-public class PaginatorView extends MenuView {
+public class PaginatorView extends VirtualMenuView {
 
     private static final MetaKey<Integer>
             SELECTED_PAGE = new MetaKey<>(Integer.class);
@@ -83,6 +84,22 @@ public class PaginatorView extends MenuView {
 
     private final IPaginator _paginator;
     private final View _nextView;
+    private final MenuPageCache _pageCache = new MenuPageCache(new IMenuPageProvider() {
+        @Override
+        public int getTotalItems() {
+            return _paginator.getTotalPages();
+        }
+
+        @Override
+        public MenuItem createItem(int index, int slot) {
+
+            int page = index;
+            if (_paginator.getPageStartIndex() == PageStartIndex.ONE)
+                page++;
+
+            return getPageItem(slot, page);
+        }
+    });
 
     private int _selectedPage = 1;
 
@@ -136,37 +153,27 @@ public class PaginatorView extends MenuView {
     }
 
     @Override
-    protected void onShow(ViewOpenReason reason) {
-        // do nothing
+    protected boolean onPreShow(ViewOpenReason reason) {
+
+        // the number of pages may have changed since the view was last shown
+        _pageCache.invalidate();
+        return true;
     }
 
     @Override
-    protected List<MenuItem> createMenuItems() {
-
-        int itemsPerPage = _paginator.getItemsPerPage();
-        if (itemsPerPage > MenuView.MAX_SLOTS)
-            throw new RuntimeException("Items per page cannot be larger than " + MenuView.MAX_SLOTS);
-
-        int totalPages = _paginator.getTotalPages();
-        if (totalPages > MenuView.MAX_SLOTS)
-            throw new RuntimeException("Total pages cannot be larger than " + MenuView.MAX_SLOTS);
-
-        List<MenuItem> menuItems = new ArrayList<>(totalPages);
-
-        for (int i=0; i < totalPages; i++) {
-
-            int page = i;
-            if (_paginator.getPageStartIndex() == PageStartIndex.ONE)
-                page++;
+    protected void onShow(ViewOpenReason reason) {
 
-            menuItems.add(getPageItem(i, page));
-        }
+        // update an inventory created before the cache was invalidated
+        setPage(getPage());
+    }
 
-        return menuItems;
+    @Override
+    protected MenuPageCache getPageCache() {
+        return _pageCache;
     }
 
     @Override
-    protected void onItemSelect(MenuItem menuItem) {
+    protected void onPageItemSelect(MenuItem menuItem) {
 
         Integer selectedPage = menuItem.getMeta().get(SELECTED_PAGE);
         if (selectedPage == null)
@@ -0,0 +1,264 @@
+/*
+ * This file is part of NucleusFramework for Bukkit, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) JCThePants (www.jcwhatever.com)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package com.jcwhatever.nucleus.views.menu;
+
+import com.jcwhatever.nucleus.utils.MetaKey;
+import com.jcwhatever.nucleus.utils.items.ItemStackMatcher;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * Abstract implementation of a {@link MenuView} whose items are provided
+ * one page at a time by a {@link MenuPageCache}.
+ *
+ * <p>Only the items of the page being viewed are created. There is no limit to
+ * the number of items. If there are more items than fit into a chest, the bottom
+ * row of the inventory is used for previous and next page navigation items.</p>
+ *
+ * <p>When the page changes, the inventory is not recreated. Only the slots whose
+ * item is different are updated.</p>
+ *
+ * <p>Page items are created once by the page cache. Each view shows copies
+ * of the cached items, so changes to the items of one view are not seen by
+ * other viewers of the page.</p>
+ */
+public abstract class VirtualMenuView extends MenuView {
+
+    /**
+     * The number of item slots per page when the bottom row is used for navigation.
+     */
+    public static final int PAGED_SLOTS = MAX_SLOTS - ROW_SIZE;
+
+    /**
+     * The slot of the previous page navigation item.
+     */
+    public static final int PREVIOUS_SLOT = MAX_SLOTS - ROW_SIZE;
+
+    /**
+     * The slot of the next page navigation item.
+     */
+    public static final int NEXT_SLOT = MAX_SLOTS - 1;
+
+    private static final MetaKey<Integer>
+            NAVIGATE_PAGE = new MetaKey<>(Integer.class);
+
+    private int _page;
+    private int _pageSize = MAX_SLOTS;
+    private int _totalPages = 1;
+
+    /**
+     * Constructor.
+     *
+     * @param plugin   The owning plugin.
+     * @param matcher  An item stack matcher.
+     */
+    protected VirtualMenuView(Plugin plugin, @Nullable ItemStackMatcher matcher) {
+        super(plugin, matcher);
+    }
+
+    /**
+     * Get the zero based index of the page being viewed.
+     */
+    public int getPage() {
+        return _page;
+    }
+
+    /**
+     * Get the total number of pages.
+     *
+     * <p>The value is updated when the inventory is created and
+     * when the page is changed.</p>
+     */
+    public int getTotalPages() {
+        return _totalPages;
+    }
+
+    /**
+     * Set the page being viewed.
+     *
+     * <p>If the inventory is already shown, only the slots that
+     * are different in the new page are updated.</p>
+     *
+     * @param page  The zero based page index. The value is clamped to the
+     *              range of pages.
+     */
+    public void setPage(int page) {
+
+        _page = page;
+
+        Inventory inventory = getInventory();
+        if (!(inventory instanceof MenuInventory))
+            return;
+
+        updateTotalPages();
+
+        MenuInventory menuInventory = (MenuInventory)inventory;
+
+        MenuItem[] items = getPageCache().getPage(_page, _pageSize);
+
+        for (int slot = 0; slot < _pageSize; slot++) {
+            updateSlot(menuInventory, slot, copy(items[slot]));
+        }
+
+        if (_pageSize == PAGED_SLOTS) {
+            updateSlot(menuInventory, PREVIOUS_SLOT, getNavigationItem(false));
+            updateSlot(menuInventory, NEXT_SLOT, getNavigationItem(true));
+        }
+    }
+
+    /**
+     * Get the page cache that provides the menu items.
+     *
+     * <p>The same cache instance can be returned by multiple views
+     * so that page items are only created once for all viewers.</p>
+     */
+    protected abstract MenuPageCache getPageCache();
+
+    /**
+     * Invoked when a menu item that is not a navigation item is
+     * clicked by the player.
+     *
+     * @param menuItem  The clicked menu item.
+     */
+    protected abstract void onPageItemSelect(MenuItem menuItem);
+
+    @Override
+    protected List<MenuItem> createMenuItems() {
+
+        _pageSize = getPageCache().getTotalItems() > MAX_SLOTS ? PAGED_SLOTS : MAX_SLOTS;
+
+        updateTotalPages();
+
+        MenuItem[] items = getPageCache().getPage(_page, _pageSize);
+        List<MenuItem> menuItems = new ArrayList<>(items.length + 2);
+
+        for (MenuItem item : items) {
+            if (item != null)
+                menuItems.add(copy(item));
+        }
+
+        if (_pageSize == PAGED_SLOTS) {
+            MenuItem previous = getNavigationItem(false);
+            if (previous != null)
+                menuItems.add(previous);
+
+            MenuItem next = getNavigationItem(true);
+            if (next != null)
+                menuItems.add(next);
+        }
+
+        return menuItems;
+    }
+
+    @Override
+    protected int getSlotsRequired(List<MenuItem> menuItems) {
+
+        if (_pageSize == PAGED_SLOTS)
+            return MAX_SLOTS;
+
+        int rows = (int) Math.ceil((double) getPageCache().getTotalItems() / ROW_SIZE);
+        return Math.max(rows, 1) * ROW_SIZE;
+    }
+
+    @Override
+    protected void onItemSelect(MenuItem menuItem) {
+
+        Integer page = menuItem.getMeta().get(NAVIGATE_PAGE);
+        if (page != null) {
+            setPage(page);
+            return;
+        }
+
+        onPageItemSelect(menuItem);
+    }
+
+    /**
+     * Create a page navigation item.
+     *
+     * <p>Override to change the appearance of navigation items.</p>
+     *
+     * @param slot    The slot the item will be in.
+     * @param page    The zero based index of the page the item navigates to.
+     * @param isNext  True if the item navigates to the next page, false
+     *                if it navigates to the previous page.
+     */
+    protected MenuItem createNavigationItem(int slot, int page, boolean isNext) {
+        return new MenuItemBuilder(Material.ARROW)
+                .title(isNext ? "Next Page" : "Previous Page")
+                .description("Click to view page " + (page + 1) + " of " + _totalPages + '.')
+                .build(slot);
+    }
+
+    @Nullable
+    private MenuItem getNavigationItem(boolean isNext) {
+
+        int page = isNext ? _page + 1 : _page - 1;
+        if (page < 0 || page >= _totalPages)
+            return null;
+
+        MenuItem item = createNavigationItem(isNext ? NEXT_SLOT : PREVIOUS_SLOT, page, isNext);
+        item.getMeta().setKey(NAVIGATE_PAGE, page);
+
+        return item;
+    }
+
+    /*
+     * Copy a cached page item so the cached item is not changed by the view.
+     */
+    @Nullable
+    private MenuItem copy(@Nullable MenuItem item) {
+        return item != null ? new MenuItem(item) : null;
+    }
+
+    private void updateTotalPages() {
+        int total = getPageCache().getTotalItems();
+
+        _totalPages = Math.max(1, (int) Math.ceil((double) total / _pageSize));
+        _page = Math.max(0, Math.min(_page, _totalPages - 1));
+    }
+
+    private void updateSlot(MenuInventory inventory, int slot, @Nullable MenuItem item) {
+
+        MenuItem current = inventory.getMenuItem(slot);
+        if (current == null && item == null)
+            return;
+
+        if (current != null && item != null && current.isSimilar(item)
+                && current.getAmount() == item.getAmount()) {
+
+            // the client already shows the same item
+            inventory.registerMenuItem(slot, item);
+            return;
+        }
+
+        inventory.setItem(slot, item);
+    }
+}
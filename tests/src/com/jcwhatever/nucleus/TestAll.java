@@ -4,11 +4,14 @@ import com.jcwhatever.nucleus.collections._CollectionsTestSuite;
 import com.jcwhatever.nucleus.events.manager._ManagerTestSuite;
 import com.jcwhatever.nucleus.internal._InternalTestSuite;
 import com.jcwhatever.nucleus.internal.managed.commands._CommandsTestSuite;
+import com.jcwhatever.nucleus.managed.astar.nodes._NodesTestSuite;
+import com.jcwhatever.nucleus.managed.particles.shapes._ShapesTestSuite;
 import com.jcwhatever.nucleus.managed.sounds._SoundsTestSuite;
+import com.jcwhatever.nucleus.providers.permissions._PermissionsTestSuite;
 import com.jcwhatever.nucleus.regions._RegionsTestSuite;
 import com.jcwhatever.nucleus.storage._StorageTestSuite;
 import com.jcwhatever.nucleus.utils._UtilsTestSuite;
-import com.jcwhatever.nucleus.utils.performance.pool._PoolTestSuite;
+import com.jcwhatever.nucleus.utils.performance._PerformanceTestSuite;
 import com.jcwhatever.nucleus.utils.signs._SignsTestSuite;
 import com.jcwhatever.nucleus.views._ViewTestSuite;
 
@@ -21,8 +24,11 @@ import org.junit.runners.Suite;
         _CommandsTestSuite.class,
         _ManagerTestSuite.class,
         _InternalTestSuite.class,
-        _PoolTestSuite.class,
+        _NodesTestSuite.class,
+        _PerformanceTestSuite.class,
+        _PermissionsTestSuite.class,
         _RegionsTestSuite.class,
+        _ShapesTestSuite.class,
         _SignsTestSuite.class,
         _SoundsTestSuite.class,
         _StorageTestSuite.class,
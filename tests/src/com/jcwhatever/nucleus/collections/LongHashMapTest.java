@@ -0,0 +1,104 @@
+package com.jcwhatever.nucleus.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class LongHashMapTest {
+
+    @Test
+    public void testPut() throws Exception {
+
+        LongHashMap<String> map = new LongHashMap<>();
+
+        Assert.assertEquals(null, map.put(1L, "a"));
+        Assert.assertEquals(null, map.put(-1L, "b"));
+        Assert.assertEquals(null, map.put(0L, "c"));
+        Assert.assertEquals(3, map.size());
+
+        Assert.assertEquals("a", map.put(1L, "d"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("d", map.get(1L));
+    }
+
+    @Test
+    public void testGet() throws Exception {
+
+        LongHashMap<String> map = new LongHashMap<>();
+
+        map.put(Long.MIN_VALUE, "min");
+        map.put(Long.MAX_VALUE, "max");
+        map.put(0L, "zero");
+
+        Assert.assertEquals("min", map.get(Long.MIN_VALUE));
+        Assert.assertEquals("max", map.get(Long.MAX_VALUE));
+        Assert.assertEquals("zero", map.get(0L));
+        Assert.assertEquals(null, map.get(1L));
+
+        Assert.assertEquals(true, map.containsKey(0L));
+        Assert.assertEquals(false, map.containsKey(2L));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+
+        LongHashMap<Integer> map = new LongHashMap<>(4);
+
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 31L, i);
+        }
+
+        Assert.assertEquals(1000, map.size());
+
+        // remove every other key
+        for (int i = 0; i < 1000; i += 2) {
+            Assert.assertEquals(i, (int)map.remove(i * 31L));
+        }
+
+        Assert.assertEquals(500, map.size());
+        Assert.assertEquals(null, map.remove(0L));
+
+        // remaining keys are still found after entries are shifted
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(i % 2 != 0, map.containsKey(i * 31L));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+
+        LongHashMap<String> map = new LongHashMap<>();
+
+        map.put(1L, "a");
+        map.put(2L, "b");
+
+        map.clear();
+
+        Assert.assertEquals(0, map.size());
+        Assert.assertEquals(true, map.isEmpty());
+        Assert.assertEquals(null, map.get(1L));
+    }
+
+    @Test
+    public void testIterators() throws Exception {
+
+        LongHashMap<Long> map = new LongHashMap<>();
+
+        for (long i = -50; i < 50; i++) {
+            map.put(i, i);
+        }
+
+        Set<Long> keys = new HashSet<>(100);
+
+        LongIterator iterator = map.keys();
+        while (iterator.hasNext()) {
+            keys.add(iterator.nextLong());
+        }
+
+        Assert.assertEquals(100, keys.size());
+        Assert.assertEquals(100, map.values().size());
+        Assert.assertEquals(keys, new HashSet<>(map.values()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.jcwhatever.nucleus.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class LongHashSetTest {
+
+    @Test
+    public void testAdd() throws Exception {
+
+        LongHashSet set = new LongHashSet();
+
+        Assert.assertEquals(true, set.add(5L));
+        Assert.assertEquals(true, set.add(0L));
+        Assert.assertEquals(false, set.add(5L));
+
+        Assert.assertEquals(2, set.size());
+        Assert.assertEquals(true, set.contains(0L));
+        Assert.assertEquals(true, set.contains(5L));
+        Assert.assertEquals(false, set.contains(6L));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+
+        LongHashSet set = new LongHashSet(4);
+
+        for (long i = 0; i < 1000; i++) {
+            set.add(i << 32);
+        }
+
+        for (long i = 0; i < 1000; i += 3) {
+            Assert.assertEquals(true, set.remove(i << 32));
+        }
+
+        Assert.assertEquals(false, set.remove(0L));
+        Assert.assertEquals(666, set.size());
+
+        for (long i = 0; i < 1000; i++) {
+            Assert.assertEquals(i % 3 != 0, set.contains(i << 32));
+        }
+    }
+
+    @Test
+    public void testClear() throws Exception {
+
+        LongHashSet set = new LongHashSet();
+
+        set.add(1L);
+        set.clear();
+
+        Assert.assertEquals(true, set.isEmpty());
+        Assert.assertEquals(false, set.contains(1L));
+    }
+
+    @Test
+    public void testIterator() throws Exception {
+
+        LongHashSet set = new LongHashSet();
+
+        set.add(3L);
+        set.add(-7L);
+        set.add(11L);
+
+        long[] values = new long[3];
+        int i = 0;
+
+        LongIterator iterator = set.iterator();
+        while (iterator.hasNext()) {
+            values[i++] = iterator.nextLong();
+        }
+
+        Arrays.sort(values);
+        Assert.assertArrayEquals(new long[] { -7L, 3L, 11L }, values);
+
+        long[] array = set.toArray();
+        Arrays.sort(array);
+        Assert.assertArrayEquals(values, array);
+    }
+}
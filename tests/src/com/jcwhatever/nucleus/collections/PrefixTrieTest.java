@@ -0,0 +1,113 @@
+package com.jcwhatever.nucleus.collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PrefixTrieTest {
+
+    private PrefixTrie<Integer> createTrie() {
+
+        PrefixTrie<Integer> trie = new PrefixTrie<>();
+
+        trie.put("kit", 1);
+        trie.put("Kits", 2);
+        trie.put("region", 3);
+        trie.put("regions", 4);
+        trie.put("reload", 5);
+
+        return trie;
+    }
+
+    @Test
+    public void testPut() throws Exception {
+
+        PrefixTrie<Integer> trie = createTrie();
+
+        Assert.assertEquals(5, trie.size());
+
+        Assert.assertEquals(1, (int)trie.put("KIT", 6));
+        Assert.assertEquals(5, trie.size());
+        Assert.assertEquals(6, (int)trie.get("kit"));
+
+        // key text is replaced
+        Assert.assertEquals("KIT", trie.getKeys("kit", new ArrayList<String>(5)).get(0));
+    }
+
+    @Test
+    public void testGet() throws Exception {
+
+        PrefixTrie<Integer> trie = createTrie();
+
+        Assert.assertEquals(2, (int)trie.get("kits"));
+        Assert.assertEquals(3, (int)trie.get("REGION"));
+
+        Assert.assertEquals(null, trie.get("reg"));
+        Assert.assertEquals(null, trie.get("regionss"));
+        Assert.assertEquals(null, trie.get(""));
+
+        Assert.assertEquals(true, trie.containsKey("Reload"));
+        Assert.assertEquals(false, trie.containsKey("rel"));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+
+        PrefixTrie<Integer> trie = createTrie();
+
+        Assert.assertEquals(null, trie.remove("reg"));
+        Assert.assertEquals(5, trie.size());
+
+        Assert.assertEquals(4, (int)trie.remove("Regions"));
+        Assert.assertEquals(4, trie.size());
+        Assert.assertEquals(false, trie.containsKey("regions"));
+        Assert.assertEquals(true, trie.containsKey("region"));
+
+        Assert.assertEquals(3, (int)trie.remove("region"));
+        Assert.assertEquals(0, trie.getKeys("reg", new ArrayList<String>(5)).size());
+        Assert.assertEquals(1, trie.getKeys("re", new ArrayList<String>(5)).size());
+
+        trie.clear();
+        Assert.assertEquals(0, trie.size());
+        Assert.assertEquals(true, trie.isEmpty());
+        Assert.assertEquals(0, trie.getKeys("", new ArrayList<String>(5)).size());
+    }
+
+    @Test
+    public void testGetKeys() throws Exception {
+
+        PrefixTrie<Integer> trie = createTrie();
+
+        List<String> keys = trie.getKeys("", new ArrayList<String>(5));
+        Assert.assertEquals(5, keys.size());
+
+        // alphabetical order, original case
+        Assert.assertEquals("kit", keys.get(0));
+        Assert.assertEquals("Kits", keys.get(1));
+        Assert.assertEquals("region", keys.get(2));
+        Assert.assertEquals("regions", keys.get(3));
+        Assert.assertEquals("reload", keys.get(4));
+
+        keys = trie.getKeys("RE", new ArrayList<String>(5));
+        Assert.assertEquals(3, keys.size());
+
+        keys = trie.getKeys("regi", new ArrayList<String>(5));
+        Assert.assertEquals(2, keys.size());
+
+        keys = trie.getKeys("x", new ArrayList<String>(5));
+        Assert.assertEquals(0, keys.size());
+    }
+
+    @Test
+    public void testGetValues() throws Exception {
+
+        PrefixTrie<Integer> trie = createTrie();
+
+        List<Integer> values = trie.getValues("ki", new ArrayList<Integer>(5));
+        Assert.assertEquals(2, values.size());
+        Assert.assertEquals(1, (int)values.get(0));
+        Assert.assertEquals(2, (int)values.get(1));
+    }
+}
@@ -21,8 +21,11 @@ import org.junit.runners.Suite;
         ArrayListPaginatorTest.class,
         CircularQueueTest.class,
         ElementCounterTest.class,
+        LongHashMapTest.class,
+        LongHashSetTest.class,
         OutputBufferListTest.class,
         PaginatedTest.class,
+        PrefixTrieTest.class,
         TreeEntryNodeTest.class,
         TreeNodeTest.class
 })
@@ -1,6 +1,10 @@
 package com.jcwhatever.nucleus.internal;
 
+import com.jcwhatever.nucleus.internal.managed.astar._AStarTestSuite;
+import com.jcwhatever.nucleus.internal.managed.messenger._MessengerTestSuite;
 import com.jcwhatever.nucleus.internal.managed.reflection._ReflectionTestSuite;
+import com.jcwhatever.nucleus.internal.managed.scripting._ScriptingTestSuite;
+import com.jcwhatever.nucleus.internal.providers._InternalProvidersTestSuite;
 import com.jcwhatever.nucleus.internal.providers.bankitems._InternalBankItemsTestSuite;
 import com.jcwhatever.nucleus.internal.providers.economy._InternalEconomyTestSuite;
 import com.jcwhatever.nucleus.internal.providers.friends._InternalFriendsTestSuite;
@@ -10,7 +14,11 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        _AStarTestSuite.class,
         _ReflectionTestSuite.class,
+        _MessengerTestSuite.class,
+        _ScriptingTestSuite.class,
+        _InternalProvidersTestSuite.class,
         _InternalBankItemsTestSuite.class,
         _InternalEconomyTestSuite.class,
         _InternalFriendsTestSuite.class,
@@ -0,0 +1,204 @@
+package com.jcwhatever.nucleus.internal.managed.astar;
+
+import static org.junit.Assert.assertEquals;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
+import com.jcwhatever.nucleus.managed.astar.IAStarSettings;
+import com.jcwhatever.nucleus.managed.astar.nodes.AStarNode;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AStarPathCacheTest {
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    private World world;
+    private StubManager manager;
+    private AStarPathCache cache;
+    private AStarSettings settings;
+
+    @Before
+    public void before() {
+        world = BukkitTester.world("world");
+        manager = new StubManager();
+        cache = new AStarPathCache(manager);
+        cache.setEnabled(true);
+        settings = new AStarSettings();
+    }
+
+    // straight path of 20 nodes along the x axis, standing on y 64
+    private static List<AStarNode> getPath() {
+        List<AStarNode> path = new ArrayList<>(20);
+        for (int x = 0; x < 20; x++) {
+            path.add(new AStarNode(x, 65, 0));
+        }
+        return path;
+    }
+
+    private IAStarResult<AStarNode> search() {
+        return cache.search(world,
+                new Location(world, 0, 64, 0), new Location(world, 19, 64, 0), settings);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+
+        assertEquals(ResultStatus.RESOLVED, search().getStatus());
+        assertEquals(1, manager.searches);
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.getHits());
+
+        IAStarResult<AStarNode> result = search();
+
+        assertEquals(ResultStatus.RESOLVED, result.getStatus());
+        assertEquals(20, result.values().size());
+        assertEquals(1, manager.searches);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testMiss() throws Exception {
+
+        search();
+
+        cache.search(world, new Location(world, 0, 64, 0), new Location(world, 18, 64, 0), settings);
+
+        assertEquals(2, manager.searches);
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testChangeInSectionOffPath() throws Exception {
+
+        search();
+
+        // same chunk section, not on the path
+        cache.onBlockChange(world, 5, 70, 10);
+
+        search();
+
+        assertEquals(1, manager.searches);
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getInvalidations());
+    }
+
+    @Test
+    public void testChangeOutsideSection() throws Exception {
+
+        search();
+
+        cache.onBlockChange(world, 5, 120, 10);
+
+        assertEquals(0, cache.getInvalidations());
+    }
+
+    @Test
+    public void testChangeOnPathEnd() throws Exception {
+
+        search();
+
+        // block below the last node, cannot be repaired by segment
+        cache.onBlockChange(world, 19, 64, 0);
+
+        // evicted when requested
+        assertEquals(0, cache.getInvalidations());
+
+        search();
+
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(2, manager.searches);
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.getRepairs());
+    }
+
+    @Test
+    public void testChangeOnPathRepair() throws Exception {
+
+        search();
+
+        // head block of a node in the middle of the path
+        cache.onBlockChange(world, 10, 66, 0);
+
+        search();
+
+        assertEquals(2, manager.searches);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getRepairs());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void testChangeOnPathRepeated() throws Exception {
+
+        search();
+
+        // several changes on one path evict it once
+        cache.onBlockChange(world, 19, 64, 0);
+        cache.onBlockChange(world, 18, 64, 0);
+        cache.onBlockChange(world, 17, 64, 0);
+
+        search();
+
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws Exception {
+
+        cache = new AStarPathCache(manager);
+
+        assertEquals(false, cache.isEnabled());
+
+        search();
+        search();
+
+        assertEquals(2, manager.searches);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+
+        search();
+        cache.clear();
+
+        assertEquals(0, cache.size());
+
+        search();
+
+        assertEquals(2, manager.searches);
+    }
+
+    /*
+     * Returns the same straight path for every search.
+     */
+    private static class StubManager extends InternalAStarManager {
+
+        int searches;
+
+        @Override
+        IAStarResult<AStarNode> searchSurface(World world, Location startBelow, Location destBelow,
+                                              IAStarSettings settings) {
+            searches++;
+            return new AStarResult<AStarNode>(getPath());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.jcwhatever.nucleus.internal.managed.astar;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        AStarPathCacheTest.class
+})
+public class _AStarTestSuite {
+}
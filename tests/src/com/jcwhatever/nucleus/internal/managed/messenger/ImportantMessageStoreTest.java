@@ -0,0 +1,184 @@
+package com.jcwhatever.nucleus.internal.managed.messenger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.storage.MemoryDataNode;
+import com.jcwhatever.v1_8_R3.BukkitTester;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tests {@link ImportantMessageStore}.
+ */
+public class ImportantMessageStoreTest {
+
+    private static Plugin plugin;
+
+    private UUID _player1 = UUID.randomUUID();
+    private UUID _player2 = UUID.randomUUID();
+
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+        plugin = BukkitTester.mockPlugin("dummy");
+    }
+
+    /**
+     * Make sure messages with the same context replace each other.
+     */
+    @Test
+    public void testContextCoalescing() throws Exception {
+
+        ImportantMessageStore store = new ImportantMessageStore(new MemoryDataNode(plugin));
+
+        store.add(_player1, "context1", "first", "[prefix]", 60);
+        store.add(_player1, "context2", "second", "[prefix]", 60);
+        store.add(_player1, "context1", "third", "[prefix]", 60);
+
+        List<ImportantMessageStore.Template> messages = store.getMessages(_player1);
+
+        assertEquals(2, messages.size());
+        assertEquals("second", messages.get(0).message);
+        assertEquals("third", messages.get(1).message);
+
+        // "first" is no longer referenced
+        assertEquals(2, store.getTotalTemplates());
+    }
+
+    /**
+     * Make sure identical messages to different players are stored once.
+     */
+    @Test
+    public void testSharedTemplates() throws Exception {
+
+        ImportantMessageStore store = new ImportantMessageStore(new MemoryDataNode(plugin));
+
+        store.add(_player1, "context", "message", "[prefix]", 60);
+        store.add(_player2, "context", "message", "[prefix]", 60);
+
+        assertEquals(1, store.getTotalTemplates());
+
+        store.clear(_player1);
+
+        assertEquals(0, store.getMessages(_player1).size());
+        assertEquals(1, store.getMessages(_player2).size());
+        assertEquals(1, store.getTotalTemplates());
+
+        store.clear(_player2);
+
+        assertEquals(0, store.getTotalTemplates());
+    }
+
+    /**
+     * Make sure flushed messages are loaded by a new store.
+     */
+    @Test
+    public void testFlushAndLoad() throws Exception {
+
+        MemoryDataNode dataNode = new MemoryDataNode(plugin);
+
+        ImportantMessageStore store = new ImportantMessageStore(dataNode);
+        store.add(_player1, "context1", "message1", "[prefix]", 40);
+        store.add(_player1, "context2", "message2", "[prefix]", 40);
+        store.add(_player2, "context1", "message1", "[prefix]", 40);
+        store.flush();
+
+        ImportantMessageStore loaded = new ImportantMessageStore(dataNode);
+
+        assertEquals(2, loaded.getTotalTemplates());
+
+        List<ImportantMessageStore.Template> messages = loaded.getMessages(_player1);
+        assertEquals(2, messages.size());
+        assertEquals("message1", messages.get(0).message);
+        assertEquals("[prefix]", messages.get(0).prefix);
+        assertEquals(40, messages.get(0).lineLen);
+        assertEquals("message2", messages.get(1).message);
+
+        assertEquals(1, loaded.getMessages(_player2).size());
+
+        // removed templates are removed from the data node
+        store.clear(_player1);
+        store.clear(_player2);
+        store.flush();
+
+        assertEquals(0, dataNode.getSubNodeNames(ImportantMessageStore.TEMPLATES).size());
+        assertEquals(0, dataNode.getSubNodeNames(ImportantMessageStore.PLAYERS).size());
+    }
+
+    /**
+     * Make sure messages stored in the old format are converted.
+     */
+    @Test
+    public void testLegacyFormat() throws Exception {
+
+        MemoryDataNode dataNode = new MemoryDataNode(plugin);
+        dataNode.set(_player1 + ".context.message", "legacy");
+        dataNode.set(_player1 + ".context.prefix", "[prefix]");
+        dataNode.set(_player1 + ".context.lineLen", 50);
+
+        ImportantMessageStore store = new ImportantMessageStore(dataNode);
+
+        List<ImportantMessageStore.Template> messages = store.getMessages(_player1);
+        assertEquals(1, messages.size());
+        assertEquals("legacy", messages.get(0).message);
+        assertEquals(50, messages.get(0).lineLen);
+
+        store.flush();
+
+        assertEquals(false, dataNode.hasNode(_player1.toString()));
+        assertEquals(1, dataNode.getSubNodeNames(ImportantMessageStore.PLAYERS).size());
+    }
+
+    /**
+     * Make sure a template is not reused for a different message with the
+     * same fingerprint.
+     */
+    @Test
+    public void testFingerprintCollision() throws Exception {
+
+        String id = ImportantMessageStore.getTemplateId("message", "[prefix]", 60);
+
+        // a different message stored under the fingerprint of "message"
+        MemoryDataNode dataNode = new MemoryDataNode(plugin);
+        dataNode.set(ImportantMessageStore.TEMPLATES + '.' + id + ".message", "other");
+        dataNode.set(ImportantMessageStore.TEMPLATES + '.' + id + ".prefix", "[prefix]");
+        dataNode.set(ImportantMessageStore.TEMPLATES + '.' + id + ".lineLen", 60);
+        dataNode.set(ImportantMessageStore.PLAYERS + '.' + _player1, Arrays.asList(id + ":context"));
+
+        ImportantMessageStore store = new ImportantMessageStore(dataNode);
+
+        store.add(_player2, "context", "message", "[prefix]", 60);
+
+        assertEquals(2, store.getTotalTemplates());
+        assertEquals("other", store.getMessages(_player1).get(0).message);
+        assertEquals("message", store.getMessages(_player2).get(0).message);
+
+        // the same message reuses the suffixed template
+        store.add(_player1, "context2", "message", "[prefix]", 60);
+
+        assertEquals(2, store.getTotalTemplates());
+        assertEquals("message", store.getMessages(_player1).get(1).message);
+    }
+
+    /**
+     * Make sure the template ID depends on the message, prefix and line length.
+     */
+    @Test
+    public void testTemplateId() throws Exception {
+
+        String id = ImportantMessageStore.getTemplateId("message", "[prefix]", 60);
+
+        assertEquals(id, ImportantMessageStore.getTemplateId("message", "[prefix]", 60));
+        assertNotEquals(id, ImportantMessageStore.getTemplateId("message2", "[prefix]", 60));
+        assertNotEquals(id, ImportantMessageStore.getTemplateId("message", "[prefix2]", 60));
+        assertNotEquals(id, ImportantMessageStore.getTemplateId("message", "[prefix]", 61));
+    }
+}
@@ -0,0 +1,96 @@
+package com.jcwhatever.nucleus.internal.managed.messenger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+/**
+ * Tests {@link NoSpamLimiter}.
+ */
+public class NoSpamLimiterTest {
+
+    private UUID _player1 = UUID.randomUUID();
+    private UUID _player2 = UUID.randomUUID();
+
+    /**
+     * Make sure a repeated message is suppressed until it expires.
+     */
+    @Test
+    public void testTryAcquire() throws Exception {
+
+        NoSpamLimiter limiter = new NoSpamLimiter(16);
+        long fingerprint = NoSpamLimiter.fingerprint("test {0}", "a");
+
+        assertEquals(true, limiter.tryAcquire(_player1, fingerprint, 1000, 0));
+        assertEquals(false, limiter.tryAcquire(_player1, fingerprint, 1000, 500));
+        assertEquals(false, limiter.tryAcquire(_player1, fingerprint, 1000, 999));
+
+        // expired
+        assertEquals(true, limiter.tryAcquire(_player1, fingerprint, 1000, 1000));
+        assertEquals(false, limiter.tryAcquire(_player1, fingerprint, 1000, 1500));
+    }
+
+    /**
+     * Make sure players and messages are limited independently.
+     */
+    @Test
+    public void testIndependentKeys() throws Exception {
+
+        NoSpamLimiter limiter = new NoSpamLimiter(16);
+        long fingerprint1 = NoSpamLimiter.fingerprint("test {0}", "a");
+        long fingerprint2 = NoSpamLimiter.fingerprint("test {0}", "b");
+
+        assertEquals(true, limiter.tryAcquire(_player1, fingerprint1, 1000, 0));
+        assertEquals(true, limiter.tryAcquire(_player2, fingerprint1, 1000, 0));
+        assertEquals(true, limiter.tryAcquire(_player1, fingerprint2, 1000, 0));
+
+        assertEquals(false, limiter.tryAcquire(_player1, fingerprint1, 1000, 0));
+        assertEquals(false, limiter.tryAcquire(_player2, fingerprint1, 1000, 0));
+        assertEquals(false, limiter.tryAcquire(_player1, fingerprint2, 1000, 0));
+    }
+
+    /**
+     * Make sure a full table evicts entries instead of suppressing new messages.
+     */
+    @Test
+    public void testEviction() throws Exception {
+
+        NoSpamLimiter limiter = new NoSpamLimiter(1);
+
+        for (int i=0; i < NoSpamLimiter.WAYS * 4; i++) {
+            assertEquals(true, limiter.tryAcquire(_player1, i, 1000 + i, 0));
+        }
+
+        // the first entry was evicted
+        assertEquals(true, limiter.tryAcquire(_player1, 0, 1000, 0));
+
+        // the most recent entry is still live
+        assertEquals(false, limiter.tryAcquire(_player1, NoSpamLimiter.WAYS * 4 - 1, 1000, 0));
+
+        limiter.clear();
+
+        assertEquals(true, limiter.tryAcquire(_player1, NoSpamLimiter.WAYS * 4 - 1, 1000, 0));
+    }
+
+    /**
+     * Make sure the fingerprint includes the template and each parameter.
+     */
+    @Test
+    public void testFingerprint() throws Exception {
+
+        assertEquals(NoSpamLimiter.fingerprint("test {0}", "a"),
+                NoSpamLimiter.fingerprint(new StringBuilder("test {0}"), "a"));
+
+        assertNotEquals(NoSpamLimiter.fingerprint("test {0}", "a"),
+                NoSpamLimiter.fingerprint("test {0}", "b"));
+
+        assertNotEquals(NoSpamLimiter.fingerprint("test {0}{1}", "ab", ""),
+                NoSpamLimiter.fingerprint("test {0}{1}", "a", "b"));
+
+        assertNotEquals(NoSpamLimiter.fingerprint("test"),
+                NoSpamLimiter.fingerprint("test", 1));
+    }
+}
@@ -0,0 +1,12 @@
+package com.jcwhatever.nucleus.internal.managed.messenger;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        ImportantMessageStoreTest.class,
+        NoSpamLimiterTest.class
+})
+public class _MessengerTestSuite {
+}
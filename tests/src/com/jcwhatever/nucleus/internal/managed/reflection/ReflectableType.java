@@ -34,6 +34,18 @@ public class ReflectableType {
         staticField = b;
     }
 
+    private static int varArgsMethod(String... values) {
+        return values.length;
+    }
+
+    private static long widenMethod(long value) {
+        return value;
+    }
+
+    private void throwMethod() {
+        throw new IllegalStateException();
+    }
+
     // enum used for reflection tests
     protected enum ReflectableTestEnum {
         CONSTANT1,
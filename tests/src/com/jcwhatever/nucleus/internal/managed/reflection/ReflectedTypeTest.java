@@ -7,8 +7,10 @@ import com.jcwhatever.v1_8_R3.BukkitTester;
 import com.jcwhatever.nucleus.NucleusTest;
 import com.jcwhatever.nucleus.internal.managed.reflection.ReflectableType.ReflectableTestEnum;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedArray;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedConstructor;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedField;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedInstance;
+import com.jcwhatever.nucleus.managed.reflection.IReflectedInvoker;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedType;
 import com.jcwhatever.nucleus.managed.reflection.IReflectedTypeFields;
 import com.jcwhatever.nucleus.managed.reflection.IReflection;
@@ -330,4 +332,143 @@ public class ReflectedTypeTest {
         reflectedClass.invokeStatic("d", false);
         assertEquals(false, ReflectableType.staticField);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetInvoker() throws Exception {
+
+        reflectedClass.methodAlias("a", "method1");
+        reflectedClass.methodAlias("b", "method2", String.class);
+        reflectedClass.methodAlias("c", "staticMethod1");
+        reflectedClass.methodAlias("d", "staticMethod2", boolean.class);
+
+        reflectedClass.constructorAlias("new");
+
+        ReflectableType instance = (ReflectableType)reflectedClass.construct("new");
+
+        IReflectedInvoker a = reflectedClass.getInvoker("a");
+        assertEquals(0, a.getArgCount());
+        assertEquals(false, a.isStatic());
+        assertEquals("string", a.invoke(instance));
+
+        IReflectedInvoker b = reflectedClass.getInvoker("b");
+        assertEquals(1, b.getArgCount());
+        b.invoke(instance, "test");
+        assertEquals("test", instance.field1);
+
+        b.invokeArgs(instance, "test2");
+        assertEquals("test2", instance.field1);
+
+        IReflectedInvoker c = reflectedClass.getInvoker("c");
+        assertEquals(true, c.isStatic());
+        assertEquals(true, c.invoke(null));
+
+        IReflectedInvoker d = reflectedClass.getInvoker("d");
+        d.invoke(null, false);
+        assertEquals(false, ReflectableType.staticField);
+
+        // wrong number of arguments
+        try {
+            b.invoke(instance);
+            throw new AssertionError("RuntimeException expected.");
+        }
+        catch (RuntimeException ignore) {}
+
+        // instance required for non-static method
+        try {
+            a.invoke(null);
+            throw new AssertionError("RuntimeException expected.");
+        }
+        catch (RuntimeException ignore) {}
+    }
+
+    @Test
+    public void testInvokerVarArgs() throws Exception {
+
+        reflectedClass.methodAlias("varArgs", "varArgsMethod", String[].class);
+
+        IReflectedInvoker invoker = reflectedClass.getInvoker("varArgs");
+
+        // the array is passed as the only argument
+        assertEquals(1, invoker.getArgCount());
+        Object result = invoker.invoke(null, new String[] { "a", "b", "c" });
+        assertEquals(3, result);
+
+        result = invoker.invokeArgs(null, (Object)new String[0]);
+        assertEquals(0, result);
+    }
+
+    @Test
+    public void testInvokerArgumentMismatch() throws Exception {
+
+        reflectedClass.methodAlias("b", "method2", String.class);
+        reflectedClass.methodAlias("widen", "widenMethod", long.class);
+        reflectedClass.constructorAlias("new");
+        reflectedClass.constructorAlias("newString", String.class);
+
+        ReflectableType instance = (ReflectableType)reflectedClass.construct("new");
+
+        IReflectedInvoker b = reflectedClass.getInvoker("b");
+
+        try {
+            b.invoke(instance, 1);
+            throw new AssertionError("IllegalArgumentException expected.");
+        }
+        catch (IllegalArgumentException ignore) {}
+
+        try {
+            b.invoke(instance, "a", "b");
+            throw new AssertionError("IllegalArgumentException expected.");
+        }
+        catch (IllegalArgumentException ignore) {}
+
+        IReflectedInvoker widen = reflectedClass.getInvoker("widen");
+        Object result = widen.invoke(null, 5);
+        assertEquals(5L, result);
+
+        try {
+            widen.invoke(null, (Object)null);
+            throw new AssertionError("IllegalArgumentException expected.");
+        }
+        catch (IllegalArgumentException ignore) {}
+
+        try {
+            reflectedClass.getConstructor("newString").construct(1);
+            throw new AssertionError("IllegalArgumentException expected.");
+        }
+        catch (IllegalArgumentException ignore) {}
+    }
+
+    @Test
+    public void testInvokerMethodException() throws Exception {
+
+        reflectedClass.methodAlias("throw", "throwMethod");
+        reflectedClass.constructorAlias("new");
+
+        ReflectableType instance = (ReflectableType)reflectedClass.construct("new");
+
+        // exceptions thrown by the method are not propagated
+        Object result = reflectedClass.getInvoker("throw").invoke(instance);
+        assertTrue(result == null);
+    }
+
+    @Test
+    public void testGetConstructor() throws Exception {
+
+        reflectedClass.constructorAlias("new");
+        reflectedClass.constructorAlias("newString", String.class);
+
+        IReflectedConstructor constructor = reflectedClass.getConstructor("new");
+        assertEquals(0, constructor.getArgCount());
+        assertTrue(constructor.construct() instanceof ReflectableType);
+
+        constructor = reflectedClass.getConstructor("newString");
+        assertEquals(1, constructor.getArgCount());
+
+        Object instance = constructor.construct("test");
+        assertTrue(instance instanceof ReflectableType);
+        assertEquals("test", ((ReflectableType) instance).field1);
+
+        instance = constructor.constructArgs("test2");
+        assertEquals("test2", ((ReflectableType) instance).field1);
+    }
+}
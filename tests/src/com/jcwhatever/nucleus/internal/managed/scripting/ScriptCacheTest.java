@@ -0,0 +1,205 @@
+package com.jcwhatever.nucleus.internal.managed.scripting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.internal.managed.scripting.ScriptTest.TestScript;
+import com.jcwhatever.nucleus.managed.scripting.IScript;
+import com.jcwhatever.nucleus.managed.scripting.IScriptFactory;
+import com.jcwhatever.v1_8_R3.MockPlugin;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import javax.annotation.Nullable;
+
+public class ScriptCacheTest {
+
+    private static final IScriptFactory FACTORY = new IScriptFactory() {
+        @Override
+        public IScript create(String name, @Nullable File file, String type, String script) {
+            return new TestScript(name, file, script);
+        }
+    };
+
+    private static Plugin plugin;
+
+    private File scriptFolder;
+    private File includeFolder;
+    private ScriptCache cache;
+
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+        plugin = new MockPlugin("dummy").enable();
+    }
+
+    @Before
+    public void before() throws IOException {
+
+        Assume.assumeNotNull(ScriptTest.ENGINE_MANAGER.getEngineByExtension("js"));
+
+        scriptFolder = Files.createTempDirectory("scriptCacheTest").toFile();
+        includeFolder = new File(scriptFolder, "includes");
+        assertTrue(includeFolder.mkdirs());
+
+        cache = new ScriptCache(scriptFolder, includeFolder);
+    }
+
+    @After
+    public void after() {
+        if (cache != null)
+            cache.dispose();
+
+        if (scriptFolder != null)
+            delete(scriptFolder);
+    }
+
+    @Test
+    public void testUnchangedFile() throws Exception {
+
+        write(new File(scriptFolder, "a.js"), "var a = 1;");
+
+        List<IScript> first = load();
+        assertEquals(1, first.size());
+        assertTrue(cache.isChanged(first.get(0)));
+
+        List<IScript> second = load();
+        assertEquals(1, second.size());
+        assertSame(first.get(0), second.get(0));
+        assertFalse(cache.isChanged(second.get(0)));
+    }
+
+    @Test
+    public void testChangedContent() throws Exception {
+
+        File file = new File(scriptFolder, "a.js");
+        write(file, "var a = 1;");
+
+        IScript first = load().get(0);
+
+        write(file, "var a = 22;");
+        touch(file);
+
+        IScript second = load().get(0);
+        assertNotSame(first, second);
+        assertTrue(cache.isChanged(second));
+        assertEquals("var a = 22;\n", second.getScript());
+    }
+
+    @Test
+    public void testModifiedSameContent() throws Exception {
+
+        File file = new File(scriptFolder, "a.js");
+        write(file, "var a = 1;");
+
+        IScript first = load().get(0);
+
+        write(file, "var a = 1;");
+        touch(file);
+
+        IScript second = load().get(0);
+        assertSame(first, second);
+        assertFalse(cache.isChanged(second));
+    }
+
+    @Test
+    public void testRemovedFile() throws Exception {
+
+        File file = new File(scriptFolder, "a.js");
+        write(file, "var a = 1;");
+        write(new File(scriptFolder, "b.js"), "var b = 1;");
+
+        assertEquals(2, load().size());
+
+        assertTrue(file.delete());
+
+        List<IScript> scripts = load();
+        assertEquals(1, scripts.size());
+        assertEquals("b", scripts.get(0).getName());
+    }
+
+    @Test
+    public void testIncludeChanged() throws Exception {
+
+        write(new File(scriptFolder, "a.js"), "var a = 1;");
+
+        load();
+        assertTrue(cache.isIncludeChanged());
+
+        load();
+        assertFalse(cache.isIncludeChanged());
+
+        // include files are not loaded as scripts
+        write(new File(includeFolder, "lib.js"), "var lib = 1;");
+
+        assertEquals(1, load().size());
+        assertTrue(cache.isIncludeChanged());
+
+        load();
+        assertFalse(cache.isIncludeChanged());
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+
+        write(new File(scriptFolder, "a.js"), "var a = 1;");
+        write(new File(scriptFolder, "b.js"), "var b = 1;");
+        write(new File(scriptFolder, "c.js"), "var c = 1;");
+
+        List<IScript> scripts = load();
+
+        cache.compile(scripts);
+
+        for (IScript script : scripts) {
+            assertTrue(((Script) script).isCompiled());
+        }
+
+        // the executor is reused
+        write(new File(scriptFolder, "d.js"), "var d = 1;");
+        write(new File(scriptFolder, "e.js"), "var e = 1;");
+
+        scripts = load();
+        cache.compile(scripts);
+
+        for (IScript script : scripts) {
+            assertTrue(((Script) script).isCompiled());
+        }
+    }
+
+    private List<IScript> load() {
+        return cache.load(plugin, ScriptTest.ENGINE_MANAGER, FACTORY);
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // make sure the modified time changes
+    private static void touch(File file) {
+        assertTrue(file.setLastModified(file.lastModified() + 2000));
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,108 @@
+package com.jcwhatever.nucleus.internal.managed.scripting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.managed.scripting.IEvaluatedScript;
+
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import javax.annotation.Nullable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+
+public class ScriptTest {
+
+    static final ScriptEngineManager ENGINE_MANAGER = new ScriptEngineManager();
+
+    // counts the number of times the script is evaluated into the same context
+    static final String COUNTER_SCRIPT =
+            "var count = (typeof count === 'undefined') ? 1 : count + 1;\n" +
+            "function getCount() { return count; }\n";
+
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+
+        Assume.assumeNotNull(ENGINE_MANAGER.getEngineByExtension("js"));
+
+        Script script = new TestScript("test", null, COUNTER_SCRIPT);
+
+        assertTrue(!script.isCompiled());
+        assertTrue(script.compile());
+        assertTrue(script.isCompiled());
+    }
+
+    /**
+     * Make sure evaluations of the same compiled script do not share variables.
+     */
+    @Test
+    public void testCompiledEvaluationsAreIsolated() throws Exception {
+
+        Assume.assumeNotNull(ENGINE_MANAGER.getEngineByExtension("js"));
+
+        Script script = new TestScript("test", null, COUNTER_SCRIPT);
+        assertTrue(script.compile());
+
+        IEvaluatedScript evaluated1 = script.evaluate(null);
+        IEvaluatedScript evaluated2 = script.evaluate(null);
+
+        assertNotNull(evaluated1);
+        assertNotNull(evaluated2);
+
+        assertEquals(1, ((Number)evaluated1.invokeFunction("getCount")).intValue());
+        assertEquals(1, ((Number)evaluated2.invokeFunction("getCount")).intValue());
+
+        // evaluate into the first context again
+        evaluated1.evaluate(script);
+
+        assertEquals(2, ((Number)evaluated1.invokeFunction("getCount")).intValue());
+        assertEquals(1, ((Number)evaluated2.invokeFunction("getCount")).intValue());
+
+        evaluated1.dispose();
+        evaluated2.dispose();
+    }
+
+    /**
+     * Make sure uncompiled scripts are still evaluated.
+     */
+    @Test
+    public void testEvaluateUncompiled() throws Exception {
+
+        Assume.assumeNotNull(ENGINE_MANAGER.getEngineByExtension("js"));
+
+        Script script = new TestScript("test", null, COUNTER_SCRIPT);
+
+        IEvaluatedScript evaluated = script.evaluate(null);
+
+        assertNotNull(evaluated);
+        assertEquals(1, ((Number)evaluated.invokeFunction("getCount")).intValue());
+
+        evaluated.dispose();
+    }
+
+    /*
+     * Script that gets engines from a local engine manager.
+     */
+    static class TestScript extends Script {
+
+        TestScript(String name, @Nullable File file, String script) {
+            super(name, file, "js", script);
+        }
+
+        @Nullable
+        @Override
+        protected ScriptEngine getScriptEngine() {
+            return ENGINE_MANAGER.getEngineByExtension(getType());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.jcwhatever.nucleus.internal.managed.scripting;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        ScriptTest.class,
+        ScriptCacheTest.class
+})
+public class _ScriptingTestSuite {
+}
@@ -0,0 +1,181 @@
+package com.jcwhatever.nucleus.internal.providers;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PlayerNameIndexTest {
+
+    private UUID alpha = UUID.randomUUID();
+    private UUID alphabet = UUID.randomUUID();
+    private UUID beta = UUID.randomUUID();
+    private UUID salpha = UUID.randomUUID();
+
+    private PlayerNameIndex createIndex() {
+
+        Map<UUID, String> names = new HashMap<>(5);
+        names.put(alpha, "Alpha");
+        names.put(alphabet, "alphabet");
+        names.put(beta, "Beta");
+        names.put(salpha, "Salpha");
+        names.put(UUID.randomUUID(), null);
+
+        PlayerNameIndex index = new PlayerNameIndex();
+        index.build(names);
+
+        return index;
+    }
+
+    @Test
+    public void testBuild() {
+
+        PlayerNameIndex index = new PlayerNameIndex();
+        assertFalse(index.isBuilt());
+
+        index = createIndex();
+
+        assertTrue(index.isBuilt());
+        assertEquals(alpha, index.getId("Alpha"));
+        assertEquals(alpha, index.getId("ALPHA"));
+        assertEquals(beta, index.getId("beta"));
+        assertNull(index.getId("gamma"));
+    }
+
+    @Test
+    public void testPendingChangesAppliedOnBuild() {
+
+        PlayerNameIndex index = new PlayerNameIndex();
+
+        UUID gamma = UUID.randomUUID();
+
+        // changes made while the build reads the player data
+        index.setName(alpha, "Alpha", "Omega");
+        index.setName(gamma, null, "Gamma");
+
+        assertNull(index.getId("Omega"));
+
+        // data read before the rename
+        Map<UUID, String> names = new HashMap<>(2);
+        names.put(alpha, "Alpha");
+        names.put(beta, "Beta");
+
+        index.build(names);
+
+        assertEquals(alpha, index.getId("omega"));
+        assertEquals(gamma, index.getId("gamma"));
+        assertNull(index.getId("alpha"));
+
+        List<UUID> result = index.search("a", 10);
+        assertEquals(3, result.size());
+    }
+
+    @Test
+    public void testRename() {
+
+        PlayerNameIndex index = createIndex();
+
+        index.setName(alpha, "Alpha", "Delta");
+
+        assertEquals(alpha, index.getId("delta"));
+        assertNull(index.getId("alpha"));
+
+        List<UUID> result = index.search("alph", 10);
+        assertEquals(2, result.size());
+        assertFalse(result.contains(alpha));
+
+        result = index.search("delt", 10);
+        assertEquals(1, result.size());
+        assertEquals(alpha, result.get(0));
+    }
+
+    @Test
+    public void testRenameToTakenName() {
+
+        PlayerNameIndex index = createIndex();
+        UUID other = UUID.randomUUID();
+
+        index.setName(other, null, "Beta");
+        index.setName(other, "Beta", "Other");
+
+        // the original owner of the name is restored
+        assertEquals(beta, index.getId("beta"));
+    }
+
+    @Test
+    public void testSearchOrder() {
+
+        PlayerNameIndex index = createIndex();
+
+        List<UUID> result = index.search("alpha", 10);
+
+        // names starting with the text first
+        assertEquals(3, result.size());
+        assertEquals(alphabet, result.get(0));
+        assertEquals(alpha, result.get(1));
+        assertEquals(salpha, result.get(2));
+
+        result = index.search("Alpha", 10);
+
+        assertEquals(3, result.size());
+        assertEquals(alpha, result.get(0));
+        assertEquals(alphabet, result.get(1));
+        assertEquals(salpha, result.get(2));
+    }
+
+    @Test
+    public void testSearchMaxResults() {
+
+        PlayerNameIndex index = createIndex();
+
+        // prefix matches fill the results
+        List<UUID> result = index.search("alp", 2);
+        assertEquals(2, result.size());
+        assertFalse(result.contains(salpha));
+
+        result = index.search("alp", 1);
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    public void testManyChanges() {
+
+        PlayerNameIndex index = createIndex();
+
+        int total = PlayerNameIndex.MAX_OVERLAY * 3;
+        UUID[] ids = new UUID[total];
+
+        for (int i = 0; i < total; i++) {
+            ids[i] = UUID.randomUUID();
+            index.setName(ids[i], null, "Player" + i);
+        }
+
+        for (int i = 0; i < total; i += 2) {
+            index.setName(ids[i], "Player" + i, "Renamed" + i);
+        }
+
+        for (int i = 0; i < total; i++) {
+            if (i % 2 == 0) {
+                assertEquals(ids[i], index.getId("renamed" + i));
+                assertNull(index.getId("player" + i));
+            }
+            else {
+                assertEquals(ids[i], index.getId("player" + i));
+            }
+        }
+
+        assertEquals(total / 2, index.search("player", total).size());
+        assertEquals(total / 2, index.search("renamed", total).size());
+        assertEquals(1, index.search("Renamed190", total).size());
+
+        // original names are kept
+        assertEquals(3, index.search("alpha", 10).size());
+    }
+}
@@ -0,0 +1,314 @@
+package com.jcwhatever.nucleus.internal.providers;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.providers.IProvider;
+import com.jcwhatever.nucleus.providers.IProviderInfo;
+import com.jcwhatever.nucleus.providers.storage.IStorageProvider;
+import com.jcwhatever.nucleus.storage.DataPath;
+import com.jcwhatever.nucleus.storage.IDataNode;
+import org.bukkit.plugin.Plugin;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProviderBootstrapTest {
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    private static List<String> getNames(List<? extends IProvider> providers) {
+        List<String> names = new ArrayList<>(providers.size());
+        for (IProvider provider : providers) {
+            names.add(provider.getInfo().getName());
+        }
+        return names;
+    }
+
+    private static List<String> getSortedNames(ProviderBootstrap bootstrap) {
+        List<String> names = new ArrayList<>(5);
+        for (ProviderBootstrap.Entry entry : bootstrap.sort()) {
+            names.add(entry.provider.getInfo().getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void testSortDependencyOrder() throws Exception {
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.asList(
+                new MockProvider("a", "b"),
+                new MockProvider("b", "c"),
+                new MockProvider("c"),
+                new MockProvider("d")));
+
+        assertEquals(Arrays.asList("c", "d", "b", "a"), getSortedNames(bootstrap));
+    }
+
+    @Test
+    public void testSortStorageFirst() throws Exception {
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.asList(
+                new MockProvider("a"),
+                new MockStorageProvider("storage1"),
+                new MockProvider("b"),
+                new MockStorageProvider("storage2")));
+
+        assertEquals(Arrays.asList("storage1", "storage2", "a", "b"), getSortedNames(bootstrap));
+    }
+
+    @Test
+    public void testSortCaseInsensitiveDepends() throws Exception {
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.asList(
+                new MockProvider("a", "B"),
+                new MockProvider("B")));
+
+        assertEquals(Arrays.asList("B", "a"), getSortedNames(bootstrap));
+    }
+
+    @Test
+    public void testSortCycle() throws Exception {
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.asList(
+                new MockProvider("a", "b"),
+                new MockProvider("b", "a"),
+                new MockProvider("c")));
+
+        // entries in the cycle are added last, in the order they were added
+        assertEquals(Arrays.asList("c", "a", "b"), getSortedNames(bootstrap));
+    }
+
+    @Test
+    public void testEnableOrder() throws Exception {
+
+        MockProvider a = new MockProvider("a", "b");
+        MockProvider b = new MockProvider("b");
+        MockStorageProvider storage = new MockStorageProvider("storage");
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.<IProvider>asList(a, b, storage));
+        bootstrap.enableAll();
+
+        assertEquals(Arrays.asList("storage", "b", "a"), getNames(bootstrap.getEnabled()));
+    }
+
+    @Test
+    public void testEnableCycle() throws Exception {
+
+        MockProvider a = new MockProvider("a", "b");
+        MockProvider b = new MockProvider("b", "a");
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.<IProvider>asList(a, b));
+        bootstrap.enableAll();
+
+        // providers in a cycle are still enabled
+        assertTrue(a.isEnabled);
+        assertTrue(b.isEnabled);
+    }
+
+    @Test
+    public void testFailedDependency() throws Exception {
+
+        MockProvider a = new MockProvider("a", "b");
+        MockProvider b = new MockProvider("b", "c");
+        MockProvider c = new MockProvider("c");
+        MockProvider d = new MockProvider("d");
+        c.isFailing = true;
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.<IProvider>asList(a, b, c, d));
+        bootstrap.enableAll();
+
+        // failure cascades through named dependencies
+        assertFalse(c.isEnabled);
+        assertFalse(b.isEnabled);
+        assertFalse(a.isEnabled);
+        assertEquals(0, b.enableCount);
+        assertEquals(0, a.enableCount);
+
+        assertTrue(d.isEnabled);
+        assertEquals(Arrays.asList("d"), getNames(bootstrap.getEnabled()));
+    }
+
+    @Test
+    public void testFailedStorage() throws Exception {
+
+        MockStorageProvider failed = new MockStorageProvider("failed");
+        MockStorageProvider storage = new MockStorageProvider("storage");
+        MockProvider a = new MockProvider("a");
+        MockProvider b = new MockProvider("b", "failed");
+        failed.isFailing = true;
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.<IProvider>asList(failed, storage, a, b));
+        bootstrap.enableAll();
+
+        // storage order is implicit, a failed storage provider only
+        // prevents providers that name it from being enabled
+        assertTrue(storage.isEnabled);
+        assertTrue(a.isEnabled);
+        assertFalse(b.isEnabled);
+
+        assertEquals(Arrays.asList("storage", "a"), getNames(bootstrap.getEnabled()));
+    }
+
+    @Test
+    public void testMissingDependency() throws Exception {
+
+        MockProvider a = new MockProvider("a", "missing");
+
+        ProviderBootstrap bootstrap = new ProviderBootstrap(Arrays.<IProvider>asList(a));
+        bootstrap.enableAll();
+
+        assertTrue(a.isEnabled);
+    }
+
+    private static class MockProvider implements IProvider {
+
+        IProviderInfo info;
+        boolean isFailing;
+        boolean isEnabled;
+        int enableCount;
+
+        MockProvider(String name, String... depends) {
+            info = new MockProviderInfo(name, Arrays.asList(depends));
+        }
+
+        @Override
+        public IProviderInfo getInfo() {
+            return info;
+        }
+
+        @Override
+        public File getDataFolder() {
+            return null;
+        }
+
+        @Override
+        public IDataNode getDataNode() {
+            return null;
+        }
+
+        @Override
+        public DataPath getDataPath(String path) {
+            return null;
+        }
+
+        @Override
+        public void setInfo(IProviderInfo info) {
+            this.info = info;
+        }
+
+        @Override
+        public void registerTypes() {
+        }
+
+        @Override
+        public void enable() {
+            enableCount++;
+
+            if (isFailing)
+                throw new RuntimeException("Mock provider failed to enable.");
+
+            isEnabled = true;
+        }
+
+        @Override
+        public void disable() {
+            isEnabled = false;
+        }
+
+        @Override
+        public boolean isLoaded() {
+            return isEnabled;
+        }
+    }
+
+    private static class MockStorageProvider extends MockProvider implements IStorageProvider {
+
+        MockStorageProvider(String name) {
+            super(name);
+        }
+
+        @Override
+        public boolean remove(Plugin plugin, DataPath path) {
+            return false;
+        }
+
+        @Override
+        public IDataNode get(Plugin plugin, DataPath path) {
+            return null;
+        }
+
+        @Override
+        public boolean has(Plugin plugin, DataPath path) {
+            return false;
+        }
+    }
+
+    private static class MockProviderInfo implements IProviderInfo {
+
+        final String name;
+        final List<String> depends;
+
+        MockProviderInfo(String name, List<String> depends) {
+            this.name = name;
+            this.depends = depends;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getSearchName() {
+            return name.toLowerCase();
+        }
+
+        @Override
+        public String getVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public int getLogicalVersion() {
+            return 0;
+        }
+
+        @Override
+        public String getDescription() {
+            return "";
+        }
+
+        @Override
+        public String getModuleClassName() {
+            return getClass().getName();
+        }
+
+        @Override
+        public List<String> getBukkitDepends() {
+            return new ArrayList<>(0);
+        }
+
+        @Override
+        public List<String> getBukkitSoftDepends() {
+            return new ArrayList<>(0);
+        }
+
+        @Override
+        public List<String> getProviderDepends() {
+            return depends;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.jcwhatever.nucleus.internal.providers;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        PlayerNameIndexTest.class,
+        ProviderBootstrapTest.class
+})
+public class _InternalProvidersTestSuite {
+}
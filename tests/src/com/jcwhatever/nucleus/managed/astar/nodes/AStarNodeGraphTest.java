@@ -0,0 +1,89 @@
+package com.jcwhatever.nucleus.managed.astar.nodes;
+
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.managed.astar.AStar;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult;
+import com.jcwhatever.nucleus.managed.astar.IAStarResult.ResultStatus;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AStarNodeGraphTest {
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    private IAStarNodeGraph createGraph(int landmarks) {
+
+        // a - b - c - d
+        //  \         /
+        //   e ----- f    (longer route)
+        return AStar.getNamedNodeMapBuilder()
+                .add("a", 0, 0, 0, "b", "e")
+                .add("b", 10, 0, 0, "a", "c")
+                .add("c", 20, 0, 0, "b", "d")
+                .add("d", 30, 0, 0, "c", "f")
+                .add("e", 0, 0, 50, "a", "f")
+                .add("f", 30, 0, 50, "e", "d")
+                .add("g", 100, 0, 100)
+                .landmarks(landmarks)
+                .build();
+    }
+
+    @Test
+    public void testSearch() throws Exception {
+
+        for (int landmarks = 0; landmarks < 4; landmarks++) {
+
+            IAStarNodeGraph graph = createGraph(landmarks);
+
+            IAStarResult<AStarGraphNode> result = graph.search(graph.get("a"), graph.get("d"));
+
+            assertEquals(ResultStatus.RESOLVED, result.getStatus());
+
+            List<AStarGraphNode> path = result.values();
+            assertEquals(4, path.size());
+            assertEquals("a", path.get(0).getName());
+            assertEquals("b", path.get(1).getName());
+            assertEquals("c", path.get(2).getName());
+            assertEquals("d", path.get(3).getName());
+        }
+    }
+
+    @Test
+    public void testUnresolvable() throws Exception {
+
+        IAStarNodeGraph graph = createGraph(2);
+
+        IAStarResult<AStarGraphNode> result = graph.search(graph.get("a"), graph.get("g"));
+
+        assertEquals(ResultStatus.UNRESOLVABLE, result.getStatus());
+    }
+
+    @Test
+    public void testMaxIterations() throws Exception {
+
+        IAStarNodeGraph graph = createGraph(0);
+
+        IAStarResult<AStarGraphNode> result = graph.search(graph.get("a"), graph.get("d"),
+                AStar.createSettings().setMaxIterations(1));
+
+        assertEquals(ResultStatus.ITERATIONS_EXCEEDED, result.getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchNodeNotInGraph() throws Exception {
+
+        IAStarNodeGraph graph = createGraph(0);
+
+        graph.search(graph.get("a"), new AStarGraphNode("z", 0, 0, 0));
+    }
+}
@@ -0,0 +1,12 @@
+package com.jcwhatever.nucleus.managed.astar.nodes;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        AStarGraphNodeTest.class,
+        AStarNodeGraphTest.class
+})
+public class _NodesTestSuite {
+}
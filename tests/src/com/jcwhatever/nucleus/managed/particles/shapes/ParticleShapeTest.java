@@ -0,0 +1,136 @@
+package com.jcwhatever.nucleus.managed.particles.shapes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.jcwhatever.nucleus.NucleusTest;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link ParticleShape}.
+ */
+public class ParticleShapeTest {
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    @Test
+    public void testCircle() throws Exception {
+
+        ParticleShape shape = ParticleShape.circle(2.0D, 8);
+
+        assertEquals(8, shape.size());
+        assertEquals(2.0f, shape.getRadius(), 0.0001f);
+
+        for (int i=0; i < shape.size(); i++) {
+            assertEquals(0.0f, shape.getY(i), 0.0f);
+
+            float x = shape.getX(i);
+            float z = shape.getZ(i);
+            assertEquals(2.0f, (float)Math.sqrt(x * x + z * z), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testHelix() throws Exception {
+
+        ParticleShape shape = ParticleShape.helix(1.0D, 4.0D, 2, 9);
+
+        assertEquals(9, shape.size());
+        assertEquals(0.0f, shape.getY(0), 0.0f);
+        assertEquals(4.0f, shape.getY(8), 0.0001f);
+    }
+
+    @Test
+    public void testSphere() throws Exception {
+
+        ParticleShape shape = ParticleShape.sphere(3.0D, 50);
+
+        assertEquals(50, shape.size());
+
+        for (int i=0; i < shape.size(); i++) {
+            float x = shape.getX(i);
+            float y = shape.getY(i);
+            float z = shape.getZ(i);
+            assertEquals(3.0f, (float)Math.sqrt(x * x + y * y + z * z), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testLine() throws Exception {
+
+        ParticleShape shape = ParticleShape.line(10.0D, 11);
+
+        assertEquals(11, shape.size());
+        assertEquals(10.0f, shape.getRadius(), 0.0001f);
+
+        for (int i=0; i < shape.size(); i++) {
+            assertEquals(0.0f, shape.getX(i), 0.0f);
+            assertEquals(i, shape.getZ(i), 0.0001f);
+        }
+    }
+
+    @Test
+    public void testFromPoints() throws Exception {
+
+        float[] points = new float[] { 1, 2, 3, 4, 5, 6 };
+        ParticleShape shape = ParticleShape.fromPoints(points);
+
+        // make sure the array is copied
+        points[0] = 10;
+
+        assertEquals(2, shape.size());
+        assertEquals(1.0f, shape.getX(0), 0.0f);
+        assertEquals(6.0f, shape.getZ(1), 0.0f);
+
+        ParticleShape combined = shape.combine(ParticleShape.fromPoints(new float[] { 7, 8, 9 }));
+
+        assertEquals(3, combined.size());
+        assertEquals(9.0f, combined.getZ(2), 0.0f);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFromPointsInvalidLength() throws Exception {
+
+        ParticleShape.fromPoints(new float[] { 1, 2 });
+    }
+
+    @Test
+    public void testTransformTranslate() throws Exception {
+
+        ParticleShape shape = ParticleShape.fromPoints(new float[] { 1, 2, 3, -1, -2, -3 });
+
+        double[] output = new double[6];
+        double[] result = shape.transform(0, 0, 10, 20, 30, output);
+
+        assertEquals(output, result);
+        assertArrayEquals(new double[] { 11, 22, 33, 9, 18, 27 }, result, 0.0D);
+    }
+
+    @Test
+    public void testTransformRotate() throws Exception {
+
+        ParticleShape shape = ParticleShape.fromPoints(new float[] { 0, 0, 1 });
+
+        // yaw 90 rotates forward (+Z) to -X
+        double[] result = shape.transform(90, 0, 0, 0, 0, null);
+
+        assertEquals(-1.0D, result[0], 0.01D);
+        assertEquals(0.0D, result[1], 0.01D);
+        assertEquals(0.0D, result[2], 0.01D);
+
+        // pitch 90 rotates forward (+Z) to -Y
+        result = shape.transform(0, 90, 0, 0, 0, null);
+
+        assertEquals(0.0D, result[0], 0.01D);
+        assertEquals(-1.0D, result[1], 0.01D);
+        assertEquals(0.0D, result[2], 0.01D);
+    }
+}
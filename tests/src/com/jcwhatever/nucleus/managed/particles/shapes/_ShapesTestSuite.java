@@ -0,0 +1,11 @@
+package com.jcwhatever.nucleus.managed.particles.shapes;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        ParticleShapeTest.class
+})
+public class _ShapesTestSuite {
+}
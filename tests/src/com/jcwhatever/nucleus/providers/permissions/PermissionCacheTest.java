@@ -0,0 +1,154 @@
+package com.jcwhatever.nucleus.providers.permissions;
+
+import static org.junit.Assert.assertEquals;
+
+import com.jcwhatever.v1_8_R3.BukkitTester;
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.observer.future.FutureResultSubscriber;
+import com.jcwhatever.nucleus.utils.observer.future.Result;
+
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.PermissionDefault;
+import org.bukkit.plugin.Plugin;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PermissionCacheTest {
+
+    private static final String PERMISSION = "nucleus.test.cache";
+
+    private Plugin _plugin = BukkitTester.mockPlugin("dummy");
+
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    @Before
+    public void before() {
+        Permissions.register(PERMISSION, PermissionDefault.FALSE);
+        Permissions.getCache().setEnabled(true);
+        Permissions.getCache().resetStats();
+    }
+
+    @After
+    public void after() {
+        Permissions.getCache().setEnabled(false);
+        Permissions.unregister(PERMISSION);
+    }
+
+    /**
+     * Make sure a repeated check is answered from the cache.
+     */
+    @Test
+    public void testHits() throws Exception {
+
+        Player player = BukkitTester.login("cacheHits");
+
+        IPermissionCache cache = Permissions.getCache();
+
+        assertEquals(false, Permissions.has(player, PERMISSION));
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        assertEquals(false, Permissions.has(player, PERMISSION));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5D, cache.getHitRate(), 0.0D);
+
+        // disabled cache is not used
+        cache.setEnabled(false);
+        assertEquals(false, Permissions.has(player, PERMISSION));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.size());
+
+        BukkitTester.logout("cacheHits");
+    }
+
+    /**
+     * Make sure changes made through Permissions remove cached results.
+     */
+    @Test
+    public void testInvalidation() throws Exception {
+
+        Player player = BukkitTester.login("cacheInvalidation");
+
+        IPermissionCache cache = Permissions.getCache();
+
+        assertEquals(false, Permissions.has(player, PERMISSION));
+        assertEquals(1, cache.size());
+
+        Permissions.add(_plugin, player, PERMISSION);
+
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(0, cache.size());
+
+        // result is not stale
+        assertEquals(true, Permissions.has(player, PERMISSION));
+        assertEquals(2, cache.getMisses());
+
+        cache.invalidate(player);
+        assertEquals(2, cache.getInvalidations());
+
+        // registering a permission clears the cache
+        Permissions.has(player, PERMISSION);
+        Permissions.register(PERMISSION + ".other", PermissionDefault.FALSE);
+        assertEquals(0, cache.size());
+
+        Permissions.unregister(PERMISSION + ".other");
+        Permissions.remove(_plugin, player, PERMISSION);
+
+        BukkitTester.logout("cacheInvalidation");
+    }
+
+    /**
+     * Make sure the async check returns a result for online and offline
+     * players and uses cached results.
+     */
+    @Test
+    public void testHasAsync() throws Exception {
+
+        Player player = BukkitTester.login("cacheAsync");
+
+        final List<Boolean> results = new ArrayList<>(3);
+
+        FutureResultSubscriber<Boolean> subscriber = new FutureResultSubscriber<Boolean>() {
+            @Override
+            public void on(Result<Boolean> result) {
+                results.add(result.getResult());
+            }
+        };
+
+        // online player, checked on the main thread
+        Permissions.hasAsync(player, PERMISSION).onSuccess(subscriber);
+
+        BukkitTester.pause(5);
+
+        assertEquals(1, results.size());
+        assertEquals(false, results.get(0));
+        assertEquals(1, Permissions.getCache().getMisses());
+
+        // cached result, returned immediately
+        Permissions.hasAsync(player, PERMISSION).onSuccess(subscriber);
+
+        assertEquals(2, results.size());
+        assertEquals(1, Permissions.getCache().getHits());
+
+        // offline player, checked asynchronously
+        BukkitTester.logout("cacheAsync");
+        Permissions.getCache().invalidate(player);
+
+        Permissions.hasAsync(player, PERMISSION).onSuccess(subscriber);
+
+        BukkitTester.pause(5);
+
+        assertEquals(3, results.size());
+        assertEquals(false, results.get(2));
+    }
+}
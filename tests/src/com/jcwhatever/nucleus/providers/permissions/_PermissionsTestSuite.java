@@ -0,0 +1,11 @@
+package com.jcwhatever.nucleus.providers.permissions;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        PermissionCacheTest.class
+})
+public class _PermissionsTestSuite {
+}
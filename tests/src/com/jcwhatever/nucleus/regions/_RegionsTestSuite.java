@@ -1,10 +1,13 @@
 package com.jcwhatever.nucleus.regions;
 
+import com.jcwhatever.nucleus.regions.file.basic._BasicTestSuite;
+
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+        _BasicTestSuite.class,
         _SelectionTestSuite.class
 })
 public class _RegionsTestSuite {
@@ -0,0 +1,125 @@
+package com.jcwhatever.nucleus.regions.file.basic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.v1_8_R3.BukkitTester;
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.file.IAppliedSerializable;
+import com.jcwhatever.nucleus.utils.file.IByteReader;
+import com.jcwhatever.nucleus.utils.file.IByteWriter;
+import com.jcwhatever.nucleus.utils.performance.queued.QueueTask;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.plugin.Plugin;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class WorldBuilderTest {
+
+    Plugin _plugin = BukkitTester.mockPlugin("WorldBuilderTest");
+    World _world = BukkitTester.world("worldBuilderWorld");
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    @Test
+    public void testCommitEmpty() throws Exception {
+
+        WorldBuilder builder = new WorldBuilder(_plugin, _world);
+
+        QueueTask task = builder.commit();
+        task.run();
+
+        BukkitTester.pause(2);
+
+        assertTrue(task.isComplete());
+    }
+
+    @Test
+    public void testSerializablesApplied() throws Exception {
+
+        WorldBuilder builder = new WorldBuilder(_plugin, _world);
+        MockSerializable serializable = new MockSerializable();
+
+        builder.addSerializable(serializable);
+
+        QueueTask task = builder.commit();
+        task.run();
+
+        BukkitTester.pause(2);
+
+        assertTrue(task.isComplete());
+        assertEquals(1, serializable.applied);
+
+        // the next commit starts empty
+        task = builder.commit();
+        task.run();
+
+        BukkitTester.pause(2);
+
+        assertTrue(task.isComplete());
+        assertEquals(1, serializable.applied);
+    }
+
+    @Test
+    public void testPluginDisabledFailsCommit() throws Exception {
+
+        Plugin plugin = BukkitTester.mockPlugin("WorldBuilderTestDisabled");
+
+        // one pending buffer, the third buffer blocks the adding thread
+        final WorldBuilder builder = new WorldBuilder(plugin, _world, 1, 4096);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 4096 * 3; i++) {
+                    builder.addBlock(i & 15, i >> 8, (i >> 4) & 15, Material.STONE, 0, 0, 0);
+                }
+            }
+        });
+
+        thread.start();
+        thread.join(200);
+
+        assertTrue(thread.isAlive());
+
+        Bukkit.getPluginManager().disablePlugin(plugin);
+
+        // waits up to a second between checks of the plugin
+        thread.join(5000);
+
+        assertFalse(thread.isAlive());
+
+        QueueTask task = builder.commit();
+
+        assertTrue(task.isFailed());
+    }
+
+    private static class MockSerializable implements IAppliedSerializable {
+
+        int applied;
+
+        @Override
+        public boolean apply() {
+            applied++;
+            return true;
+        }
+
+        @Override
+        public void serialize(IByteWriter writer) {
+        }
+
+        @Override
+        public void deserialize(IByteReader reader) {
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.jcwhatever.nucleus.regions.file.basic;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        WorldBuilderTest.class
+})
+public class _BasicTestSuite {
+}
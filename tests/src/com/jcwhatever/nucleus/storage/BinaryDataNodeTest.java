@@ -0,0 +1,167 @@
+package com.jcwhatever.nucleus.storage;
+
+import com.jcwhatever.v1_8_R3.MockPlugin;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class BinaryDataNodeTest extends IDataNodeTest {
+
+    public BinaryDataNodeTest() {
+
+        final Plugin plugin = new MockPlugin("dummy").enable();
+
+        setNodeGenerator(new IDataNodeGenerator() {
+            @Override
+            public IDataNode generateRoot() {
+
+                File file;
+                try {
+                    file = File.createTempFile("binaryDataNodeTest", BinaryDataNode.LOG_EXTENSION);
+                } catch (IOException e) {
+                    throw new AssertionError(e);
+                }
+
+                file.deleteOnExit();
+                BinaryDataNode.getIndexFile(file).deleteOnExit();
+
+                BinaryDataNode node = new BinaryDataNode(plugin, file);
+                node.load();
+
+                return node;
+            }
+        });
+    }
+
+    /**
+     * Make sure a copy made from a snapshot plus the tail written after the
+     * snapshot matches the store.
+     */
+    @Test
+    public void testSnapshotCopyWithTail() throws IOException {
+
+        BinaryLogStore store = createStore();
+        BinaryLogStore target = createStore();
+
+        store.set("a.b", "b");
+        store.set("a.c", 1);
+        store.set("d", "d");
+        store.set("d", "d2");
+
+        BinaryLogStore snapshot = store.snapshot();
+        long copied = store.length();
+
+        // changes made while the copy is written
+        store.set("a.e", "e");
+        store.remove("a.b");
+        store.set("d", "d3");
+
+        // the snapshot does not see the changes
+        assertEquals("b", snapshot.get("a.b"));
+        assertNull(snapshot.get("a.e"));
+        assertEquals("d2", snapshot.get("d"));
+
+        snapshot.copyTo(target);
+        store.copyTail(copied, target);
+
+        assertNull(target.get("a.b"));
+        assertEquals(1, target.get("a.c"));
+        assertEquals("e", target.get("a.e"));
+        assertEquals("d3", target.get("d"));
+
+        Set<String> names = target.getChildNames("a", new HashSet<String>(3));
+        assertEquals(2, names.size());
+        assertTrue(names.contains("c"));
+        assertTrue(names.contains("e"));
+
+        snapshot.release();
+        store.close();
+        target.close();
+    }
+
+    /**
+     * Make sure list elements keep their types after the store is reopened.
+     */
+    @Test
+    public void testListRoundTrip() throws IOException {
+
+        File file = File.createTempFile("binaryLogStoreTest", BinaryDataNode.LOG_EXTENSION);
+        File index = BinaryDataNode.getIndexFile(file);
+
+        file.deleteOnExit();
+        index.deleteOnExit();
+
+        BinaryLogStore store = new BinaryLogStore(file, index);
+        store.open();
+
+        store.set("ints", Arrays.asList(1, 2, 3));
+        store.set("mixed", Arrays.<Object>asList("a", null, true, 2L, 1.5D));
+        store.close();
+
+        store = new BinaryLogStore(file, index);
+        store.open();
+
+        assertEquals(Arrays.asList(1, 2, 3), store.get("ints"));
+        assertEquals(Arrays.<Object>asList("a", null, true, 2L, 1.5D), store.get("mixed"));
+
+        store.close();
+    }
+
+    /**
+     * Make sure collections are stored with their element types and
+     * can still be read as a string list.
+     */
+    @Test
+    public void testSetCollection() {
+
+        IDataNode node = _generator.generateRoot();
+
+        node.set("ints", new HashSet<Integer>(Arrays.asList(5)));
+
+        Object value = node.get("ints");
+        assertTrue(value instanceof List);
+        assertEquals(5, ((List<?>) value).get(0));
+        assertEquals(Arrays.asList("5"), node.getStringList("ints", null));
+    }
+
+    /**
+     * Make sure nested collections are rejected instead of being stored as strings.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetNestedCollection() {
+
+        IDataNode node = _generator.generateRoot();
+
+        List<Object> list = new ArrayList<>(1);
+        list.add(Arrays.asList(1, 2));
+
+        node.set("nested", list);
+    }
+
+    private static BinaryLogStore createStore() throws IOException {
+
+        File file = File.createTempFile("binaryLogStoreTest", BinaryDataNode.LOG_EXTENSION);
+        File index = BinaryDataNode.getIndexFile(file);
+
+        file.deleteOnExit();
+        index.deleteOnExit();
+
+        BinaryLogStore store = new BinaryLogStore(file, index);
+        store.open();
+
+        return store;
+    }
+}
@@ -827,6 +827,73 @@ public abstract class IDataNodeTest {
         assertEquals(null, dataNode.getEnum("testGetEnumGeneric1", TestEnum.class));
     }
 
+    /**
+     * test decoded values are invalidated on root node.
+     */
+    @Test
+    public void testDecodedValuesRoot() {
+
+        IDataNode dataNode = _generator.generateRoot();
+        testDecodedValues(dataNode);
+    }
+
+    /**
+     * test decoded values are invalidated on sub node.
+     */
+    @Test
+    public void testDecodedValuesSub() {
+
+        IDataNode dataNode = _generator.generateRoot();
+        testDecodedValues(dataNode.getNode("newNode"));
+    }
+
+    private void testDecodedValues(IDataNode dataNode) {
+        initDataNode(dataNode);
+
+        World world = BukkitTester.world("dummy");
+
+        // set
+        dataNode.set("decoded.location", new Location(world, 1, 2, 3));
+        assertEquals(1, dataNode.getLocation("decoded.location").getBlockX());
+
+        dataNode.set("decoded.location", new Location(world, 4, 5, 6));
+        assertEquals(4, dataNode.getLocation("decoded.location").getBlockX());
+
+        // returned location is a copy
+        dataNode.getLocation("decoded.location").setX(10);
+        assertEquals(4, dataNode.getLocation("decoded.location").getBlockX());
+
+        // items
+        dataNode.set("decoded.items", new ItemStackBuilder(Material.STONE).build());
+        assertEquals(Material.STONE, dataNode.getItemStacks("decoded.items")[0].getType());
+
+        dataNode.set("decoded.items", new ItemStackBuilder(Material.WOOD).build());
+        assertEquals(Material.WOOD, dataNode.getItemStacks("decoded.items")[0].getType());
+
+        // enum
+        dataNode.set("decoded.enum", TestEnum.CONSTANT);
+        assertEquals(TestEnum.CONSTANT, dataNode.getEnum("decoded.enum", TestEnum.class));
+
+        dataNode.set("decoded.enum", TestEnum.CONSTANT2);
+        assertEquals(TestEnum.CONSTANT2, dataNode.getEnum("decoded.enum", TestEnum.class));
+
+        // remove
+        dataNode.remove("decoded.enum");
+        assertEquals(null, dataNode.getEnum("decoded.enum", TestEnum.class));
+
+        // set parent node
+        dataNode.set("decoded", null);
+        assertEquals(null, dataNode.getLocation("decoded.location"));
+        assertEquals(null, dataNode.getItemStacks("decoded.items"));
+
+        // clear
+        dataNode.set("decoded.location", new Location(world, 1, 2, 3));
+        assertNotNull(dataNode.getLocation("decoded.location"));
+
+        dataNode.clear();
+        assertEquals(null, dataNode.getLocation("decoded.location"));
+    }
+
     /**
      * test getStringList on root node.
      */
@@ -1104,7 +1171,8 @@ public abstract class IDataNodeTest {
     }
 
     public enum TestEnum {
-        CONSTANT
+        CONSTANT,
+        CONSTANT2
     }
 
     private static class SerializeTest1 implements IDataNodeSerializable {
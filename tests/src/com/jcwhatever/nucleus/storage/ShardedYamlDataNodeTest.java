@@ -0,0 +1,196 @@
+package com.jcwhatever.nucleus.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.v1_8_R3.MockPlugin;
+
+import org.bukkit.plugin.Plugin;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class ShardedYamlDataNodeTest {
+
+    private Plugin plugin;
+    private File file;
+    private File directory;
+
+    @Before
+    public void before() throws Exception {
+        plugin = new MockPlugin("dummy").enable();
+
+        File temp = Files.createTempDirectory("shardedYamlDataNodeTest").toFile();
+        temp.deleteOnExit();
+
+        file = new File(temp, "data.yml");
+        directory = new File(temp, "data.shards");
+    }
+
+    private ShardedYamlDataNode load() {
+        ShardedYamlDataNode node = new ShardedYamlDataNode(plugin, file);
+        assertTrue(node.load());
+        return node;
+    }
+
+    private File getShardFile(String key) {
+        return new File(directory, ShardedYamlDataNode.encodeKey(key) + ".yml");
+    }
+
+    @Test
+    public void testEncodeKey() throws Exception {
+
+        assertEquals("arena_1", ShardedYamlDataNode.encodeKey("arena_1"));
+        assertEquals("my-key", ShardedYamlDataNode.encodeKey("my-key"));
+        assertEquals("a%20b", ShardedYamlDataNode.encodeKey("a b"));
+        assertEquals("a%2Fb", ShardedYamlDataNode.encodeKey("a/b"));
+        assertEquals("%2E%2E", ShardedYamlDataNode.encodeKey(".."));
+        assertEquals("%C3%A9", ShardedYamlDataNode.encodeKey("\u00E9"));
+        assertEquals("%46oo", ShardedYamlDataNode.encodeKey("Foo"));
+
+        // names differing only by case must not share a file
+        assertNotEquals(
+                ShardedYamlDataNode.encodeKey("Foo").toLowerCase(),
+                ShardedYamlDataNode.encodeKey("foo").toLowerCase());
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+
+        ShardedYamlDataNode node = load();
+
+        node.set("arena.name", "first");
+        node.set("arena.size", 10);
+        node.set("Foo", 1);
+        node.set("foo", 2);
+
+        assertTrue(node.saveSync());
+
+        assertTrue(getShardFile("arena").exists());
+        assertTrue(getShardFile("Foo").exists());
+        assertTrue(getShardFile("foo").exists());
+
+        ShardedYamlDataNode loaded = load();
+
+        assertEquals("first", loaded.getString("arena.name"));
+        assertEquals(10, loaded.getInteger("arena.size"));
+        assertEquals(1, loaded.getInteger("Foo"));
+        assertEquals(2, loaded.getInteger("foo"));
+    }
+
+    @Test
+    public void testDirtyTracking() throws Exception {
+
+        ShardedYamlDataNode node = load();
+
+        node.set("a", 1);
+        node.set("b.c", 2);
+
+        assertTrue(node.isShardDirty("a"));
+        assertTrue(node.isShardDirty("b"));
+
+        assertTrue(node.saveSync());
+
+        assertFalse(node.isShardDirty("a"));
+        assertFalse(node.isShardDirty("b"));
+
+        // set through a child node marks its top level node
+        node.getNode("b").set("d", 3);
+
+        assertFalse(node.isShardDirty("a"));
+        assertTrue(node.isShardDirty("b"));
+
+        // an unmodified shard is not re-written
+        assertTrue(getShardFile("a").delete());
+        assertTrue(node.saveSync());
+
+        assertFalse(getShardFile("a").exists());
+        assertTrue(getShardFile("b").exists());
+
+        // removed top level nodes delete their shard
+        node.remove("b");
+
+        assertTrue(node.isShardDirty("b"));
+        assertTrue(node.saveSync());
+        assertFalse(getShardFile("b").exists());
+
+        ShardedYamlDataNode loaded = load();
+
+        assertNull(loaded.get("b"));
+    }
+
+    @Test
+    public void testMigration() throws Exception {
+
+        Files.write(file.toPath(),
+                "arena:\n  name: legacy\ncount: 5\n".getBytes(StandardCharsets.UTF_8));
+
+        ShardedYamlDataNode node = load();
+
+        assertEquals("legacy", node.getString("arena.name"));
+        assertEquals(5, node.getInteger("count"));
+
+        // all legacy nodes are written on the first save
+        assertTrue(node.isShardDirty("arena"));
+        assertTrue(node.isShardDirty("count"));
+
+        assertTrue(node.saveSync());
+
+        assertTrue(directory.exists());
+        assertFalse(file.exists());
+        assertTrue(new File(file.getParentFile(), "data.yml.migrated").exists());
+
+        ShardedYamlDataNode loaded = load();
+
+        assertEquals("legacy", loaded.getString("arena.name"));
+        assertEquals(5, loaded.getInteger("count"));
+    }
+
+    @Test
+    public void testConcurrentSaves() throws Exception {
+
+        final ShardedYamlDataNode node = load();
+        final int iterations = 200;
+
+        Thread[] threads = new Thread[4];
+
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < iterations; i++) {
+                        node.set("counter", i);
+                        node.saveSync();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        node.set("counter", iterations);
+        assertTrue(node.saveSync());
+
+        ShardedYamlDataNode loaded = load();
+
+        assertEquals(iterations, loaded.getInteger("counter"));
+
+        // temporary files are always renamed or removed
+        String[] names = directory.list();
+        assertNotNull(names);
+
+        for (String name : names) {
+            assertFalse(name, name.endsWith(".tmp"));
+        }
+    }
+}
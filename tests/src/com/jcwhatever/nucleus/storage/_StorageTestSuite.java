@@ -9,7 +9,9 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         MemoryDataNodeTest.class,
         YamlDataNodeTest.class,
+        BinaryDataNodeTest.class,
         JsonDataNodeTest.class,
+        ShardedYamlDataNodeTest.class,
         DataFieldSerializerTest.class
 })
 public class _StorageTestSuite {
@@ -124,6 +124,31 @@ public class DataFieldSerializerTest {
 
     }
 
+    @Test
+    public void testKeyName() throws Exception {
+
+        MemoryDataNode node = new MemoryDataNode(BukkitTester.mockPlugin("test"));
+
+        KeyNameClass test = new KeyNameClass();
+        test.value = 20;
+
+        // serialize twice to use the cached plan
+        DataFieldSerializer.serialize(test, node);
+        DataFieldSerializer.serialize(test, node);
+
+        assertEquals(20, node.getInteger("custom.key"));
+        assertEquals(false, node.hasNode("value"));
+
+        KeyNameClass result = new KeyNameClass();
+        DataFieldSerializer.deserializeInto(result, node);
+
+        assertEquals(20, result.value);
+    }
+
+    private static class KeyNameClass {
+        @DataField(keyName = "custom.key") private int value = 5;
+    }
+
     private static class TestClass {
 
         private boolean nonData1 = true;
@@ -0,0 +1,75 @@
+package com.jcwhatever.nucleus.utils;
+
+import com.jcwhatever.nucleus.utils.coords.PackedCoords;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PackedCoordsTest {
+
+    @Test
+    public void testPack() throws Exception {
+
+        int[][] coords = new int[][] {
+                { 0, 0, 0 },
+                { 1, 64, -1 },
+                { -30000, 255, 29999 },
+                { -30000000, -64, 29999999 },
+                { PackedCoords.MIN_BLOCK_XZ, PackedCoords.MIN_BLOCK_Y, PackedCoords.MIN_BLOCK_XZ },
+                { PackedCoords.MAX_BLOCK_XZ, PackedCoords.MAX_BLOCK_Y, PackedCoords.MAX_BLOCK_XZ }
+        };
+
+        for (int[] c : coords) {
+            long packed = PackedCoords.pack(c[0], c[1], c[2]);
+
+            Assert.assertEquals(c[0], PackedCoords.getX(packed));
+            Assert.assertEquals(c[1], PackedCoords.getY(packed));
+            Assert.assertEquals(c[2], PackedCoords.getZ(packed));
+        }
+
+        Assert.assertNotEquals(PackedCoords.pack(1, 2, 3), PackedCoords.pack(3, 2, 1));
+        Assert.assertNotEquals(PackedCoords.pack(-1, 0, 0), PackedCoords.pack(0, 0, -1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackOutOfRangeXZ() throws Exception {
+        PackedCoords.pack(PackedCoords.MAX_BLOCK_XZ + 1, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackOutOfRangeY() throws Exception {
+        PackedCoords.pack(0, PackedCoords.MIN_BLOCK_Y - 1, 0);
+    }
+
+    @Test
+    public void testOffset() throws Exception {
+
+        long packed = PackedCoords.pack(10, 20, 30);
+
+        Assert.assertEquals(PackedCoords.pack(9, 21, 31), PackedCoords.offset(packed, -1, 1, 1));
+        Assert.assertEquals(PackedCoords.pack(-1, -1, -1), PackedCoords.offset(0L, -1, -1, -1));
+    }
+
+    @Test
+    public void testPackChunk() throws Exception {
+
+        long packed = PackedCoords.packChunk(PackedCoords.MAX_WORLD_ID, -1875000, 1874999);
+
+        Assert.assertEquals(PackedCoords.MAX_WORLD_ID, PackedCoords.getChunkWorldId(packed));
+        Assert.assertEquals(-1875000, PackedCoords.getChunkX(packed));
+        Assert.assertEquals(1874999, PackedCoords.getChunkZ(packed));
+
+        Assert.assertNotEquals(PackedCoords.packChunk(0, 1, 2), PackedCoords.packChunk(1, 1, 2));
+    }
+
+    @Test
+    public void testWorldId() throws Exception {
+
+        int id = PackedCoords.getWorldId("packedCoordsTest");
+
+        Assert.assertEquals(id, PackedCoords.getWorldId("packedCoordsTest"));
+        Assert.assertNotEquals(id, PackedCoords.getWorldId("packedCoordsTest2"));
+        Assert.assertEquals("packedCoordsTest", PackedCoords.getWorldName(id));
+        Assert.assertEquals(null, PackedCoords.getWorldName(-1));
+    }
+}
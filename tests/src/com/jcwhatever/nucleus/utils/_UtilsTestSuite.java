@@ -3,6 +3,7 @@ package com.jcwhatever.nucleus.utils;
 import com.jcwhatever.nucleus.utils.file._FileTestSuite;
 import com.jcwhatever.nucleus.utils.inventory._InventoryTestSuite;
 import com.jcwhatever.nucleus.utils.items._ItemsTestSuite;
+import com.jcwhatever.nucleus.utils.modules._ModulesTestSuite;
 import com.jcwhatever.nucleus.utils.nms.NmsUtilsTest;
 import com.jcwhatever.nucleus.utils.observer._ObserverTestSuite;
 import com.jcwhatever.nucleus.internal.managed.reflection._ReflectionTestSuite;
@@ -18,12 +19,14 @@ import org.junit.runners.Suite;
         EnumUtilsTest.class,
         LocationUtilsTest.class,
         NmsUtilsTest.class,
+        PackedCoordsTest.class,
         PreConTest.class,
         RandTest.class,
 
         _FileTestSuite.class,
         _InventoryTestSuite.class,
         _ItemsTestSuite.class,
+        _ModulesTestSuite.class,
         _ObserverTestSuite.class,
         _ReflectionTestSuite.class,
         _TextTestSuite.class
@@ -0,0 +1,250 @@
+package com.jcwhatever.nucleus.utils.file;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import com.jcwhatever.nucleus.utils.coords.SyncLocation;
+
+import org.bukkit.Location;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Tests {@link NioByteReader} and {@link NioByteWriter} inter-compatibility.
+ */
+public class NioByteReaderWriterTest {
+
+    private enum TestEnum {
+        CONSTANT,
+        DEFAULT
+    }
+
+    private ByteArrayOutputStream _stream;
+
+    private NioByteWriter getWriter() {
+        _stream = new ByteArrayOutputStream();
+        return new NioByteWriter(Channels.newChannel(_stream));
+    }
+
+    private NioByteReader getReader(NioByteWriter writer) throws Exception {
+        writer.close();
+        return new NioByteReader(Channels.newChannel(new ByteArrayInputStream(_stream.toByteArray())));
+    }
+
+    /**
+     * Make sure the reader understands the writers booleans.
+     */
+    @Test
+    public void testBoolean() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        for (int i=0; i < 10; i++) {
+            writer.write(i % 3 == 0);
+        }
+        writer.write((byte)5);
+        writer.write(true);
+
+        NioByteReader reader = getReader(writer);
+
+        for (int i=0; i < 10; i++) {
+            assertEquals(i % 3 == 0, reader.getBoolean());
+        }
+        assertEquals(5, reader.getByte());
+        assertEquals(true, reader.getBoolean());
+
+        reader.close();
+    }
+
+    /**
+     * Make sure the reader understands the writers numbers.
+     */
+    @Test
+    public void testNumbers() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        writer.write((short)-300);
+        writer.write(0);
+        writer.write(Integer.MIN_VALUE);
+        writer.write(Integer.MAX_VALUE);
+        writer.write(-1L);
+        writer.write(Long.MAX_VALUE);
+        writer.write(1.5F);
+        writer.write(Double.NEGATIVE_INFINITY);
+
+        NioByteReader reader = getReader(writer);
+
+        assertEquals(-300, reader.getShort());
+        assertEquals(0, reader.getInteger());
+        assertEquals(Integer.MIN_VALUE, reader.getInteger());
+        assertEquals(Integer.MAX_VALUE, reader.getInteger());
+        assertEquals(-1L, reader.getLong());
+        assertEquals(Long.MAX_VALUE, reader.getLong());
+        assertEquals(1.5F, reader.getFloat(), 0.0F);
+        assertEquals(Double.NEGATIVE_INFINITY, reader.getDouble(), 0.0D);
+
+        reader.close();
+    }
+
+    /**
+     * Make sure small numbers are written as a single byte.
+     */
+    @Test
+    public void testVarIntSize() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        writer.write(63);
+        writer.write(-64);
+        assertEquals(2, writer.getBytesWritten());
+
+        writer.write(64);
+        assertEquals(4, writer.getBytesWritten());
+
+        writer.close();
+    }
+
+    /**
+     * Make sure the reader understands the writers byte arrays and big numbers.
+     */
+    @Test
+    public void testBytes() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        byte[] large = new byte[200000];
+        for (int i=0; i < large.length; i++) {
+            large[i] = (byte)i;
+        }
+
+        writer.write(new byte[] { 1, 2, 3 });
+        writer.write((byte[])null);
+        writer.write(new byte[0]);
+        writer.write(large);
+        writer.write(new BigDecimal("-1234.5678"));
+        writer.write(new BigInteger("123456789012345678901234567890"));
+        writer.write((BigDecimal)null);
+
+        NioByteReader reader = getReader(writer);
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, reader.getBytes());
+        assertEquals(null, reader.getBytes());
+        assertArrayEquals(new byte[0], reader.getBytes());
+        assertArrayEquals(large, reader.getBytes());
+        assertEquals(new BigDecimal("-1234.5678"), reader.getBigDecimal());
+        assertEquals(new BigInteger("123456789012345678901234567890"), reader.getBigInteger());
+        assertEquals(null, reader.getBigDecimal());
+
+        reader.close();
+    }
+
+    /**
+     * Make sure repeated strings are written once and read back from the string table.
+     */
+    @Test
+    public void testStrings() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        writer.write("test");
+        long size = writer.getBytesWritten();
+
+        writer.write("test");
+        writer.writeSmallString("test");
+
+        // repeated strings are written as a 1 byte table reference
+        assertEquals(size + 2, writer.getBytesWritten());
+
+        writer.write((String)null);
+        writer.write("");
+        writer.write("test", StandardCharsets.UTF_16);
+
+        NioByteReader reader = getReader(writer);
+
+        assertEquals("test", reader.getString());
+        assertEquals("test", reader.getString());
+        assertEquals("test", reader.getSmallString());
+        assertEquals(null, reader.getString());
+        assertEquals("", reader.getString());
+        assertEquals("test", reader.getString(StandardCharsets.UTF_16));
+
+        reader.close();
+    }
+
+    /**
+     * Make sure the reader understands the writers enums and UUIDs.
+     */
+    @Test
+    public void testEnumAndUUID() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        UUID uuid = UUID.randomUUID();
+
+        writer.write(TestEnum.CONSTANT);
+        writer.write(TestEnum.DEFAULT);
+        writer.write(TestEnum.CONSTANT);
+        writer.write((TestEnum)null);
+        writer.write(uuid);
+        writer.write((UUID)null);
+
+        NioByteReader reader = getReader(writer);
+
+        assertEquals(TestEnum.CONSTANT, reader.getEnum(TestEnum.class));
+        assertEquals(TestEnum.DEFAULT, reader.getEnum(TestEnum.class));
+        assertEquals(TestEnum.CONSTANT, reader.getEnum(TestEnum.class));
+        assertEquals(null, reader.getEnum(TestEnum.class));
+        assertEquals(uuid, reader.getUUID());
+        assertEquals(null, reader.getUUID());
+
+        reader.close();
+    }
+
+    /**
+     * Make sure the reader understands the writers locations (null world).
+     */
+    @Test
+    public void testLocation() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        Location location = new SyncLocation((String)null, 10.0D, 10.0D, 10.0D, 7f, 8f);
+
+        writer.write(location);
+        writer.write((Location)null);
+        writer.write(location);
+
+        NioByteReader reader = getReader(writer);
+
+        assertEquals(location, reader.getLocation());
+        assertEquals(null, reader.getLocation());
+        assertEquals(location, reader.getLocation());
+
+        reader.close();
+    }
+
+    /**
+     * Make sure {@link NioByteReader#getBytesRead} and {@link NioByteReader#skip}
+     * are correct.
+     */
+    @Test
+    public void testSkip() throws Exception {
+        NioByteWriter writer = getWriter();
+
+        writer.write((byte)1);
+        writer.write(new byte[100000]);
+        writer.write((byte)2);
+
+        long written = writer.getBytesWritten();
+
+        NioByteReader reader = getReader(writer);
+
+        assertEquals(1, reader.getByte());
+        assertEquals(100003, reader.skip(100003));
+        assertEquals(2, reader.getByte());
+        assertEquals(written, reader.getBytesRead());
+
+        reader.close();
+    }
+}
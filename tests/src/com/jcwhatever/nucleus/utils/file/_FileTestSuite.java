@@ -8,7 +8,8 @@ import org.junit.runners.Suite;
         FileUtilsTest.class,
         BasicByteReaderTest.class,
         BasicByteWriterTest.class,
-        BasicByteReaderWriterTest.class
+        BasicByteReaderWriterTest.class,
+        NioByteReaderWriterTest.class
 })
 public class _FileTestSuite {
 }
@@ -0,0 +1,195 @@
+package com.jcwhatever.nucleus.utils.inventory;
+
+import com.jcwhatever.v1_8_R3.MockInventory;
+import com.jcwhatever.nucleus.NucleusTest;
+import com.jcwhatever.nucleus.utils.items.ItemStackBuilder;
+import com.jcwhatever.nucleus.utils.items.ItemStackMatcher;
+
+import org.bukkit.Material;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InventoryTransactionTest {
+
+    private ItemStack[] getInventoryStack() {
+        return new ItemStack[] {
+                new ItemStackBuilder(Material.WOOD).amount(5).build(),
+                null,
+                new ItemStackBuilder(Material.GLASS).amount(64).build(),
+                new ItemStackBuilder(Material.STONE).amount(5).build(),
+                new ItemStackBuilder(Material.GRASS).amount(32).build(),
+                new ItemStackBuilder(Material.STONE).amount(10).build(),
+                null,
+                null,
+                null
+        };
+    }
+
+    @Before
+    public void testStartup() {
+        NucleusTest.init();
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+
+        ItemStack[] contents = getInventoryStack();
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .remove(new ItemStack(Material.STONE), 12)
+                .remove(new ItemStack(Material.WOOD), 5);
+
+        Assert.assertEquals(true, transaction.commit(contents));
+
+        Assert.assertEquals(Material.AIR, contents[0].getType());
+        Assert.assertEquals(Material.AIR, contents[3].getType());
+        Assert.assertEquals(3, contents[5].getAmount());
+        Assert.assertEquals(64, contents[2].getAmount());
+    }
+
+    @Test
+    public void testRemoveInsufficient() throws Exception {
+
+        ItemStack[] contents = getInventoryStack();
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .remove(new ItemStack(Material.WOOD), 5)
+                .remove(new ItemStack(Material.STONE), 16);
+
+        Assert.assertEquals(false, transaction.canCommit(contents));
+        Assert.assertEquals(false, transaction.commit(contents));
+
+        // nothing removed
+        Assert.assertEquals(5, contents[0].getAmount());
+        Assert.assertEquals(5, contents[3].getAmount());
+        Assert.assertEquals(10, contents[5].getAmount());
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+
+        ItemStack[] contents = getInventoryStack();
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .add(new ItemStack(Material.GRASS), 40)
+                .add(new ItemStack(Material.PAPER), 10);
+
+        Assert.assertEquals(true, transaction.commit(contents));
+
+        // existing stack filled first
+        Assert.assertEquals(64, contents[4].getAmount());
+        Assert.assertEquals(Material.GRASS, contents[1].getType());
+        Assert.assertEquals(8, contents[1].getAmount());
+        Assert.assertEquals(Material.PAPER, contents[6].getType());
+        Assert.assertEquals(10, contents[6].getAmount());
+    }
+
+    @Test
+    public void testAddNoRoom() throws Exception {
+
+        ItemStack[] contents = getInventoryStack();
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .add(new ItemStack(Material.PAPER), 10)
+                .add(new ItemStack(Material.DIRT), 64 * 4);
+
+        Assert.assertEquals(false, transaction.commit(contents));
+
+        Assert.assertEquals(null, contents[1]);
+        Assert.assertEquals(null, contents[6]);
+    }
+
+    @Test
+    public void testRemoveFreesRoom() throws Exception {
+
+        ItemStack[] contents = getInventoryStack();
+
+        // removing the stone frees 2 slots for the dirt
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .remove(new ItemStack(Material.STONE), 15)
+                .add(new ItemStack(Material.DIRT), 64 * 6);
+
+        Assert.assertEquals(true, transaction.commit(contents));
+
+        Assert.assertEquals(Material.DIRT, contents[3].getType());
+        Assert.assertEquals(Material.DIRT, contents[5].getType());
+    }
+
+    @Test
+    public void testCommitInventory() throws Exception {
+
+        Inventory inventory = new MockInventory(null, InventoryType.CHEST, 9);
+        inventory.setContents(getInventoryStack());
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .remove(new ItemStack(Material.GLASS), 60)
+                .add(new ItemStack(Material.PAPER), 3);
+
+        Assert.assertEquals(true, transaction.commit(inventory));
+
+        Assert.assertEquals(4, inventory.getItem(2).getAmount());
+        Assert.assertEquals(Material.PAPER, inventory.getItem(1).getType());
+
+        // reuse with a bill that can't be committed
+        transaction.clear()
+                .remove(new ItemStack(Material.GLASS), 5);
+
+        Assert.assertEquals(false, transaction.commit(inventory));
+        Assert.assertEquals(4, inventory.getItem(2).getAmount());
+    }
+
+    @Test
+    public void testAddKeepsMeta() throws Exception {
+
+        ItemStack named = new ItemStackBuilder(Material.STONE).display("Named").amount(5).build();
+
+        ItemStack[] contents = new ItemStack[] {
+                named.clone(),
+                null,
+                null
+        };
+
+        // type matcher matches the named stone, the added stone must not stack on it
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .add(new ItemStack(Material.STONE), 3)
+                .add(named.clone(), 2);
+
+        Assert.assertEquals(true, transaction.commit(contents));
+
+        Assert.assertEquals(7, contents[0].getAmount());
+        Assert.assertEquals(true, contents[0].isSimilar(named));
+
+        Assert.assertEquals(3, contents[1].getAmount());
+        Assert.assertEquals(true, contents[1].isSimilar(new ItemStack(Material.STONE)));
+
+        Assert.assertEquals(null, contents[2]);
+    }
+
+    @Test
+    public void testRemoveAndAddLooseMatcher() throws Exception {
+
+        ItemStack named = new ItemStackBuilder(Material.STONE).display("Named").amount(5).build();
+
+        ItemStack[] contents = new ItemStack[] {
+                new ItemStackBuilder(Material.STONE).amount(10).build(),
+                null
+        };
+
+        InventoryTransaction transaction = new InventoryTransaction(ItemStackMatcher.getTypeMatcher())
+                .remove(new ItemStack(Material.STONE), 4)
+                .add(named);
+
+        Assert.assertEquals(true, transaction.commit(contents));
+
+        Assert.assertEquals(6, contents[0].getAmount());
+        Assert.assertEquals(false, contents[0].isSimilar(named));
+
+        // added item keeps its meta
+        Assert.assertEquals(5, contents[1].getAmount());
+        Assert.assertEquals(true, contents[1].isSimilar(named));
+    }
+}
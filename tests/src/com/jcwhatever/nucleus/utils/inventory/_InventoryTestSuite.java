@@ -9,6 +9,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
         InventorySnapshotTest.class,
+        InventoryTransactionTest.class,
         InventoryUtilsTest.class
 })
 public class _InventoryTestSuite {
@@ -10,6 +10,9 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class ItemStackMatcherTest {
 
     @BeforeClass
@@ -164,6 +167,88 @@ public class ItemStackMatcherTest {
         Assert.assertEquals(false, metaMatcher.isMatch(null, null));
     }
 
+    @Test
+    public void testGetFingerprint() throws Exception {
+
+        ItemStack stone1 = new ItemStackBuilder(Material.STONE).amount(5).durability(50).build();
+        ItemStack stone2 = new ItemStackBuilder(Material.STONE).amount(10).durability(25).build();
+        ItemStack stone3 = new ItemStackBuilder(Material.STONE).amount(5).durability(50).build();
+        ItemStack wood = new ItemStackBuilder(Material.WOOD).amount(5).durability(50).build();
+
+        setupMetaTest(stone1);
+        setupMetaTest(stone2);
+
+        ItemStackMatcher typeMatcher = new ItemStackMatcher(ItemStackMatcher.MATCH_TYPE);
+        ItemStackMatcher metaMatcher = new ItemStackMatcher(ItemStackMatcher.DEFAULT_MATCH);
+        ItemStackMatcher durabilityMatcher = ItemStackMatcher.getTypeMetaDurability();
+
+        Assert.assertEquals(0, typeMatcher.getFingerprint(null));
+
+        // matching stacks always have the same fingerprint
+        Assert.assertEquals(typeMatcher.getFingerprint(stone1), typeMatcher.getFingerprint(stone3));
+        Assert.assertEquals(metaMatcher.getFingerprint(stone1), metaMatcher.getFingerprint(stone2));
+
+        // stacks that do not match
+        Assert.assertNotEquals(typeMatcher.getFingerprint(stone1), typeMatcher.getFingerprint(wood));
+        Assert.assertNotEquals(metaMatcher.getFingerprint(stone1), metaMatcher.getFingerprint(stone3));
+        Assert.assertNotEquals(durabilityMatcher.getFingerprint(stone1), durabilityMatcher.getFingerprint(stone2));
+
+        // same display name, different lore
+        ItemStack lore1 = new ItemStackBuilder(Material.STONE).lore("line 1").build();
+        ItemStack lore2 = new ItemStackBuilder(Material.STONE).lore("line 2").build();
+        setupMetaTest(lore1);
+        setupMetaTest(lore2);
+
+        Assert.assertNotEquals(metaMatcher.getFingerprint(lore1), metaMatcher.getFingerprint(lore2));
+        Assert.assertEquals(typeMatcher.getFingerprint(lore1), typeMatcher.getFingerprint(lore2));
+    }
+
+    @Test
+    public void testMatchableItemHash() throws Exception {
+
+        ItemStack stone1 = new ItemStackBuilder(Material.STONE).build();
+        ItemStack stone2 = new ItemStackBuilder(Material.STONE).build();
+        ItemStack stone3 = new ItemStackBuilder(Material.STONE).build();
+
+        setupMetaTest(stone1);
+        setupMetaTest(stone2);
+
+        MatchableItem item1 = new MatchableItem(stone1);
+        MatchableItem item2 = new MatchableItem(stone2);
+        MatchableItem item3 = new MatchableItem(stone3);
+
+        Assert.assertEquals(item1, item2);
+        Assert.assertEquals(item1.hashCode(), item2.hashCode());
+        Assert.assertNotEquals(item1, item3);
+
+        Map<MatchableItem, Integer> map = new HashMap<>(3);
+        map.put(item1, 1);
+        map.put(item3, 3);
+
+        Assert.assertEquals(Integer.valueOf(1), map.get(item2));
+        Assert.assertEquals(Integer.valueOf(3), map.get(new MatchableItem(stone3.clone())));
+    }
+
+    @Test
+    public void testMatchableItemEqualsDifferentMatcher() throws Exception {
+
+        ItemStack stone1 = new ItemStackBuilder(Material.STONE).build();
+        ItemStack stone2 = new ItemStackBuilder(Material.STONE).build();
+
+        setupMetaTest(stone1);
+
+        MatchableItem typeItem1 = new MatchableItem(stone1, ItemStackMatcher.getTypeMatcher());
+        MatchableItem typeItem2 = new MatchableItem(stone2, ItemStackMatcher.getTypeMatcher());
+        MatchableItem metaItem = new MatchableItem(stone1, ItemStackMatcher.getDefault());
+
+        Assert.assertEquals(typeItem1, typeItem2);
+        Assert.assertEquals(typeItem1.hashCode(), typeItem2.hashCode());
+
+        // wrappers with different operations are never equal, in either direction
+        Assert.assertNotEquals(typeItem1, metaItem);
+        Assert.assertNotEquals(metaItem, typeItem1);
+    }
+
     private void setupMetaTest(ItemStack itemStack) {
 
         ItemMeta meta = itemStack.getItemMeta();
@@ -0,0 +1,95 @@
+package com.jcwhatever.nucleus.utils.modules;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class ClassHeaderTest {
+
+    public interface TestInterface extends Runnable {
+    }
+
+    public static abstract class AbstractType implements TestInterface, Serializable {
+    }
+
+    public static class ConcreteType extends AbstractType {
+        // constants and members add entries of every kind to the constant pool
+        static final long LONG_CONSTANT = 10L;
+        static final double DOUBLE_CONSTANT = 1.5D;
+        static final String STRING_CONSTANT = "constant";
+
+        @Override
+        public void run() {
+            System.out.println(STRING_CONSTANT + LONG_CONSTANT + DOUBLE_CONSTANT);
+        }
+    }
+
+    static ClassHeader read(Class<?> clazz) throws IOException {
+
+        String resource = '/' + clazz.getName().replace('.', '/') + ".class";
+
+        InputStream stream = ClassHeaderTest.class.getResourceAsStream(resource);
+        Assert.assertNotNull(stream);
+
+        try {
+            return ClassHeader.read(stream);
+        }
+        finally {
+            stream.close();
+        }
+    }
+
+    @Test
+    public void testConcreteClass() throws Exception {
+
+        ClassHeader header = read(ConcreteType.class);
+
+        Assert.assertNotNull(header);
+        Assert.assertEquals("com/jcwhatever/nucleus/utils/modules/ClassHeaderTest$ConcreteType",
+                header.getName());
+        Assert.assertEquals("com/jcwhatever/nucleus/utils/modules/ClassHeaderTest$AbstractType",
+                header.getSuperName());
+        Assert.assertEquals(0, header.getInterfaces().length);
+        Assert.assertEquals(false, header.isInterface());
+        Assert.assertEquals(false, header.isAbstract());
+    }
+
+    @Test
+    public void testAbstractClass() throws Exception {
+
+        ClassHeader header = read(AbstractType.class);
+
+        Assert.assertNotNull(header);
+        Assert.assertEquals("java/lang/Object", header.getSuperName());
+        Assert.assertEquals(Arrays.asList(
+                "com/jcwhatever/nucleus/utils/modules/ClassHeaderTest$TestInterface",
+                "java/io/Serializable"), Arrays.asList(header.getInterfaces()));
+        Assert.assertEquals(false, header.isInterface());
+        Assert.assertEquals(true, header.isAbstract());
+    }
+
+    @Test
+    public void testInterface() throws Exception {
+
+        ClassHeader header = read(TestInterface.class);
+
+        Assert.assertNotNull(header);
+        Assert.assertEquals(Arrays.asList("java/lang/Runnable"),
+                Arrays.asList(header.getInterfaces()));
+        Assert.assertEquals(true, header.isInterface());
+        Assert.assertEquals(true, header.isAbstract());
+    }
+
+    @Test
+    public void testNotClassFile() throws Exception {
+
+        byte[] bytes = new byte[] { 'P', 'K', 3, 4, 0, 0, 0, 0 };
+
+        Assert.assertEquals(null, ClassHeader.read(new ByteArrayInputStream(bytes)));
+    }
+}
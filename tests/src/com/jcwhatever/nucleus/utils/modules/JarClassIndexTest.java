@@ -0,0 +1,124 @@
+package com.jcwhatever.nucleus.utils.modules;
+
+import com.jcwhatever.nucleus.utils.modules.ClassHeaderTest.AbstractType;
+import com.jcwhatever.nucleus.utils.modules.ClassHeaderTest.ConcreteType;
+import com.jcwhatever.nucleus.utils.modules.ClassHeaderTest.TestInterface;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+public class JarClassIndexTest {
+
+    // can only resolve platform types
+    private static final ClassLoader EMPTY_LOADER = new ClassLoader(null) {};
+
+    private static File createJar(Class<?>... classes) throws IOException {
+
+        File file = File.createTempFile("jarClassIndexTest", ".jar");
+        file.deleteOnExit();
+
+        JarOutputStream jar = new JarOutputStream(new FileOutputStream(file));
+        try {
+            for (Class<?> clazz : classes) {
+
+                String name = clazz.getName().replace('.', '/') + ".class";
+
+                jar.putNextEntry(new ZipEntry(name));
+                jar.write(getBytes(name));
+                jar.closeEntry();
+            }
+        }
+        finally {
+            jar.close();
+        }
+
+        return file;
+    }
+
+    private static byte[] getBytes(String resource) throws IOException {
+
+        InputStream stream = JarClassIndexTest.class.getResourceAsStream('/' + resource);
+        Assert.assertNotNull(stream);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        }
+        finally {
+            stream.close();
+        }
+
+        return output.toByteArray();
+    }
+
+    private static List<String> getNames(File file, Class<?> moduleClass,
+                                         ClassLoader parentLoader) throws IOException {
+
+        JarClassIndex index = new JarClassIndex(file, moduleClass, parentLoader);
+
+        JarFile jarFile = new JarFile(file);
+        try {
+            return index.getModuleClassNames(jarFile);
+        }
+        finally {
+            jarFile.close();
+        }
+    }
+
+    /**
+     * Make sure concrete sub types are found and abstract types are skipped.
+     */
+    @Test
+    public void testGetModuleClassNames() throws Exception {
+
+        File file = createJar(TestInterface.class, AbstractType.class, ConcreteType.class);
+        JarClassIndex index = new JarClassIndex(file, Runnable.class, getClass().getClassLoader());
+        index.getIndexFile().deleteOnExit();
+
+        List<String> expected = Arrays.asList(ConcreteType.class.getName());
+
+        Assert.assertEquals(expected, getNames(file, Runnable.class, getClass().getClassLoader()));
+        Assert.assertEquals(true, index.getIndexFile().exists());
+
+        // read from index
+        Assert.assertEquals(expected, getNames(file, Runnable.class, getClass().getClassLoader()));
+
+        Assert.assertEquals(0, getNames(file, Comparable.class, getClass().getClassLoader()).size());
+    }
+
+    /**
+     * Make sure types outside of the jar are resolved each time instead of
+     * reusing results from the index.
+     */
+    @Test
+    public void testOutsideTypesNotIndexed() throws Exception {
+
+        // AbstractType and TestInterface are outside of the jar
+        File file = createJar(ConcreteType.class);
+        JarClassIndex index = new JarClassIndex(file, Runnable.class, EMPTY_LOADER);
+        index.getIndexFile().deleteOnExit();
+
+        // outside super type cannot be resolved
+        Assert.assertEquals(0, getNames(file, Runnable.class, EMPTY_LOADER).size());
+        Assert.assertEquals(true, index.getIndexFile().exists());
+
+        // outside super type resolved, index still used
+        Assert.assertEquals(Arrays.asList(ConcreteType.class.getName()),
+                getNames(file, Runnable.class, getClass().getClassLoader()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.jcwhatever.nucleus.utils.modules;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        ClassHeaderTest.class,
+        JarClassIndexTest.class
+})
+public class _ModulesTestSuite {
+}
@@ -0,0 +1,137 @@
+package com.jcwhatever.nucleus.utils.performance;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.v1_8_R3.BukkitTester;
+import com.jcwhatever.nucleus.NucleusTest;
+
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class BlockBatchTest {
+
+    World _world = BukkitTester.world("blockBatchWorld");
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    @Test
+    public void testSize() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.size());
+
+        batch.add(0, 0, 0, Material.STONE, 0);
+        batch.add(1, 0, 0, Material.STONE, 0);
+        batch.add(0, 1, 0, 1, 0);
+
+        assertFalse(batch.isEmpty());
+        assertEquals(3, batch.size());
+    }
+
+    @Test
+    public void testSizeDuplicates() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        batch.add(5, 10, 5, Material.STONE, 0);
+        batch.add(5, 10, 5, Material.WOOL, 3);
+        batch.add(5, 10, 5, Material.AIR, 0);
+
+        assertEquals(1, batch.size());
+
+        // same chunk column, different sections
+        batch.add(5, 26, 5, Material.STONE, 0);
+        batch.add(5, 26, 5, Material.STONE, 0);
+
+        assertEquals(2, batch.size());
+    }
+
+    @Test
+    public void testOutOfRangeY() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        batch.add(0, -1, 0, Material.STONE, 0);
+        batch.add(0, 256, 0, Material.STONE, 0);
+
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.getTotalChunks());
+
+        batch.add(0, 0, 0, Material.STONE, 0);
+        batch.add(0, 255, 0, Material.STONE, 0);
+
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.getTotalChunks());
+    }
+
+    @Test
+    public void testChunkGrouping() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        // chunk 0, 0
+        batch.add(0, 0, 0, Material.STONE, 0);
+        batch.add(15, 200, 15, Material.STONE, 0);
+        batch.add(7, 64, 3, Material.STONE, 0);
+
+        assertEquals(1, batch.getTotalChunks());
+
+        // chunk 1, 0
+        batch.add(16, 0, 0, Material.STONE, 0);
+
+        assertEquals(2, batch.getTotalChunks());
+
+        // chunk -1, -1
+        batch.add(-1, 5, -1, Material.STONE, 0);
+        batch.add(-16, 5, -16, Material.STONE, 0);
+
+        assertEquals(3, batch.getTotalChunks());
+
+        // chunk -2, 0
+        batch.add(-17, 5, 0, Material.STONE, 0);
+
+        assertEquals(4, batch.getTotalChunks());
+        assertEquals(7, batch.size());
+    }
+
+    @Test
+    public void testClear() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        batch.add(0, 0, 0, Material.STONE, 0);
+        batch.add(32, 0, 32, Material.STONE, 0);
+
+        batch.clear();
+
+        assertTrue(batch.isEmpty());
+        assertEquals(0, batch.size());
+        assertEquals(0, batch.getTotalChunks());
+
+        // positions are not remembered after clear
+        batch.add(0, 0, 0, Material.STONE, 0);
+
+        assertEquals(1, batch.size());
+        assertEquals(1, batch.getTotalChunks());
+    }
+
+    @Test
+    public void testApplyEmpty() throws Exception {
+
+        BlockBatch batch = new BlockBatch(_world);
+
+        assertEquals(0, batch.apply());
+    }
+}
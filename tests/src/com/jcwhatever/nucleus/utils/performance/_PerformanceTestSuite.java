@@ -0,0 +1,14 @@
+package com.jcwhatever.nucleus.utils.performance;
+
+import com.jcwhatever.nucleus.utils.performance.pool._PoolTestSuite;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+        BlockBatchTest.class,
+        _PoolTestSuite.class
+})
+public class _PerformanceTestSuite {
+}
@@ -87,6 +87,30 @@ public class MenuItemTest {
         assertEquals("test", menuItem.getDescription());
     }
 
+    /**
+     * Make sure a copy does not share click callbacks with the original.
+     */
+    @Test
+    public void testCopyOnClick() throws Exception {
+
+        MenuItem menuItem = new MenuItemBuilder(Material.STONE).build(0);
+        menuItem.onClick(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        MenuItem copy = new MenuItem(menuItem);
+        copy.onClick(new Runnable() {
+            @Override
+            public void run() {
+            }
+        });
+
+        assertEquals(1, menuItem.getOnClick().size());
+        assertEquals(2, copy.getOnClick().size());
+    }
+
     /**
      * Make sure the title is set properly.
      */
@@ -0,0 +1,123 @@
+package com.jcwhatever.nucleus.views.menu;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.jcwhatever.nucleus.NucleusTest;
+
+import org.bukkit.Material;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests {@link MenuPageCache}.
+ */
+public class MenuPageCacheTest {
+
+    /**
+     * Make sure Nucleus and Bukkit are initialized.
+     */
+    @BeforeClass
+    public static void init() {
+        NucleusTest.init();
+    }
+
+    private static class CountingProvider implements IMenuPageProvider {
+
+        int total;
+        int created;
+
+        CountingProvider(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public int getTotalItems() {
+            return total;
+        }
+
+        @Override
+        public MenuItem createItem(int index, int slot) {
+            created++;
+            return new MenuItemBuilder(Material.STONE).title("item" + index).build(slot);
+        }
+    }
+
+    /**
+     * Make sure only the items of the requested page are created.
+     */
+    @Test
+    public void testGetPage() throws Exception {
+
+        CountingProvider provider = new CountingProvider(10000);
+        MenuPageCache cache = new MenuPageCache(provider);
+
+        MenuItem[] page = cache.getPage(3, 45);
+
+        assertEquals(45, page.length);
+        assertEquals(45, provider.created);
+        assertEquals("item135", page[0].getTitle());
+        assertEquals(0, page[0].getSlot());
+        assertEquals(44, page[44].getSlot());
+    }
+
+    /**
+     * Make sure the same page instance is shared by subsequent requests.
+     */
+    @Test
+    public void testShared() throws Exception {
+
+        CountingProvider provider = new CountingProvider(100);
+        MenuPageCache cache = new MenuPageCache(provider);
+
+        MenuItem[] page1 = cache.getPage(0, 45);
+        MenuItem[] page2 = cache.getPage(0, 45);
+
+        assertTrue(page1 == page2);
+        assertEquals(45, provider.created);
+
+        cache.invalidate();
+
+        assertTrue(page1 != cache.getPage(0, 45));
+        assertEquals(90, provider.created);
+    }
+
+    /**
+     * Make sure the last page is padded with empty slots.
+     */
+    @Test
+    public void testLastPage() throws Exception {
+
+        MenuPageCache cache = new MenuPageCache(new CountingProvider(50));
+
+        MenuItem[] page = cache.getPage(1, 45);
+
+        assertEquals(45, page.length);
+        assertTrue(page[4] != null);
+        assertEquals(null, page[5]);
+    }
+
+    /**
+     * Make sure the least recently used pages are removed.
+     */
+    @Test
+    public void testMaxPages() throws Exception {
+
+        CountingProvider provider = new CountingProvider(1000);
+        MenuPageCache cache = new MenuPageCache(provider, 2);
+
+        cache.getPage(0, 9);
+        cache.getPage(1, 9);
+        cache.getPage(0, 9);
+        cache.getPage(2, 9); // removes page 1
+
+        assertEquals(2, cache.getCachedPages());
+        assertEquals(27, provider.created);
+
+        cache.getPage(0, 9);
+        assertEquals(27, provider.created);
+
+        cache.getPage(1, 9);
+        assertEquals(36, provider.created);
+    }
+}
@@ -88,6 +88,108 @@ public class PaginatorViewTest extends AbstractViewTest {
         assertEquals(null, _session.getCurrent());
     }
 
+    /**
+     * Make sure more pages than fit into a chest can be shown and navigated.
+     */
+    @Test
+    public void testNavigatePages() {
+
+        ArrayListPaginator<Integer> paginator = new ArrayListPaginator<Integer>(PageStartIndex.ONE, 1);
+
+        // add enough to produce 100 pages
+        for (int i=0; i < 100; i++) {
+            paginator.add(i);
+        }
+
+        PaginatorView view = new PaginatorView(plugin, paginator, null);
+
+        _session.next(view);
+        BukkitTester.pause(5);
+
+        assertEquals(0, view.getPage());
+        assertEquals(3, view.getTotalPages());
+
+        // first page has no previous page item
+        assertTrue(view.getInventoryView().getItem(VirtualMenuView.PREVIOUS_SLOT) == null);
+        assertTrue(view.getInventoryView().getItem(VirtualMenuView.NEXT_SLOT) != null);
+
+        // click next page item
+        BukkitTester.viewClick(player,
+                SlotType.CONTAINER, VirtualMenuView.NEXT_SLOT, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+
+        BukkitTester.pause(5);
+
+        assertEquals(1, view.getPage());
+        assertTrue(view.getInventoryView().getItem(VirtualMenuView.PREVIOUS_SLOT) != null);
+
+        // click on inventory slot index 0 (page 46)
+        BukkitTester.viewClick(player,
+                SlotType.CONTAINER, 0, ClickType.LEFT, InventoryAction.PICKUP_ALL);
+
+        BukkitTester.pause(5);
+
+        assertEquals(46, view.getSelectedPage());
+    }
+
+    /**
+     * Make sure the pages are updated when the view is shown again.
+     */
+    @Test
+    public void testPagesUpdatedOnShow() {
+
+        ArrayListPaginator<String> paginator = new ArrayListPaginator<String>(PageStartIndex.ONE, 9);
+
+        // add enough to produce 2 pages
+        paginator.addAll(ArrayUtils.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k"));
+
+        PaginatorView view = new PaginatorView(plugin, paginator, null);
+
+        _session.next(view);
+        BukkitTester.pause(5);
+
+        assertTrue(view.getInventoryView().getItem(2) == null);
+
+        _session.next(new PaginatorView(plugin, paginator, null));
+        BukkitTester.pause(5);
+
+        // add enough to produce 3 pages
+        paginator.addAll(ArrayUtils.asList("l", "m", "n", "o", "p", "q", "r", "s", "t"));
+
+        _session.previous();
+        BukkitTester.pause(5);
+
+        assertEquals(view, _session.getCurrent());
+        assertTrue(view.getInventoryView().getItem(2) != null);
+    }
+
+    /**
+     * Make sure the view shows copies of the cached page items.
+     */
+    @Test
+    public void testPageItemsCopied() {
+
+        ArrayListPaginator<String> paginator = new ArrayListPaginator<String>(PageStartIndex.ONE, 9);
+
+        // add enough to produce 2 pages
+        paginator.addAll(ArrayUtils.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k"));
+
+        PaginatorView view = new PaginatorView(plugin, paginator, null);
+
+        _session.next(view);
+        BukkitTester.pause(5);
+
+        MenuItem cached = view.getPageCache().getPage(0, PaginatorView.MAX_SLOTS)[0];
+        MenuItem shown = view.getMenuItem(0);
+
+        assertTrue(shown != null);
+        assertTrue(cached != shown);
+        assertTrue(cached.isSimilar(shown));
+
+        shown.setTitle("changed");
+
+        assertEquals("Page1", cached.getTitle());
+    }
+
     @Nullable
     @Override
     protected Block getSourceBlock() {
@@ -7,6 +7,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
         MenuItemBuilderTest.class,
         MenuItemTest.class,
+        MenuPageCacheTest.class,
         MenuViewTest.class,
         PaginatorViewTest.class
 })